@@ -8,6 +8,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import uk.gov.companieshouse.efs.web.interceptor.LoggingInterceptor;
+import uk.gov.companieshouse.efs.web.interceptor.StaleDataInterceptor;
 import uk.gov.companieshouse.efs.web.interceptor.UserDetailsInterceptor;
 
 @SpringBootApplication
@@ -15,6 +16,7 @@ public class EfsWebApplication implements WebMvcConfigurer {
 
     private UserDetailsInterceptor userDetailsInterceptor;
     private LoggingInterceptor loggingInterceptor;
+    private StaleDataInterceptor staleDataInterceptor;
     private final String startPageUrl;
     private final String guidancePageUrl;
     private final String insolvencyGuidancePageUrl;
@@ -25,15 +27,18 @@ public class EfsWebApplication implements WebMvcConfigurer {
      *
      * @param  userDetailsInterceptor responsible for validating a user is authenticated
      * @param loggingInterceptor responsible for logging the start and end of the requests
+     * @param staleDataInterceptor responsible for marking responses built with stale cached data
      */
     @Autowired
     public EfsWebApplication(UserDetailsInterceptor userDetailsInterceptor, LoggingInterceptor loggingInterceptor,
+        StaleDataInterceptor staleDataInterceptor,
         @Value("${start.page.url}") final String startPageUrl,
         @Value("${guidance.page.url}") final String guidancePageUrl,
         @Value("${insolvency.guidance.page.url}") final String insolvencyGuidancePageUrl,
         @Value("${accessibility.statement.page.url}") final String accessibilityStatementPageUrl) {
         this.userDetailsInterceptor = userDetailsInterceptor;
         this.loggingInterceptor = loggingInterceptor;
+        this.staleDataInterceptor = staleDataInterceptor;
         this.startPageUrl = startPageUrl;
         this.guidancePageUrl = guidancePageUrl;
         this.insolvencyGuidancePageUrl = insolvencyGuidancePageUrl;
@@ -50,6 +55,7 @@ public class EfsWebApplication implements WebMvcConfigurer {
     @Override
     public void addInterceptors(final InterceptorRegistry registry) {
         registry.addInterceptor(loggingInterceptor);
+        registry.addInterceptor(staleDataInterceptor);
         registry.addInterceptor(userDetailsInterceptor)
                 .excludePathPatterns(startPageUrl, guidancePageUrl, insolvencyGuidancePageUrl, accessibilityStatementPageUrl);
     }
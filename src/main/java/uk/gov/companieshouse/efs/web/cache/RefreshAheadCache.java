@@ -0,0 +1,160 @@
+package uk.gov.companieshouse.efs.web.cache;
+
+import java.io.Serializable;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Decorates a cache so that its entries are reloaded ahead of time. Each entry is stored with the
+ * time it was loaded. Reading an entry that is older than the refresh interval returns it straight
+ * away and reloads it in the background; the new value then replaces the old one in a single put.
+ * Only a key that has never been loaded, or has been evicted, is loaded by the caller.
+ *
+ * <p>Entries are only refreshed through {@link #get(Object, Callable)}, which is how
+ * {@code @Cacheable(sync = true)} reads the cache, as only that call provides a way to reload them.
+ *
+ * <p>The stored entries are serializable whenever their values are, so that the delegate may keep
+ * them in a store shared between nodes.
+ */
+public class RefreshAheadCache implements Cache {
+
+    private final Cache delegate;
+    private final long refreshAfterMillis;
+    private final Executor refreshExecutor;
+    private final Logger logger;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param delegate           holds the entries
+     * @param refreshAfterMillis how long after loading an entry is reloaded
+     * @param refreshExecutor    runs the reloads
+     * @param logger             the CH logger
+     */
+    public RefreshAheadCache(final Cache delegate, final long refreshAfterMillis, final Executor refreshExecutor,
+        final Logger logger) {
+        this.delegate = delegate;
+        this.refreshAfterMillis = refreshAfterMillis;
+        this.refreshExecutor = refreshExecutor;
+        this.logger = logger;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        final LoadedValue loaded = getLoaded(key);
+
+        return loaded == null ? null : new SimpleValueWrapper(loaded.value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Class<T> type) {
+        final LoadedValue loaded = getLoaded(key);
+        final Object value = loaded == null ? null : loaded.value;
+
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                String.format("Cached value is not of required type [%s]: %s", type.getName(), value));
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final LoadedValue loaded = delegate.get(key, () -> load(valueLoader));
+
+        if (loaded.isDue(System.currentTimeMillis(), refreshAfterMillis) && refreshing.add(key)) {
+            try {
+                refreshExecutor.execute(() -> refresh(key, valueLoader));
+            } catch (RejectedExecutionException ex) {
+                // The refresh is tried again on the next read.
+                refreshing.remove(key);
+            }
+        }
+
+        return (T) loaded.value;
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        delegate.put(key, new LoadedValue(value, System.currentTimeMillis()));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final ValueWrapper existing = delegate.putIfAbsent(key, new LoadedValue(value, System.currentTimeMillis()));
+
+        return existing == null ? null : new SimpleValueWrapper(((LoadedValue) existing.get()).value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    private LoadedValue getLoaded(final Object key) {
+        final ValueWrapper wrapper = delegate.get(key);
+
+        return wrapper == null ? null : (LoadedValue) wrapper.get();
+    }
+
+    private void refresh(final Object key, final Callable<?> valueLoader) {
+        try {
+            delegate.put(key, load(valueLoader));
+        } catch (Exception ex) {
+            // Keep returning the current value until a later refresh succeeds or it expires.
+            logger.error(String.format("Failed to refresh %s cache entry: %s", getName(), key), ex);
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    private static LoadedValue load(final Callable<?> valueLoader) throws Exception {
+        return new LoadedValue(valueLoader.call(), System.currentTimeMillis());
+    }
+
+    private static final class LoadedValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object value;
+        private final long loadedAt;
+
+        private LoadedValue(final Object value, final long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isDue(final long now, final long refreshAfterMillis) {
+            return now - loadedAt >= refreshAfterMillis;
+        }
+    }
+}
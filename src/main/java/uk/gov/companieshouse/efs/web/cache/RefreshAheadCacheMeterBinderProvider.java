@@ -0,0 +1,23 @@
+package uk.gov.companieshouse.efs.web.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Publishes the actuator cache metrics of a {@link RefreshAheadCache} from the Caffeine cache it
+ * decorates.
+ */
+public class RefreshAheadCacheMeterBinderProvider implements CacheMeterBinderProvider<RefreshAheadCache> {
+
+    private final CaffeineCacheMeterBinderProvider caffeineProvider = new CaffeineCacheMeterBinderProvider();
+
+    @Override
+    public MeterBinder getMeterBinder(final RefreshAheadCache cache, final Iterable<Tag> tags) {
+        return cache.getDelegate() instanceof CaffeineCache
+            ? caffeineProvider.getMeterBinder((CaffeineCache) cache.getDelegate(), tags)
+            : null;
+    }
+}
@@ -0,0 +1,99 @@
+package uk.gov.companieshouse.efs.web.cache;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Marks a request as having been answered with data kept in memory after it could not be loaded
+ * again, along with the age of the oldest such data. A task run on another
+ * thread for the request marks the request that submitted it, provided it was wrapped with
+ * {@link #propagate(Runnable)} when it was submitted.
+ */
+public final class StaleDataMarker {
+
+    static final String ATTRIBUTE = StaleDataMarker.class.getName() + ".AGE";
+
+    private static final ThreadLocal<AtomicLong> TASK_MARKER = new ThreadLocal<>();
+
+    private StaleDataMarker() {
+        // Utility class.
+    }
+
+    /**
+     * Let a task run on another thread mark the request that submits it. Must be called on the
+     * request thread.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    public static Runnable propagate(final Runnable task) {
+        final AtomicLong marker = getMarker().orElse(null);
+
+        if (marker == null) {
+            return task;
+        }
+
+        return () -> {
+            final AtomicLong previous = TASK_MARKER.get();
+
+            TASK_MARKER.set(marker);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    TASK_MARKER.remove();
+                } else {
+                    TASK_MARKER.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * @param request the request
+     * @return the age in milliseconds of the oldest stale value used to answer the request, if any
+     */
+    public static OptionalLong getStaleAge(final HttpServletRequest request) {
+        final Object marker = request.getAttribute(ATTRIBUTE);
+
+        return marker instanceof AtomicLong && ((AtomicLong) marker).get() >= 0
+            ? OptionalLong.of(((AtomicLong) marker).get())
+            : OptionalLong.empty();
+    }
+
+    /**
+     * Mark the current request, if any, as answered with stale data.
+     *
+     * @param ageMillis the age in milliseconds of the data
+     */
+    public static void mark(final long ageMillis) {
+        getMarker().ifPresent(marker -> marker.accumulateAndGet(ageMillis, Math::max));
+    }
+
+    private static Optional<AtomicLong> getMarker() {
+        final AtomicLong taskMarker = TASK_MARKER.get();
+
+        if (taskMarker != null) {
+            return Optional.of(taskMarker);
+        }
+
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes == null) {
+            return Optional.empty();
+        }
+
+        AtomicLong marker = (AtomicLong) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+        if (marker == null) {
+            marker = new AtomicLong(-1L);
+            attributes.setAttribute(ATTRIBUTE, marker, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return Optional.of(marker);
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.efs.web.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import java.util.Optional;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.efs.submissions.FileDetailApi;
+import uk.gov.companieshouse.api.model.efs.submissions.FileDetailListApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
+
+/**
+ * Estimates the heap used by a cached submission response, in bytes. The estimate is a fixed
+ * allowance for the response and the submission, plus an allowance for each of its file details,
+ * which is the only part of a submission that grows without a fixed limit.
+ */
+public class SubmissionWeigher implements Weigher<Object, Object> {
+
+    static final int BASE_WEIGHT = 2048;
+    static final int FILE_DETAIL_WEIGHT = 512;
+
+    @Override
+    public int weigh(final Object key, final Object value) {
+        int weight = BASE_WEIGHT;
+
+        if (value instanceof ApiResponse && ((ApiResponse<?>) value).getData() instanceof SubmissionApi) {
+            final SubmissionApi submission = (SubmissionApi) ((ApiResponse<?>) value).getData();
+
+            weight += Optional.ofNullable(submission.getSubmissionForm())
+                .map(SubmissionFormApi::getFileDetails)
+                .map(FileDetailListApi::getList)
+                .map(fileDetails -> fileDetails.stream().mapToInt(SubmissionWeigher::weigh).sum())
+                .orElse(0);
+        }
+
+        return weight;
+    }
+
+    private static int weigh(final FileDetailApi fileDetail) {
+        // Java strings hold two bytes per character.
+        return FILE_DETAIL_WEIGHT + 2 * Optional.ofNullable(fileDetail.getFileName()).map(String::length).orElse(0);
+    }
+}
@@ -0,0 +1,99 @@
+package uk.gov.companieshouse.efs.web.cache.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the shared cache entries in the memory of this node. Stands in for a real shared store in
+ * tests and when running a single node. Each cache is bounded in size, and each entry expires
+ * after the time to live it was written with.
+ */
+public class LocalSharedCacheStore implements SharedCacheStore {
+
+    static final long DEFAULT_MAXIMUM_SIZE = 10_000L;
+
+    private final Map<String, Cache<Object, Entry>> caches = new ConcurrentHashMap<>();
+    private final long maximumSize;
+
+    public LocalSharedCacheStore() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize the most entries kept in each cache
+     */
+    public LocalSharedCacheStore(final long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public Object get(final String cacheName, final Object key) {
+        final Entry entry = cache(cacheName).getIfPresent(key);
+
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public void put(final String cacheName, final Object key, final Object value, final Duration timeToLive) {
+        cache(cacheName).put(key, new Entry(value, timeToLive == null ? Long.MAX_VALUE : timeToLive.toNanos()));
+    }
+
+    @Override
+    public void evict(final String cacheName, final Object key) {
+        cache(cacheName).invalidate(key);
+    }
+
+    @Override
+    public void clear(final String cacheName) {
+        cache(cacheName).invalidateAll();
+    }
+
+    private Cache<Object, Entry> cache(final String cacheName) {
+        return caches.computeIfAbsent(cacheName, name -> Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new EntryExpiry())
+            .executor(Runnable::run)
+            .build());
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long timeToLiveNanos;
+
+        private Entry(final Object value, final long timeToLiveNanos) {
+            this.value = value;
+            this.timeToLiveNanos = timeToLiveNanos;
+        }
+    }
+
+    /**
+     * Expires each entry once the time to live it was last written with has passed; reading it does
+     * not extend its life.
+     */
+    private static final class EntryExpiry implements Expiry<Object, Entry> {
+
+        @Override
+        public long expireAfterCreate(final Object key, final Entry entry, final long currentTime) {
+            return entry.timeToLiveNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final Object key, final Entry entry, final long currentTime,
+            final long currentDuration) {
+            return entry.timeToLiveNanos;
+        }
+
+        @Override
+        public long expireAfterRead(final Object key, final Entry entry, final long currentTime,
+            final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package uk.gov.companieshouse.efs.web.cache.store;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * A Spring cache whose entries are held in a {@link SharedCacheStore}. Every entry is written with
+ * the cache's time to live. Loads of the same key on this node are serialised, so a node fetches a
+ * missing value only once however many requests are waiting for it.
+ */
+public class SharedCache extends AbstractValueAdaptingCache {
+
+    private static final int LOAD_LOCK_STRIPES = 64;
+
+    private final String name;
+    private final SharedCacheStore store;
+    private final Duration timeToLive;
+    private final Object[] loadLocks = new Object[LOAD_LOCK_STRIPES];
+
+    /**
+     * Constructor.
+     *
+     * @param name       the cache name
+     * @param store      holds the entries
+     * @param timeToLive how long each entry is kept; null to keep it until it is evicted
+     */
+    public SharedCache(final String name, final SharedCacheStore store, final Duration timeToLive) {
+        super(true);
+        this.name = name;
+        this.store = store;
+        this.timeToLive = timeToLive;
+
+        for (int i = 0; i < loadLocks.length; i++) {
+            loadLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(final Object key) {
+        return store.get(name, key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+
+        if (cached == null) {
+            synchronized (loadLocks[Math.floorMod(key.hashCode(), loadLocks.length)]) {
+                cached = get(key);
+                if (cached == null) {
+                    final T value = load(key, valueLoader);
+                    put(key, value);
+
+                    return value;
+                }
+            }
+        }
+
+        return (T) cached.get();
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        store.put(name, key, toStoreValue(value), timeToLive);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final ValueWrapper existing = get(key);
+
+        if (existing == null) {
+            put(key, value);
+        }
+
+        return existing;
+    }
+
+    @Override
+    public void evict(final Object key) {
+        store.evict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        store.clear(name);
+    }
+
+    private static <T> T load(final Object key, final Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+}
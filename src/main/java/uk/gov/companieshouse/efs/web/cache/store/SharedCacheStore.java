@@ -0,0 +1,44 @@
+package uk.gov.companieshouse.efs.web.cache.store;
+
+import java.time.Duration;
+
+/**
+ * A cache store shared by every node, so that an entry loaded by one node is used by the others
+ * until it expires. Implementations must be thread safe.
+ */
+public interface SharedCacheStore {
+
+    /**
+     * Get an entry.
+     *
+     * @param cacheName the cache name
+     * @param key       the entry key
+     * @return the stored value, or null if there is no entry or it has expired
+     */
+    Object get(String cacheName, Object key);
+
+    /**
+     * Store an entry, replacing any existing entry for the key.
+     *
+     * @param cacheName  the cache name
+     * @param key        the entry key
+     * @param value      the value to store
+     * @param timeToLive how long the entry is kept; null to keep it until it is evicted
+     */
+    void put(String cacheName, Object key, Object value, Duration timeToLive);
+
+    /**
+     * Remove an entry.
+     *
+     * @param cacheName the cache name
+     * @param key       the entry key
+     */
+    void evict(String cacheName, Object key);
+
+    /**
+     * Remove every entry in a cache.
+     *
+     * @param cacheName the cache name
+     */
+    void clear(String cacheName);
+}
@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -30,6 +31,7 @@ import uk.gov.companieshouse.api.model.efs.submissions.SubmissionStatus;
 import uk.gov.companieshouse.efs.web.categorytemplates.model.CategoryTemplateModel;
 import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
 import uk.gov.companieshouse.efs.web.controller.BaseControllerImpl;
+import uk.gov.companieshouse.efs.web.controller.PageModelAssembler;
 import uk.gov.companieshouse.efs.web.controller.ViewConstants;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
@@ -52,6 +54,7 @@ public class CategoryTemplateControllerImpl extends BaseControllerImpl implement
     public static final String ATTRIBUTE_NAME = "categoryTemplate";
 
     private CategoryTemplateModel categoryTemplateAttribute;
+    private PageModelAssembler pageModelAssembler;
 
     /**
      * Constructor.
@@ -62,15 +65,17 @@ public class CategoryTemplateControllerImpl extends BaseControllerImpl implement
      * @param formTemplateService       dependency
      * @param logger                    dependency
      * @param categoryTemplateAttribute details of the selected category template
+     * @param pageModelAssembler        checks the allow list while the categories are looked up
      */
     @Autowired
     public CategoryTemplateControllerImpl(final CategoryTemplateService categoryTemplateService,
         final ApiClientService apiClientService, final SessionService sessionService,
         final FormTemplateService formTemplateService, final Logger logger,
-        final CategoryTemplateModel categoryTemplateAttribute) {
+        final CategoryTemplateModel categoryTemplateAttribute, final PageModelAssembler pageModelAssembler) {
 
         super(logger, sessionService, apiClientService, formTemplateService, categoryTemplateService);
         this.categoryTemplateAttribute = categoryTemplateAttribute;
+        this.pageModelAssembler = pageModelAssembler;
     }
 
     @ModelAttribute(ATTRIBUTE_NAME)
@@ -95,8 +100,10 @@ public class CategoryTemplateControllerImpl extends BaseControllerImpl implement
             return ViewConstants.GONE.asView();
         }
 
-        final Boolean isEmailAllowed = apiClientService.isOnAllowList(
-                submissionApi.getPresenter().getEmail()).getData();
+        // The allow list is not always answered from the snapshot, so check it while the categories are looked up.
+        final PageModelAssembler.Assembly assembly = pageModelAssembler.start();
+        final CompletableFuture<Boolean> emailAllowed = assembly.fetch(
+                () -> apiClientService.isOnAllowList(submissionApi.getPresenter().getEmail()).getData());
         final boolean sequenceHasInsolvency =
                 categorySequenceList != null && categorySequenceList.contains(
                         INSOLVENCY.getValue());
@@ -107,6 +114,7 @@ public class CategoryTemplateControllerImpl extends BaseControllerImpl implement
                 .collect(Collectors.toList());
         final boolean sequenceValid = categorySequenceList == null || categoryTypesList.containsAll(
                 categorySequenceList);
+        final Boolean isEmailAllowed = assembly.await(emailAllowed);
 
         if (!sequenceValid || (sequenceHasInsolvency && !isEmailAllowed)) {
             return ViewConstants.MISSING.asView();
@@ -125,8 +133,7 @@ public class CategoryTemplateControllerImpl extends BaseControllerImpl implement
                 ? new CategoryTemplateApi(CategoryTemplateModel.ROOT_CATEGORY)
                 : childTemplate);
         categoryTemplateAttribute.setCategoryTemplateList(
-                getChildCategoryTemplateList(parentCategoryId,
-                        submissionApi.getPresenter().getEmail()));
+                getChildCategoryTemplateList(parentCategoryId, isEmailAllowed));
         addTrackingAttributeToModel(model);
 
         return ViewConstants.CATEGORY_SELECTION.asView();
@@ -167,15 +174,13 @@ public class CategoryTemplateControllerImpl extends BaseControllerImpl implement
      * Filter out INSOLVENCY category if user not on authorised allowlist.
      *
      * @param parentCategoryId the parent category ID
-     * @param presenterEmail   email to check against allowlist
+     * @param isEmailAllowed   whether the presenter email is on the allowlist
      * @return the child category list, may be empty
      */
     private List<CategoryTemplateApi> getChildCategoryTemplateList(final String parentCategoryId,
-            final String presenterEmail) {
+            final Boolean isEmailAllowed) {
         ApiResponse<CategoryTemplateListApi> listResponse =
                 categoryTemplateService.getCategoryTemplatesByParent(parentCategoryId);
-        final Boolean isEmailAllowed = apiClientService.isOnAllowList(presenterEmail)
-                .getData();
         final Predicate<CategoryTemplateApi> includeCategory =
                 c -> isEmailAllowed || !c.getCategoryType().equals(INSOLVENCY.getValue());
 
@@ -1,14 +1,11 @@
 package uk.gov.companieshouse.efs.web.categorytemplates.service.api.impl;
 
-import static uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants.OTHER;
-import static uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants.ROOT;
-
-import org.apache.commons.lang3.StringUtils;
+import java.util.Collections;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.UriComponents;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.categorytemplates.CategoryTemplateApi;
@@ -17,32 +14,39 @@ import uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeCo
 import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
 import uk.gov.companieshouse.efs.web.configuration.DataCacheConfig;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.api.guard.ApiCallGuard;
 import uk.gov.companieshouse.efs.web.service.api.impl.ApiClientServiceImpl;
 import uk.gov.companieshouse.efs.web.service.api.impl.BaseApiClientServiceImpl;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogueService;
 import uk.gov.companieshouse.logging.Logger;
 
 /**
- * Service sends and receives secure REST messages to the api.
+ * Service sends and receives secure REST messages to the api. Only the complete list of category
+ * templates is fetched from the api; single templates, children and top level categories are looked
+ * up in the {@link TemplateCatalogueService template catalogue} built from it.
  */
 @Service
 public class CategoryTemplateServiceImpl extends BaseApiClientServiceImpl
         implements CategoryTemplateService {
 
     public static final String CATEGORY_TEMPLATES_FRAGMENT = "/category-templates";
-    public static final String CATEGORY_TEMPLATE_FRAGMENT = "/category-template";
-    private static final String PARENT_TEMPLATE = "parent={parent}";
 
     private ApiClientService apiClientService;
+    private TemplateCatalogueService templateCatalogueService;
 
     /**
      * Construct an {@link ApiClientServiceImpl}.
      *
+     * @param templateCatalogueService the template catalogue
+     * @param apiCallGuard the circuit breaker and bulkhead for the api calls
      * @param logger the CH logger
      */
     @Autowired
-    public CategoryTemplateServiceImpl(ApiClientService apiClientService, Logger logger) {
-        super(logger);
+    public CategoryTemplateServiceImpl(ApiClientService apiClientService,
+            TemplateCatalogueService templateCatalogueService, ApiCallGuard apiCallGuard, Logger logger) {
+        super(logger, apiCallGuard);
         this.apiClientService = apiClientService;
+        this.templateCatalogueService = templateCatalogueService;
     }
 
     @Override
@@ -62,53 +66,26 @@ public class CategoryTemplateServiceImpl extends BaseApiClientServiceImpl
     }
 
     @Override
-    @Cacheable(value = DataCacheConfig.CATEGORY_BY_ID, sync = true)
     public ApiResponse<CategoryTemplateApi> getCategoryTemplate(String id) {
+        final CategoryTemplateApi categoryTemplate = templateCatalogueService.getCatalogue().getCategory(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "Category template not found: " + id));
 
-        final String uri =
-                BaseApiClientServiceImpl.ROOT_URI + CATEGORY_TEMPLATE_FRAGMENT + "/" + id;
-
-        return executeOp("getCategoryTemplate", uri,
-            getApiClient().privateEfsResourceHandler().categoryTemplates().categoryTemplate().get(uri));
+        return new ApiResponse<>(HttpStatus.OK.value(), Collections.emptyMap(), categoryTemplate);
     }
 
     @Override
-    @Cacheable(value = DataCacheConfig.CATEGORY_BY_PARENT, sync = true)
     public ApiResponse<CategoryTemplateListApi> getCategoryTemplatesByParent(final String id) {
+        final CategoryTemplateListApi categoryTemplates =
+            new CategoryTemplateListApi(templateCatalogueService.getCatalogue().getCategoriesByParent(id));
 
-        final String path = BaseApiClientServiceImpl.ROOT_URI + CATEGORY_TEMPLATES_FRAGMENT;
-        final UriComponents components = UriComponentsBuilder.fromPath(path).query(PARENT_TEMPLATE)
-                .buildAndExpand(id).encode();
-
-        final String uri = components.toUriString();
-
-        return executeOp("getCategoryTemplateByParent", uri,
-                getApiClient().privateEfsResourceHandler().categoryTemplates()
-                        .categoryTemplatesByParent().get(uri));
+        return new ApiResponse<>(HttpStatus.OK.value(), Collections.emptyMap(), categoryTemplates);
     }
 
     @Override
-    @Cacheable(value = DataCacheConfig.TOP_LEVEL_CATEGORY, sync = true)
     public CategoryTypeConstants getTopLevelCategory(final String category) {
-        CategoryTypeConstants result = CategoryTypeConstants.nameOf(category).orElse(OTHER);
-        String currentCategory = category;
-
-        while (true) {
-            final ApiResponse<CategoryTemplateApi> categoryTemplateResponse = getCategoryTemplate(currentCategory);
-            final String parent = categoryTemplateResponse.getData().getParent();
-
-            if (StringUtils.isBlank(parent)) {
-                return result;
-            }
-
-            final CategoryTypeConstants parentCategory = CategoryTypeConstants.nameOf(parent).orElse(OTHER);
-
-            if (parentCategory == ROOT) {
-                return result;
-            } else {
-                result = parentCategory;
-                currentCategory = parent;
-            }
-        }
+        return templateCatalogueService.getCatalogue().getTopLevelCategory(category)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "Category template not found: " + category));
     }
 }
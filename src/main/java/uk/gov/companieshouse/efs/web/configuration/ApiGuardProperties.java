@@ -0,0 +1,129 @@
+package uk.gov.companieshouse.efs.web.configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the circuit breakers and bulkheads guarding the calls to the efs-submission-api,
+ * one of each per operation name. Each operation uses the default settings unless it has its own
+ * entry under {@code api-guard.operations}, in which case any setting it leaves out is taken from
+ * the defaults. Operation names are matched ignoring case, so that they can also be set from
+ * environment variables.
+ */
+@ConfigurationProperties(prefix = "api-guard")
+public class ApiGuardProperties {
+
+    private GuardSpec defaults = new GuardSpec(5, Duration.ofSeconds(30), Duration.ofSeconds(10), 20,
+        Duration.ZERO);
+    private Map<String, GuardSpec> operations = new HashMap<>();
+
+    public GuardSpec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(final GuardSpec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, GuardSpec> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(final Map<String, GuardSpec> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Get the settings for an operation, falling back to the defaults for any it does not set.
+     *
+     * @param operationName the operation name
+     * @return the GuardSpec
+     */
+    public GuardSpec getSpec(final String operationName) {
+        final GuardSpec spec = operations.entrySet().stream()
+            .filter(e -> e.getKey().equalsIgnoreCase(operationName))
+            .map(Map.Entry::getValue)
+            .findFirst()
+            .orElseGet(GuardSpec::new);
+
+        return new GuardSpec(
+            Optional.ofNullable(spec.getFailureThreshold()).orElse(defaults.getFailureThreshold()),
+            Optional.ofNullable(spec.getOpenDuration()).orElse(defaults.getOpenDuration()),
+            Optional.ofNullable(spec.getSlowCallThreshold()).orElse(defaults.getSlowCallThreshold()),
+            Optional.ofNullable(spec.getMaxConcurrent()).orElse(defaults.getMaxConcurrent()),
+            Optional.ofNullable(spec.getMaxWait()).orElse(defaults.getMaxWait()));
+    }
+
+    /**
+     * The settings for one operation. Any of them may be left out. The circuit opens after the
+     * failure threshold of consecutive calls have failed, or taken longer than the slow call
+     * threshold, and calls are then refused until the open duration has passed. A single trial
+     * call is then let through, which closes the circuit again if it succeeds. At most the maximum
+     * concurrent calls are in progress at once; another call waits up to the maximum wait for one
+     * of them to finish, and is refused if none does.
+     */
+    public static class GuardSpec {
+
+        private Integer failureThreshold;
+        private Duration openDuration;
+        private Duration slowCallThreshold;
+        private Integer maxConcurrent;
+        private Duration maxWait;
+
+        public GuardSpec() {
+            // Default constructor.
+        }
+
+        public GuardSpec(final Integer failureThreshold, final Duration openDuration,
+            final Duration slowCallThreshold, final Integer maxConcurrent, final Duration maxWait) {
+            this.failureThreshold = failureThreshold;
+            this.openDuration = openDuration;
+            this.slowCallThreshold = slowCallThreshold;
+            this.maxConcurrent = maxConcurrent;
+            this.maxWait = maxWait;
+        }
+
+        public Integer getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(final Integer failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(final Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public Duration getSlowCallThreshold() {
+            return slowCallThreshold;
+        }
+
+        public void setSlowCallThreshold(final Duration slowCallThreshold) {
+            this.slowCallThreshold = slowCallThreshold;
+        }
+
+        public Integer getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(final Integer maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(final Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
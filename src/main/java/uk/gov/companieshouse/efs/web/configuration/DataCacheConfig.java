@@ -1,35 +1,185 @@
 package uk.gov.companieshouse.efs.web.configuration;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import uk.gov.companieshouse.efs.web.cache.RefreshAheadCache;
+import uk.gov.companieshouse.efs.web.cache.RefreshAheadCacheMeterBinderProvider;
+import uk.gov.companieshouse.efs.web.cache.SubmissionWeigher;
+import uk.gov.companieshouse.efs.web.cache.store.SharedCache;
+import uk.gov.companieshouse.efs.web.cache.store.SharedCacheStore;
+import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.api.impl.ApiClientTaskDecorator;
+import uk.gov.companieshouse.logging.Logger;
 
 @Profile("data-cache")
 @EnableCaching
-@EnableScheduling
+@EnableConfigurationProperties(DataCacheProperties.class)
 @Configuration
 public class DataCacheConfig {
     public static final String ALL_CATEGORIES = "all-categories";
-    public static final String CATEGORY_BY_ID = "category-by-id";
-    public static final String CATEGORY_BY_PARENT = "category-by-parent";
-    public static final String TOP_LEVEL_CATEGORY = "top-level-category";
     public static final String ALL_FORMS = "all-forms";
-    public static final String FORM_BY_ID = "form-by-id";
-    public static final String FORM_BY_CATEGORY = "form-by-category";
     public static final String IP_ALLOW_LIST = "ip-allow-list";
     public static final String SUBMISSION_BY_ID = "submission-by-id";
 
+    static final String CACHE_MEMORY_METRIC = "cache.memory.estimated";
+
     protected static final String[] REF_DATA_CACHE_NAMES =
-            {ALL_CATEGORIES, CATEGORY_BY_ID, CATEGORY_BY_PARENT, TOP_LEVEL_CATEGORY, ALL_FORMS,
-                    FORM_BY_ID, FORM_BY_CATEGORY, IP_ALLOW_LIST};
+            {ALL_CATEGORIES, ALL_FORMS, IP_ALLOW_LIST};
     // although this method is unused it prevents sonar considering this a utility class
     // with a public constructor
     @Bean
     public List<String> refDataCacheNames() {
         return Arrays.asList(REF_DATA_CACHE_NAMES);
     }
+
+    /**
+     * Create a cache for each reference data name and for {@link #SUBMISSION_BY_ID}, using the
+     * expiry and bounds configured for it. The shared provider uses the {@link SharedCacheStore}
+     * bean, and fails to start if there is none. Only the local provider applies the
+     * time to idle and the size and weight bounds; a shared store manages its own memory. A cache
+     * with a refresh interval is wrapped in a {@link RefreshAheadCache}, whichever the provider.
+     *
+     * @param properties       the cache settings
+     * @param sharedCacheStore the shared store, if one is configured
+     * @param refreshExecutor  reloads the entries of the refresh-ahead caches
+     * @param logger           the CH logger
+     * @return the CacheManager bean
+     */
+    @Bean
+    public CacheManager cacheManager(final DataCacheProperties properties,
+        final ObjectProvider<SharedCacheStore> sharedCacheStore,
+        @Qualifier("referenceDataRefreshExecutor") final Executor refreshExecutor, final Logger logger) {
+        final List<Cache> caches = new ArrayList<>();
+        final List<String> cacheNames = new ArrayList<>(Arrays.asList(REF_DATA_CACHE_NAMES));
+        cacheNames.add(SUBMISSION_BY_ID);
+
+        final SharedCacheStore store = properties.getProvider() == DataCacheProperties.Provider.SHARED
+            ? requireSharedCacheStore(sharedCacheStore)
+            : null;
+
+        for (String name : cacheNames) {
+            final DataCacheProperties.CacheSpec spec = properties.getSpec(name);
+            final Cache cache = store != null
+                ? new SharedCache(name, store, spec.getTimeToLive())
+                : new CaffeineCache(name, caffeine(spec, weigher(name)).build());
+
+            caches.add(spec.getRefreshAfter() == null
+                ? cache
+                : new RefreshAheadCache(cache, spec.getRefreshAfter().toMillis(), refreshExecutor, logger));
+        }
+
+        final SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+
+        return cacheManager;
+    }
+
+    private static SharedCacheStore requireSharedCacheStore(final ObjectProvider<SharedCacheStore> sharedCacheStore) {
+        final SharedCacheStore store = sharedCacheStore.getIfAvailable();
+
+        if (store == null) {
+            throw new IllegalStateException("data-cache.provider is shared but no SharedCacheStore is configured");
+        }
+
+        return store;
+    }
+
+    /**
+     * Executor used to reload the entries of the refresh-ahead caches in the background. The
+     * reloads call the API with the credentials of the request that read the entry. A reload that
+     * cannot be queued is skipped, and tried again on a later read.
+     *
+     * @param properties       the cache settings
+     * @param apiClientService the API client service
+     * @return the refresh executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor referenceDataRefreshExecutor(final DataCacheProperties properties,
+        final ApiClientService apiClientService) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(properties.getRefreshPoolSize());
+        executor.setMaxPoolSize(properties.getRefreshPoolSize());
+        executor.setQueueCapacity(properties.getRefreshQueueCapacity());
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setTaskDecorator(new ApiClientTaskDecorator(apiClientService));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        return executor;
+    }
+
+    @Bean
+    public RefreshAheadCacheMeterBinderProvider refreshAheadCacheMeterBinderProvider() {
+        return new RefreshAheadCacheMeterBinderProvider();
+    }
+
+    /**
+     * Publish the estimated memory used by each cache that is bounded by weight to the actuator
+     * metrics endpoint.
+     *
+     * @param cacheManager the cache manager
+     * @return the MeterBinder bean
+     */
+    @Bean
+    public MeterBinder cacheMemoryMetrics(final CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().stream()
+            .map(cacheManager::getCache)
+            .filter(CaffeineCache.class::isInstance)
+            .map(CaffeineCache.class::cast)
+            .filter(cache -> cache.getNativeCache().policy().eviction()
+                .map(Policy.Eviction::isWeighted).orElse(false))
+            .forEach(cache -> Gauge.builder(CACHE_MEMORY_METRIC, cache.getNativeCache(),
+                nativeCache -> nativeCache.policy().eviction()
+                    .map(eviction -> eviction.weightedSize().orElse(0L))
+                    .orElse(0L))
+                .tag("cache", cache.getName())
+                .description("The estimated memory used by the cache entries")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry));
+    }
+
+    static Weigher<Object, Object> weigher(final String cacheName) {
+        return SUBMISSION_BY_ID.equals(cacheName) ? new SubmissionWeigher() : (key, value) -> 1;
+    }
+
+    static Caffeine<Object, Object> caffeine(final DataCacheProperties.CacheSpec spec,
+        final Weigher<Object, Object> weigher) {
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+        // Caffeine evicts by W-TinyLFU, which keeps frequently used entries over recently added ones.
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight()).weigher(weigher);
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getTimeToLive() != null) {
+            builder.expireAfterWrite(spec.getTimeToLive());
+        }
+        if (spec.getTimeToIdle() != null) {
+            builder.expireAfterAccess(spec.getTimeToIdle());
+        }
+
+        return builder;
+    }
 }
@@ -0,0 +1,163 @@
+package uk.gov.companieshouse.efs.web.configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the data caches. Each cache uses the default settings unless it has its own entry
+ * under {@code data-cache.caches}, in which case any setting it leaves out is taken from the
+ * defaults.
+ */
+@ConfigurationProperties(prefix = "data-cache")
+public class DataCacheProperties {
+
+    /**
+     * Where the cached entries are held.
+     */
+    public enum Provider {
+        /**
+         * In the memory of each node.
+         */
+        LOCAL,
+        /**
+         * In a cache store shared by all nodes.
+         */
+        SHARED
+    }
+
+    private Provider provider = Provider.LOCAL;
+    private int refreshPoolSize = 1;
+    private int refreshQueueCapacity = 20;
+    private CacheSpec defaults = new CacheSpec();
+    private Map<String, CacheSpec> caches = new HashMap<>();
+
+    public Provider getProvider() {
+        return provider;
+    }
+
+    public void setProvider(final Provider provider) {
+        this.provider = provider;
+    }
+
+    public int getRefreshPoolSize() {
+        return refreshPoolSize;
+    }
+
+    public void setRefreshPoolSize(final int refreshPoolSize) {
+        this.refreshPoolSize = refreshPoolSize;
+    }
+
+    public int getRefreshQueueCapacity() {
+        return refreshQueueCapacity;
+    }
+
+    public void setRefreshQueueCapacity(final int refreshQueueCapacity) {
+        this.refreshQueueCapacity = refreshQueueCapacity;
+    }
+
+    public CacheSpec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(final CacheSpec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, CacheSpec> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(final Map<String, CacheSpec> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Get the settings for a cache, falling back to the defaults for any it does not set.
+     *
+     * @param cacheName the cache name
+     * @return the CacheSpec
+     */
+    public CacheSpec getSpec(final String cacheName) {
+        final CacheSpec spec = Optional.ofNullable(caches.get(cacheName)).orElseGet(CacheSpec::new);
+
+        return new CacheSpec(
+            Optional.ofNullable(spec.getTimeToLive()).orElse(defaults.getTimeToLive()),
+            Optional.ofNullable(spec.getTimeToIdle()).orElse(defaults.getTimeToIdle()),
+            Optional.ofNullable(spec.getMaximumSize()).orElse(defaults.getMaximumSize()),
+            Optional.ofNullable(spec.getMaximumWeight()).orElse(defaults.getMaximumWeight()),
+            Optional.ofNullable(spec.getRefreshAfter()).orElse(defaults.getRefreshAfter()));
+    }
+
+    /**
+     * The settings for one cache. Any of them may be left out. An entry expires once its time to
+     * live has passed since it was written, or once it has not been read or written for its time to
+     * idle, whichever comes first. If a maximum weight is set it takes the place of the maximum
+     * size, and bounds the estimated memory used by the entries instead of their number. An entry
+     * read once its refresh interval has passed is reloaded in the background, and the current
+     * value is returned until the new one replaces it.
+     */
+    public static class CacheSpec {
+
+        private Duration timeToLive;
+        private Duration timeToIdle;
+        private Long maximumSize;
+        private Long maximumWeight;
+        private Duration refreshAfter;
+
+        public CacheSpec() {
+            // Default constructor.
+        }
+
+        public CacheSpec(final Duration timeToLive, final Duration timeToIdle, final Long maximumSize,
+            final Long maximumWeight, final Duration refreshAfter) {
+            this.timeToLive = timeToLive;
+            this.timeToIdle = timeToIdle;
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+            this.refreshAfter = refreshAfter;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(final Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Duration getTimeToIdle() {
+            return timeToIdle;
+        }
+
+        public void setTimeToIdle(final Duration timeToIdle) {
+            this.timeToIdle = timeToIdle;
+        }
+
+        public Long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(final Long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(final Long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getRefreshAfter() {
+            return refreshAfter;
+        }
+
+        public void setRefreshAfter(final Duration refreshAfter) {
+            this.refreshAfter = refreshAfter;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package uk.gov.companieshouse.efs.web.configuration;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import uk.gov.companieshouse.efs.web.transfer.AttemptDeadline;
+
+/**
+ * Provides the pooled HTTP client used by the RestTemplate for file-transfer-api requests.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    static final String POOL_NAME = "file-transfer-api";
+
+    @Value("${file.transfer.api.streaming.enabled}")
+    private boolean streamingEnabled;
+    @Value("${file.transfer.api.http.pool.max.total}")
+    private int maxTotal;
+    @Value("${file.transfer.api.http.pool.max.per.route}")
+    private int maxPerRoute;
+    @Value("${file.transfer.api.http.connect.timeout.ms}")
+    private int connectTimeout;
+    @Value("${file.transfer.api.http.read.timeout.ms}")
+    private int readTimeout;
+    @Value("${file.transfer.api.http.connection.request.timeout.ms}")
+    private int connectionRequestTimeout;
+    @Value("${file.transfer.api.http.idle.eviction.ms}")
+    private long idleEviction;
+
+    @Bean
+    PoolingHttpClientConnectionManager httpClientConnectionManager() {
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        return connectionManager;
+    }
+
+    /**
+     * Create the HTTP client. Connections are kept alive and reused between requests; those left
+     * idle for longer than the eviction period, or past their keep-alive expiry, are closed by a
+     * background thread.
+     *
+     * @param connectionManager the connection pool
+     * @return the CloseableHttpClient bean
+     */
+    @Bean
+    CloseableHttpClient httpClient(final PoolingHttpClientConnectionManager connectionManager) {
+        final RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(connectTimeout)
+            .setSocketTimeout(readTimeout)
+            .setConnectionRequestTimeout(connectionRequestTimeout)
+            .build();
+
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(idleEviction, TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    /**
+     * Publish the connection pool gauges to the actuator metrics endpoint.
+     *
+     * @param connectionManager the connection pool
+     * @return the MeterBinder bean
+     */
+    @Bean
+    MeterBinder httpClientConnectionPoolMetrics(final PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+    }
+
+    /**
+     * Request bodies are buffered in memory by default; when file transfer streaming is enabled
+     * they are written straight to the connection instead. Each request is aborted if the deadline
+     * of the file-transfer-api call attempt it belongs to passes before it has finished.
+     *
+     * @param httpClient the pooled HTTP client
+     * @return the ClientHttpRequestFactory used by the RestTemplate bean
+     */
+    @Bean
+    ClientHttpRequestFactory clientHttpRequestFactory(final CloseableHttpClient httpClient) {
+        final HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient) {
+            @Override
+            protected HttpUriRequest createHttpUriRequest(final HttpMethod httpMethod, final URI uri) {
+                final HttpUriRequest request = super.createHttpUriRequest(httpMethod, uri);
+
+                AttemptDeadline.onExpiry(request::abort);
+                return request;
+            }
+        };
+        requestFactory.setBufferRequestBody(!streamingEnabled);
+
+        return requestFactory;
+    }
+}
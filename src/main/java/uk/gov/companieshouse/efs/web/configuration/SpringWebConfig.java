@@ -1,39 +1,68 @@
 package uk.gov.companieshouse.efs.web.configuration;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.SecureRandom;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import uk.gov.companieshouse.efs.web.cache.StaleDataMarker;
 import uk.gov.companieshouse.efs.web.payment.service.NonceService;
 import uk.gov.companieshouse.efs.web.payment.service.NonceServiceFactoryImpl;
+import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.api.impl.ApiClientTaskDecorator;
+import uk.gov.companieshouse.efs.web.transfer.SpoolingMultipartResolver;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.environment.impl.EnvironmentReaderImpl;
+import uk.gov.companieshouse.logging.Logger;
 
 /**
  * Provides configuration for the web application.
  */
 @SpringBootConfiguration
+@EnableConfigurationProperties(ApiGuardProperties.class)
 public class SpringWebConfig implements WebMvcConfigurer {
 
     @Value("${rng.algorithm}")
     private String algorithm;
     @Value("${rng.provider}")
     private String provider;
+    @Value("${file.transfer.api.upload.pool.size}")
+    private int uploadPoolSize;
+    @Value("${file.transfer.api.upload.queue.capacity}")
+    private int uploadQueueCapacity;
+    @Value("${document.upload.job.pool.size}")
+    private int uploadJobPoolSize;
+    @Value("${document.upload.job.queue.capacity}")
+    private int uploadJobQueueCapacity;
+    @Value("${api.call.pool.size}")
+    private int apiCallPoolSize;
+    @Value("${api.call.queue.capacity}")
+    private int apiCallQueueCapacity;
 
     /**
      * Manage the messages bundle required by models.
@@ -112,13 +141,120 @@ public class SpringWebConfig implements WebMvcConfigurer {
     }
 
     @Bean
-    RestTemplate restTemplate(final ResponseErrorHandler handler) {
-        final RestTemplate template = new RestTemplateBuilder().build();
+    RestTemplate restTemplate(final ResponseErrorHandler handler, final ClientHttpRequestFactory requestFactory) {
+        final RestTemplate template = new RestTemplateBuilder().requestFactory(() -> requestFactory).build();
         template.setErrorHandler(handler);
 
         return template;
     }
 
+    /**
+     * Resolve multipart requests so that the uploaded files are spooled to temporary files, which
+     * are deleted when the request completes.
+     *
+     * @param logger the CH logger
+     * @return the MultipartResolver bean, in place of Spring Boot's default
+     */
+    @Bean(DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    MultipartResolver multipartResolver(final Logger logger) {
+        return new SpoolingMultipartResolver(logger);
+    }
+
+    /**
+     * Executor used to upload the files in a submission to the file-transfer-api concurrently.
+     * The pool and its queue are bounded; once both are full the upload runs on the request thread.
+     *
+     * @return the file upload executor
+     */
+    @Bean
+    ThreadPoolTaskExecutor fileUploadExecutor() {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(uploadPoolSize);
+        executor.setMaxPoolSize(uploadPoolSize);
+        executor.setQueueCapacity(uploadQueueCapacity);
+        executor.setThreadNamePrefix("file-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        return executor;
+    }
+
+    /**
+     * Executor used to run document upload jobs in the background. Unlike the file upload executor,
+     * a job that cannot be queued is rejected so that the caller can be told to try again later. Jobs
+     * save the uploaded files with the submission using the credentials of the request that started them.
+     *
+     * @param apiClientService the API client service
+     * @return the upload job executor
+     */
+    @Bean
+    ThreadPoolTaskExecutor uploadJobExecutor(@Lazy final ApiClientService apiClientService) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(uploadJobPoolSize);
+        executor.setMaxPoolSize(uploadJobPoolSize);
+        executor.setQueueCapacity(uploadJobQueueCapacity);
+        executor.setThreadNamePrefix("upload-job-");
+        executor.setTaskDecorator(new ApiClientTaskDecorator(apiClientService));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        return executor;
+    }
+
+    /**
+     * Scheduler used to abort the attempts at file-transfer-api calls that are still running when
+     * their attempt timeout has passed.
+     *
+     * @return the file transfer timeout scheduler
+     */
+    @Bean
+    ThreadPoolTaskScheduler fileTransferTimeoutScheduler() {
+        final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("file-transfer-timeout-");
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        return scheduler;
+    }
+
+    /**
+     * Executor used to call the API asynchronously, so that the independent data for a page can be
+     * fetched concurrently. The calls use the credentials of the request that made them, and mark
+     * that request if they are answered with stale cached data. The pool and its queue are bounded;
+     * once both are full the call runs on the request thread.
+     *
+     * @param apiClientService the API client service
+     * @return the API call executor
+     */
+    @Bean
+    ThreadPoolTaskExecutor apiCallExecutor(@Lazy final ApiClientService apiClientService) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(apiCallPoolSize);
+        executor.setMaxPoolSize(apiCallPoolSize);
+        executor.setQueueCapacity(apiCallQueueCapacity);
+        executor.setThreadNamePrefix("api-call-");
+        final ApiClientTaskDecorator apiClientTaskDecorator = new ApiClientTaskDecorator(apiClientService);
+        executor.setTaskDecorator(runnable -> StaleDataMarker.propagate(apiClientTaskDecorator.decorate(runnable)));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        return executor;
+    }
+
+    /**
+     * Publish the pool size, queue length and completed tasks of the API call executor to the
+     * actuator metrics endpoint.
+     *
+     * @param apiCallExecutor the API call executor
+     * @return the MeterBinder bean
+     */
+    @Bean
+    MeterBinder apiCallExecutorMetrics(@Qualifier("apiCallExecutor") final ThreadPoolTaskExecutor apiCallExecutor) {
+        return registry -> new ExecutorServiceMetrics(apiCallExecutor.getThreadPoolExecutor(), "api-call",
+            Collections.emptyList()).bindTo(registry);
+    }
+
     @Bean
     ResourceBundle resourceBundle() {
         return ResourceBundle.getBundle("messages", Locale.UK);
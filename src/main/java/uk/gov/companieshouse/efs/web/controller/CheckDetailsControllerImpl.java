@@ -3,6 +3,7 @@ package uk.gov.companieshouse.efs.web.controller;
 import static uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants.INSOLVENCY;
 import static uk.gov.companieshouse.efs.web.controller.CheckDetailsControllerImpl.ATTRIBUTE_NAME;
 
+import java.util.concurrent.CompletableFuture;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import org.apache.commons.lang3.StringUtils;
@@ -25,6 +26,9 @@ import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTempl
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
 import uk.gov.companieshouse.efs.web.model.CheckDetailsModel;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogue;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogueService;
+import uk.gov.companieshouse.efs.web.service.filelist.FileListService;
 import uk.gov.companieshouse.efs.web.service.session.SessionService;
 import uk.gov.companieshouse.efs.web.validation.ConfirmAuthorisedValidator;
 import uk.gov.companieshouse.logging.Logger;
@@ -41,6 +45,9 @@ public class CheckDetailsControllerImpl extends BaseControllerImpl implements Ch
 
     private CheckDetailsModel checkDetailsAttribute;
     private ConfirmAuthorisedValidator confirmAuthorisedValidator;
+    private FileListService fileListService;
+    private TemplateCatalogueService templateCatalogueService;
+    private PageModelAssembler pageModelAssembler;
 
     /**
      * Define the model name for this action.
@@ -58,12 +65,18 @@ public class CheckDetailsControllerImpl extends BaseControllerImpl implements Ch
         final FormTemplateService formTemplateService,
         final CategoryTemplateService categoryTemplateService,
         CheckDetailsModel checkDetailsAttribute,
-        ConfirmAuthorisedValidator confirmAuthorisedValidator) {
+        ConfirmAuthorisedValidator confirmAuthorisedValidator,
+        final FileListService fileListService,
+        final TemplateCatalogueService templateCatalogueService,
+        final PageModelAssembler pageModelAssembler) {
         super(logger, sessionService, apiClientService);
         this.formTemplateService = formTemplateService;
         this.categoryTemplateService = categoryTemplateService;
         this.checkDetailsAttribute = checkDetailsAttribute;
         this.confirmAuthorisedValidator = confirmAuthorisedValidator;
+        this.fileListService = fileListService;
+        this.templateCatalogueService = templateCatalogueService;
+        this.pageModelAssembler = pageModelAssembler;
     }
 
     @ModelAttribute(ATTRIBUTE_NAME)
@@ -81,12 +94,17 @@ public class CheckDetailsControllerImpl extends BaseControllerImpl implements Ch
         @ModelAttribute(ATTRIBUTE_NAME) final CheckDetailsModel checkDetailsAttribute,
         Model model, HttpServletRequest request, HttpSession session, SessionStatus sessionStatus) {
 
+        final PageModelAssembler.Assembly assembly = pageModelAssembler.start();
+        final CompletableFuture<TemplateCatalogue> templates = fetchTemplates(assembly);
+
+        saveFileList(id);
         final SubmissionApi submission = getSubmission(id);
 
         if (submission.getStatus() != SubmissionStatus.OPEN) {
             return ViewConstants.GONE.asView();
         }
 
+        assembly.await(templates);
         addDataToModel(checkDetailsAttribute, model, submission);
         return ViewConstants.CHECK_DETAILS.asView();
     }
@@ -96,10 +114,15 @@ public class CheckDetailsControllerImpl extends BaseControllerImpl implements Ch
         @ModelAttribute(ATTRIBUTE_NAME) final CheckDetailsModel checkDetailsAttribute,
         BindingResult binding, final Model model, final HttpServletRequest request) {
 
+        final PageModelAssembler.Assembly assembly = pageModelAssembler.start();
+        final CompletableFuture<TemplateCatalogue> templates = fetchTemplates(assembly);
+
+        saveFileList(id);
         final SubmissionApi submission = getSubmission(id);
         confirmAuthorisedValidator.isValid(submission, checkDetailsAttribute, binding);
 
         if (binding.hasErrors()) {
+            assembly.await(templates);
             addDataToModel(checkDetailsAttribute, model, submission);
             return ViewConstants.CHECK_DETAILS.asView();
         }
@@ -112,6 +135,29 @@ public class CheckDetailsControllerImpl extends BaseControllerImpl implements Ch
             ViewConstants.CONFIRMATION.asRedirectUri(chsUrl, id, companyNumber);
     }
 
+    /**
+     * Save any documents added or removed on the document upload page that were not saved when the
+     * user left it, such as when the user came straight here from another page.
+     *
+     * @param id the submission id
+     */
+    private void saveFileList(final String id) {
+        fileListService.flush(id).ifPresent(
+            response -> logApiResponse(response, id, "PUT /efs-submission-api/submission/" + id + "/files"));
+    }
+
+    /**
+     * Start loading the template catalogue, if it is not loaded already, while the documents are
+     * saved and the submission is read. The form and category lookups for the page then find it
+     * ready instead of loading it after the submission has been read.
+     *
+     * @param assembly the page's API calls
+     * @return the pending catalogue
+     */
+    private CompletableFuture<TemplateCatalogue> fetchTemplates(final PageModelAssembler.Assembly assembly) {
+        return assembly.fetch(templateCatalogueService::getCatalogue);
+    }
+
     private void addDataToModel(
         @ModelAttribute(ATTRIBUTE_NAME) final CheckDetailsModel checkDetailsAttribute,
         final Model model, final SubmissionApi submission) {
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.efs.web.controller;
 
+import java.util.concurrent.CompletableFuture;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,9 +10,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.SessionAttributes;
 import org.springframework.web.bind.support.SessionStatus;
 import uk.gov.companieshouse.api.model.ApiResponse;
-import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
-import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionResponseApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionStatus;
 import uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTemplateControllerImpl;
@@ -27,6 +26,8 @@ import uk.gov.companieshouse.logging.Logger;
 @SessionAttributes({FormTemplateControllerImpl.ATTRIBUTE_NAME, CategoryTemplateControllerImpl.ATTRIBUTE_NAME})
 public class ConfirmationControllerImpl extends BaseControllerImpl implements ConfirmationController {
 
+    private final PageModelAssembler pageModelAssembler;
+
     /**
      * Constructor used by child controllers.
      *
@@ -35,11 +36,12 @@ public class ConfirmationControllerImpl extends BaseControllerImpl implements Co
     @Autowired
     public ConfirmationControllerImpl(final Logger logger, SessionService sessionService,
                                       ApiClientService apiClientService, FormTemplateService formTemplateService,
-                                      CategoryTemplateService categoryTemplateService) {
+                                      CategoryTemplateService categoryTemplateService,
+                                      PageModelAssembler pageModelAssembler) {
         super(logger, sessionService, apiClientService);
         this.formTemplateService = formTemplateService;
         this.categoryTemplateService = categoryTemplateService;
-
+        this.pageModelAssembler = pageModelAssembler;
     }
 
     @Override
@@ -57,6 +59,13 @@ public class ConfirmationControllerImpl extends BaseControllerImpl implements Co
             return ViewConstants.GONE.asView();
         }
 
+        // look up the form's top level category while the submission is submitted
+        final PageModelAssembler.Assembly assembly = pageModelAssembler.start();
+        final String formType = submission.getSubmissionForm().getFormType();
+        final CompletableFuture<CategoryTypeConstants> topLevelCategoryLookup = assembly.fetch(
+            () -> categoryTemplateService.getTopLevelCategory(
+                formTemplateService.getFormTemplate(formType).getData().getFormCategory()));
+
         final ApiResponse<SubmissionResponseApi> response = apiClientService.putSubmissionSubmitted(id);
 
         logApiResponse(response, id, "PUT /efs-submission-api/submission/" + id);
@@ -65,12 +74,7 @@ public class ConfirmationControllerImpl extends BaseControllerImpl implements Co
         model.addAttribute("newSubmissionUri",
             ViewConstants.NEW_SUBMISSION.asUriForCompany(chsUrl, submission.getCompany().getCompanyNumber()));
 
-        SubmissionFormApi submissionFormApi = submission.getSubmissionForm();
-
-        ApiResponse<FormTemplateApi> formTemplateApi =
-                formTemplateService.getFormTemplate(submissionFormApi.getFormType());
-        String formCategory = formTemplateApi.getData().getFormCategory();
-        CategoryTypeConstants topLevelCategory = categoryTemplateService.getTopLevelCategory(formCategory);
+        CategoryTypeConstants topLevelCategory = assembly.await(topLevelCategoryLookup);
 
         boolean isRegPowers = topLevelCategory.equals(CategoryTypeConstants.REGISTRAR_POWERS);
         model.addAttribute("registrarsPowers", isRegPowers);
@@ -4,6 +4,7 @@ import static uk.gov.companieshouse.efs.web.controller.DocumentUploadControllerI
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
+import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,7 +12,9 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
 import uk.gov.companieshouse.efs.web.model.DocumentUploadModel;
+import uk.gov.companieshouse.efs.web.service.upload.DocumentUploadJob;
 
 @RequestMapping(BaseControllerImpl.SERVICE_URI)
 public interface DocumentUploadController {
@@ -65,4 +68,34 @@ public interface DocumentUploadController {
     String finish(@PathVariable String id, @PathVariable String companyNumber,
         @ModelAttribute(ATTRIBUTE_NAME) DocumentUploadModel documentUploadAttribute, BindingResult binding, Model model,
         HttpServletRequest request, HttpSession session);
+
+    /**
+     * Post request starts uploading the selected documents in the background, so that the page can
+     * report progress rather than waiting for every file to reach the file-transfer-api.
+     *
+     * @param id                      the submission id
+     * @param companyNumber           the company number
+     * @param documentUploadAttribute the document details see {@link DocumentUploadModel}
+     * @param binding                 holds the result of the validation
+     * @param request                 the request, used to locate the new job
+     * @return the new job with status 202, or the validation errors with status 400
+     */
+    @PostMapping("{id}/company/{companyNumber}/document-upload/jobs")
+    @ResponseBody
+    ResponseEntity<DocumentUploadJob> submitJob(@PathVariable String id, @PathVariable String companyNumber,
+        @ModelAttribute(ATTRIBUTE_NAME) DocumentUploadModel documentUploadAttribute, BindingResult binding,
+        HttpServletRequest request);
+
+    /**
+     * Get request for the progress of a document upload job.
+     *
+     * @param id            the submission id
+     * @param companyNumber the company number
+     * @param jobId         the job id
+     * @return the job, or status 404 if the submission has no such job
+     */
+    @GetMapping("{id}/company/{companyNumber}/document-upload/jobs/{jobId}")
+    @ResponseBody
+    ResponseEntity<DocumentUploadJob> getJob(@PathVariable String id, @PathVariable String companyNumber,
+        @PathVariable String jobId);
 }
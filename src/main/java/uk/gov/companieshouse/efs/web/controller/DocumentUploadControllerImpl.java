@@ -2,40 +2,51 @@ package uk.gov.companieshouse.efs.web.controller;
 
 import static uk.gov.companieshouse.efs.web.controller.DocumentUploadControllerImpl.ATTRIBUTE_NAME;
 
+import java.io.IOException;
+import java.net.URI;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.SessionAttributes;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
 import uk.gov.companieshouse.api.model.efs.submissions.FileListApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
-import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
-import uk.gov.companieshouse.api.model.efs.submissions.SubmissionResponseApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionStatus;
 import uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants;
 import uk.gov.companieshouse.efs.web.configuration.FileUploadConfiguration;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
 import uk.gov.companieshouse.efs.web.model.DocumentUploadModel;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.filelist.FileListService;
 import uk.gov.companieshouse.efs.web.service.session.SessionService;
-import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClient;
+import uk.gov.companieshouse.efs.web.service.upload.DocumentUploadJob;
+import uk.gov.companieshouse.efs.web.service.upload.DocumentUploadJobService;
+import uk.gov.companieshouse.efs.web.transfer.ConcurrentFileUploader;
+import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClientResponse;
 import uk.gov.companieshouse.efs.web.validation.DocumentUploadValidator;
 import uk.gov.companieshouse.logging.Logger;
 
@@ -56,9 +67,11 @@ public class DocumentUploadControllerImpl extends BaseControllerImpl implements
      */
     public static final String ATTRIBUTE_NAME = "documentUpload";
 
-    private FileTransferApiClient fileTransferApiClient;
     private FileUploadConfiguration fileUploadConfiguration;
     private DocumentUploadValidator documentUploadValidator;
+    private ConcurrentFileUploader concurrentFileUploader;
+    private DocumentUploadJobService documentUploadJobService;
+    private FileListService fileListService;
     private DocumentUploadModel documentUploadAttribute;
     private ResourceBundle resourceBundle;
 
@@ -76,8 +89,10 @@ public class DocumentUploadControllerImpl extends BaseControllerImpl implements
 
         super(logger, sessionService, apiClientService);
         this.fileUploadConfiguration = fileTransferManager.getFileUploadConfiguration();
-        this.fileTransferApiClient = fileTransferManager.getFileTransferApiClient();
         this.documentUploadValidator = fileTransferManager.getDocumentUploadValidator();
+        this.concurrentFileUploader = fileTransferManager.getConcurrentFileUploader();
+        this.documentUploadJobService = fileTransferManager.getDocumentUploadJobService();
+        this.fileListService = fileTransferManager.getFileListService();
         this.documentUploadAttribute = documentUploadAttribute;
         this.resourceBundle = ResourceBundle.getBundle("messages", Locale.UK);
         this.formTemplateService = formTemplateService;
@@ -108,7 +123,7 @@ public class DocumentUploadControllerImpl extends BaseControllerImpl implements
             return ViewConstants.GONE.asView();
         }
 
-        FileListApi uploadedFiles = getUploadedFiles(submissionApi);
+        FileListApi uploadedFiles = fileListService.getFileList(submissionApi);
         final FormTemplateApi formTemplate = getFormTemplateApi(submissionApi.getSubmissionForm().getFormType());
 
         addDataToPrepareModel(documentUploadAttribute, submissionApi, formTemplate, uploadedFiles);
@@ -140,40 +155,26 @@ public class DocumentUploadControllerImpl extends BaseControllerImpl implements
 
         // Update the page model with the database document's id and details
         documentUploadAttribute.setSubmissionId(submissionApi.getId());
-        documentUploadAttribute.setDetails(new FileListApi());
-        documentUploadAttribute.addDetails(submissionApi);
+        documentUploadAttribute.setDetails(fileListService.getFileList(submissionApi));
 
         // Proceed to validate the request and upload the valid files to the server.
-        final Map<String, MultipartFile> uploadedFiles = documentUploadValidator.apply(documentUploadAttribute, binding)
-            .stream().collect(Collectors.toMap(file -> fileTransferApiClient.upload(file).getFileId(), file -> file));
+        final List<MultipartFile> validFiles = documentUploadValidator.apply(documentUploadAttribute, binding);
+        final List<FileApi> fileApiList = binding.hasErrors() ? new ArrayList<>() : uploadFiles(validFiles, binding);
+
+        // Record the new uploaded files, even if others failed, so that only the failures are selected again;
+        // they are saved with the submission when the user leaves the page.
+        if (!fileApiList.isEmpty()) {
+            fileListService.addFiles(submissionApi.getId(), fileApiList);
+
+            // Update the page model with latest uploads.
+            documentUploadAttribute.setDetails(fileListService.getFileList(submissionApi));
+        }
 
         if (binding.hasErrors()) {
             addDataToModel(documentUploadAttribute, model, formTemplate);
             return ViewConstants.DOCUMENT_UPLOAD.asView();
         }
 
-        // Build the FileListApi from our uploaded files.
-        final List<FileApi> fileApiList = uploadedFiles.entrySet().stream().map(file ->
-                new FileApi(file.getKey(), file.getValue().getOriginalFilename(), file.getValue().getSize())
-        ).collect(Collectors.toList());
-
-        // Merge existing files with the new uploaded files at a later date.
-        SubmissionFormApi submissionFormApi = submissionApi.getSubmissionForm();
-        if ((submissionFormApi != null) && (submissionFormApi.getFileDetails() != null)) {
-            submissionFormApi.getFileDetails().getList().forEach(
-                file -> fileApiList.add(new FileApi(file.getFileId(), file.getFileName(), file.getFileSize()))
-            );
-        }
-
-        // Call the API layer to persist the updated evidence.
-        ApiResponse<SubmissionResponseApi> response = apiClientService.putFileList(submissionApi.getId(),
-            new FileListApi(fileApiList));
-        logApiResponse(response, submissionApi.getId(), "Uploaded Files: " + response.getData().getId());
-
-        // Update the page model with latest uploads.
-        documentUploadAttribute.setSubmissionId(submissionApi.getId());
-        documentUploadAttribute.setDetails(new FileListApi(fileApiList));
-
         return ViewConstants.DOCUMENT_UPLOAD.asRedirectUri(chsUrl, id, companyNumber);
     }
 
@@ -195,23 +196,108 @@ public class DocumentUploadControllerImpl extends BaseControllerImpl implements
             return ViewConstants.DOCUMENT_UPLOAD.asView();
         }
 
+        // Save the documents added and removed on this page.
+        fileListService.flush(submissionApi.getId()).ifPresent(response -> logApiResponse(response, id,
+            "PUT /efs-submission-api/submission/" + id + "/files"));
+
         return ViewConstants.CHECK_DETAILS.asRedirectUri(chsUrl, id, companyNumber);
     }
 
-    private FileListApi getUploadedFiles(final SubmissionApi submissionApi) {
-        Optional<SubmissionFormApi> submissionForm = Optional.ofNullable(submissionApi.getSubmissionForm());
+    @Override
+    public ResponseEntity<DocumentUploadJob> submitJob(@PathVariable String id, @PathVariable String companyNumber,
+        @ModelAttribute(ATTRIBUTE_NAME) DocumentUploadModel documentUploadAttribute, BindingResult binding,
+        HttpServletRequest request) {
 
-        // Check the submission form has been built previously, and that files are uploaded.
-        if (!submissionForm.isPresent() || submissionForm.get().getFileDetails() == null) {
-            return new FileListApi();
+        final SubmissionApi submissionApi = Objects.requireNonNull(getSubmission(id));
+
+        if (!verifySubmission(submissionApi)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        documentUploadAttribute.setSubmissionId(submissionApi.getId());
+        documentUploadAttribute.setDetails(fileListService.getFileList(submissionApi));
+
+        final List<MultipartFile> validFiles = documentUploadValidator.apply(documentUploadAttribute, binding);
+
+        if (binding.hasErrors()) {
+            return ResponseEntity.badRequest().body(DocumentUploadJob.rejected(
+                binding.getAllErrors().stream().map(ObjectError::getDefaultMessage).collect(Collectors.toList())));
+        }
+        if (validFiles.isEmpty()) {
+            return ResponseEntity.badRequest().body(rejectedJob("no_file_selected.documentUpload"));
         }
 
-        // Files have been added previously, so map them to our required model.
-        List<FileApi> uploadedFiles = submissionForm.get().getFileDetails().getList().stream()
-            .map(file -> new FileApi(file.getFileId(), file.getFileName(), file.getFileSize()))
-            .collect(Collectors.toList());
+        try {
+            final DocumentUploadJob job = documentUploadJobService.submit(submissionApi.getId(), validFiles);
+            final URI location = ServletUriComponentsBuilder.fromRequestUri(request).path("/{jobId}")
+                .buildAndExpand(job.getJobId()).toUri();
+            logger.debug(String.format("Started document upload job: %s", job));
+
+            return ResponseEntity.accepted().location(location).body(job);
+        } catch (RejectedExecutionException ex) {
+            logger.error(String.format("Document upload job not accepted for submission: %s", id), ex);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(rejectedJob("upload_job_busy.documentUpload"));
+        } catch (IOException ex) {
+            logger.error(String.format("Document upload job could not be started for submission: %s", id), ex);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(rejectedJob("upload_job_failed.documentUpload"));
+        }
+    }
+
+    @Override
+    public ResponseEntity<DocumentUploadJob> getJob(@PathVariable String id, @PathVariable String companyNumber,
+        @PathVariable String jobId) {
+
+        final SubmissionApi submissionApi = Objects.requireNonNull(getSubmission(id));
+
+        if (!verifySubmission(submissionApi)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return documentUploadJobService.getJob(submissionApi.getId(), jobId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private DocumentUploadJob rejectedJob(final String messageKey) {
+        return DocumentUploadJob.rejected(Collections.singletonList(resourceBundle.getString(messageKey)));
+    }
+
+    /**
+     * Uploads the files to the file-transfer-api concurrently, so that the time taken is that of
+     * the slowest file rather than the sum of them all. Any file that fails to upload, or is turned
+     * away because too many uploads are already in progress, is reported in the binding result.
+     *
+     * @param files     the validated files, in the order they were selected
+     * @param binding   the binding result for the page
+     * @return the uploaded file details, in the same order as {@code files}
+     */
+    private List<FileApi> uploadFiles(final List<MultipartFile> files, final BindingResult binding) {
+        final List<FileTransferApiClientResponse> responses = concurrentFileUploader.uploadAll(files);
+        final List<FileApi> fileApiList = new ArrayList<>();
+
+        for (int i = 0; i < files.size(); i++) {
+            final MultipartFile file = files.get(i);
+            final FileTransferApiClientResponse response = responses.get(i);
+
+            if (response.getHttpStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+                rejectUpload(binding, "service_busy.documentUpload", "error.file-upload-busy", file);
+            } else if (StringUtils.isBlank(response.getFileId())) {
+                rejectUpload(binding, "upload_failed.documentUpload", "error.file-upload-failed", file);
+            } else {
+                fileApiList.add(new FileApi(response.getFileId(), file.getOriginalFilename(), file.getSize()));
+            }
+        }
+
+        return fileApiList;
+    }
 
-        return new FileListApi(uploadedFiles);
+    private void rejectUpload(final BindingResult binding, final String messageKey, final String errorCode,
+        final MultipartFile file) {
+        String pattern = resourceBundle.getString(messageKey);
+        String errorText = MessageFormat.format(pattern, file.getOriginalFilename());
+        binding.rejectValue("selectedFiles", errorCode, errorText);
     }
 
     private void addDataToPrepareModel(final DocumentUploadModel documentUploadAttribute,
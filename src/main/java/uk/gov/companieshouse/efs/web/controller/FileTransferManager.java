@@ -3,6 +3,9 @@ package uk.gov.companieshouse.efs.web.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.efs.web.configuration.FileUploadConfiguration;
+import uk.gov.companieshouse.efs.web.service.filelist.FileListService;
+import uk.gov.companieshouse.efs.web.service.upload.DocumentUploadJobService;
+import uk.gov.companieshouse.efs.web.transfer.ConcurrentFileUploader;
 import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClient;
 import uk.gov.companieshouse.efs.web.validation.DocumentUploadValidator;
 
@@ -15,15 +18,24 @@ class FileTransferManager {
     private final FileTransferApiClient fileTransferApiClient;
     private final FileUploadConfiguration fileUploadConfiguration;
     private final DocumentUploadValidator documentUploadValidator;
+    private final ConcurrentFileUploader concurrentFileUploader;
+    private final DocumentUploadJobService documentUploadJobService;
+    private final FileListService fileListService;
 
     @Autowired
     private FileTransferManager(FileTransferApiClient fileTransferApiClient,
                                 FileUploadConfiguration fileUploadConfiguration,
-                                DocumentUploadValidator documentUploadValidator) {
+                                DocumentUploadValidator documentUploadValidator,
+                                ConcurrentFileUploader concurrentFileUploader,
+                                DocumentUploadJobService documentUploadJobService,
+                                FileListService fileListService) {
 
         this.fileTransferApiClient = fileTransferApiClient;
         this.fileUploadConfiguration = fileUploadConfiguration;
         this.documentUploadValidator = documentUploadValidator;
+        this.concurrentFileUploader = concurrentFileUploader;
+        this.documentUploadJobService = documentUploadJobService;
+        this.fileListService = fileListService;
     }
 
     public FileTransferApiClient getFileTransferApiClient() {
@@ -37,4 +49,16 @@ class FileTransferManager {
     public DocumentUploadValidator getDocumentUploadValidator() {
         return documentUploadValidator;
     }
+
+    public ConcurrentFileUploader getConcurrentFileUploader() {
+        return concurrentFileUploader;
+    }
+
+    public DocumentUploadJobService getDocumentUploadJobService() {
+        return documentUploadJobService;
+    }
+
+    public FileListService getFileListService() {
+        return fileListService;
+    }
 }
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import uk.gov.companieshouse.efs.web.exception.ApiUnavailableException;
 import uk.gov.companieshouse.logging.Logger;
 
 import javax.servlet.http.HttpServletRequest;
@@ -43,6 +44,27 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return SERVICE_PROBLEM_PAGE;
     }
 
+    /**
+     * Go to the error page when a call to the API was refused because the circuit for its operation
+     * is open or its bulkhead is full. The API was not called, so only the refusal is logged.
+     *
+     * @param request the request
+     * @param ex      the exception
+     * @return the error page
+     */
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // 503
+    @ExceptionHandler(ApiUnavailableException.class)
+    public String handleApiUnavailable(HttpServletRequest request, final ApiUnavailableException ex) {
+        Map<String, Object> logDetails = new HashMap<>();
+        logDetails.put("operationName", ex.getOperationName());
+        logDetails.put("reason", ex.getRejectionReason().name());
+
+        structuredLogger.infoContext(submissionIDFromURI(request.getRequestURI()), "API call refused",
+                logDetails);
+
+        return SERVICE_PROBLEM_PAGE;
+    }
+
     private void logResponseStatusException(ResponseStatusException ex, final String submissionID) {
         Map<String, Object> logDetails = new HashMap<>();
         logDetails.put("statusCode", ex.getStatus().value());
@@ -0,0 +1,109 @@
+package uk.gov.companieshouse.efs.web.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Runs the API calls needed to build a page concurrently, on the API call executor, so that calls
+ * which do not depend on each other overlap instead of following one another.
+ * <p>
+ * All the waits made while building one page share a single deadline. If a call has not finished
+ * by then the page fails with {@link HttpStatus#GATEWAY_TIMEOUT}, which is handled like any other
+ * failed API call.
+ */
+@Component
+public class PageModelAssembler {
+
+    private final Executor apiCallExecutor;
+    private final long timeoutNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param apiCallExecutor runs the API calls
+     * @param timeoutMillis   how long a page may wait for its API calls in total
+     */
+    @Autowired
+    public PageModelAssembler(@Qualifier("apiCallExecutor") final Executor apiCallExecutor,
+        @Value("${page.model.timeout.ms}") final long timeoutMillis) {
+        this.apiCallExecutor = apiCallExecutor;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Start building a page, starting its deadline.
+     *
+     * @return the assembly used to make and wait for the page's API calls
+     */
+    public Assembly start() {
+        return new Assembly(System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * The API calls made to build one page.
+     */
+    public final class Assembly {
+
+        private final long deadline;
+
+        private Assembly(final long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Start an API call.
+         *
+         * @param call the API call
+         * @param <T>  the result type
+         * @return the pending result
+         */
+        public <T> CompletableFuture<T> fetch(final Supplier<T> call) {
+            return CompletableFuture.supplyAsync(call, apiCallExecutor);
+        }
+
+        /**
+         * Wait for the result of an API call, until the deadline at the latest. An exception thrown
+         * by the call is rethrown as it is, so that it is handled in the same way as if the call had
+         * been made on the request thread.
+         *
+         * @param pending the pending result
+         * @param <T>     the result type
+         * @return the result
+         * @throws ResponseStatusException with {@link HttpStatus#GATEWAY_TIMEOUT} if the deadline
+         *                                 passes first
+         */
+        public <T> T await(final CompletableFuture<T> pending) {
+            try {
+                return pending.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                pending.cancel(false);
+                throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                    "Timed out waiting for the page data", ex);
+            } catch (ExecutionException ex) {
+                final Throwable cause = ex.getCause();
+
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Interrupted waiting for the page data", ex);
+            }
+        }
+    }
+}
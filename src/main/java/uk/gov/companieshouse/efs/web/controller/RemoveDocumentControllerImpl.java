@@ -2,35 +2,25 @@ package uk.gov.companieshouse.efs.web.controller;
 
 import static uk.gov.companieshouse.efs.web.controller.RemoveDocumentControllerImpl.ATTRIBUTE_NAME;
 
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import javax.validation.Valid;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.SessionAttributes;
-import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
-import uk.gov.companieshouse.api.model.efs.submissions.FileDetailApi;
-import uk.gov.companieshouse.api.model.efs.submissions.FileDetailListApi;
-import uk.gov.companieshouse.api.model.efs.submissions.FileListApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
-import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
-import uk.gov.companieshouse.api.model.efs.submissions.SubmissionResponseApi;
 import uk.gov.companieshouse.efs.web.model.RemoveDocumentModel;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.filelist.FileListService;
 import uk.gov.companieshouse.efs.web.service.session.SessionService;
-import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClient;
-import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClientResponse;
 import uk.gov.companieshouse.logging.Logger;
 
 @Controller
@@ -48,7 +38,7 @@ public class RemoveDocumentControllerImpl extends BaseControllerImpl implements
      */
     public static final String ATTRIBUTE_NAME = "removeDocument";
 
-    private FileTransferApiClient fileTransferApiClient;
+    private FileListService fileListService;
     private RemoveDocumentModel removeDocumentAttribute;
 
     /**
@@ -57,11 +47,11 @@ public class RemoveDocumentControllerImpl extends BaseControllerImpl implements
      * @param logger the CH logger
      */
     @Autowired
-    public RemoveDocumentControllerImpl(final FileTransferApiClient fileTransferApiClient, final Logger logger,
+    public RemoveDocumentControllerImpl(final FileListService fileListService, final Logger logger,
         final SessionService sessionService, final ApiClientService apiClientService,
         final RemoveDocumentModel removeDocumentAttribute) {
         super(logger, sessionService, apiClientService);
-        this.fileTransferApiClient = fileTransferApiClient;
+        this.fileListService = fileListService;
         this.removeDocumentAttribute = removeDocumentAttribute;
     }
 
@@ -86,17 +76,14 @@ public class RemoveDocumentControllerImpl extends BaseControllerImpl implements
             return ViewConstants.ERROR.asView();
         }
 
-        FileDetailListApi fileDetailsListApi = Optional.ofNullable(submissionApi.getSubmissionForm().getFileDetails())
-            .orElseGet(FileDetailListApi::new);
-        Optional<FileDetailApi> fileDetailApi = fileDetailsListApi.getList().stream().filter(
-            file -> StringUtils.equals(file.getFileId(), fileId)).findFirst();
+        Optional<FileApi> fileApi = findFile(submissionApi, fileId);
 
-        if (!fileDetailApi.isPresent()) {
+        if (!fileApi.isPresent()) {
             return ViewConstants.ERROR.asView();
         }
 
         removeDocumentAttribute.setSubmissionId(submissionApi.getId());
-        removeDocumentAttribute.setFileName(fileDetailApi.get().getFileName());
+        removeDocumentAttribute.setFileName(fileApi.get().getFileName());
         removeDocumentAttribute.setRequired("");    // reset as unanswered
 
         addTrackingAttributeToModel(model);
@@ -122,8 +109,7 @@ public class RemoveDocumentControllerImpl extends BaseControllerImpl implements
         String redirectUri = ViewConstants.DOCUMENT_UPLOAD.asRedirectUri(chsUrl, id, companyNumber);
 
         if (StringUtils.equals(removeDocumentAttribute.getRequired(), "Y")) {
-            redirectUri = performRemoveDocument(submissionApi.getId(), fileId, binding,
-                submissionApi.getSubmissionForm());
+            redirectUri = performRemoveDocument(submissionApi.getId(), fileId);
 
             if (!binding.hasErrors()) {
                 redirectUri = ViewConstants.DOCUMENT_UPLOAD.asRedirectUri(chsUrl, id, companyNumber);
@@ -135,8 +121,7 @@ public class RemoveDocumentControllerImpl extends BaseControllerImpl implements
         return redirectUri;
     }
 
-    private String performRemoveDocument(@PathVariable final String id, @PathVariable final String fileId,
-        final BindingResult binding, final SubmissionFormApi submissionFormApi) {
+    private String performRemoveDocument(@PathVariable final String id, @PathVariable final String fileId) {
 
         final SubmissionApi submissionApi = Objects.requireNonNull(getSubmission(id));
 
@@ -145,37 +130,22 @@ public class RemoveDocumentControllerImpl extends BaseControllerImpl implements
         }
 
         // Locate the evidence that we want to remove.
-        Optional<FileDetailApi> fileDetails = submissionFormApi.getFileDetails().getList().stream().filter(
-                e -> StringUtils.equals(e.getFileId(), fileId)
-        ).findFirst();
+        Optional<FileApi> fileDetails = findFile(submissionApi, fileId);
 
         String result = ViewConstants.REMOVE_DOCUMENT.asView();
 
         if (fileDetails.isPresent()) {
             final String fileToDeleteId = fileDetails.get().getFileId();
 
-            // Attempt to remove the evidence from the S3 bucket.
-            final FileTransferApiClientResponse apiClientResponse = fileTransferApiClient.delete(fileToDeleteId);
-
-            // On a failed removal attempt, we need to alert the end user.
-            if (apiClientResponse.getHttpStatus() != HttpStatus.NO_CONTENT) {
-                result = ViewConstants.ERROR.asView();
-
-            } else {
-
-                // Update the application with the selected document files removed.
-                List<FileApi> fileApiList = submissionFormApi.getFileDetails().getList().stream()
-                        .filter(file -> !file.getFileId().equals(fileId))
-                        .map(file -> new FileApi(file.getFileId(), file.getFileName(), file.getFileSize()))
-                        .collect(Collectors.toList());
-
-                ApiResponse<SubmissionResponseApi> response = apiClientService.putFileList(id, new FileListApi(fileApiList));
-                logApiResponse(response, id, "PUT /efs-submission-api/submission/" + id + "/files");
-
-                addAnyErrorsFromResponse(binding, response, e -> true);
-            }
+            // Record the removal; the file list is saved with the submission when the user leaves the upload page.
+            fileListService.removeFile(id, fileToDeleteId);
         }
 
         return result;
     }
+
+    private Optional<FileApi> findFile(final SubmissionApi submissionApi, final String fileId) {
+        return fileListService.getFileList(submissionApi).getFiles().stream()
+            .filter(file -> StringUtils.equals(file.getFileId(), fileId)).findFirst();
+    }
 }
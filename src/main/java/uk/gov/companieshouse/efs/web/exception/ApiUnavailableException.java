@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.efs.web.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown instead of making a call to the efs-submission-api that is expected to fail or to
+ * take too long, because the circuit for its operation is open or too many calls to it are in
+ * progress already.
+ */
+public class ApiUnavailableException extends ResponseStatusException {
+
+    /**
+     * Why the call was not made.
+     */
+    public enum Reason {
+        /**
+         * The circuit for the operation is open.
+         */
+        CIRCUIT_OPEN,
+        /**
+         * The operation already has as many calls in progress as it may.
+         */
+        BULKHEAD_FULL
+    }
+
+    private final String operationName;
+    private final Reason rejectionReason;
+
+    /**
+     * Constructs a new {@code ApiUnavailableException}.
+     *
+     * @param operationName the operation name
+     * @param reason        why the call was not made
+     */
+    public ApiUnavailableException(final String operationName, final Reason reason) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, String.format("%s not called: %s", operationName, reason));
+        this.operationName = operationName;
+        this.rejectionReason = reason;
+    }
+
+    public String getOperationName() {
+        return operationName;
+    }
+
+    public Reason getRejectionReason() {
+        return rejectionReason;
+    }
+}
@@ -1,10 +1,11 @@
 package uk.gov.companieshouse.efs.web.formtemplates.service.api.impl;
 
+import java.util.Collections;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.UriComponents;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
@@ -12,33 +13,39 @@ import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateListApi;
 import uk.gov.companieshouse.efs.web.configuration.DataCacheConfig;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.api.guard.ApiCallGuard;
 import uk.gov.companieshouse.efs.web.service.api.impl.ApiClientServiceImpl;
 import uk.gov.companieshouse.efs.web.service.api.impl.BaseApiClientServiceImpl;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogueService;
 import uk.gov.companieshouse.logging.Logger;
 
 /**
- * Service sends and receives secure REST messages to the api.
+ * Service sends and receives secure REST messages to the api. Only the complete list of form
+ * templates is fetched from the api; single templates and the forms in a category are looked up in
+ * the {@link TemplateCatalogueService template catalogue} built from it.
  */
 @Service
 public class FormTemplateServiceImpl extends BaseApiClientServiceImpl
         implements FormTemplateService {
 
     public static final String FORM_TEMPLATES_FRAGMENT = "/form-templates";
-    public static final String FORM_TEMPLATE_FRAGMENT = "/form-template";
-    public static final String CATEGORY_TEMPLATE = "category={category}";
-    private static final String TYPE_ID_TEMPLATE = "type={id}";
 
     private ApiClientService apiClientService;
+    private TemplateCatalogueService templateCatalogueService;
 
     /**
      * Construct an {@link ApiClientServiceImpl}.
      *
+     * @param templateCatalogueService the template catalogue
+     * @param apiCallGuard the circuit breaker and bulkhead for the api calls
      * @param logger the CH logger
      */
     @Autowired
-    public FormTemplateServiceImpl(ApiClientService apiClientService, Logger logger) {
-        super(logger);
+    public FormTemplateServiceImpl(ApiClientService apiClientService,
+            TemplateCatalogueService templateCatalogueService, ApiCallGuard apiCallGuard, Logger logger) {
+        super(logger, apiCallGuard);
         this.apiClientService = apiClientService;
+        this.templateCatalogueService = templateCatalogueService;
     }
 
     @Override
@@ -57,30 +64,19 @@ public class FormTemplateServiceImpl extends BaseApiClientServiceImpl
     }
 
     @Override
-    @Cacheable(value = DataCacheConfig.FORM_BY_ID, sync = true)
     public ApiResponse<FormTemplateApi> getFormTemplate(String id) {
-        final String path = BaseApiClientServiceImpl.ROOT_URI + FORM_TEMPLATE_FRAGMENT;
-        final UriComponents components = UriComponentsBuilder.fromPath(path).query(TYPE_ID_TEMPLATE)
-            .buildAndExpand(id).encode();
+        final FormTemplateApi formTemplate = templateCatalogueService.getCatalogue().getForm(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Form template not found: " + id));
 
-        final String uri = components.toUriString();
-
-        return executeOp("getFormTemplate", uri,
-                getApiClient().privateEfsResourceHandler().formTemplates().formTemplate().get(uri));
+        return new ApiResponse<>(HttpStatus.OK.value(), Collections.emptyMap(), formTemplate);
     }
 
     @Override
-    @Cacheable(value = DataCacheConfig.FORM_BY_CATEGORY, sync = true)
     public ApiResponse<FormTemplateListApi> getFormTemplatesByCategory(String id) {
+        final FormTemplateListApi formTemplates =
+            new FormTemplateListApi(templateCatalogueService.getCatalogue().getFormsByCategory(id));
 
-        final String path = ROOT_URI + FORM_TEMPLATES_FRAGMENT;
-        final UriComponents components = UriComponentsBuilder.fromPath(path).query(CATEGORY_TEMPLATE)
-            .buildAndExpand(id).encode();
-
-        final String uri = components.toUriString();
-
-        return executeOp("getFormTemplatesByCategory", uri,
-            getApiClient().privateEfsResourceHandler().formTemplates().formTemplatesByCategory().get(uri));
+        return new ApiResponse<>(HttpStatus.OK.value(), Collections.emptyMap(), formTemplates);
     }
 
 }
@@ -0,0 +1,28 @@
+package uk.gov.companieshouse.efs.web.interceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+import uk.gov.companieshouse.efs.web.cache.StaleDataMarker;
+
+/**
+ * Adds a {@code Warning: 110} header to a response built with cached data that was served stale
+ * because the API could not be called, so that it can be told apart from a normal response.
+ */
+@Component
+public class StaleDataInterceptor extends HandlerInterceptorAdapter {
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+        ModelAndView mav) {
+        if (StaleDataMarker.getStaleAge(request).isPresent()) {
+            response.setHeader(HttpHeaders.WARNING, STALE_WARNING);
+        }
+    }
+
+}
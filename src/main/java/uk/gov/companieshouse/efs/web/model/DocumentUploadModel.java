@@ -1,8 +1,12 @@
 package uk.gov.companieshouse.efs.web.model;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -36,6 +40,9 @@ public class DocumentUploadModel {
     private List<MultipartFile> selectedFiles;
     private FileListApi details;
 
+    private String checksumsSubmissionId;
+    private final Map<String, String> checksums = new HashMap<>();
+
     /**
      * Constructor.
      *
@@ -112,6 +119,33 @@ public class DocumentUploadModel {
         this.details = details;
     }
 
+    /**
+     * Record the checksum of the content of a file that has passed validation for upload to the
+     * current submission. Checksums are kept by file name, which is unique within a submission, for
+     * as long as this session lasts, and are forgotten when the model moves on to another
+     * submission. Like the rest of the session, they are held only on the node that serves it.
+     *
+     * @param filename the name of the file
+     * @param checksum the checksum of its content
+     */
+    public synchronized void putChecksum(final String filename, final String checksum) {
+        if (!Objects.equals(checksumsSubmissionId, submissionId)) {
+            checksums.clear();
+            checksumsSubmissionId = submissionId;
+        }
+        checksums.put(filename.toLowerCase(Locale.UK), checksum);
+    }
+
+    /**
+     * @param filename the name of a file in the current submission
+     * @return the checksum recorded for the file's content in this session, if there is one
+     */
+    public synchronized Optional<String> getChecksum(final String filename) {
+        return Objects.equals(checksumsSubmissionId, submissionId)
+            ? Optional.ofNullable(checksums.get(filename.toLowerCase(Locale.UK)))
+            : Optional.empty();
+    }
+
     /**
      * Adds file details to model.
      *
@@ -10,8 +10,11 @@ import javax.servlet.http.HttpServletResponse;
 import uk.gov.companieshouse.auth.filter.AuthFilter;
 import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
+import uk.gov.companieshouse.efs.web.security.route.RequestRoute;
+import uk.gov.companieshouse.efs.web.security.route.RouteClassifier;
 import uk.gov.companieshouse.efs.web.security.validator.FormTemplateRequiredValidator;
 import uk.gov.companieshouse.efs.web.security.validator.HttpRequestRequiredValidator;
+import uk.gov.companieshouse.efs.web.security.validator.SessionAuthDecisionCache;
 import uk.gov.companieshouse.efs.web.security.validator.UserRequiredValidator;
 import uk.gov.companieshouse.efs.web.security.validator.Validator;
 import uk.gov.companieshouse.efs.web.security.validator.ValidatorResourceProvider;
@@ -30,7 +33,9 @@ public class CompanyAuthFilter extends AuthFilter {
 
     private final FormTemplateService formTemplateService;
 
-    private final CategoryTemplateService categoryTemplateService;
+    private final RouteClassifier routeClassifier;
+
+    private final Validator<ValidatorResourceProvider> requiresAuth;
 
     /**
      * Constructor.
@@ -39,15 +44,25 @@ public class CompanyAuthFilter extends AuthFilter {
      * @param apiClientService        dependency
      * @param formTemplateService     dependency
      * @param categoryTemplateService dependency
+     * @param routeClassifier         classifies the request routes
+     * @param decisionCache           holds the authorisation decisions made for each session
+     * @param useFineGrainedScope     true if users are authorised for a company by the fine grained
+     *                                company scope, false if by the legacy company scope
      */
     public CompanyAuthFilter(final EnvironmentReader environmentReader,
                              final ApiClientService apiClientService,
                              final FormTemplateService formTemplateService,
-                             CategoryTemplateService categoryTemplateService) {
+                             final CategoryTemplateService categoryTemplateService,
+                             final RouteClassifier routeClassifier,
+                             final SessionAuthDecisionCache decisionCache,
+                             final boolean useFineGrainedScope) {
         super(environmentReader);
         this.apiClientService = apiClientService;
         this.formTemplateService = formTemplateService;
-        this.categoryTemplateService = categoryTemplateService;
+        this.routeClassifier = routeClassifier;
+        this.requiresAuth = new HttpRequestRequiredValidator()
+                .setNext(new FormTemplateRequiredValidator())
+                .setNext(new UserRequiredValidator(categoryTemplateService, decisionCache, useFineGrainedScope));
     }
 
     /**
@@ -63,6 +78,11 @@ public class CompanyAuthFilter extends AuthFilter {
      * <p>
      * The validation for these conditions is implemented as a chain of responsibility
      * with a "link" for the request checking, form checking, and finally user checking.
+     * The chain is built once and shared by all requests; the resources gathered for a request
+     * are held by the {@link ValidatorResourceProvider} passed along it.
+     * <p>
+     * The request route is classified first; a request that can never need authorisation, such
+     * as a POST or a URL without a submission and company, skips the chain entirely.
      *
      * @param request  the request made to the web
      * @param response the response to the user
@@ -74,14 +94,17 @@ public class CompanyAuthFilter extends AuthFilter {
 
 
         HttpServletRequest httpServletRequest = (HttpServletRequest) request;
+        RequestRoute route = routeClassifier.classify(httpServletRequest);
+
+        if (!route.mayRequireAuth()) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-        ValidatorResourceProvider resourceProvider = new ValidatorResourceProvider(apiClientService,
-                formTemplateService);
-        Validator<HttpServletRequest> requiresAuth = new HttpRequestRequiredValidator(resourceProvider)
-                .setNext(new FormTemplateRequiredValidator(resourceProvider))
-                .setNext(new UserRequiredValidator(resourceProvider, categoryTemplateService));
+        ValidatorResourceProvider resourceProvider = new ValidatorResourceProvider(httpServletRequest, route,
+                apiClientService, formTemplateService);
 
-        if (requiresAuth.validate(httpServletRequest)) {
+        if (requiresAuth.validate(resourceProvider)) {
             String companyNumber = resourceProvider.getCompanyNumber().orElse("");
             Session chsSession = resourceProvider.getChsSession().orElse(null);
 
@@ -11,6 +11,8 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
 import uk.gov.companieshouse.auth.filter.HijackFilter;
 import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
+import uk.gov.companieshouse.efs.web.security.route.RouteClassifier;
+import uk.gov.companieshouse.efs.web.security.validator.SessionAuthDecisionCache;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.session.handler.SessionHandler;
@@ -22,10 +24,14 @@ import uk.gov.companieshouse.session.handler.SessionHandler;
 public class WebApplicationSecurity {
     @Value("${chs.signout.redirect.path}")
     private String signoutRedirectPath;
+    @Value("${auth.use.fine.grained.scope}")
+    private String useFineGrainedScope;
     private ApiClientService apiClientService;
     private FormTemplateService formTemplateService;
     private CategoryTemplateService categoryTemplateService;
     private EnvironmentReader environmentReader;
+    private RouteClassifier routeClassifier;
+    private SessionAuthDecisionCache decisionCache;
 
     /**
      * Constructor.
@@ -33,15 +39,21 @@ public class WebApplicationSecurity {
      * @param apiClientService              apiClient service
      * @param formTemplateService           formTemplate service
      * @param categoryTemplateService       categoryTemplate service
+     * @param environmentReader             environment reader
+     * @param routeClassifier               classifies the routes of company requests
+     * @param decisionCache                 holds the authorisation decisions made for each session
      */
     @Autowired
     public WebApplicationSecurity(
         final ApiClientService apiClientService, FormTemplateService formTemplateService,
-        final CategoryTemplateService categoryTemplateService, final EnvironmentReader environmentReader) {
+        final CategoryTemplateService categoryTemplateService, final EnvironmentReader environmentReader,
+        final RouteClassifier routeClassifier, final SessionAuthDecisionCache decisionCache) {
         this.apiClientService = apiClientService;
         this.formTemplateService = formTemplateService;
         this.categoryTemplateService = categoryTemplateService;
         this.environmentReader = environmentReader;
+        this.routeClassifier = routeClassifier;
+        this.decisionCache = decisionCache;
     }
 
     /**
@@ -140,7 +152,8 @@ public class WebApplicationSecurity {
             final LoggingAuthFilter authFilter = new LoggingAuthFilter(signoutRedirectPath);
             final CompanyAuthFilter companyAuthFilter =
                 new CompanyAuthFilter(environmentReader, apiClientService, formTemplateService,
-                    categoryTemplateService);
+                    categoryTemplateService, routeClassifier, decisionCache,
+                    "1".equalsIgnoreCase(useFineGrainedScope));
 
             http.antMatcher("/efs-submission/*/company/**")
                 .addFilterBefore(new SessionHandler(), BasicAuthenticationFilter.class)
@@ -0,0 +1,95 @@
+package uk.gov.companieshouse.efs.web.security.route;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * The route of a request as seen by the company authorisation checks: whether it can need
+ * authorisation at all and, if its URL is for a submission and company, their IDs. The URL is
+ * parsed once, when the route is created.
+ */
+public final class RequestRoute {
+
+    /**
+     * The classes of request told apart by the company authorisation checks.
+     */
+    public enum RouteClass {
+        /**
+         * A GET request to a URL with a submission ID and company number, which may need
+         * authorisation depending on the submission's form.
+         */
+        COMPANY_PAGE,
+        /**
+         * A request other than a GET; the API authorises these.
+         */
+        NOT_GET,
+        /**
+         * A GET request to a URL without a valid submission ID and company number.
+         */
+        NO_COMPANY
+    }
+
+    private static final Pattern EFS_SUBMISSION_WITH_COMPANY = Pattern.compile(
+            "^/efs-submission/(?<submissionId>[a-fA-F\\d]{24}+)/company/(?<companyNumber>[a-zA-Z\\d]{8}+)[^a-zA-Z\\d]?+");
+
+    private static final RequestRoute NOT_GET_ROUTE = new RequestRoute(RouteClass.NOT_GET, null, null);
+    private static final RequestRoute NO_COMPANY_ROUTE = new RequestRoute(RouteClass.NO_COMPANY, null, null);
+
+    private final RouteClass routeClass;
+    private final String submissionId;
+    private final String companyNumber;
+
+    private RequestRoute(final RouteClass routeClass, final String submissionId, final String companyNumber) {
+        this.routeClass = routeClass;
+        this.submissionId = submissionId;
+        this.companyNumber = companyNumber;
+    }
+
+    /**
+     * Parse the route of a request. The URL is only read for GET requests.
+     *
+     * @param request the request, may be null
+     * @return the route
+     */
+    public static RequestRoute of(final HttpServletRequest request) {
+        if (request == null || !"GET".equalsIgnoreCase(request.getMethod())) {
+            return NOT_GET_ROUTE;
+        }
+
+        final String uri = request.getRequestURI();
+
+        if (uri == null) {
+            return NO_COMPANY_ROUTE;
+        }
+
+        final Matcher matcher = EFS_SUBMISSION_WITH_COMPANY.matcher(uri);
+
+        if (!matcher.find()) {
+            return NO_COMPANY_ROUTE;
+        }
+
+        return new RequestRoute(RouteClass.COMPANY_PAGE, matcher.group("submissionId"),
+            matcher.group("companyNumber"));
+    }
+
+    public RouteClass getRouteClass() {
+        return routeClass;
+    }
+
+    /**
+     * @return true if the request may need company authorisation
+     */
+    public boolean mayRequireAuth() {
+        return routeClass == RouteClass.COMPANY_PAGE;
+    }
+
+    public Optional<String> getSubmissionId() {
+        return Optional.ofNullable(submissionId);
+    }
+
+    public Optional<String> getCompanyNumber() {
+        return Optional.ofNullable(companyNumber);
+    }
+}
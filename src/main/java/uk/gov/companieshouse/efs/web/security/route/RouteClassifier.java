@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.efs.web.security.route;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Classifies the requests seen by the company authorisation filter, and counts them by
+ * {@link RequestRoute.RouteClass} so the requests that skip the authorisation checks can be seen
+ * on the actuator metrics endpoint.
+ */
+@Component
+public class RouteClassifier implements MeterBinder {
+
+    static final String ROUTE_METRIC = "auth.company.requests";
+
+    private final Map<RequestRoute.RouteClass, LongAdder> counts = new EnumMap<>(RequestRoute.RouteClass.class);
+
+    public RouteClassifier() {
+        for (RequestRoute.RouteClass routeClass : RequestRoute.RouteClass.values()) {
+            counts.put(routeClass, new LongAdder());
+        }
+    }
+
+    /**
+     * Parse and count the route of a request.
+     *
+     * @param request the request
+     * @return the route
+     */
+    public RequestRoute classify(final HttpServletRequest request) {
+        final RequestRoute route = RequestRoute.of(request);
+
+        counts.get(route.getRouteClass()).increment();
+
+        return route;
+    }
+
+    /**
+     * @param routeClass the route class
+     * @return the number of requests classified into the route class
+     */
+    public long getCount(final RequestRoute.RouteClass routeClass) {
+        return counts.get(routeClass).sum();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        counts.forEach((routeClass, count) -> FunctionCounter.builder(ROUTE_METRIC, count, LongAdder::sum)
+            .tag("route", routeClass.name().toLowerCase(Locale.ROOT))
+            .tag("checked", String.valueOf(routeClass == RequestRoute.RouteClass.COMPANY_PAGE))
+            .description("The requests seen by the company authorisation filter")
+            .register(registry));
+    }
+}
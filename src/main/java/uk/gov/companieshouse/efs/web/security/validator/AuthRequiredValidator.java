@@ -1,43 +1,23 @@
 package uk.gov.companieshouse.efs.web.security.validator;
 
-import javax.servlet.http.HttpServletRequest;
-
 /**
  * Contains fields used by all company auth validators
  * <p>
- * Implementation of a chain of responsibility pattern
+ * Implementation of a chain of responsibility pattern. The request being validated, and the
+ * resources gathered for it, are passed to each link in a {@link ValidatorResourceProvider}.
  */
-public abstract class AuthRequiredValidator extends ValidatorImpl<HttpServletRequest> {
-    protected ValidatorResourceProvider resourceProvider;
+public abstract class AuthRequiredValidator extends ValidatorImpl<ValidatorResourceProvider> {
 
-    /**
-     * Constructor
-     *
-     * @param resourceProvider the object to hold resources used by multiple chain links
-     */
-    public AuthRequiredValidator(ValidatorResourceProvider resourceProvider) {
-        this.resourceProvider = resourceProvider;
-    }
+    protected abstract boolean requiresAuth(ValidatorResourceProvider resourceProvider);
 
     /**
      * Validates whether the request needs to be redirected for authorisation before continuing
      *
-     * @param request the request made to the web
+     * @param resourceProvider the request made to the web and the resources gathered for it
      * @return true if redirect for auth required, false otherwise
      */
     @Override
-    public boolean validate(HttpServletRequest request) {
-        if (resourceProvider != null && resourceProvider.getInput() == null) {
-            resourceProvider.setInput(request);
-        }
-
-        return super.validate(request);
-    }
-
-    protected abstract boolean requiresAuth();
-
-    @Override
-    protected boolean isValid() {
-        return requiresAuth();
+    protected boolean isValid(ValidatorResourceProvider resourceProvider) {
+        return resourceProvider != null && requiresAuth(resourceProvider);
     }
 }
@@ -3,35 +3,30 @@ package uk.gov.companieshouse.efs.web.security.validator;
 
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 
-import javax.servlet.http.HttpServletRequest;
-
 
 /**
  * Validates if the the form attached to the submission requires authorisation.
  */
 public class FormTemplateRequiredValidator extends AuthRequiredValidator
-        implements Validator<HttpServletRequest> {
-
-    public FormTemplateRequiredValidator(ValidatorResourceProvider resourceProvider) {
-        super(resourceProvider);
-    }
+        implements Validator<ValidatorResourceProvider> {
 
     /**
      * Only forms require authorisation so if the user hasn't progressed far enough to have a form
      * then it can't require authorisation.
      * If the form is present then it returns whether it requires authorisation.
      *
+     * @param resourceProvider the request made to the web and the resources gathered for it
      * @return true if the form attached to the submission requires authentication
      */
     @Override
-    public boolean requiresAuth() {
-        return formRequiresAuth();
+    public boolean requiresAuth(ValidatorResourceProvider resourceProvider) {
+        return formRequiresAuth(resourceProvider);
     }
 
     /**
      * @return true if submission has form and form requires auth
      */
-    private boolean formRequiresAuth() {
+    private boolean formRequiresAuth(ValidatorResourceProvider resourceProvider) {
         return resourceProvider.getForm()
                 .map(FormTemplateApi::isAuthenticationRequired)
                 .orElse(false);    // If the user hasn't progressed far enough to have a form then
@@ -1,15 +1,7 @@
 package uk.gov.companieshouse.efs.web.security.validator;
 
-import javax.servlet.http.HttpServletRequest;
-import java.util.Optional;
-import java.util.regex.Matcher;
-
 public class HttpRequestRequiredValidator extends AuthRequiredValidator
-        implements Validator<HttpServletRequest> {
-
-    public HttpRequestRequiredValidator(ValidatorResourceProvider resourceProvider) {
-        super(resourceProvider);
-    }
+        implements Validator<ValidatorResourceProvider> {
 
     /**
      * Only get requests require authorisation because the API will handle post requests and
@@ -17,32 +9,14 @@ public class HttpRequestRequiredValidator extends AuthRequiredValidator
      * <p>
      * All material that requires authorisation is behind a URL with a submission and company so if
      * the url doesn't have a submission and company it doesn't require authorisation.
+     * <p>
+     * Both conditions are decided when the request route is parsed.
      *
+     * @param resourceProvider the request made to the web and the resources gathered for it
      * @return true is request requires authorisation
      */
     @Override
-    public boolean requiresAuth() {
-        return isGetRequest() && isEfsSubmissionWithCompany();
-    }
-
-    /**
-     * @return true if request method is GET false otherwise
-     */
-    private boolean isGetRequest() {
-        return Optional.ofNullable(resourceProvider)
-                .map(ValidatorResourceProvider::getInput)
-                .map(HttpServletRequest::getMethod)
-                .map("GET"::equalsIgnoreCase)
-                .orElse(false);
-    }
-
-    /**
-     * @return true if the url is an efs submission with a company number.
-     */
-    private boolean isEfsSubmissionWithCompany() {
-        return Optional.ofNullable(resourceProvider)
-                .map(ValidatorResourceProvider::getRequestPathMatcher)
-                .map(Matcher::find)
-                .orElse(false);
+    public boolean requiresAuth(ValidatorResourceProvider resourceProvider) {
+        return resourceProvider.getRoute().mayRequireAuth();
     }
 }
@@ -0,0 +1,154 @@
+package uk.gov.companieshouse.efs.web.security.validator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.session.model.SignInInfo;
+import uk.gov.companieshouse.session.model.UserProfile;
+
+/**
+ * Holds the company authorisation decisions made for each session, keyed by company number and
+ * form category, so that repeated page loads in the same journey skip the scope parsing, allow
+ * list lookup and top level category resolution.
+ * <p>
+ * The decisions of a session are discarded as soon as its sign-in info changes, for example when
+ * the user authorises for another company or signs out. The decisions of a session are dropped
+ * once the expiry period has passed since its first decision, however often the session is seen,
+ * which bounds how long an allow list change can take to apply.
+ */
+@Component
+public class SessionAuthDecisionCache {
+
+    private final Cache<String, SessionDecisions> sessions;
+
+    /**
+     * Constructor.
+     *
+     * @param expiryMillis how long a session's decisions are kept after the first was made
+     * @param maxSessions  the most sessions whose decisions are kept
+     */
+    @Autowired
+    public SessionAuthDecisionCache(@Value("${auth.decision.cache.expiry.ms}") final long expiryMillis,
+        @Value("${auth.decision.cache.max.sessions}") final long maxSessions) {
+        this(expiryMillis, maxSessions, Ticker.systemTicker());
+    }
+
+    SessionAuthDecisionCache(final long expiryMillis, final long maxSessions, final Ticker ticker) {
+        this.sessions = Caffeine.newBuilder()
+            .expireAfterWrite(expiryMillis, TimeUnit.MILLISECONDS)
+            .maximumSize(maxSessions)
+            .ticker(ticker)
+            .build();
+    }
+
+    /**
+     * Get the decision made earlier in the session for the company and form category, or make it
+     * now.
+     *
+     * @param sessionId     the session ID
+     * @param signInInfo    the session's current sign-in info
+     * @param companyNumber the company number
+     * @param formCategory  the form category
+     * @param decide        makes the decision
+     * @return the decision
+     */
+    public boolean get(final String sessionId, final SignInInfo signInInfo, final String companyNumber,
+        final String formCategory, final BooleanSupplier decide) {
+        final SignInKey signIn = new SignInKey(signInInfo);
+        SessionDecisions decisions = sessions.getIfPresent(sessionId);
+
+        if (decisions == null || !decisions.signIn.equals(signIn)) {
+            decisions = new SessionDecisions(signIn);
+            sessions.put(sessionId, decisions);
+        }
+
+        return decisions.decisions.computeIfAbsent(new DecisionKey(companyNumber, formCategory),
+            k -> decide.getAsBoolean());
+    }
+
+    private static final class SessionDecisions {
+        private final SignInKey signIn;
+        private final Map<DecisionKey, Boolean> decisions = new ConcurrentHashMap<>();
+
+        private SessionDecisions(final SignInKey signIn) {
+            this.signIn = signIn;
+        }
+    }
+
+    /**
+     * The parts of the sign-in info that the authorisation decisions depend on.
+     */
+    private static final class SignInKey {
+        private final boolean signedIn;
+        private final String companyNumber;
+        private final String userId;
+        private final String email;
+        private final String scope;
+
+        private SignInKey(final SignInInfo signInInfo) {
+            final Optional<UserProfile> userProfile = Optional.ofNullable(signInInfo.getUserProfile());
+
+            this.signedIn = signInInfo.isSignedIn();
+            this.companyNumber = signInInfo.getCompanyNumber();
+            this.userId = userProfile.map(UserProfile::getId).orElse(null);
+            this.email = userProfile.map(UserProfile::getEmail).orElse(null);
+            this.scope = userProfile.map(UserProfile::getScope).orElse(null);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final SignInKey that = (SignInKey) o;
+            return signedIn == that.signedIn && Objects.equals(companyNumber, that.companyNumber)
+                && Objects.equals(userId, that.userId) && Objects.equals(email, that.email)
+                && Objects.equals(scope, that.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(signedIn, companyNumber, userId, email, scope);
+        }
+    }
+
+    private static final class DecisionKey {
+        private final String companyNumber;
+        private final String formCategory;
+
+        private DecisionKey(final String companyNumber, final String formCategory) {
+            this.companyNumber = companyNumber;
+            this.formCategory = formCategory;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final DecisionKey that = (DecisionKey) o;
+            return Objects.equals(companyNumber, that.companyNumber)
+                && Objects.equals(formCategory, that.formCategory);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(companyNumber, formCategory);
+        }
+    }
+}
@@ -1,15 +1,14 @@
 package uk.gov.companieshouse.efs.web.security.validator;
 
-import org.springframework.beans.factory.annotation.Value;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 import uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants;
 import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.session.Session;
 import uk.gov.companieshouse.session.model.SignInInfo;
 import uk.gov.companieshouse.session.model.UserProfile;
 
-import javax.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -23,8 +22,11 @@ import static uk.gov.companieshouse.efs.web.categorytemplates.controller.Categor
 /**
  * Validates if a user is authorised for the form attached to the submission or if they are on the
  * allow list.
+ * <p>
+ * For a signed in session the decision is kept in the {@link SessionAuthDecisionCache}, per
+ * company and form category, until the session's sign-in info changes.
  */
-public class UserRequiredValidator extends AuthRequiredValidator implements Validator<HttpServletRequest> {
+public class UserRequiredValidator extends AuthRequiredValidator implements Validator<ValidatorResourceProvider> {
     private static final List<CategoryTypeConstants> categoriesWithAllowLists = Collections
             .singletonList(INSOLVENCY);
 
@@ -34,28 +36,59 @@ public class UserRequiredValidator extends AuthRequiredValidator implements Vali
 
     private final CategoryTemplateService categoryTemplateService;
 
-    @Value("${auth.use.fine.grained.scope}")
-    private String useFineGrainedScope;
+    private final SessionAuthDecisionCache decisionCache;
 
-    public UserRequiredValidator(ValidatorResourceProvider resourceProvider, CategoryTemplateService categoryTemplateService) {
-        super(resourceProvider);
+    private final Pattern authCompanyScopePattern;
+
+    /**
+     * Constructor.
+     *
+     * @param categoryTemplateService dependency
+     * @param decisionCache           holds the decisions made for each session
+     * @param useFineGrainedScope     true if users are authorised for a company by the fine grained
+     *                                company scope, false if by the legacy company scope
+     */
+    public UserRequiredValidator(CategoryTemplateService categoryTemplateService,
+                                 SessionAuthDecisionCache decisionCache, boolean useFineGrainedScope) {
         this.categoryTemplateService = categoryTemplateService;
+        this.decisionCache = decisionCache;
+        this.authCompanyScopePattern =
+                useFineGrainedScope ? FINE_GRAINED_AUTH_COMPANY_SCOPE : LEGACY_AUTH_COMPANY_SCOPE;
     }
 
     /**
      * Authorisation is required if the user isn't authorised for the form or on the allow list.
      *
+     * @param resourceProvider the request made to the web and the resources gathered for it
      * @return true if they are not authorised
      */
     @Override
-    protected boolean requiresAuth() {
-        return !(isOnAllowList() || isAuthorisedForCompany());
+    protected boolean requiresAuth(ValidatorResourceProvider resourceProvider) {
+        Optional<String> maybeSessionId = resourceProvider.getChsSession().map(Session::getCookieId);
+        if (!maybeSessionId.isPresent()) {
+            return decide(resourceProvider);
+        }
+
+        Optional<SignInInfo> maybeSignInInfo = resourceProvider.getSignInInfo();
+        Optional<String> maybeCompanyNumber = resourceProvider.getCompanyNumber();
+        Optional<String> maybeFormCategory = resourceProvider.getForm().map(FormTemplateApi::getFormCategory);
+
+        if (maybeSignInInfo.isPresent() && maybeCompanyNumber.isPresent() && maybeFormCategory.isPresent()) {
+            return decisionCache.get(maybeSessionId.get(), maybeSignInInfo.get(), maybeCompanyNumber.get(),
+                    maybeFormCategory.get(), () -> decide(resourceProvider));
+        }
+
+        return decide(resourceProvider);
+    }
+
+    private boolean decide(ValidatorResourceProvider resourceProvider) {
+        return !(isOnAllowList(resourceProvider) || isAuthorisedForCompany(resourceProvider));
     }
 
     // topLevelCategory == INSOLVENCY
     // userEmail is on allow list
-    private boolean isOnAllowList() {
-        boolean categoryHasAllowList = getTopLevelCategory()
+    private boolean isOnAllowList(ValidatorResourceProvider resourceProvider) {
+        boolean categoryHasAllowList = getTopLevelCategory(resourceProvider)
                 .filter(categoriesWithAllowLists::contains)
                 .isPresent();
 
@@ -73,12 +106,13 @@ public class UserRequiredValidator extends AuthRequiredValidator implements Vali
                 .orElse(false);
     }
 
-    private Optional<CategoryTypeConstants> getTopLevelCategory() {
+    private Optional<CategoryTypeConstants> getTopLevelCategory(ValidatorResourceProvider resourceProvider) {
         return resourceProvider.getForm()
                 .map(FormTemplateApi::getFormCategory)
                 .map(categoryTemplateService::getTopLevelCategory);
     }
-    private boolean isAuthorisedForCompany() {
+
+    private boolean isAuthorisedForCompany(ValidatorResourceProvider resourceProvider) {
         Optional<String> maybeCompanyNumber = resourceProvider.getCompanyNumber();
         if (!maybeCompanyNumber.isPresent()) {
             return false;
@@ -95,14 +129,14 @@ public class UserRequiredValidator extends AuthRequiredValidator implements Vali
             return true;
         }
 
-        return getUserScopes().stream()
-                .map(getAuthCompanyScopePattern()::matcher)
+        return getUserScopes(resourceProvider).stream()
+                .map(authCompanyScopePattern::matcher)
                 .filter(Matcher::find)
                 .map(m -> m.group(COMPANY_NUMBER_GROUP))
                 .anyMatch(companyNumber::equalsIgnoreCase);
     }
 
-    private List<String> getUserScopes() {
+    private List<String> getUserScopes(ValidatorResourceProvider resourceProvider) {
         return resourceProvider.getSignInInfo()
                 .map(SignInInfo::getUserProfile)
                 .map(UserProfile::getScope)
@@ -110,16 +144,4 @@ public class UserRequiredValidator extends AuthRequiredValidator implements Vali
                 .map(Arrays::asList)
                 .orElseGet(ArrayList::new);
     }
-
-    private Pattern getAuthCompanyScopePattern() {
-        if (isUseFineGrainedScope()) {
-            return FINE_GRAINED_AUTH_COMPANY_SCOPE;
-        } else {
-            return LEGACY_AUTH_COMPANY_SCOPE;
-        }
-    }
-
-    private boolean isUseFineGrainedScope() {
-        return "1".equalsIgnoreCase(useFineGrainedScope);
-    }
 }
@@ -3,6 +3,9 @@ package uk.gov.companieshouse.efs.web.security.validator;
 /**
  * Implementation of the validator interface.
  * A validator can be created by extending this class and implementing the "isValid" method
+ * <p>
+ * A validator holds no state other than the rest of its chain, so once the chain has been built
+ * it can be shared by any number of threads.
  *
  * @param <T> the type to be validated
  */
@@ -45,11 +48,11 @@ public abstract class ValidatorImpl<T> implements Validator<T> {
     @Override
     public boolean validate(T input) {
         if (nextValidator == null) {
-            return isValid();
+            return isValid(input);
         }
 
-        return isValid() && nextValidator.validate(input);
+        return isValid(input) && nextValidator.validate(input);
     }
 
-    protected abstract boolean isValid();
+    protected abstract boolean isValid(T input);
 }
@@ -5,6 +5,7 @@ import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
+import uk.gov.companieshouse.efs.web.security.route.RequestRoute;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
 import uk.gov.companieshouse.session.Session;
 import uk.gov.companieshouse.session.handler.SessionHandler;
@@ -12,8 +13,6 @@ import uk.gov.companieshouse.session.model.SignInInfo;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * To validate whether a request requires authorisation information about that request must be gathered
@@ -25,21 +24,49 @@ import java.util.regex.Pattern;
  * ValidationResourceProvider wraps a request and takes in some dependencies, providing methods to
  * access these resources.
  * One they have been computed, their value is saved.
+ * <p>
+ * A new provider is created for each request and passed along the validator chain, so the
+ * validators themselves hold no per-request state. A provider is only used by the thread handling
+ * its request.
+ * <p>
+ * The request URL is parsed once, into a {@link RequestRoute}, however many validators ask for
+ * the submission ID or company number.
  */
 public class ValidatorResourceProvider {
-    private static final Pattern EFS_SUBMISSION_WITH_COMPANY = Pattern.compile(
-            "^/efs-submission/(?<submissionId>[a-fA-F\\d]{24}+)/company/(?<companyNumber>[a-zA-Z\\d]{8}+)[^a-zA-Z\\d]?+");
-
     private final FormTemplateService formTemplateService;
     private final ApiClientService apiClientService;
-    private HttpServletRequest request;
+    private final HttpServletRequest request;
+    private RequestRoute route;
     private SubmissionApi submission;
     private FormTemplateApi form;
     private SignInInfo signInInfo;
 
-    public ValidatorResourceProvider(ApiClientService apiClientService,
+    /**
+     * Constructor.
+     *
+     * @param request             the request to compute resources for
+     * @param apiClientService    dependency
+     * @param formTemplateService dependency
+     */
+    public ValidatorResourceProvider(HttpServletRequest request, ApiClientService apiClientService,
                                      FormTemplateService formTemplateService) {
 
+        this(request, null, apiClientService, formTemplateService);
+    }
+
+    /**
+     * Constructor for a request whose route has already been parsed.
+     *
+     * @param request             the request to compute resources for
+     * @param route               the route of the request, or null to parse it when first needed
+     * @param apiClientService    dependency
+     * @param formTemplateService dependency
+     */
+    public ValidatorResourceProvider(HttpServletRequest request, RequestRoute route,
+                                     ApiClientService apiClientService, FormTemplateService formTemplateService) {
+
+        this.request = request;
+        this.route = route;
         this.formTemplateService = formTemplateService;
         this.apiClientService = apiClientService;
     }
@@ -51,9 +78,9 @@ public class ValidatorResourceProvider {
      * @return an optional containing the submission. Empty if there is no submission with that ID.
      */
     private Optional<SubmissionApi> getSubmissionFromRequest() {
-        Matcher urlMatcher = getRequestPathMatcher();
-        if (urlMatcher.find()) {
-            String submissionId = urlMatcher.group(1);
+        Optional<String> maybeSubmissionId = getRoute().getSubmissionId();
+        if (maybeSubmissionId.isPresent()) {
+            String submissionId = maybeSubmissionId.get();
             Optional<SubmissionApi> maybeSubmission = Optional.ofNullable(apiClientService
                     .getSubmission(submissionId))
                     .map(ApiResponse::getData);
@@ -91,36 +118,16 @@ public class ValidatorResourceProvider {
     }
 
     /**
-     * Sets the request used to compute resources.
+     * Gets the route of the request, parsing the request URL if it has not been parsed yet.
      *
-     * @param request the request to use
+     * @return the route of the request
      */
-    void setInput(HttpServletRequest request) {
-        if (request == null || !request.equals(this.request)) {
-            // Pre-computes resources are only valid for a specific request
-            invalidate();
+    RequestRoute getRoute() {
+        if (route == null) {
+            route = RequestRoute.of(request);
         }
 
-        this.request = request;
-    }
-
-    /**
-     * Removes all pre computed resources.
-     */
-    private void invalidate() {
-        submission = null;
-        form = null;
-        signInInfo = null;
-    }
-
-    /**
-     * Gets a regular expression that can match against a URL to efs that has a submissionID
-     * and company number. It has groups allowing that information to be extracted.
-     *
-     * @return a regex matcher for the request URL and EFS_SUBMISSION_WITH_COMPANY
-     */
-    Matcher getRequestPathMatcher() {
-        return EFS_SUBMISSION_WITH_COMPANY.matcher(request.getRequestURI());
+        return route;
     }
 
     /**
@@ -210,12 +217,7 @@ public class ValidatorResourceProvider {
      * @return the company is it was found.
      */
     public Optional<String> getCompanyNumber() {
-        Matcher urlPathMatcher = getRequestPathMatcher();
-        if (!urlPathMatcher.find()) {
-            return Optional.empty();
-        }
-
-        return Optional.ofNullable(urlPathMatcher.group("companyNumber"));
+        return getRoute().getCompanyNumber();
     }
 
 }
@@ -0,0 +1,111 @@
+package uk.gov.companieshouse.efs.web.service.allowlist;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * An immutable, in-memory copy of the allow list. Email addresses are compared ignoring case and
+ * surrounding white space.
+ * <p>
+ * Membership is checked first against a Bloom filter, which rules out most addresses that are not
+ * on the list without touching the exact set; the exact set then confirms the addresses the filter
+ * lets through, so an answer is never a false positive.
+ */
+public final class AllowListSnapshot {
+
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int HASH_FUNCTIONS = 7;
+
+    private final Set<String> emails;
+    private final BitSet filter;
+    private final int filterBits;
+    private final long loadedAt;
+
+    private AllowListSnapshot(final Set<String> emails, final long loadedAt) {
+        this.emails = Collections.unmodifiableSet(emails);
+        this.filterBits = Math.max(Long.SIZE, emails.size() * BITS_PER_ENTRY);
+        this.filter = new BitSet(filterBits);
+        this.loadedAt = loadedAt;
+
+        emails.forEach(email -> {
+            final long hash = hash(email);
+
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                filter.set(index(hash, i));
+            }
+        });
+    }
+
+    /**
+     * Build a snapshot of the allow list. Blank entries are ignored.
+     *
+     * @param emails   all the email addresses on the allow list
+     * @param loadedAt the time the list was loaded, in milliseconds since the epoch
+     * @return the snapshot
+     */
+    public static AllowListSnapshot of(final Collection<String> emails, final long loadedAt) {
+        final Set<String> normalised = new HashSet<>();
+
+        emails.stream().filter(StringUtils::isNotBlank).map(AllowListSnapshot::normalise).forEach(normalised::add);
+
+        return new AllowListSnapshot(normalised, loadedAt);
+    }
+
+    /**
+     * @param email the email address
+     * @return true if the email address is on the allow list
+     */
+    public boolean contains(final String email) {
+        if (StringUtils.isBlank(email)) {
+            return false;
+        }
+
+        final String normalised = normalise(email);
+        final long hash = hash(normalised);
+
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            if (!filter.get(index(hash, i))) {
+                return false;
+            }
+        }
+
+        return emails.contains(normalised);
+    }
+
+    public int size() {
+        return emails.size();
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    private int index(final long hash, final int i) {
+        // Kirsch-Mitzenmacher: derive the k indexes from the two halves of one 64-bit hash
+        final int combined = (int) hash + i * (int) (hash >>> 32);
+
+        return (combined & Integer.MAX_VALUE) % filterBits;
+    }
+
+    private static String normalise(final String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long hash(final String value) {
+        // 64-bit FNV-1a over the UTF-8 bytes
+        long hash = 0xcbf29ce484222325L;
+
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+}
@@ -0,0 +1,39 @@
+package uk.gov.companieshouse.efs.web.service.allowlist;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint showing the state of the allow list snapshot: whether snapshots are enabled,
+ * and when the current snapshot was loaded, how old it is and how many entries it holds.
+ */
+@Component
+@Endpoint(id = "allowlist")
+public class AllowListSnapshotEndpoint {
+
+    private final AllowListSnapshotService allowListSnapshotService;
+
+    @Autowired
+    public AllowListSnapshotEndpoint(final AllowListSnapshotService allowListSnapshotService) {
+        this.allowListSnapshotService = allowListSnapshotService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> snapshot() {
+        final Map<String, Object> details = new LinkedHashMap<>();
+
+        details.put("enabled", allowListSnapshotService.isEnabled());
+        allowListSnapshotService.getSnapshot().ifPresent(snapshot -> {
+            details.put("loadedAt", Instant.ofEpochMilli(snapshot.getLoadedAt()).toString());
+            details.put("ageMillis", System.currentTimeMillis() - snapshot.getLoadedAt());
+            details.put("size", snapshot.size());
+        });
+
+        return details;
+    }
+}
@@ -0,0 +1,31 @@
+package uk.gov.companieshouse.efs.web.service.allowlist;
+
+import java.util.Optional;
+
+/**
+ * Answers allow list membership from an in-memory {@link AllowListSnapshot}, reloaded from time to
+ * time, so that most checks need no call to the API.
+ */
+public interface AllowListSnapshotService {
+
+    /**
+     * Check an email address against the current snapshot.
+     *
+     * @param email the email address
+     * @return whether the email address is on the allow list; empty if there is no usable snapshot,
+     *     in which case the API should be asked instead
+     */
+    Optional<Boolean> isOnAllowList(String email);
+
+    /**
+     * Get the current snapshot, without loading or reloading it.
+     *
+     * @return the snapshot; empty if snapshots are not enabled or none has been loaded yet
+     */
+    Optional<AllowListSnapshot> getSnapshot();
+
+    /**
+     * @return true if snapshots are enabled
+     */
+    boolean isEnabled();
+}
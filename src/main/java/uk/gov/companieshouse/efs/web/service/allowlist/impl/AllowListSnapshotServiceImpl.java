@@ -0,0 +1,137 @@
+package uk.gov.companieshouse.efs.web.service.allowlist.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.efs.web.service.allowlist.AllowListSnapshot;
+import uk.gov.companieshouse.efs.web.service.allowlist.AllowListSnapshotService;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Loads the allow list snapshot from the resource configured by {@code allow.list.snapshot.location},
+ * for example a file or URL holding the exported allow list with one email address per line. Lines
+ * starting with {@code #} are ignored. Snapshots are disabled if no location is configured.
+ * <p>
+ * The first check after the refresh interval has passed starts a reload of the snapshot on the
+ * reference data refresh executor; that check and the others carry on with the current snapshot, if
+ * there is one, while it loads. A failed load is logged and tried again after the refresh interval,
+ * as is a load that cannot be queued. A snapshot older than the maximum age, because the reloads
+ * keep failing, is not used.
+ */
+@Service
+public class AllowListSnapshotServiceImpl implements AllowListSnapshotService {
+
+    private static final String COMMENT_PREFIX = "#";
+
+    private final ResourceLoader resourceLoader;
+    private final Executor refreshExecutor;
+    private final Logger logger;
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    private volatile AllowListSnapshot snapshot;
+    private volatile long lastAttemptAt;
+
+    @Value("${allow.list.snapshot.location}")
+    private String location;
+
+    @Value("${allow.list.snapshot.refresh.ms}")
+    private long refreshMillis;
+
+    @Value("${allow.list.snapshot.max.age.ms}")
+    private long maxAgeMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param resourceLoader  resolves the snapshot location
+     * @param refreshExecutor loads the snapshot in the background
+     * @param logger          the CH logger
+     */
+    @Autowired
+    public AllowListSnapshotServiceImpl(final ResourceLoader resourceLoader,
+        @Lazy @Qualifier("referenceDataRefreshExecutor") final Executor refreshExecutor, final Logger logger) {
+        this.resourceLoader = resourceLoader;
+        this.refreshExecutor = refreshExecutor;
+        this.logger = logger;
+    }
+
+    @Override
+    public Optional<Boolean> isOnAllowList(final String email) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        final long now = System.currentTimeMillis();
+
+        if (now - lastAttemptAt >= refreshMillis && loading.compareAndSet(false, true)) {
+            startLoad(now);
+        }
+
+        return getSnapshot()
+            .filter(current -> now - current.getLoadedAt() <= maxAgeMillis)
+            .map(current -> current.contains(email));
+    }
+
+    @Override
+    public Optional<AllowListSnapshot> getSnapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return StringUtils.isNotBlank(location);
+    }
+
+    private void startLoad(final long now) {
+        lastAttemptAt = now;
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load();
+                } finally {
+                    loading.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // The load is tried again after the refresh interval.
+            loading.set(false);
+        }
+    }
+
+    private void load() {
+        try {
+            snapshot = AllowListSnapshot.of(readEmails(resourceLoader.getResource(location)),
+                System.currentTimeMillis());
+            logger.debug(String.format("Loaded the allow list snapshot with %d entries", snapshot.size()));
+        } catch (IOException | UncheckedIOException ex) {
+            logger.error("Failed to load the allow list snapshot from " + location, ex);
+        }
+    }
+
+    private static List<String> readEmails(final Resource resource) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith(COMMENT_PREFIX))
+                .collect(Collectors.toList());
+        }
+    }
+}
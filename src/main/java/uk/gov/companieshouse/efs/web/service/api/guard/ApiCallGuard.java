@@ -0,0 +1,121 @@
+package uk.gov.companieshouse.efs.web.service.api.guard;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.efs.web.configuration.ApiGuardProperties;
+import uk.gov.companieshouse.efs.web.exception.ApiUnavailableException;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Guards the calls to the efs-submission-api with a circuit breaker and a bulkhead per operation
+ * name, so that an operation which is failing or slow is refused quickly, and cannot tie up more
+ * than its share of the request threads, instead of every request waiting on it.
+ * <p>
+ * The state of each circuit, its transitions and the calls refused are published on the actuator
+ * metrics endpoint.
+ */
+@Component
+public class ApiCallGuard implements MeterBinder {
+
+    static final String STATE_METRIC = "api.guard.state";
+    static final String TRANSITION_METRIC = "api.guard.transitions";
+    static final String REJECTION_METRIC = "api.guard.rejections";
+
+    private static final String OPERATION_TAG = "operation";
+
+    private final ApiGuardProperties properties;
+    private final LongSupplier clock;
+    private final Logger logger;
+    private final Map<String, OperationGuard> guards = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param properties the circuit breaker and bulkhead settings
+     * @param logger     the CH logger
+     */
+    @Autowired
+    public ApiCallGuard(final ApiGuardProperties properties, final Logger logger) {
+        this(properties, System::nanoTime, logger);
+    }
+
+    ApiCallGuard(final ApiGuardProperties properties, final LongSupplier clock, final Logger logger) {
+        this.properties = properties;
+        this.clock = clock;
+        this.logger = logger;
+    }
+
+    /**
+     * Make a call to the API, unless the circuit for its operation is open or the operation
+     * already has as many calls in progress as it may.
+     *
+     * @param operationName the operation name
+     * @param call          the call
+     * @param <T>           the result type
+     * @return the result of the call
+     * @throws ApiUnavailableException if the call was not made
+     */
+    public <T> T execute(final String operationName, final Supplier<T> call) {
+        return getGuard(operationName).execute(call);
+    }
+
+    /**
+     * @param operationName the operation name
+     * @return the state of the circuit for the operation
+     */
+    public CircuitState getState(final String operationName) {
+        return getGuard(operationName).getState();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        this.registry = registry;
+        guards.values().forEach(guard -> bindGuard(guard, registry));
+    }
+
+    private OperationGuard getGuard(final String operationName) {
+        return guards.computeIfAbsent(operationName, name -> {
+            final OperationGuard guard = new OperationGuard(name, properties.getSpec(name), clock, logger);
+            final MeterRegistry current = registry;
+
+            if (current != null) {
+                bindGuard(guard, current);
+            }
+
+            return guard;
+        });
+    }
+
+    private static void bindGuard(final OperationGuard guard, final MeterRegistry registry) {
+        Gauge.builder(STATE_METRIC, guard, g -> g.getState().ordinal())
+            .tag(OPERATION_TAG, guard.getOperationName())
+            .description("The circuit state of the API operation: 0 closed, 1 open, 2 half open")
+            .register(registry);
+
+        for (CircuitState to : CircuitState.values()) {
+            FunctionCounter.builder(TRANSITION_METRIC, guard, g -> g.getTransitionCount(to))
+                .tag(OPERATION_TAG, guard.getOperationName())
+                .tag("to", to.name().toLowerCase(Locale.ROOT))
+                .description("The circuit state changes of the API operation")
+                .register(registry);
+        }
+        for (ApiUnavailableException.Reason reason : ApiUnavailableException.Reason.values()) {
+            FunctionCounter.builder(REJECTION_METRIC, guard, g -> g.getRejectionCount(reason))
+                .tag(OPERATION_TAG, guard.getOperationName())
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .description("The calls to the API operation refused without being made")
+                .register(registry);
+        }
+    }
+}
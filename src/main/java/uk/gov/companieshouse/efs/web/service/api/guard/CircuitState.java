@@ -0,0 +1,19 @@
+package uk.gov.companieshouse.efs.web.service.api.guard;
+
+/**
+ * The state of the circuit breaker for an API operation.
+ */
+public enum CircuitState {
+    /**
+     * Calls are made as usual.
+     */
+    CLOSED,
+    /**
+     * Calls are refused without being made.
+     */
+    OPEN,
+    /**
+     * A single trial call is made to find out whether the operation has recovered.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,171 @@
+package uk.gov.companieshouse.efs.web.service.api.guard;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.companieshouse.efs.web.configuration.ApiGuardProperties;
+import uk.gov.companieshouse.efs.web.exception.ApiUnavailableException;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * The circuit breaker and bulkhead for one API operation. A call fails if it throws anything
+ * other than a {@link ResponseStatusException} with a client error status, since the API did
+ * answer those, or if it takes longer than the slow call threshold.
+ */
+final class OperationGuard {
+
+    private final String operationName;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final long slowCallNanos;
+    private final long maxWaitNanos;
+    private final Semaphore bulkhead;
+    private final LongSupplier clock;
+    private final Logger logger;
+    private final Map<CircuitState, LongAdder> transitions = new EnumMap<>(CircuitState.class);
+    private final Map<ApiUnavailableException.Reason, LongAdder> rejections =
+        new EnumMap<>(ApiUnavailableException.Reason.class);
+
+    // guarded by this
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInProgress;
+
+    OperationGuard(final String operationName, final ApiGuardProperties.GuardSpec spec, final LongSupplier clock,
+        final Logger logger) {
+        this.operationName = operationName;
+        this.failureThreshold = spec.getFailureThreshold();
+        this.openNanos = spec.getOpenDuration().toNanos();
+        this.slowCallNanos = spec.getSlowCallThreshold().toNanos();
+        this.maxWaitNanos = spec.getMaxWait().toNanos();
+        this.bulkhead = new Semaphore(spec.getMaxConcurrent());
+        this.clock = clock;
+        this.logger = logger;
+
+        for (CircuitState circuitState : CircuitState.values()) {
+            transitions.put(circuitState, new LongAdder());
+        }
+        for (ApiUnavailableException.Reason reason : ApiUnavailableException.Reason.values()) {
+            rejections.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Make the call, unless the circuit is open or the bulkhead is full.
+     *
+     * @param call the call
+     * @param <T>  the result type
+     * @return the result of the call
+     * @throws ApiUnavailableException if the call was not made
+     */
+    <T> T execute(final Supplier<T> call) {
+        final boolean trial = admit();
+
+        if (!acquire()) {
+            if (trial) {
+                endTrial();
+            }
+            throw reject(ApiUnavailableException.Reason.BULKHEAD_FULL);
+        }
+
+        final long start = clock.getAsLong();
+        boolean answered = false;
+
+        try {
+            final T result = call.get();
+            answered = true;
+            return result;
+        } catch (ResponseStatusException ex) {
+            answered = ex.getStatus().is4xxClientError();
+            throw ex;
+        } finally {
+            bulkhead.release();
+            record(trial, answered && clock.getAsLong() - start <= slowCallNanos);
+        }
+    }
+
+    synchronized CircuitState getState() {
+        return state;
+    }
+
+    long getTransitionCount(final CircuitState to) {
+        return transitions.get(to).sum();
+    }
+
+    long getRejectionCount(final ApiUnavailableException.Reason reason) {
+        return rejections.get(reason).sum();
+    }
+
+    String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * @return true if the call is the trial call of a half open circuit
+     * @throws ApiUnavailableException if the circuit is open
+     */
+    private synchronized boolean admit() {
+        if (state == CircuitState.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            transitionTo(CircuitState.HALF_OPEN);
+        }
+        if (state == CircuitState.OPEN || (state == CircuitState.HALF_OPEN && trialInProgress)) {
+            throw reject(ApiUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            trialInProgress = true;
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean acquire() {
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized void endTrial() {
+        trialInProgress = false;
+    }
+
+    private synchronized void record(final boolean trial, final boolean success) {
+        if (trial) {
+            trialInProgress = false;
+        }
+        if (success) {
+            consecutiveFailures = 0;
+            if (trial && state == CircuitState.HALF_OPEN) {
+                transitionTo(CircuitState.CLOSED);
+            }
+        } else {
+            ++consecutiveFailures;
+            if ((trial && state == CircuitState.HALF_OPEN)
+                || (state == CircuitState.CLOSED && consecutiveFailures >= failureThreshold)) {
+                openedAt = clock.getAsLong();
+                transitionTo(CircuitState.OPEN);
+            }
+        }
+    }
+
+    private void transitionTo(final CircuitState to) {
+        logger.info(String.format("Circuit for %s changed from %s to %s", operationName, state, to));
+        state = to;
+        transitions.get(to).increment();
+    }
+
+    private ApiUnavailableException reject(final ApiUnavailableException.Reason reason) {
+        rejections.get(reason).increment();
+
+        return new ApiUnavailableException(operationName, reason);
+    }
+}
@@ -4,10 +4,15 @@ import static uk.gov.companieshouse.efs.web.configuration.DataCacheConfig.IP_ALL
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.model.ApiResponse;
@@ -22,7 +27,9 @@ import uk.gov.companieshouse.api.model.efs.submissions.SubmissionStatus;
 import uk.gov.companieshouse.api.model.paymentsession.SessionListApi;
 import uk.gov.companieshouse.efs.web.configuration.DataCacheConfig;
 import uk.gov.companieshouse.efs.web.exception.UrlEncodingException;
+import uk.gov.companieshouse.efs.web.service.allowlist.AllowListSnapshotService;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.api.guard.ApiCallGuard;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.sdk.manager.ApiClientManager;
 
@@ -33,19 +40,33 @@ import uk.gov.companieshouse.sdk.manager.ApiClientManager;
 @Service
 public class ApiClientServiceImpl extends BaseApiClientServiceImpl implements ApiClientService {
 
+    private final AllowListSnapshotService allowListSnapshotService;
+
     /**
      * Construct an {@link ApiClientServiceImpl}.
      *
-     * @param logger the CH logger
+     * @param allowListSnapshotService answers allow list checks without calling the API
+     * @param apiCallGuard             guards the API calls with a circuit breaker and bulkhead
+     * @param apiCallExecutor          runs the asynchronous API calls
+     * @param logger                   the CH logger
      */
     @Autowired
-    public ApiClientServiceImpl(final Logger logger) {
-        super(logger);
+    public ApiClientServiceImpl(final AllowListSnapshotService allowListSnapshotService,
+        final ApiCallGuard apiCallGuard, @Qualifier("apiCallExecutor") final Executor apiCallExecutor,
+        final Logger logger) {
+        super(logger, apiCallGuard, apiCallExecutor);
+        this.allowListSnapshotService = allowListSnapshotService;
     }
 
+    /**
+     * Get the SDK client for the current request, or for the request that submitted the current
+     * task if it was decorated by an {@link ApiClientTaskDecorator}.
+     *
+     * @return the InternalApiClient
+     */
     @Override
     public InternalApiClient getApiClient() {
-        return ApiClientManager.getPrivateSDK();
+        return ApiClientTaskDecorator.getTaskApiClient().orElseGet(ApiClientManager::getPrivateSDK);
     }
 
     @Override
@@ -56,18 +77,26 @@ public class ApiClientServiceImpl extends BaseApiClientServiceImpl implements Ap
             getApiClient().privateEfsResourceHandler().submissions().newSubmission().create(uri, presenter));
     }
 
+    /**
+     * Get a submission. It is fetched from the API at most once while handling a request, unless it
+     * is changed in between.
+     *
+     * @param submissionId the submission ID
+     * @return the api response
+     */
     @Override
     @Cacheable(value = DataCacheConfig.SUBMISSION_BY_ID, sync = true)
     public ApiResponse<SubmissionApi> getSubmission(final String submissionId) {
         final String uri = SUB_URI + submissionId;
 
-        return executeOp("getSubmission", uri,
-            getApiClient().privateEfsResourceHandler().submissions().getSubmission().get(uri));
+        return RequestSubmissionContext.get(submissionId, () -> executeOp("getSubmission", uri,
+            getApiClient().privateEfsResourceHandler().submissions().getSubmission().get(uri)));
     }
 
     @Override
     @CacheEvict(value = DataCacheConfig.SUBMISSION_BY_ID, key = "#submissionId")
     public ApiResponse<SubmissionResponseApi> putCompany(final String submissionId, final CompanyApi company) {
+        RequestSubmissionContext.invalidate(submissionId);
         final String uri = SUB_URI + submissionId + "/company";
 
         return executeOp("submitCompany", uri,
@@ -77,6 +106,7 @@ public class ApiClientServiceImpl extends BaseApiClientServiceImpl implements Ap
     @Override
     @CacheEvict(value = DataCacheConfig.SUBMISSION_BY_ID, key = "#submissionId")
     public ApiResponse<SubmissionResponseApi> putFormType(final String submissionId, final FormTypeApi formType) {
+        RequestSubmissionContext.invalidate(submissionId);
         final String uri = SUB_URI + submissionId + "/form";
 
         return executeOp("submitFormType", uri,
@@ -86,6 +116,7 @@ public class ApiClientServiceImpl extends BaseApiClientServiceImpl implements Ap
     @Override
     @CacheEvict(value = DataCacheConfig.SUBMISSION_BY_ID, key = "#submissionId")
     public ApiResponse<SubmissionResponseApi> putFileList(final String submissionId, final FileListApi fileList) {
+        RequestSubmissionContext.invalidate(submissionId);
         final String uri = SUB_URI + submissionId + "/files";
 
         return executeOp("submitFiles", uri, getApiClient().privateEfsResourceHandler().submissions().file().upsert(uri, fileList));
@@ -95,6 +126,7 @@ public class ApiClientServiceImpl extends BaseApiClientServiceImpl implements Ap
     @CacheEvict(value = DataCacheConfig.SUBMISSION_BY_ID, key = "#submissionId")
     public ApiResponse<SubmissionResponseApi> putPaymentSessions(final String submissionId,
         final SessionListApi paymentSessions) {
+        RequestSubmissionContext.invalidate(submissionId);
         final String uri = SUB_URI + submissionId + "/payment-sessions";
 
         return executeOp("submitPaymentSessions", uri,
@@ -104,6 +136,7 @@ public class ApiClientServiceImpl extends BaseApiClientServiceImpl implements Ap
     @Override
     @CacheEvict(value = DataCacheConfig.SUBMISSION_BY_ID, key = "#submissionId")
     public ApiResponse<SubmissionResponseApi> putConfirmAuthorised(final String submissionId, final ConfirmAuthorisedApi confirmAuthorised) {
+        RequestSubmissionContext.invalidate(submissionId);
         final String uri = SUB_URI + submissionId + "/confirmAuthorised";
 
         return executeOp("confirmAuthorised", uri,
@@ -113,15 +146,28 @@ public class ApiClientServiceImpl extends BaseApiClientServiceImpl implements Ap
     @Override
     @CacheEvict(value = DataCacheConfig.SUBMISSION_BY_ID, key = "#submissionId")
     public ApiResponse<SubmissionResponseApi> putSubmissionSubmitted(final String submissionId) {
+        RequestSubmissionContext.invalidate(submissionId);
         final String uri = SUB_URI + submissionId;
 
         return executeOp("completeSubmission", uri,
             getApiClient().privateEfsResourceHandler().submissions().submit().upsert(uri, SubmissionStatus.SUBMITTED));
     }
 
+    /**
+     * Checks if an email address is on the allow list. The allow list snapshot answers if there is
+     * a usable one; otherwise the API is asked.
+     *
+     * @param emailAddress the email address
+     * @return the api response
+     */
     @Override
     @Cacheable(value = IP_ALLOW_LIST, sync = true)
     public ApiResponse<Boolean> isOnAllowList(final String emailAddress) {
+        final Optional<Boolean> onSnapshot = allowListSnapshotService.isOnAllowList(emailAddress);
+
+        if (onSnapshot.isPresent()) {
+            return new ApiResponse<>(HttpStatus.OK.value(), Collections.emptyMap(), onSnapshot.get());
+        }
 
         String encodedEmailAddress;
 
@@ -0,0 +1,40 @@
+package uk.gov.companieshouse.efs.web.service.api.impl;
+
+import java.util.Optional;
+import org.springframework.core.task.TaskDecorator;
+import uk.gov.companieshouse.api.InternalApiClient;
+import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+
+/**
+ * Lets a task run on another thread call the API with the credentials of the request that
+ * submitted it. The SDK client is created when the task is submitted, on the request thread, and
+ * {@link ApiClientServiceImpl#getApiClient()} returns it while the task runs.
+ */
+public class ApiClientTaskDecorator implements TaskDecorator {
+
+    private static final ThreadLocal<InternalApiClient> TASK_API_CLIENT = new ThreadLocal<>();
+
+    private final ApiClientService apiClientService;
+
+    public ApiClientTaskDecorator(final ApiClientService apiClientService) {
+        this.apiClientService = apiClientService;
+    }
+
+    @Override
+    public Runnable decorate(final Runnable runnable) {
+        final InternalApiClient apiClient = apiClientService.getApiClient();
+
+        return () -> {
+            TASK_API_CLIENT.set(apiClient);
+            try {
+                runnable.run();
+            } finally {
+                TASK_API_CLIENT.remove();
+            }
+        };
+    }
+
+    static Optional<InternalApiClient> getTaskApiClient() {
+        return Optional.ofNullable(TASK_API_CLIENT.get());
+    }
+}
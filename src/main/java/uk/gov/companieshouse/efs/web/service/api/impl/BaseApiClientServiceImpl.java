@@ -2,12 +2,14 @@ package uk.gov.companieshouse.efs.web.service.api.impl;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.Executor;
 import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.efs.web.service.api.guard.ApiCallGuard;
 import uk.gov.companieshouse.logging.Logger;
 
 public abstract class BaseApiClientServiceImpl {
@@ -16,12 +18,37 @@ public abstract class BaseApiClientServiceImpl {
 
     protected Logger logger;
 
-    protected BaseApiClientServiceImpl(final Logger logger) {
+    private final ApiCallGuard apiCallGuard;
+    private final java.util.concurrent.Executor asyncExecutor;
+
+    /**
+     * Constructor for a service that makes its asynchronous calls on the calling thread.
+     *
+     * @param logger       the CH logger
+     * @param apiCallGuard guards the sdk calls with a circuit breaker and bulkhead per operation
+     */
+    protected BaseApiClientServiceImpl(final Logger logger, final ApiCallGuard apiCallGuard) {
+        this(logger, apiCallGuard, Runnable::run);
+    }
+
+    /**
+     * Constructor for a service that runs its asynchronous calls on the given executor.
+     *
+     * @param logger        the CH logger
+     * @param apiCallGuard  guards the sdk calls with a circuit breaker and bulkhead per operation
+     * @param asyncExecutor runs the calls made through {@link #executeOpAsync}
+     */
+    protected BaseApiClientServiceImpl(final Logger logger, final ApiCallGuard apiCallGuard,
+            final java.util.concurrent.Executor asyncExecutor) {
         this.logger = logger;
+        this.apiCallGuard = apiCallGuard;
+        this.asyncExecutor = asyncExecutor;
     }
 
     /**
-     * General execution of an sdk endpoint.
+     * General execution of an sdk endpoint. The call is refused with an
+     * {@link uk.gov.companieshouse.efs.web.exception.ApiUnavailableException} if the circuit for
+     * the operation is open or its bulkhead is full.
      *
      * @param operationName name of operation
      * @param uri           uri of sdk being called
@@ -31,6 +58,11 @@ public abstract class BaseApiClientServiceImpl {
      */
     public <T> ApiResponse<T> executeOp(final String operationName, final String uri,
             final Executor<ApiResponse<T>> executor) {
+        return apiCallGuard.execute(operationName, () -> execute(operationName, uri, executor));
+    }
+
+    private <T> ApiResponse<T> execute(final String operationName, final String uri,
+            final Executor<ApiResponse<T>> executor) {
         final Map<String, Object> debugMap = new HashMap<>();
 
         debugMap.put("operationName", operationName);
@@ -53,4 +85,22 @@ public abstract class BaseApiClientServiceImpl {
                     ex.getStatusMessage(), ex);
         }
     }
+
+    /**
+     * Asynchronous execution of an sdk endpoint, so that independent calls can be made
+     * concurrently. The sdk request is built on the calling thread and executed on the service's
+     * executor; a service constructed without one executes it on the calling thread.
+     *
+     * @param operationName name of operation
+     * @param uri           uri of sdk being called
+     * @param executor      executor to use
+     * @param <T>           type of api response
+     * @return the api response, or completed exceptionally with the exception thrown by
+     *     {@link #executeOp}
+     * @throws java.util.concurrent.RejectedExecutionException if the executor cannot take the call
+     */
+    protected <T> CompletableFuture<ApiResponse<T>> executeOpAsync(final String operationName, final String uri,
+            final Executor<ApiResponse<T>> executor) {
+        return CompletableFuture.supplyAsync(() -> executeOp(operationName, uri, executor), asyncExecutor);
+    }
 }
@@ -0,0 +1,63 @@
+package uk.gov.companieshouse.efs.web.service.api.impl;
+
+import java.util.function.Supplier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
+
+/**
+ * Holds the submissions fetched while handling the current request, as request attributes, so
+ * that the filters, interceptors, controllers and aspects that read a submission during one
+ * request share a single call to the API. Outside a request, for example in a background task,
+ * nothing is held and every read calls the API.
+ */
+final class RequestSubmissionContext {
+
+    private static final String ATTRIBUTE_PREFIX = RequestSubmissionContext.class.getName() + ".";
+
+    private RequestSubmissionContext() {
+        // static helper
+    }
+
+    /**
+     * Get the submission fetched earlier in the current request, or fetch it now.
+     *
+     * @param submissionId the submission ID
+     * @param fetch        fetches the submission from the API
+     * @return the api response
+     */
+    @SuppressWarnings("unchecked")
+    static ApiResponse<SubmissionApi> get(final String submissionId,
+        final Supplier<ApiResponse<SubmissionApi>> fetch) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes == null) {
+            return fetch.get();
+        }
+
+        final String name = ATTRIBUTE_PREFIX + submissionId;
+        ApiResponse<SubmissionApi> response =
+            (ApiResponse<SubmissionApi>) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+
+        if (response == null) {
+            response = fetch.get();
+            attributes.setAttribute(name, response, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return response;
+    }
+
+    /**
+     * Forget the submission held for the current request, after it has been changed.
+     *
+     * @param submissionId the submission ID
+     */
+    static void invalidate(final String submissionId) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes != null) {
+            attributes.removeAttribute(ATTRIBUTE_PREFIX + submissionId, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
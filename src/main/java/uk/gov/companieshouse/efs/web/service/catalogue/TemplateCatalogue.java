@@ -0,0 +1,150 @@
+package uk.gov.companieshouse.efs.web.service.catalogue;
+
+import static uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants.OTHER;
+import static uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants.ROOT;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import uk.gov.companieshouse.api.model.efs.categorytemplates.CategoryTemplateApi;
+import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
+import uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants;
+
+/**
+ * An immutable, indexed copy of the category and form templates. Every lookup is answered from
+ * maps built once when the catalogue is created, so walking the category tree needs no further
+ * calls to the API. Lists are returned in the order the templates were listed by the API.
+ */
+public final class TemplateCatalogue {
+
+    private final List<CategoryTemplateApi> categories;
+    private final Map<String, CategoryTemplateApi> categoriesByType;
+    private final Map<String, List<CategoryTemplateApi>> categoriesByParent;
+    private final Map<String, CategoryTypeConstants> topLevelCategories;
+    private final List<FormTemplateApi> forms;
+    private final Map<String, FormTemplateApi> formsByType;
+    private final Map<String, List<FormTemplateApi>> formsByCategory;
+
+    private TemplateCatalogue(final List<CategoryTemplateApi> categories, final List<FormTemplateApi> forms) {
+        final Map<String, CategoryTemplateApi> byType = new LinkedHashMap<>();
+        final Map<String, List<CategoryTemplateApi>> byParent = new HashMap<>();
+
+        for (CategoryTemplateApi category : categories) {
+            byType.putIfAbsent(category.getCategoryType(), category);
+            byParent.computeIfAbsent(StringUtils.defaultString(category.getParent()), k -> new ArrayList<>())
+                .add(category);
+        }
+
+        final Map<String, FormTemplateApi> formByType = new HashMap<>();
+        final Map<String, List<FormTemplateApi>> byCategory = new HashMap<>();
+
+        for (FormTemplateApi form : forms) {
+            formByType.putIfAbsent(form.getFormType(), form);
+            byCategory.computeIfAbsent(form.getFormCategory(), k -> new ArrayList<>()).add(form);
+        }
+
+        final Map<String, CategoryTypeConstants> topLevel = new HashMap<>();
+
+        byType.keySet().forEach(type -> findTopLevelCategory(type, byType).ifPresent(t -> topLevel.put(type, t)));
+
+        this.categories = Collections.unmodifiableList(new ArrayList<>(categories));
+        this.categoriesByType = Collections.unmodifiableMap(byType);
+        this.categoriesByParent = unmodifiable(byParent);
+        this.topLevelCategories = Collections.unmodifiableMap(topLevel);
+        this.forms = Collections.unmodifiableList(new ArrayList<>(forms));
+        this.formsByType = Collections.unmodifiableMap(formByType);
+        this.formsByCategory = unmodifiable(byCategory);
+    }
+
+    /**
+     * Build a catalogue from the complete lists of templates.
+     *
+     * @param categories all the category templates
+     * @param forms      all the form templates
+     * @return the catalogue
+     */
+    public static TemplateCatalogue of(final List<CategoryTemplateApi> categories,
+        final List<FormTemplateApi> forms) {
+        return new TemplateCatalogue(categories, forms);
+    }
+
+    public List<CategoryTemplateApi> getCategories() {
+        return categories;
+    }
+
+    public Optional<CategoryTemplateApi> getCategory(final String categoryType) {
+        return Optional.ofNullable(categoriesByType.get(categoryType));
+    }
+
+    public List<CategoryTemplateApi> getCategoriesByParent(final String parent) {
+        return categoriesByParent.getOrDefault(StringUtils.defaultString(parent), Collections.emptyList());
+    }
+
+    /**
+     * Given a form category below the top level, get its top level ancestor.
+     *
+     * @param categoryType the form category
+     * @return top level category or root if it already is a top level category or the root
+     *     category; empty if the category, or one of its ancestors, is not in the catalogue
+     */
+    public Optional<CategoryTypeConstants> getTopLevelCategory(final String categoryType) {
+        return Optional.ofNullable(topLevelCategories.get(categoryType));
+    }
+
+    public List<FormTemplateApi> getForms() {
+        return forms;
+    }
+
+    public Optional<FormTemplateApi> getForm(final String formType) {
+        return Optional.ofNullable(formsByType.get(formType));
+    }
+
+    public List<FormTemplateApi> getFormsByCategory(final String categoryType) {
+        return formsByCategory.getOrDefault(categoryType, Collections.emptyList());
+    }
+
+    private static Optional<CategoryTypeConstants> findTopLevelCategory(final String categoryType,
+        final Map<String, CategoryTemplateApi> byType) {
+        final Set<String> visited = new HashSet<>();
+        CategoryTypeConstants result = CategoryTypeConstants.nameOf(categoryType).orElse(OTHER);
+        String current = categoryType;
+
+        while (visited.add(current)) {
+            final CategoryTemplateApi category = byType.get(current);
+
+            if (category == null) {
+                return Optional.empty();
+            }
+
+            final String parent = category.getParent();
+
+            if (StringUtils.isBlank(parent)) {
+                return Optional.of(result);
+            }
+
+            final CategoryTypeConstants parentCategory = CategoryTypeConstants.nameOf(parent).orElse(OTHER);
+
+            if (parentCategory == ROOT) {
+                return Optional.of(result);
+            }
+            result = parentCategory;
+            current = parent;
+        }
+
+        // The parents form a loop, so the category has no top level ancestor.
+        return Optional.empty();
+    }
+
+    private static <T> Map<String, List<T>> unmodifiable(final Map<String, List<T>> index) {
+        index.replaceAll((key, values) -> Collections.unmodifiableList(values));
+
+        return Collections.unmodifiableMap(index);
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.companieshouse.efs.web.service.catalogue;
+
+/**
+ * Provides the category and form templates as a {@link TemplateCatalogue}, reloaded from the API
+ * from time to time.
+ */
+public interface TemplateCatalogueService {
+
+    /**
+     * Get the current catalogue. The first call loads it; a call made after the refresh interval
+     * has passed starts reloading it in the background, and returns the current one.
+     *
+     * @return the catalogue
+     */
+    TemplateCatalogue getCatalogue();
+
+    /**
+     * Discard the current catalogue, so that the next call to {@link #getCatalogue()} loads it
+     * again.
+     */
+    void invalidate();
+}
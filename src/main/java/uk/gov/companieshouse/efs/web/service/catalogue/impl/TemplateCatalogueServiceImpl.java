@@ -0,0 +1,183 @@
+package uk.gov.companieshouse.efs.web.service.catalogue.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.efs.web.cache.StaleDataMarker;
+import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
+import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogue;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogueService;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Builds the catalogue from the complete lists of category and form templates. Requests wait for
+ * the first load; after that the first request to find the refresh interval passed starts a reload
+ * on the reference data refresh executor, and every request carries on with the current catalogue
+ * while it runs. If a reload fails, or cannot be queued, the current catalogue is kept and the
+ * reload is tried again on a later request.
+ *
+ * <p>Once a reload has failed, every request that reads the catalogue is marked as answered with
+ * stale data, until a load succeeds. A catalogue older than the stale-if-error interval is no
+ * longer served: requests load it themselves, and fail if it still cannot be loaded. The age of the
+ * catalogue, whether it is stale, and the number of stale reads are published as metrics.
+ *
+ * <p>Loads and invalidations take the same lock, so that a reload which started before the
+ * catalogue was invalidated cannot put back what it read once the invalidation has been made.
+ *
+ * <p>The template services are looked up when the catalogue is loaded, rather than injected, as
+ * they in turn answer their lookups from the catalogue.
+ */
+@Service
+public class TemplateCatalogueServiceImpl implements TemplateCatalogueService, MeterBinder {
+
+    static final String AGE_METRIC = "template.catalogue.age";
+    static final String STALE_METRIC = "template.catalogue.stale";
+    static final String STALE_READ_METRIC = "template.catalogue.stale.reads";
+
+    private final ObjectProvider<CategoryTemplateService> categoryTemplateService;
+    private final ObjectProvider<FormTemplateService> formTemplateService;
+    private final Executor refreshExecutor;
+    private final Logger logger;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final Object loadLock = new Object();
+    private final LongAdder staleReads = new LongAdder();
+
+    private volatile TemplateCatalogue catalogue;
+    private volatile long loadedAt;
+    private volatile boolean reloadFailed;
+
+    @Value("${template.catalogue.refresh.ms}")
+    private long refreshMillis;
+
+    @Value("${template.catalogue.stale.if.error.ms}")
+    private long staleIfErrorMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param categoryTemplateService lists the category templates
+     * @param formTemplateService     lists the form templates
+     * @param refreshExecutor         reloads the catalogue in the background
+     * @param logger                  the CH logger
+     */
+    @Autowired
+    public TemplateCatalogueServiceImpl(final ObjectProvider<CategoryTemplateService> categoryTemplateService,
+        final ObjectProvider<FormTemplateService> formTemplateService,
+        @Qualifier("referenceDataRefreshExecutor") final Executor refreshExecutor, final Logger logger) {
+        this.categoryTemplateService = categoryTemplateService;
+        this.formTemplateService = formTemplateService;
+        this.refreshExecutor = refreshExecutor;
+        this.logger = logger;
+    }
+
+    @Override
+    public TemplateCatalogue getCatalogue() {
+        final TemplateCatalogue current = catalogue;
+
+        if (current == null) {
+            synchronized (loadLock) {
+                final TemplateCatalogue loaded = catalogue;
+
+                return loaded == null ? load() : loaded;
+            }
+        }
+
+        final long age = System.currentTimeMillis() - loadedAt;
+
+        if (reloadFailed) {
+            if (age > staleIfErrorMillis) {
+                synchronized (loadLock) {
+                    final TemplateCatalogue loaded = catalogue;
+
+                    return loaded == null || reloadFailed ? load() : loaded;
+                }
+            }
+            staleReads.increment();
+            StaleDataMarker.mark(age);
+        }
+        if (age >= refreshMillis && reloading.compareAndSet(false, true)) {
+            startReload();
+        }
+
+        return current;
+    }
+
+    @Override
+    public void invalidate() {
+        synchronized (loadLock) {
+            catalogue = null;
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(AGE_METRIC, this, TemplateCatalogueServiceImpl::getAgeSeconds)
+            .baseUnit("seconds")
+            .description("The time since the template catalogue was loaded")
+            .register(registry);
+        Gauge.builder(STALE_METRIC, this, service -> service.catalogue != null && service.reloadFailed ? 1 : 0)
+            .description("Whether the template catalogue is served after a failed reload: 1 stale, 0 current")
+            .register(registry);
+        FunctionCounter.builder(STALE_READ_METRIC, staleReads, LongAdder::sum)
+            .description("The requests answered from a stale template catalogue")
+            .register(registry);
+    }
+
+    private double getAgeSeconds() {
+        return catalogue == null
+            ? Double.NaN
+            : (double) (System.currentTimeMillis() - loadedAt) / TimeUnit.SECONDS.toMillis(1);
+    }
+
+    private void startReload() {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    synchronized (loadLock) {
+                        if (catalogue != null) {
+                            load();
+                        }
+                    }
+                } catch (RuntimeException ex) {
+                    reloadFailed = true;
+                    logger.error("Failed to reload the template catalogue", ex);
+                } finally {
+                    reloading.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // The reload is tried again on a later request.
+            reloading.set(false);
+        }
+    }
+
+    /**
+     * Must be called holding the load lock.
+     *
+     * @return the catalogue loaded
+     */
+    private TemplateCatalogue load() {
+        final TemplateCatalogue loaded = TemplateCatalogue.of(
+            categoryTemplateService.getObject().getCategoryTemplates().getData().getList(),
+            formTemplateService.getObject().getFormTemplates().getData().getList());
+
+        catalogue = loaded;
+        loadedAt = System.currentTimeMillis();
+        reloadFailed = false;
+        logger.debug("Loaded the template catalogue");
+
+        return loaded;
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.companieshouse.efs.web.service.filelist;
+
+import java.util.List;
+import java.util.Optional;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
+import uk.gov.companieshouse.api.model.efs.submissions.FileListApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionResponseApi;
+
+/**
+ * Collects the files the user adds to and removes from a submission so that they can be saved with
+ * a single update of its file list when the user leaves the document upload page, rather than one
+ * update for every change.
+ */
+public interface FileListService {
+
+    /**
+     * Get the submission's files, including the changes made in this session that have not yet
+     * been saved.
+     *
+     * @param submissionApi the submission as last read from the API
+     * @return the current file list
+     */
+    FileListApi getFileList(SubmissionApi submissionApi);
+
+    /**
+     * Record files that have been uploaded for a submission in this session.
+     *
+     * @param submissionId the submission ID
+     * @param files        the uploaded files, in the order they were selected
+     */
+    void addFiles(String submissionId, List<FileApi> files);
+
+    /**
+     * Add files that have been uploaded to a submission's file list and save it straight away. For
+     * use where there is no session to record them in, such as a background upload job.
+     *
+     * @param submissionId the submission ID
+     * @param files        the uploaded files, in the order they were selected
+     * @return the api response
+     */
+    ApiResponse<SubmissionResponseApi> saveFiles(String submissionId, List<FileApi> files);
+
+    /**
+     * Record a file that has been removed from a submission in this session. A file that was added
+     * in this session, and so was never saved with the submission, is deleted straight away; any
+     * other is deleted once its removal has been saved.
+     *
+     * @param submissionId the submission ID
+     * @param fileId       the ID of the removed file
+     */
+    void removeFile(String submissionId, String fileId);
+
+    /**
+     * Save the changes made in this session to the submission's file list.
+     *
+     * @param submissionId the submission ID
+     * @return the api response, or empty if there was nothing to save
+     */
+    Optional<ApiResponse<SubmissionResponseApi>> flush(String submissionId);
+}
@@ -0,0 +1,124 @@
+package uk.gov.companieshouse.efs.web.service.filelist.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.SessionScope;
+import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
+
+/**
+ * The changes made in a session to the file lists of its submissions that have not yet been
+ * saved. Newly uploaded files are listed ahead of those already in the submission.
+ */
+@Component
+@SessionScope
+public class FileListChanges {
+
+    private final Map<String, Changes> bySubmission = new HashMap<>();
+
+    /**
+     * Record files uploaded for a submission.
+     *
+     * @param submissionId the submission ID
+     * @param files        the uploaded files, in the order they were selected
+     */
+    public synchronized void add(final String submissionId, final List<FileApi> files) {
+        bySubmission.computeIfAbsent(submissionId, id -> new Changes()).add(files);
+    }
+
+    /**
+     * Record a file removed from a submission.
+     *
+     * @param submissionId the submission ID
+     * @param fileId       the ID of the removed file
+     * @return true if the file was added in this session and has not yet been saved
+     */
+    public synchronized boolean remove(final String submissionId, final String fileId) {
+        return bySubmission.computeIfAbsent(submissionId, id -> new Changes()).remove(fileId);
+    }
+
+    /**
+     * @param submissionId the submission ID
+     * @param saved        the files saved with the submission
+     * @return the files with the changes made to them
+     */
+    public synchronized List<FileApi> applyTo(final String submissionId, final List<FileApi> saved) {
+        final Changes changes = bySubmission.get(submissionId);
+
+        return changes == null ? saved : changes.applyTo(saved);
+    }
+
+    /**
+     * Take the changes to a submission's files in order to save them.
+     *
+     * @param submissionId the submission ID
+     * @return the changes, or empty if there are none
+     */
+    public synchronized Optional<Changes> take(final String submissionId) {
+        return Optional.ofNullable(bySubmission.remove(submissionId)).filter(changes -> !changes.isEmpty());
+    }
+
+    /**
+     * Put back changes that could not be saved, ahead of any made since they were taken.
+     *
+     * @param submissionId the submission ID
+     * @param changes      the changes taken
+     */
+    public synchronized void restore(final String submissionId, final Changes changes) {
+        final Changes since = bySubmission.put(submissionId, changes);
+
+        if (since != null) {
+            // A file removed since is deleted once the removal is saved, even if it was one of those taken.
+            changes.added.removeIf(file -> since.removed.contains(file.getFileId()));
+            changes.added.addAll(0, since.added);
+            changes.removed.addAll(since.removed);
+        }
+    }
+
+    /**
+     * The files added to and removed from one submission.
+     */
+    public static final class Changes {
+
+        private final List<FileApi> added = new ArrayList<>();
+        private final Set<String> removed = new LinkedHashSet<>();
+
+        private void add(final List<FileApi> files) {
+            added.removeIf(file -> files.stream().anyMatch(f -> f.getFileId().equals(file.getFileId())));
+            added.addAll(0, files);
+        }
+
+        private boolean remove(final String fileId) {
+            if (added.removeIf(file -> file.getFileId().equals(fileId))) {
+                return true;
+            }
+            removed.add(fileId);
+
+            return false;
+        }
+
+        private boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty();
+        }
+
+        List<FileApi> applyTo(final List<FileApi> saved) {
+            final List<FileApi> result = new ArrayList<>(added);
+
+            saved.stream()
+                .filter(file -> !removed.contains(file.getFileId()))
+                .filter(file -> added.stream().noneMatch(a -> a.getFileId().equals(file.getFileId())))
+                .forEach(result::add);
+
+            return result;
+        }
+
+        Set<String> getRemoved() {
+            return removed;
+        }
+    }
+}
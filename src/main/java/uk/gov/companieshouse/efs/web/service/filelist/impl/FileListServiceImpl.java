@@ -0,0 +1,136 @@
+package uk.gov.companieshouse.efs.web.service.filelist.impl;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
+import uk.gov.companieshouse.api.model.efs.submissions.FileListApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionResponseApi;
+import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.filelist.FileListService;
+import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClient;
+import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClientResponse;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Keeps the unsaved changes in the user's session, so that they are saved by whichever request of
+ * the session leaves the document upload page. A removed file is only deleted from the
+ * file-transfer-api once the submission no longer refers to it. If saving fails, the changes are
+ * kept for the next attempt.
+ */
+@Service
+public class FileListServiceImpl implements FileListService {
+
+    private final ApiClientService apiClientService;
+    private final FileTransferApiClient fileTransferApiClient;
+    private final FileListChanges fileListChanges;
+    private final Logger logger;
+
+    /**
+     * Constructor.
+     *
+     * @param apiClientService      reads and saves the file list
+     * @param fileTransferApiClient deletes the removed files
+     * @param fileListChanges       the session's unsaved changes
+     * @param logger                the CH logger
+     */
+    @Autowired
+    public FileListServiceImpl(final ApiClientService apiClientService,
+        final FileTransferApiClient fileTransferApiClient, final FileListChanges fileListChanges,
+        final Logger logger) {
+        this.apiClientService = apiClientService;
+        this.fileTransferApiClient = fileTransferApiClient;
+        this.fileListChanges = fileListChanges;
+        this.logger = logger;
+    }
+
+    @Override
+    public FileListApi getFileList(final SubmissionApi submissionApi) {
+        return new FileListApi(fileListChanges.applyTo(submissionApi.getId(), getSavedFiles(submissionApi)));
+    }
+
+    @Override
+    public void addFiles(final String submissionId, final List<FileApi> files) {
+        fileListChanges.add(submissionId, files);
+    }
+
+    /**
+     * Newly uploaded files are listed ahead of those already in the submission.
+     */
+    @Override
+    public ApiResponse<SubmissionResponseApi> saveFiles(final String submissionId, final List<FileApi> files) {
+        final List<FileApi> fileApiList = new ArrayList<>(files);
+
+        getSavedFiles(submissionId).stream()
+            .filter(saved -> files.stream().noneMatch(file -> file.getFileId().equals(saved.getFileId())))
+            .forEach(fileApiList::add);
+
+        return apiClientService.putFileList(submissionId, new FileListApi(fileApiList));
+    }
+
+    @Override
+    public void removeFile(final String submissionId, final String fileId) {
+        if (fileListChanges.remove(submissionId, fileId)) {
+            deleteFile(submissionId, fileId);
+        }
+    }
+
+    @Override
+    public Optional<ApiResponse<SubmissionResponseApi>> flush(final String submissionId) {
+        final Optional<FileListChanges.Changes> taken = fileListChanges.take(submissionId);
+
+        if (!taken.isPresent()) {
+            return Optional.empty();
+        }
+
+        final FileListChanges.Changes changes = taken.get();
+        final ApiResponse<SubmissionResponseApi> response;
+
+        try {
+            response = apiClientService.putFileList(submissionId,
+                new FileListApi(changes.applyTo(getSavedFiles(submissionId))));
+        } catch (RuntimeException ex) {
+            fileListChanges.restore(submissionId, changes);
+            throw ex;
+        }
+        changes.getRemoved().forEach(fileId -> deleteFile(submissionId, fileId));
+
+        return Optional.of(response);
+    }
+
+    /**
+     * The submission no longer refers to the file, so a failed delete only leaves an unused copy.
+     */
+    private void deleteFile(final String submissionId, final String fileId) {
+        final FileTransferApiClientResponse response = fileTransferApiClient.delete(fileId);
+
+        if (response.getHttpStatus() != HttpStatus.NO_CONTENT) {
+            logger.errorContext(submissionId, MessageFormat.format("Removed file not deleted: fileId={0}, status={1}",
+                fileId, response.getHttpStatus()), null, null);
+        }
+    }
+
+    private List<FileApi> getSavedFiles(final String submissionId) {
+        return getSavedFiles(apiClientService.getSubmission(submissionId).getData());
+    }
+
+    private static List<FileApi> getSavedFiles(final SubmissionApi submissionApi) {
+        final SubmissionFormApi submissionForm = submissionApi.getSubmissionForm();
+
+        if (submissionForm == null || submissionForm.getFileDetails() == null) {
+            return new ArrayList<>();
+        }
+
+        return submissionForm.getFileDetails().getList().stream()
+            .map(file -> new FileApi(file.getFileId(), file.getFileName(), file.getFileSize()))
+            .collect(Collectors.toList());
+    }
+}
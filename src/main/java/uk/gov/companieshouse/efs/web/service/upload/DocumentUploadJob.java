@@ -0,0 +1,132 @@
+package uk.gov.companieshouse.efs.web.service.upload;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * The progress of a set of documents being uploaded in the background for a submission, as at one
+ * moment. Instances are immutable, so that they can be kept in a store shared by every node; each
+ * change to the job makes a new one. Serialised as the response body of the document upload job
+ * endpoints.
+ */
+public final class DocumentUploadJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        /** The request was not accepted; see the errors. */
+        REJECTED,
+        /** The files are being sent to the file-transfer-api. */
+        UPLOADING,
+        /** The files have been added to the submission. */
+        COMPLETE,
+        /** One or more files could not be uploaded; see the errors. */
+        FAILED
+    }
+
+    private final String jobId;
+    private final String submissionId;
+    private final int filesTotal;
+    private final int filesUploaded;
+    private final Status status;
+    private final List<String> errors;
+    private final long lastUpdated;
+
+    public DocumentUploadJob(final String jobId, final String submissionId, final int filesTotal, final Status status) {
+        this(jobId, submissionId, filesTotal, 0, status, Collections.emptyList());
+    }
+
+    private DocumentUploadJob(final String jobId, final String submissionId, final int filesTotal,
+        final int filesUploaded, final Status status, final List<String> errors) {
+        this.jobId = jobId;
+        this.submissionId = submissionId;
+        this.filesTotal = filesTotal;
+        this.filesUploaded = filesUploaded;
+        this.status = status;
+        this.errors = errors;
+        this.lastUpdated = System.currentTimeMillis();
+    }
+
+    /**
+     * Create a job that was turned down before any file was uploaded.
+     *
+     * @param errors the reasons the request was not accepted
+     * @return the rejected job
+     */
+    public static DocumentUploadJob rejected(final List<String> errors) {
+        return new DocumentUploadJob(null, null, 0, 0, Status.REJECTED, copyOf(errors));
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    @JsonIgnore
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
+    public int getFilesTotal() {
+        return filesTotal;
+    }
+
+    public int getFilesUploaded() {
+        return filesUploaded;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    @JsonIgnore
+    public long getLastUpdated() {
+        return lastUpdated;
+    }
+
+    /**
+     * @return the job with one more file uploaded
+     */
+    public DocumentUploadJob fileUploaded() {
+        return new DocumentUploadJob(jobId, submissionId, filesTotal, filesUploaded + 1, status, errors);
+    }
+
+    /**
+     * @return the job with its files added to the submission
+     */
+    public DocumentUploadJob complete() {
+        return new DocumentUploadJob(jobId, submissionId, filesTotal, filesUploaded, Status.COMPLETE, errors);
+    }
+
+    /**
+     * @param reasons why the job failed
+     * @return the failed job
+     */
+    public DocumentUploadJob fail(final List<String> reasons) {
+        return new DocumentUploadJob(jobId, submissionId, filesTotal, filesUploaded, Status.FAILED, copyOf(reasons));
+    }
+
+    private static List<String> copyOf(final List<String> errors) {
+        return Collections.unmodifiableList(new ArrayList<>(errors));
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+            .append("jobId", jobId)
+            .append("submissionId", submissionId)
+            .append("status", status)
+            .append("filesTotal", filesTotal)
+            .append("filesUploaded", filesUploaded)
+            .append("errors", errors)
+            .toString();
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.companieshouse.efs.web.service.upload;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Uploads documents for a submission in the background, so the request that supplied them can
+ * return before they have reached the file-transfer-api.
+ */
+public interface DocumentUploadJobService {
+
+    /**
+     * Take a copy of the files and start uploading them in the background.
+     *
+     * @param submissionId the submission the files belong to
+     * @param files        the validated files, in the order they were selected
+     * @return the new job
+     * @throws IOException if the files cannot be copied
+     * @throws java.util.concurrent.RejectedExecutionException if no more jobs can be accepted
+     */
+    DocumentUploadJob submit(String submissionId, List<MultipartFile> files) throws IOException;
+
+    /**
+     * Get the current state of a job.
+     *
+     * @param submissionId the submission the job belongs to
+     * @param jobId        the job id
+     * @return the job, or empty if there is no such job for the submission
+     */
+    Optional<DocumentUploadJob> getJob(String submissionId, String jobId);
+}
@@ -0,0 +1,287 @@
+package uk.gov.companieshouse.efs.web.service.upload.impl;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.UnaryOperator;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
+import uk.gov.companieshouse.efs.web.cache.store.LocalSharedCacheStore;
+import uk.gov.companieshouse.efs.web.cache.store.SharedCacheStore;
+import uk.gov.companieshouse.efs.web.service.filelist.FileListService;
+import uk.gov.companieshouse.efs.web.service.upload.DocumentUploadJob;
+import uk.gov.companieshouse.efs.web.service.upload.DocumentUploadJobService;
+import uk.gov.companieshouse.efs.web.transfer.ConcurrentFileUploader;
+import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClient;
+import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClientResponse;
+import uk.gov.companieshouse.efs.web.transfer.SpooledMultipartFile;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Keeps each job in a {@link SharedCacheStore}, so that any node can report on a job whichever
+ * node is running it. With the "shared" job store setting the application's shared store is used;
+ * otherwise the jobs are kept in the memory of this node, which suits a single node or one whose
+ * requests for a submission are pinned to it; on any other node the job is not found, and the
+ * document upload page polls on for a while before asking the user to reload it. A job is
+ * forgotten once it has not changed for the retention period, and one still uploading that has not
+ * changed for the stall timeout is reported as failed, as the node running it has most likely
+ * stopped.
+ */
+@Service
+public class DocumentUploadJobServiceImpl implements DocumentUploadJobService {
+
+    static final String JOB_CACHE_NAME = "document-upload-jobs";
+
+    private static final String SHARED_JOB_STORE = "shared";
+
+    private final ConcurrentFileUploader concurrentFileUploader;
+    private final FileTransferApiClient fileTransferApiClient;
+    private final FileListService fileListService;
+    private final Executor uploadJobExecutor;
+    private final ResourceBundle resourceBundle;
+    private final Logger logger;
+    private final SharedCacheStore jobStore;
+
+    @Value("${document.upload.job.retention.ms}")
+    private long retentionMillis;
+
+    @Value("${document.upload.job.stall.timeout.ms}")
+    private long stallTimeoutMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param concurrentFileUploader uploads the files
+     * @param fileTransferApiClient  deletes the uploaded files of a job that fails
+     * @param fileListService        saves the uploaded files with the submission
+     * @param uploadJobExecutor      runs the jobs
+     * @param resourceBundle         the error messages
+     * @param logger                 the CH logger
+     * @param jobStoreType           "shared" to keep the jobs in the shared store, otherwise "local"
+     * @param sharedCacheStore       the shared store, if one is configured
+     */
+    @Autowired
+    public DocumentUploadJobServiceImpl(final ConcurrentFileUploader concurrentFileUploader,
+        final FileTransferApiClient fileTransferApiClient, final FileListService fileListService,
+        @Qualifier("uploadJobExecutor") final Executor uploadJobExecutor, final ResourceBundle resourceBundle,
+        final Logger logger,
+        @Value("${document.upload.job.store}") final String jobStoreType,
+        final ObjectProvider<SharedCacheStore> sharedCacheStore) {
+        this(concurrentFileUploader, fileTransferApiClient, fileListService, uploadJobExecutor, resourceBundle, logger,
+            jobStore(jobStoreType, sharedCacheStore));
+    }
+
+    DocumentUploadJobServiceImpl(final ConcurrentFileUploader concurrentFileUploader,
+        final FileTransferApiClient fileTransferApiClient, final FileListService fileListService,
+        final Executor uploadJobExecutor, final ResourceBundle resourceBundle, final Logger logger,
+        final SharedCacheStore jobStore) {
+        this.concurrentFileUploader = concurrentFileUploader;
+        this.fileTransferApiClient = fileTransferApiClient;
+        this.fileListService = fileListService;
+        this.uploadJobExecutor = uploadJobExecutor;
+        this.resourceBundle = resourceBundle;
+        this.logger = logger;
+        this.jobStore = jobStore;
+    }
+
+    @Override
+    public DocumentUploadJob submit(final String submissionId, final List<MultipartFile> files) throws IOException {
+        final List<SpooledMultipartFile> spooledFiles = spool(files);
+        final DocumentUploadJob job = new DocumentUploadJob(UUID.randomUUID().toString(), submissionId, files.size(),
+            DocumentUploadJob.Status.UPLOADING);
+
+        save(job);
+        try {
+            uploadJobExecutor.execute(() -> upload(job, spooledFiles));
+        } catch (RejectedExecutionException ex) {
+            jobStore.evict(JOB_CACHE_NAME, job.getJobId());
+            delete(spooledFiles);
+            throw ex;
+        }
+
+        return job;
+    }
+
+    @Override
+    public Optional<DocumentUploadJob> getJob(final String submissionId, final String jobId) {
+        return Optional.ofNullable((DocumentUploadJob) jobStore.get(JOB_CACHE_NAME, jobId))
+            .filter(job -> job.getSubmissionId().equals(submissionId))
+            .map(this::failIfStalled);
+    }
+
+    /**
+     * Remove the spooled copies of the files of jobs that were running when the application last
+     * stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void deleteAbandonedFiles() {
+        try {
+            final int deleted = SpooledMultipartFile.deleteAbandoned(Duration.ofMillis(stallTimeoutMillis));
+
+            if (deleted > 0) {
+                logger.info(String.format("Deleted %d abandoned spooled files", deleted));
+            }
+        } catch (IOException ex) {
+            logger.error("Failed to delete abandoned spooled files", ex);
+        }
+    }
+
+    void upload(final DocumentUploadJob job, final List<SpooledMultipartFile> spooledFiles) {
+        final JobProgress progress = new JobProgress(job);
+
+        try {
+            final List<FileTransferApiClientResponse> responses = concurrentFileUploader.uploadAll(
+                new ArrayList<>(spooledFiles), () -> progress.update(DocumentUploadJob::fileUploaded));
+            final List<FileApi> uploadedFiles = new ArrayList<>();
+            final List<String> errors = new ArrayList<>();
+
+            for (int i = 0; i < spooledFiles.size(); i++) {
+                final SpooledMultipartFile file = spooledFiles.get(i);
+                final FileTransferApiClientResponse response = responses.get(i);
+
+                if (response.getHttpStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+                    errors.add(message("service_busy.documentUpload", file.getOriginalFilename()));
+                } else if (StringUtils.isBlank(response.getFileId())) {
+                    errors.add(message("upload_failed.documentUpload", file.getOriginalFilename()));
+                } else {
+                    uploadedFiles.add(new FileApi(response.getFileId(), file.getOriginalFilename(), file.getSize()));
+                }
+            }
+
+            if (errors.isEmpty()) {
+                saveFiles(job, uploadedFiles);
+                progress.update(DocumentUploadJob::complete);
+            } else {
+                // The job fails as a whole, so the files that did upload are not kept.
+                deleteUploaded(job, uploadedFiles);
+                progress.update(current -> current.fail(errors));
+            }
+        } catch (RuntimeException ex) {
+            logger.error(String.format("Document upload job failed: %s", job), ex);
+            progress.update(current -> current.fail(singleError()));
+        } finally {
+            delete(spooledFiles);
+        }
+    }
+
+    private void saveFiles(final DocumentUploadJob job, final List<FileApi> uploadedFiles) {
+        try {
+            fileListService.saveFiles(job.getSubmissionId(), uploadedFiles);
+        } catch (RuntimeException ex) {
+            deleteUploaded(job, uploadedFiles);
+            throw ex;
+        }
+    }
+
+    /**
+     * Delete the files of a failed job from the file-transfer-api, as the submission does not refer
+     * to them.
+     */
+    private void deleteUploaded(final DocumentUploadJob job, final List<FileApi> uploadedFiles) {
+        for (FileApi file : uploadedFiles) {
+            final FileTransferApiClientResponse response = fileTransferApiClient.delete(file.getFileId());
+
+            if (response.getHttpStatus() != HttpStatus.NO_CONTENT) {
+                logger.errorContext(job.getSubmissionId(), MessageFormat.format(
+                    "Uploaded file of failed job not deleted: fileId={0}, status={1}", file.getFileId(),
+                    response.getHttpStatus()), null, null);
+            }
+        }
+    }
+
+    private List<SpooledMultipartFile> spool(final List<MultipartFile> files) throws IOException {
+        final List<SpooledMultipartFile> spooledFiles = new ArrayList<>();
+
+        try {
+            for (MultipartFile file : files) {
+                spooledFiles.add(SpooledMultipartFile.take(file));
+            }
+        } catch (IOException ex) {
+            delete(spooledFiles);
+            throw ex;
+        }
+
+        return spooledFiles;
+    }
+
+    private void delete(final List<SpooledMultipartFile> spooledFiles) {
+        for (SpooledMultipartFile file : spooledFiles) {
+            try {
+                file.delete();
+            } catch (IOException ex) {
+                logger.error(String.format("Failed to delete spooled file for: %s", file.getOriginalFilename()), ex);
+            }
+        }
+    }
+
+    private DocumentUploadJob failIfStalled(final DocumentUploadJob job) {
+        final boolean stalled = job.getStatus() == DocumentUploadJob.Status.UPLOADING
+            && System.currentTimeMillis() - job.getLastUpdated() >= stallTimeoutMillis;
+
+        return stalled ? job.fail(singleError()) : job;
+    }
+
+    private void save(final DocumentUploadJob job) {
+        jobStore.put(JOB_CACHE_NAME, job.getJobId(), job, Duration.ofMillis(retentionMillis));
+    }
+
+    private static SharedCacheStore jobStore(final String jobStoreType,
+        final ObjectProvider<SharedCacheStore> sharedCacheStore) {
+        if (!SHARED_JOB_STORE.equalsIgnoreCase(jobStoreType)) {
+            return new LocalSharedCacheStore();
+        }
+
+        final SharedCacheStore store = sharedCacheStore.getIfAvailable();
+        if (store == null) {
+            throw new IllegalStateException(
+                "document.upload.job.store is shared but no SharedCacheStore is configured");
+        }
+
+        return store;
+    }
+
+    private String message(final String key, final String filename) {
+        return MessageFormat.format(resourceBundle.getString(key), filename);
+    }
+
+    private List<String> singleError() {
+        final List<String> errors = new ArrayList<>();
+        errors.add(resourceBundle.getString("upload_job_failed.documentUpload"));
+
+        return errors;
+    }
+
+    /**
+     * The latest state of a running job. The uploads report their progress from several threads,
+     * so each change is made, and saved, one at a time.
+     */
+    private final class JobProgress {
+
+        private DocumentUploadJob current;
+
+        private JobProgress(final DocumentUploadJob job) {
+            this.current = job;
+        }
+
+        private synchronized void update(final UnaryOperator<DocumentUploadJob> change) {
+            current = change.apply(current);
+            save(current);
+        }
+    }
+}
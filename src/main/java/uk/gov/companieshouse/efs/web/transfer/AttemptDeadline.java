@@ -0,0 +1,99 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * The deadline for one attempt at a file-transfer-api call. While an attempt is in progress the
+ * HTTP requests made on its thread are registered with {@link #onExpiry(Runnable)}, and are aborted
+ * if they are still running when the deadline passes, so that a stalled upload or delete fails and
+ * can be retried instead of holding its thread until the socket timeout.
+ *
+ * <p>An attempt ends either finished or expired, whichever happens first: an expiry that fires
+ * after the attempt has finished is ignored, so a completed attempt is never counted as timed out.
+ */
+public final class AttemptDeadline implements AutoCloseable {
+
+    private static final ThreadLocal<AttemptDeadline> CURRENT = new ThreadLocal<>();
+
+    private static final int RUNNING = 0;
+    private static final int FINISHED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long deadlineNanos;
+    private final TaskScheduler scheduler;
+    private final List<ScheduledFuture<?>> aborts = new ArrayList<>();
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+    private AttemptDeadline(final long deadlineNanos, final TaskScheduler scheduler) {
+        this.deadlineNanos = deadlineNanos;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Start the deadline for an attempt made on the current thread.
+     *
+     * @param timeoutMillis how long the attempt may take
+     * @param scheduler     runs the aborts
+     * @return the deadline, to be closed when the attempt has finished
+     */
+    static AttemptDeadline start(final long timeoutMillis, final TaskScheduler scheduler) {
+        final AttemptDeadline deadline =
+            new AttemptDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), scheduler);
+
+        CURRENT.set(deadline);
+
+        return deadline;
+    }
+
+    /**
+     * Abort a request made on the current thread if the current attempt's deadline passes before
+     * it has finished. Does nothing if no attempt is in progress on the current thread.
+     *
+     * @param abort aborts the request
+     */
+    public static void onExpiry(final Runnable abort) {
+        final AttemptDeadline deadline = CURRENT.get();
+
+        if (deadline != null) {
+            deadline.schedule(abort);
+        }
+    }
+
+    /**
+     * Mark the attempt finished, unless the deadline has already passed, so that no request is
+     * aborted after this.
+     *
+     * @return true if a request was aborted because the deadline passed before the attempt finished
+     */
+    boolean finish() {
+        return !state.compareAndSet(RUNNING, FINISHED) && state.get() == EXPIRED;
+    }
+
+    @Override
+    public void close() {
+        finish();
+        aborts.forEach(abort -> abort.cancel(false));
+        CURRENT.remove();
+    }
+
+    private void schedule(final Runnable abort) {
+        final Runnable expire = () -> {
+            if (state.compareAndSet(RUNNING, EXPIRED)) {
+                abort.run();
+            }
+        };
+        final long remainingNanos = deadlineNanos - System.nanoTime();
+
+        if (remainingNanos <= 0) {
+            expire.run();
+        } else {
+            aborts.add(scheduler.schedule(expire, Instant.now().plusNanos(remainingNanos)));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Uploads a set of files to the file-transfer-api concurrently, subject to the
+ * {@link UploadAdmissionControl} limits.
+ */
+@Component
+public class ConcurrentFileUploader {
+
+    private final FileTransferApiClient fileTransferApiClient;
+    private final Executor fileUploadExecutor;
+    private final UploadAdmissionControl uploadAdmissionControl;
+    private final Logger logger;
+
+    /**
+     * Constructor.
+     *
+     * @param fileTransferApiClient  the file-transfer-api client
+     * @param fileUploadExecutor     runs the individual uploads
+     * @param uploadAdmissionControl limits the uploads in flight
+     * @param logger                 the CH logger
+     */
+    @Autowired
+    public ConcurrentFileUploader(final FileTransferApiClient fileTransferApiClient,
+        @Qualifier("fileUploadExecutor") final Executor fileUploadExecutor,
+        final UploadAdmissionControl uploadAdmissionControl, final Logger logger) {
+        this.fileTransferApiClient = fileTransferApiClient;
+        this.fileUploadExecutor = fileUploadExecutor;
+        this.uploadAdmissionControl = uploadAdmissionControl;
+        this.logger = logger;
+    }
+
+    /**
+     * Upload the files, waiting until all of them have finished.
+     *
+     * @param files the files to upload
+     * @return the upload responses, in the same order as {@code files}
+     */
+    public List<FileTransferApiClientResponse> uploadAll(final List<MultipartFile> files) {
+        return uploadAll(files, () -> {
+        });
+    }
+
+    /**
+     * Upload the files, waiting until all of them have finished. An upload that fails with an
+     * exception is answered with {@link HttpStatus#INTERNAL_SERVER_ERROR}.
+     *
+     * @param files          the files to upload
+     * @param onFileComplete called as each upload finishes, successfully or not
+     * @return the upload responses, in the same order as {@code files}
+     */
+    public List<FileTransferApiClientResponse> uploadAll(final List<MultipartFile> files,
+        final Runnable onFileComplete) {
+        final List<CompletableFuture<FileTransferApiClientResponse>> uploads = files.stream()
+            .map(file -> CompletableFuture.supplyAsync(() -> upload(file), fileUploadExecutor)
+                .whenComplete((response, ex) -> onFileComplete.run()))
+            .collect(Collectors.toList());
+
+        return uploads.stream().map(this::join).collect(Collectors.toList());
+    }
+
+    private FileTransferApiClientResponse upload(final MultipartFile file) {
+        try {
+            return uploadAdmissionControl.execute(file.getSize(), () -> fileTransferApiClient.upload(file));
+        } catch (RuntimeException ex) {
+            logger.error(String.format("Failed to upload file: %s", file.getOriginalFilename()), ex);
+            return errorResponse();
+        }
+    }
+
+    private FileTransferApiClientResponse join(final CompletableFuture<FileTransferApiClientResponse> upload) {
+        try {
+            final FileTransferApiClientResponse response = upload.join();
+
+            return response == null ? errorResponse() : response;
+        } catch (CompletionException | CancellationException ex) {
+            logger.error("File upload did not complete", ex);
+            return errorResponse();
+        }
+    }
+
+    private static FileTransferApiClientResponse errorResponse() {
+        final FileTransferApiClientResponse response = new FileTransferApiClientResponse();
+        response.setHttpStatus(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        return response;
+    }
+}
@@ -1,6 +1,7 @@
 package uk.gov.companieshouse.efs.web.transfer;
 
 import java.io.IOException;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -8,23 +9,32 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import uk.gov.companieshouse.logging.Logger;
 
 /**
- * Client for using the File-Transfer-Api for upload / download / delete of files.
+ * Client for using the File-Transfer-Api for upload / download / delete of files. Calls that fail
+ * for a reason that may not last are retried according to the {@link FileTransferRetryPolicy}.
  */
 @Component
 public class FileTransferApiClient {
 
     private static final String HEADER_API_KEY = "x-api-key";
+    private static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
     private static final String DELETE_URI = "%s/%s";
     private static final String UPLOAD = "upload";
     private static final String CONTENT_DISPOSITION_VALUE = "form-data; name=%s; filename=%s";
+    private static final String DELETE = "delete";
 
     private RestTemplate restTemplate;
+    private FileTransferRetryPolicy retryPolicy;
+    private Logger logger;
 
     @Value("${file.transfer.api.key}")
     private String fileTransferApiKey;
@@ -32,20 +42,29 @@ public class FileTransferApiClient {
     @Value("${file.transfer.api.url}")
     private String fileTransferApiUrl;
 
+    @Value("${file.transfer.api.streaming.enabled}")
+    private boolean streamingEnabled;
+
     @Autowired
-    public FileTransferApiClient(final RestTemplate restTemplate) {
+    public FileTransferApiClient(final RestTemplate restTemplate, final FileTransferRetryPolicy retryPolicy,
+        final Logger logger) {
         this.restTemplate = restTemplate;
+        this.retryPolicy = retryPolicy;
+        this.logger = logger;
     }
 
-    private <T> FileTransferApiClientResponse makeApiCall(FileTransferOperation<T> operation, FileTransferResponseBuilder<T> responseBuilder) {
+    private <T extends ResponseEntity<?>> FileTransferApiClientResponse makeApiCall(final String operationName,
+        final boolean idempotent, FileTransferOperation<T> operation, FileTransferResponseBuilder<T> responseBuilder) {
         FileTransferApiClientResponse response = new FileTransferApiClientResponse();
 
         try {
-            T operationResponse = operation.execute();
+            T operationResponse = idempotent
+                ? retryPolicy.execute(operationName, operation)
+                : retryPolicy.executeNonIdempotent(operationName, operation);
 
             response = responseBuilder.createResponse(operationResponse);
 
-        } catch (IOException ex) {
+        } catch (IOException | ResourceAccessException ex) {
             response.setHttpStatus(HttpStatus.INTERNAL_SERVER_ERROR);
         }
         return response;
@@ -56,16 +75,45 @@ public class FileTransferApiClient {
      * Creates a multipart form request containing the file and sends to
      * the file-transfer-api. The response from the file-transfer-api contains
      * the new unique id for the file. This is captured and returned in the FileTransferApiClientResponse.
+     * When streaming is enabled the file content is copied from the multipart's input stream
+     * through a bounded buffer rather than being read into memory first.
+     * An upload is not idempotent, so it is only sent again if an attempt was never sent or was turned
+     * away unhandled. When it may be retried, each attempt is sent from a local spooled copy of the file
+     * rather than from the request that carried it, and all the attempts carry the same idempotency key.
      * @param fileToUpload The file to upload
      * @return FileTransferApiClientResponse containing the file id if successful, and http status
      */
     public FileTransferApiClientResponse upload(final MultipartFile fileToUpload) {
-        return makeApiCall(
+        final SpooledMultipartFile spooledCopy;
+
+        try {
+            spooledCopy = retryPolicy.isRetrying() && !(fileToUpload instanceof SpooledMultipartFile)
+                ? SpooledMultipartFile.spool(fileToUpload)
+                : null;
+        } catch (IOException ex) {
+            logger.error(String.format("Failed to spool file for upload: %s", fileToUpload.getOriginalFilename()), ex);
+            FileTransferApiClientResponse response = new FileTransferApiClientResponse();
+            response.setHttpStatus(HttpStatus.INTERNAL_SERVER_ERROR);
+            return response;
+        }
+
+        try {
+            return upload(spooledCopy == null ? fileToUpload : spooledCopy, UUID.randomUUID().toString());
+        } finally {
+            if (spooledCopy != null) {
+                deleteSpooledCopy(spooledCopy);
+            }
+        }
+    }
+
+    private FileTransferApiClientResponse upload(final MultipartFile fileToUpload, final String idempotencyKey) {
+        return makeApiCall(UPLOAD, false,
                 // FileTransferOperation
                 () -> {
                     HttpHeaders headers = createFileTransferApiHttpHeaders();
+                    headers.add(HEADER_IDEMPOTENCY_KEY, idempotencyKey);
                     LinkedMultiValueMap<String, String> fileHeaderMap = createUploadFileHeader(fileToUpload);
-                    HttpEntity<byte[]> fileHttpEntity = new HttpEntity<>(fileToUpload.getBytes(), fileHeaderMap);
+                    HttpEntity<?> fileHttpEntity = createUploadFileEntity(fileToUpload, fileHeaderMap);
                     LinkedMultiValueMap<String, Object> body = createUploadBody(fileHttpEntity);
                     HttpEntity<LinkedMultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
                     return restTemplate.postForEntity(fileTransferApiUrl, requestEntity, FileTransferApiResponse.class);
@@ -93,18 +141,29 @@ public class FileTransferApiClient {
 
     /**
      * Delete a file from S3 via the file-transfer-api.
+     * A file that is not found when the delete is retried was removed by an earlier attempt whose
+     * response was lost, so the delete is treated as having succeeded.
      *
      * @param fileId of the file to delete
      * @return FileTransferApiClientResponse containing the http status
      */
     public FileTransferApiClientResponse delete(final String fileId) {
         String deleteUrl = String.format(DELETE_URI, fileTransferApiUrl, fileId);
+        int[] attempts = new int[1];
 
-        return makeApiCall(
+        return makeApiCall(DELETE, true,
                 // FileTransferOperation
                 () -> {
                     HttpEntity<Void> request = new HttpEntity<>(createApiKeyHeader());
-                    return restTemplate.exchange(deleteUrl, HttpMethod.DELETE, request, String.class);
+                    try {
+                        attempts[0]++;
+                        return restTemplate.exchange(deleteUrl, HttpMethod.DELETE, request, String.class);
+                    } catch (HttpClientErrorException.NotFound ex) {
+                        if (attempts[0] > 1) {
+                            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                        }
+                        throw ex;
+                    }
                 },
 
                 // FileTransferResponseBuilder - the output from FileTransferOperation
@@ -121,6 +180,14 @@ public class FileTransferApiClient {
         );
     }
 
+    private void deleteSpooledCopy(final SpooledMultipartFile spooledCopy) {
+        try {
+            spooledCopy.delete();
+        } catch (IOException ex) {
+            logger.error(String.format("Failed to delete spooled file for: %s", spooledCopy.getOriginalFilename()), ex);
+        }
+    }
+
     private HttpHeaders createFileTransferApiHttpHeaders() {
         HttpHeaders headers = createApiKeyHeader();
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
@@ -139,7 +206,15 @@ public class FileTransferApiClient {
         return fileHeaderMap;
     }
 
-    private LinkedMultiValueMap<String, Object> createUploadBody(final HttpEntity<byte[]> fileHttpEntity) {
+    private HttpEntity<?> createUploadFileEntity(final MultipartFile fileToUpload,
+        final LinkedMultiValueMap<String, String> fileHeaderMap) throws IOException {
+        if (streamingEnabled) {
+            return new HttpEntity<>(new MultipartFileResource(fileToUpload), fileHeaderMap);
+        }
+        return new HttpEntity<>(fileToUpload.getBytes(), fileHeaderMap);
+    }
+
+    private LinkedMultiValueMap<String, Object> createUploadBody(final HttpEntity<?> fileHttpEntity) {
         LinkedMultiValueMap<String, Object> multipartReqMap = new LinkedMultiValueMap<>();
         multipartReqMap.add(UPLOAD, fileHttpEntity);
         return multipartReqMap;
@@ -0,0 +1,371 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Retries the calls to the file-transfer-api that fail for reasons that may well not last: an I/O
+ * error, an attempt that took longer than the attempt timeout, or a {@code 429}, {@code 502},
+ * {@code 503} or {@code 504} response. Any other response, or a failure to read the local copy of
+ * a file, is returned or thrown straight away.
+ * <p>
+ * A call that is not idempotent, such as an upload, is only retried when it cannot have been acted
+ * on: when the connection could not be made, so the request was never sent, or when it was
+ * answered with a {@code 429} or {@code 503}, which turn a request away without handling it. After
+ * an I/O error on an open connection, a timed out attempt, or a {@code 502} or {@code 504}, the
+ * request may have been handled even though its response was lost, so it is not sent again.
+ * <p>
+ * Attempts are spaced by an exponential backoff with full jitter, so that callers which failed
+ * together do not retry together. Retries are also limited by a budget shared by all calls: each
+ * call adds a fraction of a retry to the budget, up to its maximum, and each retry takes a whole
+ * one, so that a file-transfer-api which is failing for everyone sees at most that fraction of
+ * extra calls instead of several times its normal load.
+ * <p>
+ * The attempts and calls made, by outcome, and the retries left in the budget are published on
+ * the actuator metrics endpoint.
+ */
+@Component
+public class FileTransferRetryPolicy implements MeterBinder {
+
+    static final String ATTEMPT_METRIC = "file.transfer.api.attempts";
+    static final String CALL_METRIC = "file.transfer.api.calls";
+    static final String BUDGET_METRIC = "file.transfer.api.retry.budget";
+
+    private static final String OPERATION_TAG = "operation";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final Set<HttpStatus> RETRYABLE_STATUSES = EnumSet.of(HttpStatus.TOO_MANY_REQUESTS,
+        HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+    private static final Set<HttpStatus> NOT_HANDLED_STATUSES = EnumSet.of(HttpStatus.TOO_MANY_REQUESTS,
+        HttpStatus.SERVICE_UNAVAILABLE);
+
+    /**
+     * How an attempt ended.
+     */
+    enum AttemptOutcome {
+        SUCCESS, RETRYABLE, TIMED_OUT, FAILED
+    }
+
+    /**
+     * How a call ended, after all its attempts.
+     */
+    enum CallOutcome {
+        SUCCESS, FAILED, RETRIES_EXHAUSTED, BUDGET_EXHAUSTED, INTERRUPTED
+    }
+
+    /**
+     * Waits between attempts.
+     */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long attemptTimeoutMillis;
+    private final double budgetRatio;
+    private final double budgetMax;
+    private final TaskScheduler timeoutScheduler;
+    private final Sleeper sleeper;
+    private final DoubleSupplier random;
+    private final Logger logger;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private double budget;
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param maxAttempts          the maximum number of attempts per call, including the first
+     * @param initialBackoffMillis the backoff limit before the first retry, doubled for each one after
+     * @param maxBackoffMillis     the most the backoff limit grows to
+     * @param attemptTimeoutMillis how long each attempt may take before it is aborted
+     * @param budgetRatio          the fraction of a retry each call adds to the budget
+     * @param budgetMax            the most retries the budget holds, and starts with
+     * @param timeoutScheduler     aborts the attempts that time out
+     * @param logger               the CH logger
+     */
+    @Autowired
+    public FileTransferRetryPolicy(@Value("${file.transfer.api.retry.max.attempts}") final int maxAttempts,
+        @Value("${file.transfer.api.retry.initial.backoff.ms}") final long initialBackoffMillis,
+        @Value("${file.transfer.api.retry.max.backoff.ms}") final long maxBackoffMillis,
+        @Value("${file.transfer.api.retry.attempt.timeout.ms}") final long attemptTimeoutMillis,
+        @Value("${file.transfer.api.retry.budget.ratio}") final double budgetRatio,
+        @Value("${file.transfer.api.retry.budget.max}") final double budgetMax,
+        @Qualifier("fileTransferTimeoutScheduler") final TaskScheduler timeoutScheduler, final Logger logger) {
+        this(maxAttempts, initialBackoffMillis, maxBackoffMillis, attemptTimeoutMillis, budgetRatio, budgetMax,
+            timeoutScheduler, Thread::sleep, () -> ThreadLocalRandom.current().nextDouble(), logger);
+    }
+
+    FileTransferRetryPolicy(final int maxAttempts, final long initialBackoffMillis, final long maxBackoffMillis,
+        final long attemptTimeoutMillis, final double budgetRatio, final double budgetMax,
+        final TaskScheduler timeoutScheduler, final Sleeper sleeper, final DoubleSupplier random,
+        final Logger logger) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.attemptTimeoutMillis = attemptTimeoutMillis;
+        this.budgetRatio = budgetRatio;
+        this.budgetMax = budgetMax;
+        this.budget = budgetMax;
+        this.timeoutScheduler = timeoutScheduler;
+        this.sleeper = sleeper;
+        this.random = random;
+        this.logger = logger;
+    }
+
+    /**
+     * @return true if a call may be attempted more than once, in which case its request must be
+     *         able to be sent again
+     */
+    public boolean isRetrying() {
+        return maxAttempts > 1;
+    }
+
+    /**
+     * Make an idempotent call, retrying it while it fails for a reason that may not last, and
+     * attempts and budget remain.
+     *
+     * @param operationName the operation name, used in the logs and metrics
+     * @param operation     makes one attempt at the call
+     * @param <T>           the response type
+     * @return the response to the last attempt made
+     * @throws IOException if an attempt cannot read what it has to send
+     */
+    public <T extends ResponseEntity<?>> T execute(final String operationName,
+        final FileTransferOperation<T> operation) throws IOException {
+        return execute(operationName, operation, true);
+    }
+
+    /**
+     * Make a call that is not idempotent, retrying it only while it fails before the
+     * file-transfer-api could have acted on it, and attempts and budget remain.
+     *
+     * @param operationName the operation name, used in the logs and metrics
+     * @param operation     makes one attempt at the call
+     * @param <T>           the response type
+     * @return the response to the last attempt made
+     * @throws IOException if an attempt cannot read what it has to send
+     */
+    public <T extends ResponseEntity<?>> T executeNonIdempotent(final String operationName,
+        final FileTransferOperation<T> operation) throws IOException {
+        return execute(operationName, operation, false);
+    }
+
+    private <T extends ResponseEntity<?>> T execute(final String operationName,
+        final FileTransferOperation<T> operation, final boolean idempotent) throws IOException {
+        final Counters operationCounters = getCounters(operationName);
+
+        deposit();
+        for (int attempt = 1; ; attempt++) {
+            T response = null;
+            RuntimeException failure = null;
+            final boolean expired;
+
+            try (AttemptDeadline deadline = AttemptDeadline.start(attemptTimeoutMillis, timeoutScheduler)) {
+                try {
+                    response = operation.execute();
+                } catch (ResourceAccessException | HttpStatusCodeException ex) {
+                    failure = ex;
+                }
+                expired = deadline.finish();
+            }
+
+            final AttemptOutcome attemptOutcome = outcomeOf(response, failure, expired);
+            operationCounters.attempts.get(attemptOutcome).increment();
+
+            if (attemptOutcome == AttemptOutcome.SUCCESS || attemptOutcome == AttemptOutcome.FAILED
+                || !idempotent && !isNotHandled(response, failure, expired)) {
+                operationCounters.calls.get(attemptOutcome == AttemptOutcome.SUCCESS
+                    ? CallOutcome.SUCCESS
+                    : CallOutcome.FAILED).increment();
+                return result(response, failure);
+            }
+
+            final CallOutcome stopped;
+
+            if (attempt >= maxAttempts) {
+                stopped = CallOutcome.RETRIES_EXHAUSTED;
+            } else if (!withdraw()) {
+                stopped = CallOutcome.BUDGET_EXHAUSTED;
+            } else {
+                stopped = backoff(attempt);
+            }
+
+            if (stopped != null) {
+                operationCounters.calls.get(stopped).increment();
+                logger.info(String.format("%s to file-transfer-api not retried after %d attempts: %s",
+                    operationName, attempt, stopped.name().toLowerCase(Locale.ROOT)));
+                return result(response, failure);
+            }
+            logger.info(String.format("%s to file-transfer-api attempt %d %s, retrying", operationName, attempt,
+                attemptOutcome.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(BUDGET_METRIC, this, FileTransferRetryPolicy::getBudget)
+            .description("The retries left in the file-transfer-api retry budget")
+            .register(registry);
+        counters.forEach((operationName, operationCounters) -> bindCounters(operationName, operationCounters,
+            registry));
+    }
+
+    synchronized double getBudget() {
+        return budget;
+    }
+
+    private static AttemptOutcome outcomeOf(final ResponseEntity<?> response, final RuntimeException failure,
+        final boolean expired) {
+        if (expired) {
+            return AttemptOutcome.TIMED_OUT;
+        }
+        if (failure instanceof ResourceAccessException) {
+            return AttemptOutcome.RETRYABLE;
+        }
+
+        final HttpStatus status = failure instanceof HttpStatusCodeException
+            ? ((HttpStatusCodeException) failure).getStatusCode()
+            : response == null ? null : response.getStatusCode();
+
+        if (status != null && RETRYABLE_STATUSES.contains(status)) {
+            return AttemptOutcome.RETRYABLE;
+        }
+
+        return status == null || status.isError() ? AttemptOutcome.FAILED : AttemptOutcome.SUCCESS;
+    }
+
+    /**
+     * @return true if the attempt failed in a way that shows the file-transfer-api did not act on it
+     */
+    private static boolean isNotHandled(final ResponseEntity<?> response, final RuntimeException failure,
+        final boolean expired) {
+        if (expired) {
+            return false;
+        }
+        if (failure instanceof ResourceAccessException) {
+            return isConnectFailure(failure.getCause());
+        }
+
+        final HttpStatus status = failure instanceof HttpStatusCodeException
+            ? ((HttpStatusCodeException) failure).getStatusCode()
+            : response == null ? null : response.getStatusCode();
+
+        return status != null && NOT_HANDLED_STATUSES.contains(status);
+    }
+
+    private static boolean isConnectFailure(final Throwable cause) {
+        return cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+            || cause instanceof NoRouteToHostException || cause instanceof UnknownHostException;
+    }
+
+    private static <T> T result(final T response, final RuntimeException failure) {
+        if (failure != null) {
+            throw failure;
+        }
+
+        return response;
+    }
+
+    /**
+     * @return null once the backoff has passed, or the outcome of the call if the wait was
+     *         interrupted
+     */
+    private CallOutcome backoff(final int attempt) {
+        final long limit = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+
+        try {
+            sleeper.sleep((long) (random.getAsDouble() * limit));
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CallOutcome.INTERRUPTED;
+        }
+    }
+
+    private synchronized void deposit() {
+        budget = Math.min(budgetMax, budget + budgetRatio);
+    }
+
+    private synchronized boolean withdraw() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+
+        return true;
+    }
+
+    private Counters getCounters(final String operationName) {
+        return counters.computeIfAbsent(operationName, name -> {
+            final Counters operationCounters = new Counters();
+            final MeterRegistry current = registry;
+
+            if (current != null) {
+                bindCounters(name, operationCounters, current);
+            }
+
+            return operationCounters;
+        });
+    }
+
+    private static void bindCounters(final String operationName, final Counters operationCounters,
+        final MeterRegistry registry) {
+        operationCounters.attempts.forEach((outcome, count) ->
+            FunctionCounter.builder(ATTEMPT_METRIC, count, LongAdder::sum)
+                .tag(OPERATION_TAG, operationName)
+                .tag(OUTCOME_TAG, outcome.name().toLowerCase(Locale.ROOT))
+                .description("The attempts at file-transfer-api calls")
+                .register(registry));
+        operationCounters.calls.forEach((outcome, count) ->
+            FunctionCounter.builder(CALL_METRIC, count, LongAdder::sum)
+                .tag(OPERATION_TAG, operationName)
+                .tag(OUTCOME_TAG, outcome.name().toLowerCase(Locale.ROOT))
+                .description("The file-transfer-api calls, after all their attempts")
+                .register(registry));
+    }
+
+    private static final class Counters {
+
+        private final Map<AttemptOutcome, LongAdder> attempts = new EnumMap<>(AttemptOutcome.class);
+        private final Map<CallOutcome, LongAdder> calls = new EnumMap<>(CallOutcome.class);
+
+        private Counters() {
+            Arrays.stream(AttemptOutcome.values()).forEach(outcome -> attempts.put(outcome, new LongAdder()));
+            Arrays.stream(CallOutcome.values()).forEach(outcome -> calls.put(outcome, new LongAdder()));
+        }
+    }
+}
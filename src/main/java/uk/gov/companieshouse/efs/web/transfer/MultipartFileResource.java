@@ -0,0 +1,69 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Adapts a {@link MultipartFile} to a {@link org.springframework.core.io.Resource} so that the
+ * file content can be streamed to the file-transfer-api from the multipart's input stream,
+ * instead of being read into memory with {@link MultipartFile#getBytes()}.
+ */
+public class MultipartFileResource extends AbstractResource {
+
+    private final MultipartFile multipartFile;
+
+    public MultipartFileResource(final MultipartFile multipartFile) {
+        this.multipartFile = Objects.requireNonNull(multipartFile);
+    }
+
+    /**
+     * Opens a new stream on each call so the resource can be read more than once, e.g. on retry.
+     *
+     * @return a stream on the multipart file content
+     * @throws IOException if the content cannot be read
+     */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return multipartFile.getInputStream();
+    }
+
+    /**
+     * Overridden so that the content length is not computed by reading the whole stream.
+     *
+     * @return the size of the multipart file in bytes
+     */
+    @Override
+    public long contentLength() {
+        return multipartFile.getSize();
+    }
+
+    @Override
+    public String getFilename() {
+        return multipartFile.getOriginalFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return "MultipartFile resource [" + multipartFile.getName() + "]";
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final MultipartFileResource that = (MultipartFileResource) o;
+        return Objects.equals(multipartFile, that.multipartFile);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(multipartFile);
+    }
+}
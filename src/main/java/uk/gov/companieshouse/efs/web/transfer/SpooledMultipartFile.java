@@ -0,0 +1,190 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * A {@link MultipartFile} whose content has been copied to a file of its own, so that it can be read
+ * after the request that carried it has completed and the container has removed the original part.
+ * The owner is responsible for calling {@link #delete()} once the content is no longer needed.
+ * <p>
+ * The content is read through a {@link FileChannel} on the file, so reading it holds no more than
+ * a buffer's worth of it on the heap.
+ */
+public class SpooledMultipartFile implements MultipartFile {
+
+    private static final String TEMP_FILE_PREFIX = "efs-upload-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+    private final Path path;
+
+    private SpooledMultipartFile(final MultipartFile source, final Path path) {
+        this.name = source.getName();
+        this.originalFilename = source.getOriginalFilename();
+        this.contentType = source.getContentType();
+        this.size = source.getSize();
+        this.path = path;
+    }
+
+    /**
+     * Copy the content of a multipart file to a new temporary file.
+     *
+     * @param source the multipart file to copy
+     * @return the spooled copy
+     * @throws IOException if the content cannot be copied
+     */
+    public static SpooledMultipartFile spool(final MultipartFile source) throws IOException {
+        final Path path = createTempFile();
+
+        try (InputStream in = source.getInputStream()) {
+            Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            Files.deleteIfExists(path);
+            throw ex;
+        }
+
+        return new SpooledMultipartFile(source, path);
+    }
+
+    /**
+     * Take over the content of a multipart file, moving it to a new temporary file where that can
+     * be done instead of copying it. The source can no longer be read afterwards: a spooled file's
+     * content is moved to the new file, and any other multipart file's content is transferred with
+     * {@link MultipartFile#transferTo(File)}, which moves the container's own copy on disk.
+     *
+     * @param source the multipart file to take over
+     * @return the spooled file now holding the content
+     * @throws IOException if the content cannot be moved or copied
+     */
+    public static SpooledMultipartFile take(final MultipartFile source) throws IOException {
+        final Path path = createTempFile();
+        final SpooledMultipartFile taken = new SpooledMultipartFile(source, path);
+
+        try {
+            if (source instanceof SpooledMultipartFile) {
+                Files.move(((SpooledMultipartFile) source).getPath(), path, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                source.transferTo(path.toFile());
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(path);
+            throw ex;
+        }
+
+        return taken;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Channels.newInputStream(openChannel());
+    }
+
+    /**
+     * Open a read-only channel on the content, for reading it by position or mapping it into
+     * memory without copying it onto the heap. The caller is responsible for closing the channel.
+     *
+     * @return the channel
+     * @throws IOException if the content cannot be opened
+     */
+    public FileChannel openChannel() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    @Override
+    public void transferTo(final File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Remove the spooled content.
+     *
+     * @return true if the file was deleted, false if it had already gone
+     * @throws IOException if the file cannot be deleted
+     */
+    public boolean delete() throws IOException {
+        return Files.deleteIfExists(path);
+    }
+
+    /**
+     * Remove the spooled files left in the temporary directory by a process that stopped before it
+     * could delete them.
+     *
+     * @param maximumAge how long a spooled file may go unchanged before it is taken to be abandoned
+     * @return the number of files removed
+     * @throws IOException if the temporary directory cannot be read
+     */
+    public static int deleteAbandoned(final Duration maximumAge) throws IOException {
+        final long cutoff = System.currentTimeMillis() - maximumAge.toMillis();
+        final Path tempDir = Paths.get(System.getProperty("java.io.tmpdir"));
+        int deleted = 0;
+
+        try (DirectoryStream<Path> paths =
+                 Files.newDirectoryStream(tempDir, TEMP_FILE_PREFIX + "*" + TEMP_FILE_SUFFIX)) {
+            for (Path path : paths) {
+                try {
+                    if (Files.getLastModifiedTime(path).toMillis() < cutoff && Files.deleteIfExists(path)) {
+                        deleted++;
+                    }
+                } catch (NoSuchFileException ex) {
+                    // deleted by its owner meanwhile
+                }
+            }
+        }
+
+        return deleted;
+    }
+
+    private static Path createTempFile() throws IOException {
+        return Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.support.DefaultMultipartHttpServletRequest;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Resolves multipart requests so that every uploaded file is a {@link SpooledMultipartFile}. The
+ * container keeps a part smaller than the multipart file size threshold in memory and writes a
+ * larger one to disk; either way its content is then taken over by a spooled file, which moves the
+ * container's copy instead of reading it, so that validating and uploading the file read it from
+ * disk a buffer at a time instead of holding it on the heap.
+ * <p>
+ * The spooled files are deleted when the request completes, along with the container's parts. A
+ * file that has to outlive the request is taken over with {@link SpooledMultipartFile#take} first.
+ */
+public class SpoolingMultipartResolver extends StandardServletMultipartResolver {
+
+    private final Logger logger;
+
+    /**
+     * Constructor.
+     *
+     * @param logger the CH logger
+     */
+    public SpoolingMultipartResolver(final Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public MultipartHttpServletRequest resolveMultipart(final HttpServletRequest request) {
+        final MultipartHttpServletRequest parsed = super.resolveMultipart(request);
+        final MultiValueMap<String, MultipartFile> spooledFiles = new LinkedMultiValueMap<>();
+
+        try {
+            for (Map.Entry<String, List<MultipartFile>> entry : parsed.getMultiFileMap().entrySet()) {
+                for (MultipartFile file : entry.getValue()) {
+                    spooledFiles.add(entry.getKey(), SpooledMultipartFile.take(file));
+                }
+            }
+        } catch (IOException ex) {
+            delete(spooledFiles);
+            super.cleanupMultipart(parsed);
+            throw new MultipartException("Failed to spool multipart file", ex);
+        }
+
+        return new DefaultMultipartHttpServletRequest(request, spooledFiles, Collections.emptyMap(),
+            Collections.emptyMap());
+    }
+
+    @Override
+    public void cleanupMultipart(final MultipartHttpServletRequest request) {
+        super.cleanupMultipart(request);
+        delete(request.getMultiFileMap());
+    }
+
+    private void delete(final MultiValueMap<String, MultipartFile> files) {
+        files.values().stream().flatMap(List::stream).filter(SpooledMultipartFile.class::isInstance)
+            .map(SpooledMultipartFile.class::cast).forEach(file -> {
+                try {
+                    file.delete();
+                } catch (IOException ex) {
+                    logger.error(String.format("Failed to delete spooled file for: %s", file.getOriginalFilename()),
+                        ex);
+                }
+            });
+    }
+}
@@ -0,0 +1,99 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.logging.Logger;
+
+/**
+ * Limits the number of uploads to the file-transfer-api in progress at once, and the total size
+ * of the files they carry. An upload that cannot be admitted within the wait period is not sent,
+ * and is answered with {@link HttpStatus#SERVICE_UNAVAILABLE} so the presenter can try again.
+ */
+@Component
+public class UploadAdmissionControl {
+
+    private static final int KILOBYTE = 1024;
+
+    private final int maxConcurrent;
+    private final Semaphore concurrency;
+    private final Semaphore inFlightKilobytes;
+    private final int maxInFlightKilobytes;
+    private final long waitMillis;
+    private final Logger logger;
+
+    /**
+     * Constructor.
+     *
+     * @param maxConcurrent    the maximum number of uploads in progress at once
+     * @param maxInFlightBytes the maximum total size of the files being uploaded at once
+     * @param waitMillis       how long an upload may wait to be admitted
+     * @param logger           the CH logger
+     */
+    @Autowired
+    public UploadAdmissionControl(@Value("${file.transfer.api.admission.max.concurrent}") final int maxConcurrent,
+        @Value("${file.transfer.api.admission.max.inflight.bytes}") final long maxInFlightBytes,
+        @Value("${file.transfer.api.admission.wait.ms}") final long waitMillis, final Logger logger) {
+        this.maxInFlightKilobytes = (int) Math.min(Integer.MAX_VALUE, toKilobytes(maxInFlightBytes));
+        this.maxConcurrent = maxConcurrent;
+        this.concurrency = new Semaphore(maxConcurrent, true);
+        this.inFlightKilobytes = new Semaphore(maxInFlightKilobytes, true);
+        this.waitMillis = waitMillis;
+        this.logger = logger;
+    }
+
+    /**
+     * Run the upload once there is capacity for it. A file larger than the whole budget is
+     * admitted on its own once every other upload has finished.
+     *
+     * @param bytes  the size of the file to upload
+     * @param upload the upload to run
+     * @return the upload response, or a {@link HttpStatus#SERVICE_UNAVAILABLE} response if the upload
+     *         was not admitted
+     */
+    public FileTransferApiClientResponse execute(final long bytes,
+        final Supplier<FileTransferApiClientResponse> upload) {
+        final int kilobytes = (int) Math.min(maxInFlightKilobytes, toKilobytes(bytes));
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+
+        try {
+            if (!concurrency.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                return notAdmitted(bytes);
+            }
+            try {
+                if (!inFlightKilobytes.tryAcquire(kilobytes, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    return notAdmitted(bytes);
+                }
+                try {
+                    return upload.get();
+                } finally {
+                    inFlightKilobytes.release(kilobytes);
+                }
+            } finally {
+                concurrency.release();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return notAdmitted(bytes);
+        }
+    }
+
+    private FileTransferApiClientResponse notAdmitted(final long bytes) {
+        logger.info(String.format("Upload of %d bytes not admitted: %d uploads, %d KB in flight", bytes,
+            maxConcurrent - concurrency.availablePermits(),
+            maxInFlightKilobytes - inFlightKilobytes.availablePermits()));
+
+        final FileTransferApiClientResponse response = new FileTransferApiClientResponse();
+        response.setHttpStatus(HttpStatus.SERVICE_UNAVAILABLE);
+
+        return response;
+    }
+
+    private static long toKilobytes(final long bytes) {
+        return Math.max(1, bytes / KILOBYTE + (bytes % KILOBYTE == 0 ? 0 : 1));
+    }
+}
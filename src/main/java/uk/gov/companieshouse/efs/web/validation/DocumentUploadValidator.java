@@ -1,18 +1,19 @@
 package uk.gov.companieshouse.efs.web.validation;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,7 +22,14 @@ import uk.gov.companieshouse.efs.web.configuration.FileUploadConfiguration;
 import uk.gov.companieshouse.efs.web.model.DocumentUploadModel;
 
 /**
- * Class representing the customer bean validator for document uploads.
+ * Class representing the customer bean validator for document uploads. The upload rules are
+ * compiled from the file upload configuration once, on first use, rather than for every file.
+ *
+ * <p>The checksum of each PDF that passes is kept in the user's session-held upload model, so
+ * content already uploaded in this session is rejected if it is selected again under another name.
+ * Sessions are held in the memory of the node that serves them, so the check is per node as well
+ * as per session: it cannot see files uploaded in another session or through another node, nor
+ * survive the session ending.</p>
  */
 @Component
 public class DocumentUploadValidator implements BiFunction<DocumentUploadModel, BindingResult, List<MultipartFile>> {
@@ -30,11 +38,17 @@ public class DocumentUploadValidator implements BiFunction<DocumentUploadModel,
 
     private ResourceBundle bundle;
     private FileUploadConfiguration configuration;
+    private PdfContentInspector pdfContentInspector;
+    private final Map<String, MessageFormat> messageFormats = new ConcurrentHashMap<>();
+
+    private volatile UploadRules rules;
 
     @Autowired
-    public DocumentUploadValidator(FileUploadConfiguration configuration, ResourceBundle bundle) {
+    public DocumentUploadValidator(FileUploadConfiguration configuration, ResourceBundle bundle,
+        PdfContentInspector pdfContentInspector) {
         this.bundle = bundle;
         this.configuration = configuration;
+        this.pdfContentInspector = pdfContentInspector;
     }
 
     @Override
@@ -43,54 +57,51 @@ public class DocumentUploadValidator implements BiFunction<DocumentUploadModel,
         // Define our collection for the valid file uploads.
         final List<MultipartFile> validFiles = new ArrayList<>();
 
+        // Collect the checksums of the files already uploaded in this session, to find files uploaded again.
+        final Set<String> knownChecksums = getUploadedChecksums(model);
+
+        // Determine how many files have already been uploaded
+        final int filesAlreadyUploaded = (model.getDetails() == null) ? 0 : model.getDetails().getFiles().size();
+
+        final UploadRules uploadRules = getRules();
+
         // Check all the currently supplied files pass the criteria.
         for (MultipartFile file : model.getSelectedFiles()) {
 
             final String filename = file.getOriginalFilename();
             final String mimeType = file.getContentType();
 
-            // Determine how many files have already been uploaded
-            final int filesAlreadyUploaded = (model.getDetails() == null) ? 0 : model.getDetails().getFiles().size();
-
-            // Check that each file doesn't exceed the maximum file upload size.
-            final long maximumFileUploadSize = toByteCount(configuration.getMaximumFilesize());
-
-            if ((filesAlreadyUploaded + validFiles.size()) >= configuration.getMaximumFilesAllowed()) {
+            if ((filesAlreadyUploaded + validFiles.size()) >= uploadRules.getMaximumFileCount()) {
                 // Check the maximum file uploads limit has not been exceeded.
-                String pattern = bundle.getString("max_files_exceeded.documentUpload");
-                MessageFormat formatter = new MessageFormat(pattern, Locale.UK);
-                String errorText = formatter.format(new Object[]{filename, configuration.getMaximumFilesAllowed()});
+                String errorText = format("max_files_exceeded.documentUpload", filename,
+                    uploadRules.getMaximumFileCount());
                 binding.rejectValue(SELECTED_FILES_FIELD, "error.file-upload-limit", errorText);
 
-            } else if (!configuration.getDistinctMimeTypes().contains(mimeType)) {
+            } else if (!uploadRules.isAllowedMimeType(mimeType)) {
                 // Check the mime type of the file is currently allowed.
-                String pattern = bundle.getString("invalid_file_type.documentUpload");
-                MessageFormat formatter = new MessageFormat(pattern, Locale.UK);
-                String errorText = formatter.format(new Object[]{filename, getAllowedFileExtensions()});
+                String errorText = format("invalid_file_type.documentUpload", filename,
+                    uploadRules.getAllowedExtensions());
                 binding.rejectValue(SELECTED_FILES_FIELD, "error.invalid-mime-type", errorText);
 
             } else if (file.getSize() == 0L) {
                 // Check that each file isn't empty.
-                String pattern = bundle.getString("min_file_size_exceeded.documentUpload");
-                MessageFormat formatter = new MessageFormat(pattern, Locale.UK);
-                String errorText = formatter.format(new Object[]{filename});
+                String errorText = format("min_file_size_exceeded.documentUpload", filename);
                 binding.rejectValue(SELECTED_FILES_FIELD, "error.file-size-exceeded", errorText);
 
-            } else if (file.getSize() > maximumFileUploadSize) {
+            } else if (file.getSize() > uploadRules.getMaximumFileSizeBytes()) {
                 // Check that the file content doesn't exceed the maximum allowed.
-                String pattern = bundle.getString("max_file_size_exceeded.documentUpload");
-                MessageFormat formatter = new MessageFormat(pattern, Locale.UK);
-                String errorText = formatter.format(new Object[]{configuration.getMaximumFilesize()});
+                String errorText = format("max_file_size_exceeded.documentUpload", uploadRules.getMaximumFileSize());
                 binding.rejectValue(SELECTED_FILES_FIELD, "error.file-size-exceeded", errorText);
 
-            } else if (filesAlreadyUploaded > 0 && model.getDetails().getFiles().stream()
-                    .map(FileApi::getFileName).anyMatch(name -> name.equalsIgnoreCase(filename))) {
+            } else if (filesAlreadyUploaded > 0 && isAlreadyUploaded(model.getDetails().getFiles(), filename)) {
 
                 // Ensure that each file upload has a unique filename.
-                String pattern = bundle.getString("duplicate_file.documentUpload");
-                MessageFormat formatter = new MessageFormat(pattern, Locale.UK);
-                String errorText = formatter.format(new Object[]{filename});
+                String errorText = format("duplicate_file.documentUpload", filename);
                 binding.rejectValue(SELECTED_FILES_FIELD, "error.duplicate-file-found", errorText);
+
+            } else if (MediaType.APPLICATION_PDF_VALUE.equals(mimeType)) {
+                // Check the content really is a PDF, and has not been uploaded before.
+                checkPdfContent(model, file, knownChecksums, binding);
             }
 
             // All validation checks are passed, add the file to the results.
@@ -102,38 +113,81 @@ public class DocumentUploadValidator implements BiFunction<DocumentUploadModel,
         return validFiles;
     }
 
-    private long toByteCount(final String sizeHuman) {
-        final int KILOBYTE = 1024;
+    /**
+     * Inspect the content of a PDF file in a single pass, rejecting it if it is not a PDF document,
+     * whatever the browser said it was, or if it is the same as a file already uploaded or selected
+     * before it. The checksum of a file that passes is recorded in the model against its name.
+     */
+    private void checkPdfContent(final DocumentUploadModel model, final MultipartFile file,
+        final Set<String> knownChecksums, final BindingResult binding) {
+        final PdfContentInspector.Inspection inspection;
+
+        try {
+            inspection = pdfContentInspector.inspect(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failed to read file: %s", file.getOriginalFilename()), ex);
+        }
 
-        long returnValue = Long.MAX_VALUE;
+        if (!inspection.isValid()) {
+            String errorText = format("invalid_pdf.documentUpload", file.getOriginalFilename());
+            binding.rejectValue(SELECTED_FILES_FIELD, "error.invalid-pdf", errorText);
 
-        if (!"-1".equals(sizeHuman)) {
-            Map<String, Integer> powerMap = new HashMap<>();
-            powerMap.put("GB", 3);
-            powerMap.put("MB", 2);
-            powerMap.put("KB", 1);
+        } else if (!knownChecksums.add(inspection.getChecksum().orElse(""))) {
+            String errorText = format("duplicate_content.documentUpload", file.getOriginalFilename());
+            binding.rejectValue(SELECTED_FILES_FIELD, "error.duplicate-content-found", errorText);
 
-            Pattern pattern = Pattern.compile("([\\d.]+)([GMK]B)", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(sizeHuman);
+        } else {
+            inspection.getChecksum().ifPresent(checksum -> model.putChecksum(file.getOriginalFilename(), checksum));
+        }
+    }
 
-            if (matcher.find()) {
-                String number = matcher.group(1);
-                int pow = powerMap.get(matcher.group(2).toUpperCase());
-                BigDecimal bytes = new BigDecimal(number);
-                bytes = bytes.multiply(BigDecimal.valueOf(KILOBYTE).pow(pow));
-                returnValue = bytes.longValue();
+    private static boolean isAlreadyUploaded(final List<FileApi> uploadedFiles, final String filename) {
+        for (FileApi uploadedFile : uploadedFiles) {
+            if (uploadedFile.getFileName().equalsIgnoreCase(filename)) {
+                return true;
             }
         }
 
-        return returnValue;
+        return false;
     }
 
-    private String getAllowedFileExtensions() {
-        final List<String> extensions = configuration.getDistinctExtensions().stream().sorted().collect(Collectors.toList());
-        if (extensions.size() == 1) {
-            return extensions.get(0);
-        } else {
-            return String.join(" or ", String.join(", ", extensions.subList(0, extensions.size() - 1)), extensions.get(extensions.size() - 1));
+    private Set<String> getUploadedChecksums(final DocumentUploadModel model) {
+        final Set<String> checksums = new HashSet<>();
+
+        if (model.getDetails() != null) {
+            for (FileApi uploadedFile : model.getDetails().getFiles()) {
+                model.getChecksum(uploadedFile.getFileName()).ifPresent(checksums::add);
+            }
+        }
+
+        return checksums;
+    }
+
+    /**
+     * Get the upload rules, compiling them on first use. Two requests racing to compile them each
+     * compile the same rules, so no lock is needed.
+     */
+    private UploadRules getRules() {
+        UploadRules current = rules;
+
+        if (current == null) {
+            current = UploadRules.compile(configuration);
+            rules = current;
+        }
+
+        return current;
+    }
+
+    /**
+     * Format an error message. Each message's format is parsed once and then reused; formats are
+     * not thread safe, so each is locked while it is in use.
+     */
+    private String format(final String key, final Object... arguments) {
+        final MessageFormat formatter =
+            messageFormats.computeIfAbsent(key, k -> new MessageFormat(bundle.getString(k), Locale.UK));
+
+        synchronized (formatter) {
+            return formatter.format(arguments);
         }
     }
 
@@ -0,0 +1,188 @@
+package uk.gov.companieshouse.efs.web.validation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.codec.binary.Hex;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import uk.gov.companieshouse.efs.web.transfer.SpooledMultipartFile;
+
+/**
+ * Checks that the content of an uploaded file is a PDF document, instead of trusting the content
+ * type sent by the browser, and computes its SHA-256 checksum, in a single pass over the content.
+ * <p>
+ * The checks are the ones PDF readers make before parsing a document: a {@code %PDF-} header with
+ * a version in the first 1024 bytes, and an {@code %%EOF} marker in the last 1024 bytes preceded
+ * by a {@code startxref} offset within the document. For a file spooled to disk, the offset must
+ * also lead to a cross-reference table or stream.
+ */
+@Component
+public class PdfContentInspector {
+
+    static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int WINDOW_SIZE = 1024;
+    private static final int XREF_PEEK_SIZE = 64;
+    private static final Pattern HEADER = Pattern.compile("%PDF-\\d\\.\\d");
+    private static final Pattern TRAILER = Pattern.compile("startxref\\s+(\\d{1,18})\\s+%%EOF");
+    private static final Pattern XREF = Pattern.compile("\\s*(?:xref|\\d+\\s+\\d+\\s+obj)");
+
+    /**
+     * What is wrong with a file that is not a PDF document.
+     */
+    public enum Defect {
+        MISSING_HEADER, MISSING_TRAILER, BROKEN_CROSS_REFERENCE
+    }
+
+    /**
+     * Inspect the content of a file. A spooled file is read through a channel on its spooled copy.
+     *
+     * @param file the file
+     * @return the result of the inspection
+     * @throws IOException if the content cannot be read
+     */
+    public Inspection inspect(final MultipartFile file) throws IOException {
+        if (file instanceof SpooledMultipartFile) {
+            try (FileChannel channel = ((SpooledMultipartFile) file).openChannel()) {
+                return inspect(channel, channel);
+            }
+        }
+
+        try (ReadableByteChannel channel = Channels.newChannel(file.getInputStream())) {
+            return inspect(channel, null);
+        }
+    }
+
+    private static Inspection inspect(final ReadableByteChannel channel, final FileChannel seekable)
+        throws IOException {
+        final MessageDigest digest = newDigest();
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] head = new byte[WINDOW_SIZE];
+        final byte[] tail = new byte[WINDOW_SIZE];
+        int headLength = 0;
+        int tailLength = 0;
+        long size = 0;
+
+        for (int read = channel.read(buffer); read >= 0; read = channel.read(buffer)) {
+            final byte[] bytes = buffer.array();
+
+            digest.update(bytes, 0, read);
+            if (headLength < WINDOW_SIZE) {
+                final int copied = Math.min(read, WINDOW_SIZE - headLength);
+
+                System.arraycopy(bytes, 0, head, headLength, copied);
+                headLength += copied;
+            }
+            if (read >= WINDOW_SIZE) {
+                System.arraycopy(bytes, read - WINDOW_SIZE, tail, 0, WINDOW_SIZE);
+                tailLength = WINDOW_SIZE;
+            } else {
+                final int kept = Math.min(tailLength, WINDOW_SIZE - read);
+
+                System.arraycopy(tail, tailLength - kept, tail, 0, kept);
+                System.arraycopy(bytes, 0, tail, kept, read);
+                tailLength = kept + read;
+            }
+            size += read;
+            buffer.clear();
+        }
+
+        final Matcher header = HEADER.matcher(new String(head, 0, headLength, StandardCharsets.ISO_8859_1));
+
+        if (!header.find()) {
+            return Inspection.defective(Defect.MISSING_HEADER);
+        }
+
+        final Matcher trailer = TRAILER.matcher(new String(tail, 0, tailLength, StandardCharsets.ISO_8859_1));
+        Long xrefOffset = null;
+
+        while (trailer.find()) {
+            xrefOffset = Long.valueOf(trailer.group(1));
+        }
+        if (xrefOffset == null) {
+            return Inspection.defective(Defect.MISSING_TRAILER);
+        }
+        if (xrefOffset >= size
+            || seekable != null && !leadsToCrossReference(seekable, xrefOffset, header.start())) {
+            return Inspection.defective(Defect.BROKEN_CROSS_REFERENCE);
+        }
+
+        return Inspection.valid(Hex.encodeHexString(digest.digest()));
+    }
+
+    /**
+     * Readers accept offsets counted from the start of the header as well as from the start of
+     * the file, when there is anything before the header.
+     */
+    private static boolean leadsToCrossReference(final FileChannel channel, final long offset,
+        final int headerOffset) throws IOException {
+        return isCrossReference(channel, offset)
+            || headerOffset > 0 && isCrossReference(channel, offset + headerOffset);
+    }
+
+    private static boolean isCrossReference(final FileChannel channel, final long offset) throws IOException {
+        final ByteBuffer peek = ByteBuffer.allocate(XREF_PEEK_SIZE);
+
+        channel.read(peek, offset);
+
+        return XREF.matcher(new String(peek.array(), 0, peek.position(), StandardCharsets.ISO_8859_1))
+            .lookingAt();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * The result of inspecting a file: its checksum if it is a PDF document, or else what is wrong
+     * with it.
+     */
+    public static final class Inspection {
+
+        private final String checksum;
+        private final Defect defect;
+
+        private Inspection(final String checksum, final Defect defect) {
+            this.checksum = checksum;
+            this.defect = defect;
+        }
+
+        static Inspection valid(final String checksum) {
+            return new Inspection(checksum, null);
+        }
+
+        static Inspection defective(final Defect defect) {
+            return new Inspection(null, defect);
+        }
+
+        public boolean isValid() {
+            return defect == null;
+        }
+
+        /**
+         * @return the SHA-256 checksum of the content, in hex, if the file is a PDF document
+         */
+        public Optional<String> getChecksum() {
+            return Optional.ofNullable(checksum);
+        }
+
+        public Optional<Defect> getDefect() {
+            return Optional.ofNullable(defect);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package uk.gov.companieshouse.efs.web.validation;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import uk.gov.companieshouse.efs.web.configuration.FileUploadConfiguration;
+
+/**
+ * The file upload configuration compiled into the form the upload validator checks it in: the
+ * maximum file size in bytes, the set of allowed content types, and the allowed file extensions as
+ * they are listed in error messages. Instances are immutable, so that they can be shared by every
+ * request.
+ */
+final class UploadRules {
+
+    private static final int KILOBYTE = 1024;
+    private static final Pattern FILE_SIZE = Pattern.compile("([\\d.]+)([GMK]B)", Pattern.CASE_INSENSITIVE);
+
+    private final String maximumFileSize;
+    private final long maximumFileSizeBytes;
+    private final int maximumFileCount;
+    private final Set<String> mimeTypes;
+    private final String allowedExtensions;
+
+    private UploadRules(final FileUploadConfiguration configuration) {
+        final Integer maximumFilesAllowed = configuration.getMaximumFilesAllowed();
+
+        this.maximumFileSize = configuration.getMaximumFilesize();
+        this.maximumFileSizeBytes = toByteCount(maximumFileSize);
+        this.maximumFileCount = maximumFilesAllowed == null ? Integer.MAX_VALUE : maximumFilesAllowed;
+        this.mimeTypes = Collections.unmodifiableSet(new HashSet<>(configuration.getDistinctMimeTypes()));
+        this.allowedExtensions = listExtensions(configuration.getDistinctExtensions());
+    }
+
+    static UploadRules compile(final FileUploadConfiguration configuration) {
+        return new UploadRules(configuration);
+    }
+
+    /**
+     * @return the maximum file size as configured, e.g. 4MB
+     */
+    String getMaximumFileSize() {
+        return maximumFileSize;
+    }
+
+    long getMaximumFileSizeBytes() {
+        return maximumFileSizeBytes;
+    }
+
+    int getMaximumFileCount() {
+        return maximumFileCount;
+    }
+
+    boolean isAllowedMimeType(final String mimeType) {
+        return mimeTypes.contains(mimeType);
+    }
+
+    /**
+     * @return the allowed file extensions, e.g. "DOC, PDF or TXT"
+     */
+    String getAllowedExtensions() {
+        return allowedExtensions;
+    }
+
+    private static long toByteCount(final String sizeHuman) {
+        long returnValue = Long.MAX_VALUE;
+
+        if (sizeHuman != null && !"-1".equals(sizeHuman)) {
+            Matcher matcher = FILE_SIZE.matcher(sizeHuman);
+
+            if (matcher.find()) {
+                int pow = powerOf(matcher.group(2).toUpperCase(Locale.ROOT));
+                BigDecimal bytes = new BigDecimal(matcher.group(1));
+                bytes = bytes.multiply(BigDecimal.valueOf(KILOBYTE).pow(pow));
+                returnValue = bytes.longValue();
+            }
+        }
+
+        return returnValue;
+    }
+
+    private static int powerOf(final String unit) {
+        switch (unit) {
+            case "GB":
+                return 3;
+            case "MB":
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    private static String listExtensions(final Set<String> distinctExtensions) {
+        final List<String> extensions = distinctExtensions.stream().sorted().collect(Collectors.toList());
+
+        if (extensions.size() <= 1) {
+            return String.join("", extensions);
+        } else {
+            return String.join(" or ", String.join(", ", extensions.subList(0, extensions.size() - 1)),
+                extensions.get(extensions.size() - 1));
+        }
+    }
+}
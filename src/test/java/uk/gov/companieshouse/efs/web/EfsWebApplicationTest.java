@@ -12,6 +12,7 @@ import org.springframework.web.servlet.config.annotation.InterceptorRegistration
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import uk.gov.companieshouse.efs.web.controller.BaseControllerImplTest;
 import uk.gov.companieshouse.efs.web.interceptor.LoggingInterceptor;
+import uk.gov.companieshouse.efs.web.interceptor.StaleDataInterceptor;
 import uk.gov.companieshouse.efs.web.interceptor.UserDetailsInterceptor;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +24,8 @@ class EfsWebApplicationTest {
     @Mock
     private LoggingInterceptor loggingInterceptor;
     @Mock
+    private StaleDataInterceptor staleDataInterceptor;
+    @Mock
     private InterceptorRegistry registry;
     @Mock
     private InterceptorRegistration interceptorRegistration;
@@ -32,6 +35,7 @@ class EfsWebApplicationTest {
         testApp = new EfsWebApplication(
             userDetailsInterceptor,
             loggingInterceptor,
+            staleDataInterceptor,
             "/efs-submission/start",
             "/efs-submission/guidance",
             "/efs-submission/insolvency-guidance",
@@ -43,10 +47,12 @@ class EfsWebApplicationTest {
     void testInterceptors() {
         doReturn(interceptorRegistration).when(registry).addInterceptor(userDetailsInterceptor);
         doReturn(interceptorRegistration).when(registry).addInterceptor(loggingInterceptor);
+        doReturn(interceptorRegistration).when(registry).addInterceptor(staleDataInterceptor);
 
         testApp.addInterceptors(registry);
 
         verify(registry).addInterceptor(userDetailsInterceptor);
+        verify(registry).addInterceptor(staleDataInterceptor);
         verify(interceptorRegistration)
             .excludePathPatterns("/efs-submission/start", "/efs-submission/guidance",
                 "/efs-submission/insolvency-guidance", "/efs-submission/accessibility-statement");
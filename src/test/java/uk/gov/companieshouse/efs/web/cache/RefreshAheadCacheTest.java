@@ -0,0 +1,128 @@
+package uk.gov.companieshouse.efs.web.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshAheadCacheTest {
+
+    @Mock
+    private Logger logger;
+
+    private List<Runnable> refreshes;
+    private AtomicInteger loads;
+    private RefreshAheadCache testCache;
+
+    @BeforeEach
+    void setUp() {
+        refreshes = new ArrayList<>();
+        loads = new AtomicInteger();
+        testCache = new RefreshAheadCache(new ConcurrentMapCache("forms"), 60000L, refreshes::add, logger);
+    }
+
+    @Test
+    void getLoadsMissingEntry() {
+        assertThat(testCache.get("key", this::load), is("value1"));
+        assertThat(testCache.get("key", this::load), is("value1"));
+        assertThat(testCache.get("key").get(), is("value1"));
+        assertThat(testCache.get("key", String.class), is("value1"));
+        assertThat(refreshes.isEmpty(), is(true));
+    }
+
+    @Test
+    void getWhenDelegateStoresByValue() {
+        final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("forms");
+        cacheManager.setBeanClassLoader(getClass().getClassLoader());
+        cacheManager.setStoreByValue(true);
+        testCache = new RefreshAheadCache(cacheManager.getCache("forms"), 60000L, refreshes::add, logger);
+
+        assertThat(testCache.get("key", this::load), is("value1"));
+        assertThat(testCache.get("key", this::load), is("value1"));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void getReturnsCurrentValueWhileRefreshing() {
+        testCache = new RefreshAheadCache(new ConcurrentMapCache("forms"), 0L, refreshes::add, logger);
+        testCache.put("key", "value0");
+
+        assertThat(testCache.get("key", this::load), is("value0"));
+        assertThat(testCache.get("key", this::load), is("value0"));
+        assertThat(refreshes.size(), is(1));
+        assertThat(loads.get(), is(0));
+
+        refreshes.get(0).run();
+
+        assertThat(testCache.get("key").get(), is("value1"));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void getKeepsCurrentValueWhenRefreshFails() {
+        testCache = new RefreshAheadCache(new ConcurrentMapCache("forms"), 0L, Runnable::run, logger);
+        testCache.put("key", "value0");
+
+        assertThat(testCache.get("key", () -> {
+            throw new IllegalStateException("test");
+        }), is("value0"));
+
+        assertThat(testCache.get("key").get(), is("value0"));
+        verify(logger).error(anyString(), any(IllegalStateException.class));
+    }
+
+    @Test
+    void getWhenRefreshRejected() {
+        final Executor rejecting = command -> {
+            throw new RejectedExecutionException("test");
+        };
+        testCache = new RefreshAheadCache(new ConcurrentMapCache("forms"), 0L, rejecting, logger);
+        testCache.put("key", "value0");
+
+        assertThat(testCache.get("key", this::load), is("value0"));
+        assertThat(testCache.get("key", this::load), is("value0"));
+        assertThat(loads.get(), is(0));
+    }
+
+    @Test
+    void getWithWrongType() {
+        testCache.put("key", "value");
+
+        assertThrows(IllegalStateException.class, () -> testCache.get("key", Integer.class));
+    }
+
+    @Test
+    void putIfAbsentEvictAndClear() {
+        assertThat(testCache.putIfAbsent("first", "value"), is(nullValue()));
+        assertThat(testCache.putIfAbsent("first", "other").get(), is("value"));
+        testCache.put("second", "value");
+
+        testCache.evict("first");
+        assertThat(testCache.get("first"), is(nullValue()));
+
+        testCache.clear();
+        assertThat(testCache.get("second"), is(nullValue()));
+    }
+
+    private String load() {
+        return "value" + loads.incrementAndGet();
+    }
+}
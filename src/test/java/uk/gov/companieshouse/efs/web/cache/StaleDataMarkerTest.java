@@ -0,0 +1,50 @@
+package uk.gov.companieshouse.efs.web.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class StaleDataMarkerTest {
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getStaleAgeWhenNotMarked() {
+        assertThat(StaleDataMarker.getStaleAge(request).isPresent(), is(false));
+    }
+
+    @Test
+    void markKeepsOldestAge() {
+        StaleDataMarker.mark(2000L);
+        StaleDataMarker.mark(1000L);
+
+        assertThat(StaleDataMarker.getStaleAge(request).getAsLong(), is(2000L));
+    }
+
+    @Test
+    void markFromPropagatedTask() throws Exception {
+        final Runnable task = StaleDataMarker.propagate(() -> StaleDataMarker.mark(1000L));
+
+        CompletableFuture.runAsync(task).get();
+
+        assertThat(StaleDataMarker.getStaleAge(request).getAsLong(), is(1000L));
+    }
+}
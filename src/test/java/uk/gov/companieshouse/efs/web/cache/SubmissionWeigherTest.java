@@ -0,0 +1,50 @@
+package uk.gov.companieshouse.efs.web.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.efs.submissions.FileDetailApi;
+import uk.gov.companieshouse.api.model.efs.submissions.FileDetailListApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
+
+class SubmissionWeigherTest {
+
+    private SubmissionWeigher testWeigher;
+
+    @BeforeEach
+    void setUp() {
+        testWeigher = new SubmissionWeigher();
+    }
+
+    @Test
+    void weighSubmissionWithFiles() {
+        final FileDetailApi fileDetail = new FileDetailApi();
+        fileDetail.setFileName("test.pdf");
+        final FileDetailListApi fileDetails = new FileDetailListApi();
+        fileDetails.add(fileDetail);
+        fileDetails.add(new FileDetailApi());
+        final SubmissionFormApi submissionForm = new SubmissionFormApi();
+        submissionForm.setFileDetails(fileDetails);
+        final SubmissionApi submission = new SubmissionApi();
+        submission.setSubmissionForm(submissionForm);
+
+        assertThat(testWeigher.weigh("key", new ApiResponse<>(200, Collections.emptyMap(), submission)),
+            is(SubmissionWeigher.BASE_WEIGHT + 2 * SubmissionWeigher.FILE_DETAIL_WEIGHT + 16));
+    }
+
+    @Test
+    void weighSubmissionWithoutForm() {
+        assertThat(testWeigher.weigh("key", new ApiResponse<>(200, Collections.emptyMap(), new SubmissionApi())),
+            is(SubmissionWeigher.BASE_WEIGHT));
+    }
+
+    @Test
+    void weighOtherValue() {
+        assertThat(testWeigher.weigh("key", "value"), is(SubmissionWeigher.BASE_WEIGHT));
+    }
+}
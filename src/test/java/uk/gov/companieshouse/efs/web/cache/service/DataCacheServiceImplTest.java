@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogueService;
 import uk.gov.companieshouse.logging.Logger;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,11 +21,13 @@ class DataCacheServiceImplTest {
     @Mock
     private Cache cache;
     @Mock
+    private TemplateCatalogueService templateCatalogueService;
+    @Mock
     private Logger logger;
 
     @BeforeEach
     void setUp() {
-        testService = new DataCacheServiceImpl(logger);
+        testService = new DataCacheServiceImpl(templateCatalogueService, logger);
     }
 
 
@@ -32,6 +35,7 @@ class DataCacheServiceImplTest {
     void clearAllCategories() {
         testService.clearAllCaches();
 
+        verify(templateCatalogueService).invalidate();
         verify(logger, atLeastOnce()).debug(anyString());
     }
 
@@ -0,0 +1,53 @@
+package uk.gov.companieshouse.efs.web.cache.store;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class LocalSharedCacheStoreTest {
+
+    @Test
+    void entriesExpireWithTheirOwnTimeToLive() {
+        final LocalSharedCacheStore testStore = new LocalSharedCacheStore();
+
+        testStore.put("forms", "expired", "value", Duration.ZERO);
+        testStore.put("forms", "kept", "value", Duration.ofMinutes(1));
+        testStore.put("forms", "forever", "value", null);
+
+        assertThat(testStore.get("forms", "expired"), is(nullValue()));
+        assertThat(testStore.get("forms", "kept"), is("value"));
+        assertThat(testStore.get("forms", "forever"), is("value"));
+    }
+
+    @Test
+    void eachCacheIsBounded() {
+        final LocalSharedCacheStore testStore = new LocalSharedCacheStore(2);
+
+        IntStream.range(0, 5).forEach(i -> testStore.put("forms", i, "value", null));
+        testStore.put("categories", 0, "value", null);
+
+        final long kept = IntStream.range(0, 5).filter(i -> testStore.get("forms", i) != null).count();
+
+        assertThat(kept, is(2L));
+        assertThat(testStore.get("categories", 0), is("value"));
+    }
+
+    @Test
+    void evictAndClear() {
+        final LocalSharedCacheStore testStore = new LocalSharedCacheStore();
+
+        testStore.put("forms", "first", "value", null);
+        testStore.put("forms", "second", "value", null);
+
+        testStore.evict("forms", "first");
+        assertThat(testStore.get("forms", "first"), is(nullValue()));
+        assertThat(testStore.get("forms", "second"), is("value"));
+
+        testStore.clear("forms");
+        assertThat(testStore.get("forms", "second"), is(nullValue()));
+    }
+}
@@ -0,0 +1,85 @@
+package uk.gov.companieshouse.efs.web.cache.store;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+class SharedCacheTest {
+
+    private LocalSharedCacheStore store;
+    private SharedCache testCache;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalSharedCacheStore();
+        testCache = new SharedCache("forms", store, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void putAndGet() {
+        testCache.put("key", "value");
+
+        assertThat(testCache.get("key").get(), is("value"));
+        assertThat(new SharedCache("forms", store, null).get("key").get(), is("value"));
+        assertThat(new SharedCache("categories", store, null).get("key"), is(nullValue()));
+    }
+
+    @Test
+    void putNullValue() {
+        testCache.put("key", null);
+
+        assertThat(testCache.get("key").get(), is(nullValue()));
+    }
+
+    @Test
+    void getExpiredEntry() {
+        testCache = new SharedCache("forms", store, Duration.ZERO);
+
+        testCache.put("key", "value");
+
+        assertThat(testCache.get("key"), is(nullValue()));
+    }
+
+    @Test
+    void getWithValueLoaderLoadsOnce() {
+        final AtomicInteger loads = new AtomicInteger();
+
+        assertThat(testCache.get("key", () -> "value" + loads.incrementAndGet()), is("value1"));
+        assertThat(testCache.get("key", () -> "value" + loads.incrementAndGet()), is("value1"));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void getWithValueLoaderWhenLoadFails() {
+        assertThrows(Cache.ValueRetrievalException.class, () -> testCache.get("key", () -> {
+            throw new IllegalStateException("test");
+        }));
+        assertThat(testCache.get("key"), is(nullValue()));
+    }
+
+    @Test
+    void putIfAbsent() {
+        assertThat(testCache.putIfAbsent("key", "first"), is(nullValue()));
+        assertThat(testCache.putIfAbsent("key", "second").get(), is("first"));
+    }
+
+    @Test
+    void evictAndClear() {
+        testCache.put("first", "value");
+        testCache.put("second", "value");
+
+        testCache.evict("first");
+        assertThat(testCache.get("first"), is(nullValue()));
+        assertThat(testCache.get("second").get(), is("value"));
+
+        testCache.clear();
+        assertThat(testCache.get("second"), is(nullValue()));
+    }
+}
@@ -3,7 +3,9 @@ package uk.gov.companieshouse.efs.web.categorytemplates.controller;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -12,10 +14,14 @@ import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.categorytemplates.CategoryTemplateApi;
 import uk.gov.companieshouse.api.model.efs.categorytemplates.CategoryTemplateListApi;
@@ -24,6 +30,7 @@ import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionStatus;
 import uk.gov.companieshouse.efs.web.categorytemplates.model.CategoryTemplateModel;
 import uk.gov.companieshouse.efs.web.controller.BaseControllerImplTest;
+import uk.gov.companieshouse.efs.web.controller.PageModelAssembler;
 import uk.gov.companieshouse.efs.web.controller.ViewConstants;
 
 @ExtendWith(MockitoExtension.class)
@@ -64,6 +71,7 @@ public class CategoryTemplateControllerImplTest extends BaseControllerImplTest {
 
     private static final String RESOLUTIONS_ID = "RESOLUTIONS";
     private static final String ARTICLES_ID = "MA";
+    private static final long PAGE_MODEL_TIMEOUT_MS = 10000L;
 
 
     private CategoryTemplateController testController;
@@ -73,7 +81,7 @@ public class CategoryTemplateControllerImplTest extends BaseControllerImplTest {
         setUpHeaders();
         testController = new CategoryTemplateControllerImpl(categoryTemplateService,
                 apiClientService, sessionService, formTemplateService, logger,
-                categoryTemplateAttribute);
+                categoryTemplateAttribute, new PageModelAssembler(Runnable::run, PAGE_MODEL_TIMEOUT_MS));
         ((CategoryTemplateControllerImpl) testController).setChsUrl(CHS_URL);
     }
 
@@ -103,6 +111,20 @@ public class CategoryTemplateControllerImplTest extends BaseControllerImplTest {
         assertThat(result, is(ViewConstants.GONE.asView()));
     }
 
+    @Test
+    void categoryTemplateWhenGetSubmissionFails() {
+        final ResponseStatusException failure = new ResponseStatusException(HttpStatus.NOT_FOUND);
+
+        when(apiClientService.getSubmission(SUBMISSION_ID)).thenThrow(failure);
+
+        final ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+                () -> testController.categoryTemplate(SUBMISSION_ID, COMPANY_NUMBER, null,
+                        categoryTemplateAttribute, model, servletRequest));
+
+        assertThat(thrown, is(sameInstance(failure)));
+        verifyNoInteractions(categoryTemplateAttribute, model);
+    }
+
     @Test
     void categoryTemplateTopLevelWhenCategorySequenceListNull() {
         final SubmissionApi submission = createSubmission(SubmissionStatus.OPEN);
@@ -195,6 +217,31 @@ public class CategoryTemplateControllerImplTest extends BaseControllerImplTest {
         assertThat(result, is(ViewConstants.CATEGORY_SELECTION.asView()));
     }
 
+    @Test
+    void categoryTemplateChecksAllowListWhileCategoriesAreLookedUp() {
+        final SubmissionApi submission = createSubmission(SubmissionStatus.OPEN);
+        final CategoryTemplateListApi expectedCategoryList = new CategoryTemplateListApi(
+                Arrays.asList(CAT_TOP_LEVEL, INSOLVENCY));
+        final AtomicInteger apiCalls = new AtomicInteger();
+
+        testController = new CategoryTemplateControllerImpl(categoryTemplateService,
+                apiClientService, sessionService, formTemplateService, logger,
+                categoryTemplateAttribute, new PageModelAssembler(call -> {
+                    apiCalls.incrementAndGet();
+                    call.run();
+                }, PAGE_MODEL_TIMEOUT_MS));
+        expectInteractionsForGet(submission, true, expectedCategoryList,
+                CategoryTemplateModel.ROOT_CATEGORY_ID, null);
+
+        testController.categoryTemplate(SUBMISSION_ID, COMPANY_NUMBER, Collections.emptyList(),
+                categoryTemplateAttribute, model, servletRequest);
+
+        assertThat(apiCalls.get(), is(1));
+        final InOrder inOrder = inOrder(apiClientService, categoryTemplateService);
+        inOrder.verify(apiClientService).isOnAllowList(USER_EMAIL);
+        inOrder.verify(categoryTemplateService).getCategoryTemplates();
+    }
+
     @Test
     void categoryTemplateTopLevelWhenEmailNotAllowed() {
         final SubmissionApi submission = createSubmission(SubmissionStatus.OPEN);
@@ -374,6 +421,7 @@ public class CategoryTemplateControllerImplTest extends BaseControllerImplTest {
     private void verifyOutcomeForGet(final CategoryTemplateApi detailsCategory,
             final CategoryTemplateListApi categoryList) {
         verify(categoryTemplateService).getCategoryTemplates();
+        verify(apiClientService).isOnAllowList(anyString());
         verify(categoryTemplateAttribute).setSubmissionId(SUBMISSION_ID);
         verify(categoryTemplateAttribute).setDetails(
                 new CategoryTemplateApi(detailsCategory));
@@ -0,0 +1,128 @@
+package uk.gov.companieshouse.efs.web.configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import uk.gov.companieshouse.efs.web.cache.RefreshAheadCache;
+import uk.gov.companieshouse.efs.web.cache.store.SharedCache;
+import uk.gov.companieshouse.efs.web.cache.store.SharedCacheStore;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class DataCacheConfigTest {
+
+    @Mock
+    private ObjectProvider<SharedCacheStore> sharedCacheStoreProvider;
+    @Mock
+    private SharedCacheStore sharedCacheStore;
+    @Mock
+    private Logger logger;
+
+    private DataCacheConfig testConfig;
+    private DataCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        testConfig = new DataCacheConfig();
+        properties = new DataCacheProperties();
+        properties.setDefaults(new DataCacheProperties.CacheSpec(Duration.ofMinutes(10), null, 500L, null, null));
+        properties.getCaches().put(DataCacheConfig.SUBMISSION_BY_ID,
+            new DataCacheProperties.CacheSpec(null, Duration.ofMinutes(2), null, 4096L, null));
+        properties.getCaches().put(DataCacheConfig.ALL_CATEGORIES,
+            new DataCacheProperties.CacheSpec(null, null, null, null, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void cacheManagerWithLocalProvider() {
+        final CacheManager cacheManager = cacheManager();
+
+        assertThat(cacheManager.getCacheNames(), containsInAnyOrder(DataCacheConfig.ALL_CATEGORIES,
+            DataCacheConfig.ALL_FORMS, DataCacheConfig.IP_ALLOW_LIST, DataCacheConfig.SUBMISSION_BY_ID));
+
+        final Policy<Object, Object> formPolicy = policy(cacheManager, DataCacheConfig.ALL_FORMS);
+        assertThat(formPolicy.eviction().get().getMaximum(), is(500L));
+        assertThat(formPolicy.expireAfterWrite().get().getExpiresAfter(TimeUnit.MINUTES), is(10L));
+        assertThat(formPolicy.expireAfterAccess().isPresent(), is(false));
+
+        final Policy<Object, Object> submissionPolicy = policy(cacheManager, DataCacheConfig.SUBMISSION_BY_ID);
+        assertThat(submissionPolicy.eviction().get().isWeighted(), is(true));
+        assertThat(submissionPolicy.eviction().get().getMaximum(), is(4096L));
+        assertThat(submissionPolicy.expireAfterWrite().get().getExpiresAfter(TimeUnit.MINUTES), is(10L));
+        assertThat(submissionPolicy.expireAfterAccess().get().getExpiresAfter(TimeUnit.MINUTES), is(2L));
+    }
+
+    @Test
+    void cacheManagerWithRefreshAhead() {
+        final Cache cache = cacheManager().getCache(DataCacheConfig.ALL_CATEGORIES);
+
+        assertThat(cache, is(instanceOf(RefreshAheadCache.class)));
+        assertThat(((RefreshAheadCache) cache).getDelegate(), is(instanceOf(CaffeineCache.class)));
+    }
+
+    @Test
+    void cacheMemoryMetrics() {
+        final CacheManager cacheManager = cacheManager();
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        testConfig.cacheMemoryMetrics(cacheManager).bindTo(registry);
+        cacheManager.getCache(DataCacheConfig.SUBMISSION_BY_ID).put("key", "value");
+        ((CaffeineCache) cacheManager.getCache(DataCacheConfig.SUBMISSION_BY_ID)).getNativeCache().cleanUp();
+
+        assertThat(registry.get(DataCacheConfig.CACHE_MEMORY_METRIC).tag("cache", DataCacheConfig.SUBMISSION_BY_ID)
+            .gauge().value(), is(2048.0));
+        assertThat(registry.find(DataCacheConfig.CACHE_MEMORY_METRIC).tag("cache", DataCacheConfig.ALL_FORMS)
+            .gauge(), is(nullValue()));
+    }
+
+    @Test
+    void cacheManagerWithSharedProvider() {
+        properties.setProvider(DataCacheProperties.Provider.SHARED);
+        when(sharedCacheStoreProvider.getIfAvailable()).thenReturn(sharedCacheStore);
+
+        final CacheManager cacheManager = cacheManager();
+        final Cache cache = cacheManager.getCache(DataCacheConfig.ALL_FORMS);
+
+        assertThat(cache, is(instanceOf(SharedCache.class)));
+        assertThat(cache.getNativeCache(), is(sameInstance(sharedCacheStore)));
+    }
+
+    @Test
+    void cacheManagerWithSharedProviderWithoutStore() {
+        properties.setProvider(DataCacheProperties.Provider.SHARED);
+
+        assertThrows(IllegalStateException.class,
+            () -> testConfig.cacheManager(properties, sharedCacheStoreProvider, Runnable::run, logger));
+    }
+
+    private CacheManager cacheManager() {
+        final CacheManager cacheManager =
+            testConfig.cacheManager(properties, sharedCacheStoreProvider, Runnable::run, logger);
+        ((SimpleCacheManager) cacheManager).afterPropertiesSet();
+
+        return cacheManager;
+    }
+
+    private static Policy<Object, Object> policy(final CacheManager cacheManager, final String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache().policy();
+    }
+}
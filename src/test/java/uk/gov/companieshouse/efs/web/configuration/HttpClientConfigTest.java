@@ -0,0 +1,82 @@
+package uk.gov.companieshouse.efs.web.configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.notNullValue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HttpClientConfigTest {
+
+    private HttpClientConfig testConfig;
+
+    @BeforeEach
+    void setUp() {
+        testConfig = new HttpClientConfig();
+
+        ReflectionTestUtils.setField(testConfig, "maxTotal", 40);
+        ReflectionTestUtils.setField(testConfig, "maxPerRoute", 20);
+        ReflectionTestUtils.setField(testConfig, "connectTimeout", 5000);
+        ReflectionTestUtils.setField(testConfig, "readTimeout", 60000);
+        ReflectionTestUtils.setField(testConfig, "connectionRequestTimeout", 5000);
+        ReflectionTestUtils.setField(testConfig, "idleEviction", 30000L);
+    }
+
+    @Test
+    void httpClientConnectionManager() {
+        final PoolingHttpClientConnectionManager connectionManager = testConfig.httpClientConnectionManager();
+
+        assertThat(connectionManager.getMaxTotal(), is(40));
+        assertThat(connectionManager.getDefaultMaxPerRoute(), is(20));
+        connectionManager.shutdown();
+    }
+
+    @Test
+    void httpClient() throws IOException {
+        try (CloseableHttpClient httpClient = testConfig.httpClient(testConfig.httpClientConnectionManager())) {
+            assertThat(httpClient, is(notNullValue()));
+        }
+    }
+
+    @Test
+    void httpClientConnectionPoolMetrics() {
+        final PoolingHttpClientConnectionManager connectionManager = testConfig.httpClientConnectionManager();
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        testConfig.httpClientConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.max")
+            .tag("httpclient", HttpClientConfig.POOL_NAME).gauge().value(), is(40.0));
+        connectionManager.shutdown();
+    }
+
+    @Test
+    void clientHttpRequestFactoryBuffersByDefault() throws IOException {
+        try (CloseableHttpClient httpClient = testConfig.httpClient(testConfig.httpClientConnectionManager())) {
+            final ClientHttpRequestFactory requestFactory = testConfig.clientHttpRequestFactory(httpClient);
+
+            assertThat(requestFactory, isA(HttpComponentsClientHttpRequestFactory.class));
+            assertThat(ReflectionTestUtils.getField(requestFactory, "bufferRequestBody"), is(true));
+        }
+    }
+
+    @Test
+    void clientHttpRequestFactoryStreamsWhenEnabled() throws IOException {
+        ReflectionTestUtils.setField(testConfig, "streamingEnabled", true);
+
+        try (CloseableHttpClient httpClient = testConfig.httpClient(testConfig.httpClientConnectionManager())) {
+            final ClientHttpRequestFactory requestFactory = testConfig.clientHttpRequestFactory(httpClient);
+
+            assertThat(ReflectionTestUtils.getField(requestFactory, "bufferRequestBody"), is(false));
+        }
+    }
+}
@@ -8,22 +8,28 @@ import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.Is.isA;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.SecureRandom;
 import java.util.ResourceBundle;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 import uk.gov.companieshouse.efs.web.payment.service.NonceService;
 import uk.gov.companieshouse.efs.web.payment.service.NonceServiceFactoryImpl;
+import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.logging.Logger;
 
@@ -41,6 +47,9 @@ class SpringWebConfigTest {
     @Mock
     private SecureRandom secureRandom;
 
+    @Mock
+    private ApiClientService apiClientService;
+
     @Test
     void environmentReader() {
         assertThat(testConfig.environmentReader(), isA(EnvironmentReader.class));
@@ -97,8 +106,86 @@ class SpringWebConfigTest {
     @Test
     void restTemplate() {
         final DefaultResponseErrorHandler handler = new DefaultResponseErrorHandler();
-        final RestTemplate template = testConfig.restTemplate(handler);
+        final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        final RestTemplate template = testConfig.restTemplate(handler, requestFactory);
 
         assertThat(template.getErrorHandler(), is(sameInstance(handler)));
+        assertThat(template.getRequestFactory(), is(sameInstance(requestFactory)));
+    }
+
+    @Test
+    void fileUploadExecutor() {
+        ReflectionTestUtils.setField(testConfig, "uploadPoolSize", 4);
+        ReflectionTestUtils.setField(testConfig, "uploadQueueCapacity", 8);
+
+        final ThreadPoolTaskExecutor executor = testConfig.fileUploadExecutor();
+        executor.initialize();
+
+        try {
+            assertThat(executor.getCorePoolSize(), is(4));
+            assertThat(executor.getMaxPoolSize(), is(4));
+            assertThat(executor.getThreadPoolExecutor().getQueue().remainingCapacity(), is(8));
+            assertThat(executor.getThreadPoolExecutor().getRejectedExecutionHandler(),
+                isA(ThreadPoolExecutor.CallerRunsPolicy.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void uploadJobExecutor() {
+        ReflectionTestUtils.setField(testConfig, "uploadJobPoolSize", 2);
+        ReflectionTestUtils.setField(testConfig, "uploadJobQueueCapacity", 3);
+
+        final ThreadPoolTaskExecutor executor = testConfig.uploadJobExecutor(apiClientService);
+        executor.initialize();
+
+        try {
+            assertThat(executor.getCorePoolSize(), is(2));
+            assertThat(executor.getMaxPoolSize(), is(2));
+            assertThat(executor.getThreadPoolExecutor().getQueue().remainingCapacity(), is(3));
+            assertThat(executor.getThreadPoolExecutor().getRejectedExecutionHandler(),
+                isA(ThreadPoolExecutor.AbortPolicy.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void apiCallExecutor() {
+        ReflectionTestUtils.setField(testConfig, "apiCallPoolSize", 5);
+        ReflectionTestUtils.setField(testConfig, "apiCallQueueCapacity", 6);
+
+        final ThreadPoolTaskExecutor executor = testConfig.apiCallExecutor(apiClientService);
+        executor.initialize();
+
+        try {
+            assertThat(executor.getCorePoolSize(), is(5));
+            assertThat(executor.getMaxPoolSize(), is(5));
+            assertThat(executor.getThreadPoolExecutor().getQueue().remainingCapacity(), is(6));
+            assertThat(executor.getThreadPoolExecutor().getRejectedExecutionHandler(),
+                isA(ThreadPoolExecutor.CallerRunsPolicy.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void apiCallExecutorMetrics() {
+        ReflectionTestUtils.setField(testConfig, "apiCallPoolSize", 5);
+        ReflectionTestUtils.setField(testConfig, "apiCallQueueCapacity", 6);
+
+        final ThreadPoolTaskExecutor executor = testConfig.apiCallExecutor(apiClientService);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.initialize();
+
+        try {
+            testConfig.apiCallExecutorMetrics(executor).bindTo(registry);
+
+            assertThat(registry.get("executor.pool.size").tag("name", "api-call").gauge().value(), is(0.0));
+            assertThat(registry.get("executor.queue.remaining").tag("name", "api-call").gauge().value(), is(6.0));
+        } finally {
+            executor.shutdown();
+        }
     }
 }
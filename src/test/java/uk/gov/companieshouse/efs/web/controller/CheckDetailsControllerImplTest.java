@@ -2,11 +2,15 @@ package uk.gov.companieshouse.efs.web.controller;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.model.ApiResponse;
@@ -22,6 +26,8 @@ import uk.gov.companieshouse.api.model.efs.submissions.SubmissionStatus;
 import uk.gov.companieshouse.api.model.paymentsession.SessionListApi;
 import uk.gov.companieshouse.efs.web.model.CheckDetailsModel;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogueService;
+import uk.gov.companieshouse.efs.web.service.filelist.FileListService;
 import uk.gov.companieshouse.efs.web.validation.ConfirmAuthorisedValidator;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +35,7 @@ class CheckDetailsControllerImplTest extends BaseControllerImplTest {
 
     private CheckDetailsController testController;
     private static final String FORM_TYPE = "AM01";
+    private static final long PAGE_MODEL_TIMEOUT_MS = 10000L;
     @Mock
     private ApiClientService apiClientService;
     @Mock
@@ -37,12 +44,17 @@ class CheckDetailsControllerImplTest extends BaseControllerImplTest {
     private ConfirmAuthorisedValidator confirmAuthorisedValidator;
     @Mock
     private SessionListApi paymentSessions;
+    @Mock
+    private FileListService fileListService;
+    @Mock
+    private TemplateCatalogueService templateCatalogueService;
 
     @BeforeEach
     protected void setUp() {
         setUpHeaders();
         testController = new CheckDetailsControllerImpl(logger, sessionService, apiClientService, formTemplateService,
-            categoryTemplateService, checkDetailsAttribute, confirmAuthorisedValidator);
+            categoryTemplateService, checkDetailsAttribute, confirmAuthorisedValidator,
+            fileListService, templateCatalogueService, new PageModelAssembler(Runnable::run, PAGE_MODEL_TIMEOUT_MS));
         ((CheckDetailsControllerImpl) testController).setChsUrl(CHS_URL);
     }
 
@@ -64,6 +76,40 @@ class CheckDetailsControllerImplTest extends BaseControllerImplTest {
         assertThat(result, is(ViewConstants.CHECK_DETAILS.asView()));
     }
 
+    @Test
+    void checkDetailsFetchesTemplatesBeforeReadingSubmission() {
+        final SubmissionApi submission = createSubmission(SubmissionStatus.OPEN);
+        when(apiClientService.getSubmission(SUBMISSION_ID)).thenReturn(
+            new ApiResponse<>(200, getHeaders(), submission));
+        when(formTemplateService.getFormTemplate(FORM_TYPE)).thenReturn(
+            new ApiResponse<FormTemplateApi>(200, getHeaders(), new FormTemplateApi()));
+
+        testController.checkDetails(SUBMISSION_ID, COMPANY_NUMBER, checkDetailsAttribute, model, request, session,
+            sessionStatus);
+
+        final InOrder inOrder = inOrder(templateCatalogueService, apiClientService);
+        inOrder.verify(templateCatalogueService).getCatalogue();
+        inOrder.verify(apiClientService).getSubmission(SUBMISSION_ID);
+    }
+
+    @Test
+    void checkDetailsSavesFileListBeforeReadingSubmission() {
+        final SubmissionApi submission = createSubmission(SubmissionStatus.OPEN);
+        when(fileListService.flush(SUBMISSION_ID)).thenReturn(
+            Optional.of(new ApiResponse<>(200, getHeaders(), new SubmissionResponseApi(SUBMISSION_ID))));
+        when(apiClientService.getSubmission(SUBMISSION_ID)).thenReturn(
+            new ApiResponse<>(200, getHeaders(), submission));
+        when(formTemplateService.getFormTemplate(FORM_TYPE)).thenReturn(
+            new ApiResponse<FormTemplateApi>(200, getHeaders(), new FormTemplateApi()));
+
+        testController.checkDetails(SUBMISSION_ID, COMPANY_NUMBER, checkDetailsAttribute, model, request, session,
+            sessionStatus);
+
+        final InOrder inOrder = inOrder(fileListService, apiClientService);
+        inOrder.verify(fileListService).flush(SUBMISSION_ID);
+        inOrder.verify(apiClientService).getSubmission(SUBMISSION_ID);
+    }
+
     @Test
     void checkDetailsWhenSubmissionNotOpen() {
         final SubmissionApi submission = createSubmission(SubmissionStatus.SUBMITTED);
@@ -88,6 +134,7 @@ class CheckDetailsControllerImplTest extends BaseControllerImplTest {
         final String result = testController.postCheckDetails(SUBMISSION_ID, COMPANY_NUMBER, checkDetailsAttribute, bindingResult, model, request);
 
         assertThat(result, is(ViewConstants.PAYMENT.asRedirectUri(CHS_URL, SUBMISSION_ID, COMPANY_NUMBER)));
+        verify(fileListService).flush(SUBMISSION_ID);
     }
 
     @Test
@@ -2,6 +2,9 @@ package uk.gov.companieshouse.efs.web.controller;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
@@ -20,6 +25,7 @@ import uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeCo
 class ConfirmationControllerImplTest extends BaseControllerImplTest {
 
     public static final String TEST_FORM = "TestForm";
+    private static final long PAGE_MODEL_TIMEOUT_MS = 10000L;
     private ConfirmationController testController;
 
     @Mock
@@ -32,7 +38,8 @@ class ConfirmationControllerImplTest extends BaseControllerImplTest {
     protected void setup() {
         setUpHeaders();
         testController = new ConfirmationControllerImpl(logger, sessionService,
-                apiClientService, formTemplateService, categoryTemplateService);
+                apiClientService, formTemplateService, categoryTemplateService,
+                new PageModelAssembler(Runnable::run, PAGE_MODEL_TIMEOUT_MS));
     }
 
     @Test
@@ -89,4 +96,23 @@ class ConfirmationControllerImplTest extends BaseControllerImplTest {
         assertThat(result, is(ViewConstants.GONE.asView()));
     }
 
+    @Test
+    void getConfirmationWhenTopLevelCategoryTimesOut() {
+        final SubmissionApi submission = createSubmission(SubmissionStatus.OPEN);
+        submission.setSubmissionForm(new SubmissionFormApi(null, TEST_FORM, null));
+        when(apiClientService.getSubmission(SUBMISSION_ID)).thenReturn(
+            new ApiResponse<>(200, headers, submission));
+        testController = new ConfirmationControllerImpl(logger, sessionService,
+                apiClientService, formTemplateService, categoryTemplateService,
+                new PageModelAssembler(task -> {}, 0L));
+
+        final ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+            () -> testController.getConfirmation(SUBMISSION_ID, COMPANY_NUMBER, model, request, session,
+                sessionStatus));
+
+        assertThat(thrown.getStatus(), is(HttpStatus.GATEWAY_TIMEOUT));
+        verify(apiClientService).putSubmissionSubmitted(SUBMISSION_ID);
+        verifyNoInteractions(sessionStatus);
+    }
+
 }
\ No newline at end of file
@@ -1,19 +1,33 @@
 package uk.gov.companieshouse.efs.web.controller;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.efs.web.controller.DocumentUploadControllerImpl.FILE_UPLOADS_ALLOWED_FOR_FES_ENABLED_FORMS;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,10 +36,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.ui.ModelMap;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.multipart.MultipartFile;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
@@ -36,11 +55,15 @@ import uk.gov.companieshouse.api.model.efs.submissions.FileListApi;
 import uk.gov.companieshouse.api.model.efs.submissions.PresenterApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
-import uk.gov.companieshouse.api.model.efs.submissions.SubmissionResponseApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionStatus;
 import uk.gov.companieshouse.efs.web.configuration.FileUploadConfiguration;
 import uk.gov.companieshouse.efs.web.model.DocumentUploadModel;
+import uk.gov.companieshouse.efs.web.service.filelist.FileListService;
+import uk.gov.companieshouse.efs.web.service.upload.DocumentUploadJob;
+import uk.gov.companieshouse.efs.web.service.upload.DocumentUploadJobService;
+import uk.gov.companieshouse.efs.web.transfer.ConcurrentFileUploader;
 import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClientResponse;
+import uk.gov.companieshouse.efs.web.transfer.UploadAdmissionControl;
 import uk.gov.companieshouse.efs.web.validation.DocumentUploadValidator;
 
 @ExtendWith(MockitoExtension.class)
@@ -65,6 +88,12 @@ class DocumentUploadControllerTest extends BaseControllerImplTest {
 
     private ModelMap attributes;
 
+    @Mock
+    private DocumentUploadJobService documentUploadJobService;
+
+    @Mock
+    private FileListService fileListService;
+
     @Mock
     FileTransferManager paramObject;
 
@@ -78,6 +107,7 @@ class DocumentUploadControllerTest extends BaseControllerImplTest {
         MockitoAnnotations.initMocks(this);
 
         ReflectionTestUtils.setField(toTest, "chsUrl", CHS_URL);
+        setUploader(Runnable::run, new UploadAdmissionControl(10, Long.MAX_VALUE, 0, logger));
 
         attributes = new ModelMap();
     }
@@ -145,6 +175,8 @@ class DocumentUploadControllerTest extends BaseControllerImplTest {
 
         when(documentUploadAttribute.getAttributes()).thenReturn(attributes);
 
+        when(fileListService.getFileList(submissionApi)).thenReturn(new FileListApi());
+
         String viewName = toTest.prepare(submissionID, companyNumber, documentUploadAttribute, model, servletRequest, httpSession);
 
         verifyDocumentAttribute(submissionApi, submissionID, 10, false);
@@ -173,6 +205,8 @@ class DocumentUploadControllerTest extends BaseControllerImplTest {
 
         when(documentUploadAttribute.getAttributes()).thenReturn(attributes);
 
+        when(fileListService.getFileList(submissionApi)).thenReturn(new FileListApi());
+
         String viewName = toTest.prepare(submissionID, companyNumber, documentUploadAttribute, model, servletRequest, httpSession);
 
         verifyDocumentAttribute(submissionApi, submissionID, FILE_UPLOADS_ALLOWED_FOR_FES_ENABLED_FORMS, false);
@@ -202,6 +236,8 @@ class DocumentUploadControllerTest extends BaseControllerImplTest {
 
         when(documentUploadAttribute.getAttributes()).thenReturn(attributes);
 
+        when(fileListService.getFileList(submissionApi)).thenReturn(new FileListApi());
+
         String viewName = toTest.prepare(submissionID, companyNumber, documentUploadAttribute, model, servletRequest, httpSession);
 
         verifyDocumentAttribute(submissionApi, submissionID, FILE_UPLOADS_ALLOWED_FOR_FES_ENABLED_FORMS, true);
@@ -345,26 +381,138 @@ class DocumentUploadControllerTest extends BaseControllerImplTest {
         when(documentUploadValidator.apply(documentUploadAttribute, binding)).thenReturn(uploadedFiles);
         when(fileTransferApiClient.upload(any())).thenReturn(fileUploadResponse);
 
-        SubmissionResponseApi submissionResponseApi = mock(SubmissionResponseApi.class);
-        when(submissionResponseApi.getId()).thenReturn("submission-response-id");
-
-        ApiResponse<SubmissionResponseApi> putFileResponse = mock(ApiResponse.class);
-        when(putFileResponse.getStatusCode()).thenReturn(200);
-        when(putFileResponse.getData()).thenReturn(submissionResponseApi);
-
         List<FileApi> fileList = new ArrayList<>();
         fileList.add(new FileApi("my-file-upload-response-guid", "testfile.txt", 9L));
 
-        FileListApi fileListApi = new FileListApi(fileList);
-
-        when(apiClientService.putFileList(submissionApi.getId(), fileListApi)).thenReturn(putFileResponse);
-
         String viewName = toTest.process(submissionID, companyNumber, documentUploadAttribute, binding, model, servletRequest, httpSession);
 
         String expectedView = String.format("redirect:%s/efs-submission/%s/company/%s/document-upload",
                 CHS_URL, submissionApi.getId(), companyNumber);
 
         assertThat(viewName, is(expectedView));
+        verify(fileListService).addFiles(submissionApi.getId(), fileList);
+        verify(fileListService, never()).flush(any());
+    }
+
+    @Test
+    void testProcessFormWithMultipleFilesSelectedUploadsConcurrently() {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        String submissionID = submissionApi.getId();
+        String companyNumber = submissionApi.getCompany().getCompanyNumber();
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        BindingResult binding = expectFileValidationError(submissionApi, Boolean.FALSE);
+
+        List<MultipartFile> uploadedFiles = new ArrayList<>();
+        uploadedFiles.add(new MockMultipartFile("data", "first.pdf", "application/pdf", "1".getBytes()));
+        uploadedFiles.add(new MockMultipartFile("data", "second.pdf", "application/pdf", "22".getBytes()));
+        uploadedFiles.add(new MockMultipartFile("data", "third.pdf", "application/pdf", "333".getBytes()));
+
+        when(documentUploadValidator.apply(documentUploadAttribute, binding)).thenReturn(uploadedFiles);
+
+        // Each upload waits until all three are in flight, so this only completes if they run concurrently.
+        final CountDownLatch inFlight = new CountDownLatch(uploadedFiles.size());
+        when(fileTransferApiClient.upload(any())).thenAnswer(invocation -> {
+            final MultipartFile file = invocation.getArgument(0);
+            inFlight.countDown();
+            inFlight.await(5, TimeUnit.SECONDS);
+
+            return fileUploadResponse(file.getOriginalFilename() + "-id");
+        });
+
+        List<FileApi> fileList = new ArrayList<>();
+        fileList.add(new FileApi("first.pdf-id", "first.pdf", 1L));
+        fileList.add(new FileApi("second.pdf-id", "second.pdf", 2L));
+        fileList.add(new FileApi("third.pdf-id", "third.pdf", 3L));
+        final ExecutorService executor = Executors.newFixedThreadPool(uploadedFiles.size());
+        setUploader(executor, new UploadAdmissionControl(10, Long.MAX_VALUE, 0, logger));
+
+        try {
+            String viewName = toTest.process(submissionID, companyNumber, documentUploadAttribute, binding, model,
+                servletRequest, httpSession);
+
+            assertThat(viewName, is(ViewConstants.DOCUMENT_UPLOAD.asRedirectUri(CHS_URL, submissionID, companyNumber)));
+            assertThat(inFlight.getCount(), is(0L));
+            verify(fileListService).addFiles(submissionApi.getId(), fileList);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testProcessFormWithFailedUploads() {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        String submissionID = submissionApi.getId();
+        String companyNumber = submissionApi.getCompany().getCompanyNumber();
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        BindingResult binding = expectFileValidationError(submissionApi, Boolean.FALSE);
+        when(binding.hasErrors()).thenReturn(Boolean.FALSE, Boolean.TRUE);
+
+        MultipartFile uploaded = new MockMultipartFile("data", "uploaded.pdf", "application/pdf", "1".getBytes());
+        MultipartFile noFileId = new MockMultipartFile("data", "no-file-id.pdf", "application/pdf", "1".getBytes());
+        MultipartFile failed = new MockMultipartFile("data", "failed.pdf", "application/pdf", "1".getBytes());
+        List<MultipartFile> uploadedFiles = new ArrayList<>();
+        uploadedFiles.add(uploaded);
+        uploadedFiles.add(noFileId);
+        uploadedFiles.add(failed);
+
+        when(documentUploadValidator.apply(documentUploadAttribute, binding)).thenReturn(uploadedFiles);
+        when(fileTransferApiClient.upload(uploaded)).thenReturn(fileUploadResponse("uploaded-id"));
+        when(fileTransferApiClient.upload(noFileId)).thenReturn(fileUploadResponse(null));
+        when(fileTransferApiClient.upload(failed)).thenThrow(new RestClientException("test"));
+        when(resourceBundle.getString("upload_failed.documentUpload")).thenReturn("{0} failed");
+
+        String viewName = toTest.process(submissionID, companyNumber, documentUploadAttribute, binding, model,
+            servletRequest, httpSession);
+
+        assertThat(viewName, is(ViewConstants.DOCUMENT_UPLOAD.asView()));
+        verify(binding).rejectValue("selectedFiles", "error.file-upload-failed", "no-file-id.pdf failed");
+        verify(binding).rejectValue("selectedFiles", "error.file-upload-failed", "failed.pdf failed");
+        verify(fileListService).addFiles(submissionID,
+            Collections.singletonList(new FileApi("uploaded-id", "uploaded.pdf", 1L)));
+        verify(fileTransferApiClient, never()).delete(any());
+    }
+
+    @Test
+    void testProcessFormWhenUploadNotAdmitted() {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        String submissionID = submissionApi.getId();
+        String companyNumber = submissionApi.getCompany().getCompanyNumber();
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        BindingResult binding = expectFileValidationError(submissionApi, Boolean.FALSE);
+        when(binding.hasErrors()).thenReturn(Boolean.FALSE, Boolean.TRUE);
+
+        List<MultipartFile> uploadedFiles = new ArrayList<>();
+        uploadedFiles.add(new MockMultipartFile("data", "busy.pdf", "application/pdf", "1".getBytes()));
+
+        FileTransferApiClientResponse busyResponse = new FileTransferApiClientResponse();
+        busyResponse.setHttpStatus(HttpStatus.SERVICE_UNAVAILABLE);
+
+        UploadAdmissionControl uploadAdmissionControl = mock(UploadAdmissionControl.class);
+        setUploader(Runnable::run, uploadAdmissionControl);
+
+        when(documentUploadValidator.apply(documentUploadAttribute, binding)).thenReturn(uploadedFiles);
+        when(uploadAdmissionControl.execute(eq(1L), any())).thenReturn(busyResponse);
+        when(resourceBundle.getString("service_busy.documentUpload")).thenReturn("{0} busy");
+
+        String viewName = toTest.process(submissionID, companyNumber, documentUploadAttribute, binding, model,
+            servletRequest, httpSession);
+
+        assertThat(viewName, is(ViewConstants.DOCUMENT_UPLOAD.asView()));
+        verify(binding).rejectValue("selectedFiles", "error.file-upload-busy", "busy.pdf busy");
+        verify(fileTransferApiClient, never()).upload(any());
+        verify(fileListService, never()).addFiles(any(), any());
     }
 
     @Test
@@ -387,6 +535,7 @@ class DocumentUploadControllerTest extends BaseControllerImplTest {
         String viewName = toTest.finish(submissionID, companyNumber, documentUploadAttribute, binding, model, servletRequest, httpSession);
 
         assertThat(viewName, is(ViewConstants.CHECK_DETAILS.asRedirectUri(CHS_URL, submissionApi.getId(), companyNumber)));
+        verify(fileListService).flush(submissionID);
     }
 
     @Test
@@ -408,6 +557,192 @@ class DocumentUploadControllerTest extends BaseControllerImplTest {
 
         assertThat(viewName, is(ViewConstants.DOCUMENT_UPLOAD.asView()));
         assertThat(binding.hasErrors(), is(Boolean.TRUE));
+        verify(fileListService, never()).flush(any());
+    }
+
+    @Test
+    void testSubmitJobAccepted() throws IOException {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        List<MultipartFile> selectedFiles = new ArrayList<>();
+        selectedFiles.add(new MockMultipartFile("data", "first.pdf", "application/pdf", "1".getBytes()));
+
+        DocumentUploadJob job = new DocumentUploadJob("job-id", SUBMISSION_ID, 1, DocumentUploadJob.Status.UPLOADING);
+        BindingResult binding = mock(BindingResult.class);
+        MockHttpServletRequest jobRequest = new MockHttpServletRequest("POST",
+            "/efs-submission/" + SUBMISSION_ID + "/company/" + COMPANY_NUMBER + "/document-upload/jobs");
+
+        when(documentUploadValidator.apply(documentUploadAttribute, binding)).thenReturn(selectedFiles);
+        when(documentUploadJobService.submit(SUBMISSION_ID, selectedFiles)).thenReturn(job);
+
+        ResponseEntity<DocumentUploadJob> response =
+            toTest.submitJob(SUBMISSION_ID, COMPANY_NUMBER, documentUploadAttribute, binding, jobRequest);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.ACCEPTED));
+        assertThat(response.getBody(), is(job));
+        assertThat(response.getHeaders().getLocation(), is(URI.create("http://localhost/efs-submission/"
+            + SUBMISSION_ID + "/company/" + COMPANY_NUMBER + "/document-upload/jobs/job-id")));
+        verify(fileTransferApiClient, never()).upload(any());
+    }
+
+    @Test
+    void testSubmitJobWithValidationErrors() throws IOException {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        BindingResult binding = mock(BindingResult.class);
+        when(binding.hasErrors()).thenReturn(Boolean.TRUE);
+        when(binding.getAllErrors()).thenReturn(Collections.singletonList(
+            new FieldError("documentUpload", "selectedFiles", "too big")));
+        when(documentUploadValidator.apply(documentUploadAttribute, binding)).thenReturn(new ArrayList<>());
+
+        ResponseEntity<DocumentUploadJob> response =
+            toTest.submitJob(SUBMISSION_ID, COMPANY_NUMBER, documentUploadAttribute, binding, servletRequest);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.BAD_REQUEST));
+        assertThat(response.getBody().getStatus(), is(DocumentUploadJob.Status.REJECTED));
+        assertThat(response.getBody().getErrors(), contains("too big"));
+        verify(documentUploadJobService, never()).submit(any(), any());
+    }
+
+    @Test
+    void testSubmitJobWithNoFileSelected() throws IOException {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        BindingResult binding = mock(BindingResult.class);
+        when(documentUploadValidator.apply(documentUploadAttribute, binding)).thenReturn(new ArrayList<>());
+        when(resourceBundle.getString("no_file_selected.documentUpload")).thenReturn("no file");
+
+        ResponseEntity<DocumentUploadJob> response =
+            toTest.submitJob(SUBMISSION_ID, COMPANY_NUMBER, documentUploadAttribute, binding, servletRequest);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.BAD_REQUEST));
+        assertThat(response.getBody().getErrors(), contains("no file"));
+        verify(documentUploadJobService, never()).submit(any(), any());
+    }
+
+    @Test
+    void testSubmitJobWhenBusy() throws IOException {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        List<MultipartFile> selectedFiles = new ArrayList<>();
+        selectedFiles.add(new MockMultipartFile("data", "first.pdf", "application/pdf", "1".getBytes()));
+
+        BindingResult binding = mock(BindingResult.class);
+        when(documentUploadValidator.apply(documentUploadAttribute, binding)).thenReturn(selectedFiles);
+        when(documentUploadJobService.submit(SUBMISSION_ID, selectedFiles))
+            .thenThrow(new RejectedExecutionException("test"));
+        when(resourceBundle.getString("upload_job_busy.documentUpload")).thenReturn("busy");
+
+        ResponseEntity<DocumentUploadJob> response =
+            toTest.submitJob(SUBMISSION_ID, COMPANY_NUMBER, documentUploadAttribute, binding, servletRequest);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(response.getBody().getErrors(), contains("busy"));
+    }
+
+    @Test
+    void testSubmitJobWhenFilesCannotBeCopied() throws IOException {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        List<MultipartFile> selectedFiles = new ArrayList<>();
+        selectedFiles.add(new MockMultipartFile("data", "first.pdf", "application/pdf", "1".getBytes()));
+
+        BindingResult binding = mock(BindingResult.class);
+        when(documentUploadValidator.apply(documentUploadAttribute, binding)).thenReturn(selectedFiles);
+        when(documentUploadJobService.submit(SUBMISSION_ID, selectedFiles)).thenThrow(new IOException("test"));
+        when(resourceBundle.getString("upload_job_failed.documentUpload")).thenReturn("failed");
+
+        ResponseEntity<DocumentUploadJob> response =
+            toTest.submitJob(SUBMISSION_ID, COMPANY_NUMBER, documentUploadAttribute, binding, servletRequest);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThat(response.getBody().getErrors(), contains("failed"));
+    }
+
+    @Test
+    void testSubmitJobVerifySubmissionWithDifferentSignedInUser() throws IOException {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, "wrong.user@ch.gov.uk");
+
+        BindingResult binding = mock(BindingResult.class);
+
+        ResponseEntity<DocumentUploadJob> response =
+            toTest.submitJob(SUBMISSION_ID, COMPANY_NUMBER, documentUploadAttribute, binding, servletRequest);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.FORBIDDEN));
+        assertThat(response.getBody(), is(nullValue()));
+        verify(documentUploadJobService, never()).submit(any(), any());
+    }
+
+    @Test
+    void testGetJob() {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        DocumentUploadJob job = new DocumentUploadJob("job-id", SUBMISSION_ID, 1, DocumentUploadJob.Status.COMPLETE);
+        when(documentUploadJobService.getJob(SUBMISSION_ID, "job-id")).thenReturn(Optional.of(job));
+
+        ResponseEntity<DocumentUploadJob> response = toTest.getJob(SUBMISSION_ID, COMPANY_NUMBER, "job-id");
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getBody(), is(job));
+    }
+
+    @Test
+    void testGetJobNotFound() {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, SIGNED_IN_USER);
+
+        when(documentUploadJobService.getJob(SUBMISSION_ID, "job-id")).thenReturn(Optional.empty());
+
+        ResponseEntity<DocumentUploadJob> response = toTest.getJob(SUBMISSION_ID, COMPANY_NUMBER, "job-id");
+
+        assertThat(response.getStatusCode(), is(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void testGetJobVerifySubmissionWithDifferentSignedInUser() {
+        SubmissionApi submissionApi = createValidSubmissionApi(0);
+
+        expectSubmissionID(submissionApi);
+        expectSignedInUser(submissionApi, SUBMISSION_ID, "wrong.user@ch.gov.uk");
+
+        ResponseEntity<DocumentUploadJob> response = toTest.getJob(SUBMISSION_ID, COMPANY_NUMBER, "job-id");
+
+        assertThat(response.getStatusCode(), is(HttpStatus.FORBIDDEN));
+        verify(documentUploadJobService, never()).getJob(any(), any());
+    }
+
+    private void setUploader(final Executor executor, final UploadAdmissionControl uploadAdmissionControl) {
+        ReflectionTestUtils.setField(toTest, "concurrentFileUploader",
+            new ConcurrentFileUploader(fileTransferApiClient, executor, uploadAdmissionControl, logger));
+    }
+
+    private FileTransferApiClientResponse fileUploadResponse(final String fileId) {
+        FileTransferApiClientResponse response = new FileTransferApiClientResponse();
+        response.setFileId(fileId);
+        return response;
     }
 
     private void verifyDocumentAttribute(final SubmissionApi submissionApi, final String submissionID,
@@ -0,0 +1,62 @@
+package uk.gov.companieshouse.efs.web.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class PageModelAssemblerTest {
+
+    private static final long TIMEOUT_MS = 10000L;
+
+    private PageModelAssembler testAssembler;
+
+    @Test
+    void fetchAndAwait() {
+        testAssembler = new PageModelAssembler(Runnable::run, TIMEOUT_MS);
+        final PageModelAssembler.Assembly assembly = testAssembler.start();
+
+        assertThat(assembly.await(assembly.fetch(() -> "result")), is("result"));
+    }
+
+    @Test
+    void awaitWhenCallFails() {
+        final ResponseStatusException failure = new ResponseStatusException(HttpStatus.NOT_FOUND);
+        testAssembler = new PageModelAssembler(Runnable::run, TIMEOUT_MS);
+        final PageModelAssembler.Assembly assembly = testAssembler.start();
+        final CompletableFuture<String> pending = assembly.fetch(() -> {
+            throw failure;
+        });
+
+        final ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+            () -> assembly.await(pending));
+
+        assertThat(thrown, is(sameInstance(failure)));
+    }
+
+    @Test
+    void awaitWhenDeadlinePassed() {
+        testAssembler = new PageModelAssembler(task -> {}, 0L);
+        final PageModelAssembler.Assembly assembly = testAssembler.start();
+        final CompletableFuture<String> pending = assembly.fetch(() -> "result");
+
+        final ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+            () -> assembly.await(pending));
+
+        assertThat(thrown.getStatus(), is(HttpStatus.GATEWAY_TIMEOUT));
+        assertThat(pending.isCancelled(), is(true));
+    }
+
+    @Test
+    void awaitWhenAlreadyCompleteAfterDeadline() {
+        testAssembler = new PageModelAssembler(Runnable::run, 0L);
+        final PageModelAssembler.Assembly assembly = testAssembler.start();
+
+        assertThat(assembly.await(assembly.fetch(() -> "result")), is("result"));
+    }
+}
@@ -9,29 +9,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
-import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.submissions.CompanyApi;
+import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
 import uk.gov.companieshouse.api.model.efs.submissions.FileDetailApi;
 import uk.gov.companieshouse.api.model.efs.submissions.FileDetailListApi;
 import uk.gov.companieshouse.api.model.efs.submissions.FileListApi;
 import uk.gov.companieshouse.api.model.efs.submissions.PresenterApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
-import uk.gov.companieshouse.api.model.efs.submissions.SubmissionResponseApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionStatus;
 import uk.gov.companieshouse.efs.web.model.RemoveDocumentModel;
+import uk.gov.companieshouse.efs.web.service.filelist.impl.FileListChanges;
+import uk.gov.companieshouse.efs.web.service.filelist.impl.FileListServiceImpl;
 import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClientResponse;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -40,6 +42,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -60,17 +65,15 @@ class RemoveDocumentControllerImplTest extends BaseControllerImplTest {
     @Mock
     private FileTransferApiClientResponse fileTransferResponse;
 
-    @Mock
-    ApiResponse<SubmissionResponseApi> apiResponse;
-
-    @Captor
-    ArgumentCaptor<FileListApi> fileListCaptor;
+    private FileListChanges fileListChanges;
 
     @BeforeEach
     protected void setUp() {
         setUpHeaders();
-        testController = new RemoveDocumentControllerImpl(fileTransferApiClient, logger, sessionService,
-                apiClientService, removeDocumentAttribute);
+        fileListChanges = new FileListChanges();
+        testController = new RemoveDocumentControllerImpl(
+                new FileListServiceImpl(apiClientService, fileTransferApiClient, fileListChanges, logger), logger,
+                sessionService, apiClientService, removeDocumentAttribute);
     }
 
     @Test
@@ -229,18 +232,58 @@ class RemoveDocumentControllerImplTest extends BaseControllerImplTest {
         when(bindingResult.hasErrors()).thenReturn(false);
         when(removeDocumentAttribute.getRequired()).thenReturn("Y");
 
-        setupFileTransferApiResponse(HttpStatus.NO_CONTENT);
+        String viewName = testController.process(SUBMISSION_ID, COMPANY_NUMBER, fileIdToRemove,
+                removeDocumentAttribute, bindingResult, model, request, session);
 
-        setupApiResponse();
+        assertThat(viewName, isDocumentUploadUrl(viewName));
+        verify(apiClientService, never()).putFileList(any(), any());
+        verify(fileTransferApiClient, never()).delete(any());
+        Assertions.assertFalse(hasFileWithId(
+                new FileListApi(fileListChanges.applyTo(SUBMISSION_ID, toFiles(fileDetails))), FILE_ID1));
+    }
 
-        String viewName = testController.process(SUBMISSION_ID, COMPANY_NUMBER, fileIdToRemove,
+    @Test
+    void processWithFileNotYetSaved() {
+        SubmissionApi submission = createValidSubmissionApi(new FileDetailListApi());
+        when(apiClientService.getSubmission(SUBMISSION_ID))
+                .thenReturn(getSubmissionOkResponse(submission));
+        fileListChanges.add(SUBMISSION_ID, Collections.singletonList(new FileApi(FILE_ID1, "Test.txt", 1L)));
+
+        createValidSession();
+
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(removeDocumentAttribute.getRequired()).thenReturn("Y");
+
+        setupFileTransferApiResponse(HttpStatus.NO_CONTENT);
+
+        String viewName = testController.process(SUBMISSION_ID, COMPANY_NUMBER, FILE_ID1,
                 removeDocumentAttribute, bindingResult, model, request, session);
 
         assertThat(viewName, isDocumentUploadUrl(viewName));
-        verify(apiClientService).putFileList(eq(SUBMISSION_ID), fileListCaptor.capture());
+        verify(apiClientService, never()).putFileList(any(), any());
+        verify(fileTransferApiClient).delete(FILE_ID1);
+        assertThat(fileListChanges.take(SUBMISSION_ID), is(Optional.empty()));
+    }
 
-        FileListApi fileList = fileListCaptor.getValue();
-        Assertions.assertFalse(hasFileWithId(fileList, FILE_ID1));
+    @Test
+    void processWhenFileNotDeleted() {
+        SubmissionApi submission = createValidSubmissionApi(new FileDetailListApi());
+        when(apiClientService.getSubmission(SUBMISSION_ID))
+                .thenReturn(getSubmissionOkResponse(submission));
+        fileListChanges.add(SUBMISSION_ID, Collections.singletonList(new FileApi(FILE_ID1, "Test.txt", 1L)));
+
+        createValidSession();
+
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(removeDocumentAttribute.getRequired()).thenReturn("Y");
+
+        setupFileTransferApiResponse(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        String viewName = testController.process(SUBMISSION_ID, COMPANY_NUMBER, FILE_ID1,
+                removeDocumentAttribute, bindingResult, model, request, session);
+
+        assertThat(viewName, isDocumentUploadUrl(viewName));
+        verify(logger).errorContext(eq(SUBMISSION_ID), contains(FILE_ID1), isNull(), isNull());
     }
 
     private static Stream<Arguments> fileRemoveArgumentSource() {
@@ -267,11 +310,10 @@ class RemoveDocumentControllerImplTest extends BaseControllerImplTest {
         when(fileTransferApiClient.delete(FILE_ID1)).thenReturn(fileTransferResponse);
     }
 
-    private void setupApiResponse() {
-        when(apiClientService.putFileList(eq(SUBMISSION_ID), any(FileListApi.class)))
-                .thenReturn(apiResponse);
-        when(apiResponse.getErrors()).thenReturn(Collections.emptyList());
-        when(apiResponse.getStatusCode()).thenReturn(200);
+    private static List<FileApi> toFiles(FileDetailListApi fileDetails) {
+        return fileDetails.getList().stream()
+                .map(file -> new FileApi(file.getFileId(), file.getFileName(), file.getFileSize()))
+                .collect(Collectors.toList());
     }
 
     private boolean isDocumentUploadUrl(String url) {
@@ -1,9 +1,10 @@
 package uk.gov.companieshouse.efs.web.formtemplates.service.api.impl;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
-import static uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTemplateControllerImplTest.CAT_TOP_LEVEL;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -13,23 +14,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.efs.PrivateEfsResourceHandler;
 import uk.gov.companieshouse.api.handler.efs.formtemplates.PrivateEfsFormTemplatesResourceHandler;
-import uk.gov.companieshouse.api.handler.efs.formtemplates.request.PrivateEfsFormTemplateGetResourceHandler;
-import uk.gov.companieshouse.api.handler.efs.formtemplates.request.PrivateEfsFormTemplatesGetByCategoryResourceHandler;
 import uk.gov.companieshouse.api.handler.efs.formtemplates.request.PrivateEfsFormTemplatesGetResourceHandler;
-import uk.gov.companieshouse.api.handler.efs.formtemplates.request.PrivateFormTemplateGet;
 import uk.gov.companieshouse.api.handler.efs.formtemplates.request.PrivateFormTemplateListGet;
-import uk.gov.companieshouse.api.handler.efs.formtemplates.request.PrivateFormTemplateListGetByCategory;
 import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateListApi;
+import uk.gov.companieshouse.efs.web.configuration.ApiGuardProperties;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.api.guard.ApiCallGuard;
 import uk.gov.companieshouse.efs.web.service.api.impl.BaseApiClientServiceImpl;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogue;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogueService;
 import uk.gov.companieshouse.logging.Logger;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +42,8 @@ class FormTemplateServiceImplTest {
     @Mock
     private ApiClientService apiClientService;
     @Mock
+    private TemplateCatalogueService templateCatalogueService;
+    @Mock
     private Logger logger;
     @Mock
     private InternalApiClient privateApiClient;
@@ -51,14 +55,6 @@ class FormTemplateServiceImplTest {
     private PrivateEfsFormTemplatesGetResourceHandler formTemplatesGetResourceHandler;
     @Mock
     private PrivateFormTemplateListGet formTemplatesGet;
-    @Mock
-    private PrivateEfsFormTemplateGetResourceHandler formTemplateGetResourceHandler;
-    @Mock
-    private PrivateFormTemplateGet formTemplateGet;
-    @Mock
-    private PrivateEfsFormTemplatesGetByCategoryResourceHandler formTemplatesGetByCategoryResourceHandler;
-    @Mock
-    private PrivateFormTemplateListGetByCategory formTemplatesGetByCategory;
 
     FormTemplateApi formTemplateApi = new FormTemplateApi("CC01", "Test01", "CC03", "CC01", true, true, null);
     FormTemplateApi formTemplateApi2 = new FormTemplateApi("O/C STAY", "O/C STAY", "LIQ", "", true, true, null);
@@ -66,10 +62,8 @@ class FormTemplateServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        testService = new FormTemplateServiceImpl(apiClientService, logger);
-
-        when(apiClientService.getApiClient()).thenReturn(privateApiClient);
-        when(privateApiClient.privateEfsResourceHandler()).thenReturn(resourceHandler);
+        testService = new FormTemplateServiceImpl(apiClientService, templateCatalogueService,
+            new ApiCallGuard(new ApiGuardProperties(), logger), logger);
     }
 
     @Test
@@ -77,6 +71,8 @@ class FormTemplateServiceImplTest {
         final ApiResponse<FormTemplateListApi> expected = buildApiResponseOK(
                 new FormTemplateListApi(Arrays.asList(formTemplateApi)));
 
+        when(apiClientService.getApiClient()).thenReturn(privateApiClient);
+        when(privateApiClient.privateEfsResourceHandler()).thenReturn(resourceHandler);
         when(resourceHandler.formTemplates()).thenReturn(formTemplatesResourceHandler);
         when(formTemplatesResourceHandler.formTemplates()).thenReturn(
                 formTemplatesGetResourceHandler);
@@ -91,76 +87,47 @@ class FormTemplateServiceImplTest {
     }
 
     @Test
-    void getFormTemplate() throws ApiErrorResponseException, URIValidationException {
-
-        final ApiResponse<FormTemplateApi> expected = buildApiResponseOK(
-                formTemplateApi);
-
-        when(resourceHandler.formTemplates()).thenReturn(formTemplatesResourceHandler);
-        when(formTemplatesResourceHandler.formTemplate()).thenReturn(
-                formTemplateGetResourceHandler);
-        when(formTemplateGetResourceHandler.get(
-            BaseApiClientServiceImpl.ROOT_URI + FormTemplateServiceImpl.FORM_TEMPLATE_FRAGMENT + "?type="
-                + formTemplateApi.getFormType())).thenReturn(formTemplateGet);
-        when(formTemplateGet.execute()).thenReturn(expected);
+    void getFormTemplate() {
+        when(templateCatalogueService.getCatalogue()).thenReturn(catalogue());
 
         final ApiResponse<FormTemplateApi> result = testService.getFormTemplate(formTemplateApi.getFormType());
 
-        assertThat(result, is(expected));
+        assertThat(result.getStatusCode(), is(HttpStatus.OK.value()));
+        assertThat(result.getData(), is(formTemplateApi));
     }
 
     @Test
-    void getFormTemplateContainingSlash() throws ApiErrorResponseException, URIValidationException {
-
-        final ApiResponse<FormTemplateApi> expected = buildApiResponseOK(formTemplateApi2);
-
-        when(resourceHandler.formTemplates()).thenReturn(formTemplatesResourceHandler);
-        when(formTemplatesResourceHandler.formTemplate()).thenReturn(formTemplateGetResourceHandler);
-        when(formTemplateGetResourceHandler.get(
-            BaseApiClientServiceImpl.ROOT_URI + FormTemplateServiceImpl.FORM_TEMPLATE_FRAGMENT + "?type=O/C%20STAY"))
-            .thenReturn(formTemplateGet);
-        when(formTemplateGet.execute()).thenReturn(expected);
+    void getFormTemplateContainingSlash() {
+        when(templateCatalogueService.getCatalogue()).thenReturn(catalogue());
 
         final ApiResponse<FormTemplateApi> result = testService.getFormTemplate(formTemplateApi2.getFormType());
 
-        assertThat(result, is(expected));
+        assertThat(result.getData(), is(formTemplateApi2));
     }
 
     @Test
-    void getFormTemplateContainingAmpersand() throws ApiErrorResponseException, URIValidationException {
-
-        final ApiResponse<FormTemplateApi> expected = buildApiResponseOK(formTemplateApi3);
+    void getFormTemplateWhenNotFound() {
+        when(templateCatalogueService.getCatalogue()).thenReturn(catalogue());
 
-        when(resourceHandler.formTemplates()).thenReturn(formTemplatesResourceHandler);
-        when(formTemplatesResourceHandler.formTemplate()).thenReturn(formTemplateGetResourceHandler);
-        when(formTemplateGetResourceHandler.get(
-            BaseApiClientServiceImpl.ROOT_URI + FormTemplateServiceImpl.FORM_TEMPLATE_FRAGMENT + "?type=O%26C%20STAY"))
-            .thenReturn(formTemplateGet);
-        when(formTemplateGet.execute()).thenReturn(expected);
-
-        final ApiResponse<FormTemplateApi> result = testService.getFormTemplate(formTemplateApi3.getFormType());
+        final ResponseStatusException exception =
+            assertThrows(ResponseStatusException.class, () -> testService.getFormTemplate("UNKNOWN"));
 
-        assertThat(result, is(expected));
+        assertThat(exception.getStatus(), is(HttpStatus.NOT_FOUND));
     }
 
     @Test
-    void getFormTemplatesByCategory() throws ApiErrorResponseException, URIValidationException {
-        final ApiResponse<FormTemplateListApi> expected =
-            buildApiResponseOK(new FormTemplateListApi(Arrays.asList(formTemplateApi, formTemplateApi2)));
+    void getFormTemplatesByCategory() {
+        when(templateCatalogueService.getCatalogue()).thenReturn(catalogue());
 
-        when(resourceHandler.formTemplates()).thenReturn(formTemplatesResourceHandler);
-        when(formTemplatesResourceHandler.formTemplatesByCategory())
-            .thenReturn(formTemplatesGetByCategoryResourceHandler);
-        when(formTemplatesGetByCategoryResourceHandler.get(BaseApiClientServiceImpl.ROOT_URI
-                + FormTemplateServiceImpl.FORM_TEMPLATES_FRAGMENT
-                + "?category="
-                + CAT_TOP_LEVEL.getCategoryType())).thenReturn(formTemplatesGetByCategory);
-        when(formTemplatesGetByCategory.execute()).thenReturn(expected);
+        final ApiResponse<FormTemplateListApi> result = testService.getFormTemplatesByCategory("LIQ");
 
-        final ApiResponse<FormTemplateListApi> result =
-                testService.getFormTemplatesByCategory(CAT_TOP_LEVEL.getCategoryType());
+        assertThat(result.getStatusCode(), is(HttpStatus.OK.value()));
+        assertThat(result.getData().getList(), contains(formTemplateApi2, formTemplateApi3));
+    }
 
-        assertThat(result, is(expected));
+    private TemplateCatalogue catalogue() {
+        return TemplateCatalogue.of(Collections.emptyList(),
+            Arrays.asList(formTemplateApi, formTemplateApi2, formTemplateApi3));
     }
 
     private <T> ApiResponse<T> buildApiResponseOK(final T data) {
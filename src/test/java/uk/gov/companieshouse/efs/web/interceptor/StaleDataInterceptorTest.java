@@ -0,0 +1,44 @@
+package uk.gov.companieshouse.efs.web.interceptor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+import uk.gov.companieshouse.efs.web.cache.StaleDataMarker;
+
+class StaleDataInterceptorTest {
+
+    private StaleDataInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new StaleDataInterceptor();
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void postHandleWhenStale() {
+        request.setAttribute(StaleDataMarker.class.getName() + ".AGE", new AtomicLong(1000L));
+
+        interceptor.postHandle(request, response, new Object(), new ModelAndView());
+
+        assertThat(response.getHeader(HttpHeaders.WARNING), is(StaleDataInterceptor.STALE_WARNING));
+    }
+
+    @Test
+    void postHandleWhenNotStale() {
+        interceptor.postHandle(request, response, new Object(), new ModelAndView());
+
+        assertThat(response.getHeader(HttpHeaders.WARNING), is(nullValue()));
+    }
+}
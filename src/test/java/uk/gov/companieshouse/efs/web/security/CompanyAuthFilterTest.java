@@ -1,8 +1,12 @@
 package uk.gov.companieshouse.efs.web.security;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -29,6 +33,9 @@ import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
 import uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants;
 import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
+import uk.gov.companieshouse.efs.web.security.route.RequestRoute;
+import uk.gov.companieshouse.efs.web.security.route.RouteClassifier;
+import uk.gov.companieshouse.efs.web.security.validator.SessionAuthDecisionCache;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.session.Session;
@@ -77,8 +84,11 @@ class CompanyAuthFilterTest {
 
     private static class TestCompanyAuthFilter extends CompanyAuthFilter {
         public TestCompanyAuthFilter(final EnvironmentReader environmentReader, final ApiClientService apiClientService,
-            final FormTemplateService formTemplateService, final CategoryTemplateService categoryTemplateService) {
-            super(environmentReader, apiClientService, formTemplateService, categoryTemplateService);
+            final FormTemplateService formTemplateService, final CategoryTemplateService categoryTemplateService,
+            final RouteClassifier routeClassifier, final SessionAuthDecisionCache decisionCache,
+            final boolean useFineGrainedScope) {
+            super(environmentReader, apiClientService, formTemplateService, categoryTemplateService,
+                routeClassifier, decisionCache, useFineGrainedScope);
         }
 
         @Override
@@ -89,6 +99,8 @@ class CompanyAuthFilterTest {
 
     private TestCompanyAuthFilter testCompanyAuthFilter;
 
+    private RouteClassifier routeClassifier;
+
     @Mock
     private Session session;
 
@@ -120,7 +132,9 @@ class CompanyAuthFilterTest {
     @BeforeEach
     void setUp() {
         expectEnvironmentVariables();
-        testCompanyAuthFilter = new TestCompanyAuthFilter(environmentReader, apiClientService, formTemplateService, categoryTemplateService);
+        routeClassifier = new RouteClassifier();
+        testCompanyAuthFilter = new TestCompanyAuthFilter(environmentReader, apiClientService, formTemplateService,
+            categoryTemplateService, routeClassifier, new SessionAuthDecisionCache(60000L, 100L), false);
         spyFilter = spy(testCompanyAuthFilter);
         userProfile = new UserProfile();
         signInInfo = new SignInInfo();
@@ -151,6 +165,8 @@ class CompanyAuthFilterTest {
         testCompanyAuthFilter.doFilter(request, response, chain);
 
         verifyCompanyAuthIsSkipped();
+        verifyNoInteractions(apiClientService, formTemplateService, categoryTemplateService);
+        assertThat(routeClassifier.getCount(RequestRoute.RouteClass.NO_COMPANY), is(1L));
     }
 
     @Test
@@ -160,6 +176,9 @@ class CompanyAuthFilterTest {
         testCompanyAuthFilter.doFilter(request, response, chain);
 
         verifyCompanyAuthIsSkipped();
+        verify(request, never()).getRequestURI();
+        verifyNoInteractions(apiClientService, formTemplateService, categoryTemplateService);
+        assertThat(routeClassifier.getCount(RequestRoute.RouteClass.NOT_GET), is(1L));
     }
 
     @Test
@@ -293,12 +312,20 @@ class CompanyAuthFilterTest {
         signInInfo.setCompanyNumber(OTHER_COMPANY_NUMBER);
         userProfile.setScope(fineGrainedUserScope ? MATCHING_FINE_GRAINED_SCOPE : MATCHING_LEGACY_SCOPE);
         expectCategoryAndFormLookup(submission, INSOLVENCY_WITH_AUTH_REQUIRED_FORM_TEMPLATE);
-        expectRequestUrlLookup();
+        if (!fineGrainedUserScope) {
+            expectRequestUrlLookup();
+        }
         when(request.getAttribute(SessionHandler.CHS_SESSION_REQUEST_ATT_KEY)).thenReturn(session);
 
         testCompanyAuthFilter.doFilter(request, response, chain);
 
-        verifyCompanyAuthIsNotSkipped();
+        // only the fine grained scope authorises the user when the fine grained scope model is used
+        if (fineGrainedUserScope) {
+            verifyCompanyAuthIsSkipped();
+            verify(response, never()).sendRedirect(anyString());
+        } else {
+            verifyCompanyAuthIsNotSkipped();
+        }
     }
 
     @ParameterizedTest(name = "Fine grained scopes={0}")
@@ -463,7 +490,7 @@ class CompanyAuthFilterTest {
     private void expectFineGrainedScope() {
         when(environmentReader.getOptionalString("USE_FINE_GRAIN_SCOPES_MODEL")).thenReturn("1");
         testCompanyAuthFilter = new TestCompanyAuthFilter(environmentReader, apiClientService, formTemplateService,
-            categoryTemplateService);
+            categoryTemplateService, routeClassifier, new SessionAuthDecisionCache(60000L, 100L), true);
         spyFilter = spy(testCompanyAuthFilter);
     }
 }
\ No newline at end of file
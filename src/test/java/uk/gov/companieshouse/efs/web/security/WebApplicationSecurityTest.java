@@ -15,6 +15,8 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
 import uk.gov.companieshouse.auth.filter.HijackFilter;
 import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
+import uk.gov.companieshouse.efs.web.security.route.RouteClassifier;
+import uk.gov.companieshouse.efs.web.security.validator.SessionAuthDecisionCache;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.session.handler.SessionHandler;
@@ -33,6 +35,10 @@ class WebApplicationSecurityTest {
     @Mock
     private EnvironmentReader environmentReader;
     @Mock
+    private RouteClassifier routeClassifier;
+    @Mock
+    private SessionAuthDecisionCache decisionCache;
+    @Mock
     private HttpSecurity httpSecurity;
 
     static final String randomEncryptionKey = "3T3L6iAEFscijkJZnOK0bYu/pH9jZeJqC1j59ZROKu8=";
@@ -91,7 +97,7 @@ class WebApplicationSecurityTest {
     void companyAuthFilterSecurityConfigTest() {
 
         final WebApplicationSecurity webApplicationSecurity = new WebApplicationSecurity(
-                apiClientService, formTemplateService, categoryTemplateService, environmentReader);
+                apiClientService, formTemplateService, categoryTemplateService, environmentReader, routeClassifier, decisionCache);
 
         final WebApplicationSecurity.CompanyAuthFilterSecurityConfig testConfig =
                 webApplicationSecurity.new CompanyAuthFilterSecurityConfig();
@@ -116,7 +122,7 @@ class WebApplicationSecurityTest {
     @Test
     void efsWebResourceFilterConfigTest() {
         final WebApplicationSecurity webApplicationSecurity = new WebApplicationSecurity(
-                apiClientService, formTemplateService, categoryTemplateService, environmentReader);
+                apiClientService, formTemplateService, categoryTemplateService, environmentReader, routeClassifier, decisionCache);
 
         final WebApplicationSecurity.EfsWebResourceFilterConfig testConfig =
                 webApplicationSecurity.new EfsWebResourceFilterConfig();
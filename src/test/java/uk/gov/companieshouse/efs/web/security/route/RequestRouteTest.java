@@ -0,0 +1,80 @@
+package uk.gov.companieshouse.efs.web.security.route;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RequestRouteTest {
+
+    private static final String SUBMISSION_ID = "5f8422b326e7b618e25684da";
+    private static final String COMPANY_NUMBER = "12345678";
+
+    @Mock
+    private HttpServletRequest request;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "/details", "/document-upload?x=1"})
+    void ofCompanyPage(final String suffix) {
+        when(request.getMethod()).thenReturn("get");
+        when(request.getRequestURI())
+            .thenReturn("/efs-submission/" + SUBMISSION_ID + "/company/" + COMPANY_NUMBER + suffix);
+
+        final RequestRoute route = RequestRoute.of(request);
+
+        assertThat(route.getRouteClass(), is(RequestRoute.RouteClass.COMPANY_PAGE));
+        assertThat(route.mayRequireAuth(), is(true));
+        assertThat(route.getSubmissionId(), is(Optional.of(SUBMISSION_ID)));
+        assertThat(route.getCompanyNumber(), is(Optional.of(COMPANY_NUMBER)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "/efs-submission/guidance", "/efs-submission/" + SUBMISSION_ID + "/company/1234567",
+        "/efs-submission/" + SUBMISSION_ID + "0/company/" + COMPANY_NUMBER,
+        " /efs-submission/" + SUBMISSION_ID + "/company/" + COMPANY_NUMBER})
+    void ofNoCompany(final String uri) {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn(uri);
+
+        final RequestRoute route = RequestRoute.of(request);
+
+        assertThat(route.getRouteClass(), is(RequestRoute.RouteClass.NO_COMPANY));
+        assertThat(route.mayRequireAuth(), is(false));
+        assertThat(route.getSubmissionId(), is(Optional.empty()));
+        assertThat(route.getCompanyNumber(), is(Optional.empty()));
+    }
+
+    @Test
+    void ofNullUri() {
+        when(request.getMethod()).thenReturn("GET");
+
+        assertThat(RequestRoute.of(request).getRouteClass(), is(RequestRoute.RouteClass.NO_COMPANY));
+    }
+
+    @Test
+    void ofNotGetDoesNotReadUri() {
+        when(request.getMethod()).thenReturn("POST");
+
+        final RequestRoute route = RequestRoute.of(request);
+
+        assertThat(route.getRouteClass(), is(RequestRoute.RouteClass.NOT_GET));
+        assertThat(route.mayRequireAuth(), is(false));
+        verify(request, never()).getRequestURI();
+    }
+
+    @Test
+    void ofNullRequest() {
+        assertThat(RequestRoute.of(null).getRouteClass(), is(RequestRoute.RouteClass.NOT_GET));
+    }
+}
@@ -0,0 +1,60 @@
+package uk.gov.companieshouse.efs.web.security.route;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RouteClassifierTest {
+
+    private static final String COMPANY_PAGE_URI = "/efs-submission/5f8422b326e7b618e25684da/company/12345678";
+
+    @Mock
+    private HttpServletRequest request;
+
+    private RouteClassifier testClassifier;
+
+    @BeforeEach
+    void setUp() {
+        testClassifier = new RouteClassifier();
+    }
+
+    @Test
+    void classifyCountsByRouteClass() {
+        when(request.getMethod()).thenReturn("GET", "GET", "POST");
+        when(request.getRequestURI()).thenReturn(COMPANY_PAGE_URI, "/efs-submission/guidance");
+
+        assertThat(testClassifier.classify(request).getRouteClass(), is(RequestRoute.RouteClass.COMPANY_PAGE));
+        assertThat(testClassifier.classify(request).getRouteClass(), is(RequestRoute.RouteClass.NO_COMPANY));
+        assertThat(testClassifier.classify(request).getRouteClass(), is(RequestRoute.RouteClass.NOT_GET));
+
+        assertThat(testClassifier.getCount(RequestRoute.RouteClass.COMPANY_PAGE), is(1L));
+        assertThat(testClassifier.getCount(RequestRoute.RouteClass.NO_COMPANY), is(1L));
+        assertThat(testClassifier.getCount(RequestRoute.RouteClass.NOT_GET), is(1L));
+    }
+
+    @Test
+    void bindToRegistersCounterPerRouteClass() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        testClassifier.bindTo(registry);
+        when(request.getMethod()).thenReturn("POST");
+        testClassifier.classify(request);
+        testClassifier.classify(request);
+
+        assertThat(registry.get(RouteClassifier.ROUTE_METRIC).tag("route", "not_get").tag("checked", "false")
+            .functionCounter().count(), is(2.0));
+        assertThat(registry.get(RouteClassifier.ROUTE_METRIC).tag("route", "company_page").tag("checked", "true")
+            .functionCounter().count(), is(0.0));
+        assertThat(registry.get(RouteClassifier.ROUTE_METRIC).tag("route", "no_company")
+            .functionCounter().count(), is(0.0));
+    }
+}
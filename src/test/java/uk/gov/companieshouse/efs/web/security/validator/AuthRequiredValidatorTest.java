@@ -7,25 +7,20 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import javax.servlet.http.HttpServletRequest;
-
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AuthRequiredValidatorTest {
     private TestAuthRequiredValidator testValidator;
 
     @Mock
-    private Validator<HttpServletRequest> nextValidator;
-
-    @Mock
-    HttpServletRequest request;
+    private Validator<ValidatorResourceProvider> nextValidator;
 
     @Mock
     ValidatorResourceProvider provider;
@@ -34,18 +29,18 @@ class AuthRequiredValidatorTest {
     void validateWhenHasNextValidator() {
         testValidator = new TestAuthRequiredValidator(true);
         testValidator.setNext(nextValidator);
-        testValidator.validate(request);
+        testValidator.validate(provider);
 
-        verify(nextValidator).validate(request);
+        verify(nextValidator).validate(provider);
     }
 
     @Test
     void dontCallNextValidatorWhenValidationFails() {
         testValidator = new TestAuthRequiredValidator(false);
         testValidator.setNext(nextValidator);
-        testValidator.validate(request);
+        testValidator.validate(provider);
 
-        verify(nextValidator, never()).validate(request);
+        verify(nextValidator, never()).validate(provider);
     }
 
     @ParameterizedTest
@@ -53,46 +48,36 @@ class AuthRequiredValidatorTest {
     void validateWhenNoNextValidator(boolean isValid) {
         testValidator = new TestAuthRequiredValidator(isValid);
 
-        assertEquals(isValid, testValidator.validate(request));
+        assertEquals(isValid, testValidator.validate(provider));
     }
 
     @Test
     void setNextAppendsToLast() {
-        Validator<HttpServletRequest> validator1 = spy(new TestAuthRequiredValidator(true));
-        Validator<HttpServletRequest> validator2 = spy(new TestAuthRequiredValidator(true));
+        Validator<ValidatorResourceProvider> validator1 = spy(new TestAuthRequiredValidator(true));
+        Validator<ValidatorResourceProvider> validator2 = spy(new TestAuthRequiredValidator(true));
 
         testValidator = new TestAuthRequiredValidator(true);
-        Validator<HttpServletRequest> tv = testValidator
+        Validator<ValidatorResourceProvider> tv = testValidator
                 .setNext(validator1)
                 .setNext(validator2);
 
 
         assertThat(tv, sameInstance(testValidator));
 
-        tv.validate(request);
+        tv.validate(provider);
 
-        verify(validator1).validate(request);
+        verify(validator1).validate(provider);
         verify(validator1).setNext(validator2);
-        verify(validator2).validate(request);
-    }
-
-    @Test
-    void inputNotSetWhenResourceProverAlreadyHasIt() {
-        testValidator = new TestAuthRequiredValidator(true);
-        when(provider.getInput()).thenReturn(request);
-
-        testValidator.validate(request);
-
-        verify(provider, never()).setInput(request);
+        verify(validator2).validate(provider);
     }
 
     @Test
-    void inputNotSetWhenResourceProviderNull() {
+    void notValidWhenResourceProviderNull() {
         testValidator = new TestAuthRequiredValidator(true);
-        testValidator.resourceProvider = null;
+        testValidator.setNext(nextValidator);
 
-        testValidator.validate(request);
-        verify(provider, never()).setInput(request);
+        assertFalse(testValidator.validate(null));
+        verify(nextValidator, never()).validate(null);
     }
 
 
@@ -101,12 +86,11 @@ class AuthRequiredValidatorTest {
 
 
         public TestAuthRequiredValidator(boolean returns) {
-            super(provider);
             this.returns = returns;
         }
 
         @Override
-        public boolean requiresAuth() {
+        public boolean requiresAuth(ValidatorResourceProvider resourceProvider) {
             return returns;
         }
     }
@@ -10,7 +10,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 
-import javax.servlet.http.HttpServletRequest;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
@@ -28,26 +27,22 @@ class FormTemplateValidatorTest {
     ValidatorResourceProvider resourceProvider;
 
     @Mock
-    HttpServletRequest request;
-
-    @Mock
-    Validator<HttpServletRequest> nextValidator;
+    Validator<ValidatorResourceProvider> nextValidator;
 
     @Mock
     FormTemplateApi formTemplate;
 
     @BeforeEach
     void setUp() {
-        testFormTemplateValidator = spy(new FormTemplateRequiredValidator(
-                resourceProvider));
+        testFormTemplateValidator = spy(new FormTemplateRequiredValidator());
     }
 
     @Test
     void falseWhenNoForm() {
         when(resourceProvider.getForm()).thenReturn(Optional.empty());
 
-        testFormTemplateValidator.validate(request);
-        verify(nextValidator, never()).validate(request);
+        testFormTemplateValidator.validate(resourceProvider);
+        verify(nextValidator, never()).validate(resourceProvider);
     }
 
     @ParameterizedTest
@@ -56,7 +51,7 @@ class FormTemplateValidatorTest {
         when(resourceProvider.getForm()).thenReturn(Optional.of(formTemplate));
         when(formTemplate.isAuthenticationRequired()).thenReturn(formRequiresAuth);
 
-        boolean requiresAuth = testFormTemplateValidator.validate(request);
+        boolean requiresAuth = testFormTemplateValidator.validate(resourceProvider);
         assertEquals(formRequiresAuth, requiresAuth);
     }
 }
\ No newline at end of file
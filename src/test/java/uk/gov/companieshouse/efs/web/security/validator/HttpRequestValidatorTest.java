@@ -22,7 +22,7 @@ class HttpRequestValidatorTest {
     private HttpRequestRequiredValidator testValidator;
 
     @Mock
-    Validator<HttpServletRequest> nextValidator;
+    Validator<ValidatorResourceProvider> nextValidator;
 
     @Mock
     HttpServletRequest request;
@@ -33,7 +33,8 @@ class HttpRequestValidatorTest {
 
     @BeforeEach
     void setUp() {
-        resourceProvider = new ValidatorResourceProvider(null, null);
+        resourceProvider = new ValidatorResourceProvider(request, null, null);
+        testValidator = new HttpRequestRequiredValidator();
     }
 
     @ParameterizedTest
@@ -41,16 +42,14 @@ class HttpRequestValidatorTest {
     void passingValidator(String method, String path) {
         expectMethod(method);
         when(request.getRequestURI()).thenReturn(path);
-        when(nextValidator.validate(request)).thenReturn(true);
+        when(nextValidator.validate(resourceProvider)).thenReturn(true);
 
-
-        testValidator = new HttpRequestRequiredValidator(resourceProvider);
         testValidator.setNext(nextValidator);
 
-        testValidator.validate(request);
+        testValidator.validate(resourceProvider);
 
         // validate must be true to call the next validator in the chain
-        verify(nextValidator).validate(request);
+        verify(nextValidator).validate(resourceProvider);
     }
 
     private static Stream<Arguments> provideValidConditions() {
@@ -67,11 +66,9 @@ class HttpRequestValidatorTest {
             when(request.getRequestURI()).thenReturn(path);
         }
 
-
-        testValidator = new HttpRequestRequiredValidator(resourceProvider);
         testValidator.setNext(nextValidator);
 
-        boolean needsAuth = testValidator.validate(request);
+        boolean needsAuth = testValidator.validate(resourceProvider);
         assertFalse(needsAuth);
 
         // validate must be true to call the next validator in the chain
@@ -91,9 +88,7 @@ class HttpRequestValidatorTest {
 
     @Test
     void nullInput() {
-        testValidator = new HttpRequestRequiredValidator(new ValidatorResourceProvider(null, null));
-
-        boolean needsAuth = testValidator.validate(null);
+        boolean needsAuth = testValidator.validate(new ValidatorResourceProvider(null, null, null));
         assertFalse(needsAuth);
 
         // validate must be true to call the next validator in the chain
@@ -103,8 +98,7 @@ class HttpRequestValidatorTest {
 
     @Test
     void nullResourceProvider() {
-        testValidator = new HttpRequestRequiredValidator(null);
-        boolean needsAuth = testValidator.validate(request);
+        boolean needsAuth = testValidator.validate(null);
         assertFalse(needsAuth);
 
         verifyNoMoreInteractions(nextValidator);
@@ -0,0 +1,88 @@
+package uk.gov.companieshouse.efs.web.security.validator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.session.model.SignInInfo;
+import uk.gov.companieshouse.session.model.UserProfile;
+
+@ExtendWith(MockitoExtension.class)
+class SessionAuthDecisionCacheTest {
+
+    private static final String SESSION_ID = "SESSION_ID";
+    private static final String COMPANY_NUMBER = "00006400";
+    private static final String FORM_CATEGORY = "CC";
+
+    @Mock
+    private SignInInfo signInInfo;
+    @Mock
+    private UserProfile userProfile;
+
+    private SessionAuthDecisionCache testCache;
+    private AtomicInteger decisions;
+    private BooleanSupplier decide;
+
+    @BeforeEach
+    void setUp() {
+        testCache = new SessionAuthDecisionCache(60000L, 100L);
+        decisions = new AtomicInteger();
+        decide = () -> decisions.incrementAndGet() % 2 == 1;
+    }
+
+    @Test
+    void getReusesDecisionForSameSessionCompanyAndCategory() {
+        assertThat(testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide), is(true));
+        assertThat(testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide), is(true));
+
+        assertThat(decisions.get(), is(1));
+    }
+
+    @Test
+    void getDecidesPerCompanyCategoryAndSession() {
+        testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide);
+        testCache.get(SESSION_ID, signInInfo, "11223344", FORM_CATEGORY, decide);
+        testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, "INS", decide);
+        testCache.get("OTHER_SESSION", signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide);
+
+        assertThat(decisions.get(), is(4));
+    }
+
+    @Test
+    void getDecidesAgainWhenSignInInfoChanges() {
+        when(signInInfo.getUserProfile()).thenReturn(userProfile);
+        when(userProfile.getScope()).thenReturn("/company/" + COMPANY_NUMBER);
+
+        testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide);
+        testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide);
+
+        when(userProfile.getScope()).thenReturn("/company/11223344");
+
+        assertThat(testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide), is(false));
+        assertThat(decisions.get(), is(2));
+    }
+
+    @Test
+    void getDecidesAgainOnceExpiredEvenIfSessionIsActive() {
+        final AtomicLong nanos = new AtomicLong();
+        testCache = new SessionAuthDecisionCache(60000L, 100L, nanos::get);
+
+        testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(40));
+        testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide);
+        assertThat(decisions.get(), is(1));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        testCache.get(SESSION_ID, signInInfo, COMPANY_NUMBER, FORM_CATEGORY, decide);
+        assertThat(decisions.get(), is(2));
+    }
+}
@@ -7,12 +7,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 import uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants;
 import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.session.Session;
 import uk.gov.companieshouse.session.model.SignInInfo;
 import uk.gov.companieshouse.session.model.UserProfile;
 
@@ -37,6 +37,7 @@ class UserRequiredValidatorTest {
     ValidatorResourceProvider resourceProvider;
 
     static final String COMPANY_NUMBER = "00006400";
+    static final String SESSION_ID = "SESSION_ID";
 
     @Mock
     SignInInfo signInInfo;
@@ -58,16 +59,22 @@ class UserRequiredValidatorTest {
     @Mock
     private ApiResponse<Boolean> apiResp;
 
+    @Mock
+    Session session;
+
+    SessionAuthDecisionCache decisionCache;
+
     @BeforeEach
     void setUp() {
-        testUserValidator = new UserRequiredValidator(resourceProvider, categoryTemplateService);
+        decisionCache = new SessionAuthDecisionCache(60000L, 100L);
+        testUserValidator = new UserRequiredValidator(categoryTemplateService, decisionCache, false);
     }
 
     @Test
     void isNotOnAllowListWhenNotInsolvency() {
         expectTopLevelCategory(CategoryTypeConstants.ARTICLES);
 
-        assertTrue(testUserValidator.isValid());
+        assertTrue(testUserValidator.isValid(resourceProvider));
 
         // Fails before checking if on allow list
         verify(resourceProvider, never()).getApiClientService();
@@ -80,7 +87,7 @@ class UserRequiredValidatorTest {
 
         when(resourceProvider.getApiClientService()).thenReturn(apiClientService);
 
-        assertTrue(testUserValidator.requiresAuth());
+        assertTrue(testUserValidator.requiresAuth(resourceProvider));
 
         verify(apiClientService).isOnAllowList(EMAIL);
     }
@@ -94,7 +101,7 @@ class UserRequiredValidatorTest {
         when(apiClientService.isOnAllowList(EMAIL)).thenReturn(apiResp);
         when(apiResp.getData()).thenReturn(true);
 
-        assertFalse(testUserValidator.requiresAuth());
+        assertFalse(testUserValidator.requiresAuth(resourceProvider));
     }
 
     @Test
@@ -104,7 +111,7 @@ class UserRequiredValidatorTest {
         when(resourceProvider.getApiClientService()).thenReturn(apiClientService);
         when(resourceProvider.getSignInInfo()).thenReturn(Optional.empty());
 
-        testUserValidator.isValid();
+        testUserValidator.isValid(resourceProvider);
 
         verify(apiClientService, never()).isOnAllowList(anyString());
     }
@@ -113,7 +120,7 @@ class UserRequiredValidatorTest {
     void notAuthorisedWhenNoCompanyNumber() {
         when(resourceProvider.getCompanyNumber()).thenReturn(Optional.empty());
 
-        assertTrue(testUserValidator.isValid());
+        assertTrue(testUserValidator.isValid(resourceProvider));
 
         verify(resourceProvider, never()).getSignInInfo();
     }
@@ -123,7 +130,7 @@ class UserRequiredValidatorTest {
         expectScopes(Collections.singletonList("INVALID_SCOPE"));
         when(resourceProvider.getCompanyNumber()).thenReturn(Optional.of(COMPANY_NUMBER));
 
-        boolean requiresAuth = testUserValidator.requiresAuth();
+        boolean requiresAuth = testUserValidator.requiresAuth(resourceProvider);
 
         assertTrue(requiresAuth);
         verify(resourceProvider, times(2)).getSignInInfo();
@@ -134,13 +141,11 @@ class UserRequiredValidatorTest {
     void authorisedWhenScopeValid(final boolean fineGrainedScopes) {
         final String scope = "/company/" + COMPANY_NUMBER + (fineGrainedScopes ? "/admin.write-full" : "");
 
-        if (fineGrainedScopes) {
-            ReflectionTestUtils.setField(testUserValidator, "useFineGrainedScope", "1");
-        }
+        testUserValidator = new UserRequiredValidator(categoryTemplateService, decisionCache, fineGrainedScopes);
         expectScopes(Collections.singletonList(scope));
         when(resourceProvider.getCompanyNumber()).thenReturn(Optional.of(COMPANY_NUMBER));
 
-        boolean requiresAuth = testUserValidator.requiresAuth();
+        boolean requiresAuth = testUserValidator.requiresAuth(resourceProvider);
 
         assertFalse(requiresAuth);
         verify(resourceProvider, times(2)).getSignInInfo();
@@ -152,7 +157,7 @@ class UserRequiredValidatorTest {
         when(resourceProvider.getCompanyNumber()).thenReturn(Optional.of(COMPANY_NUMBER));
         when(signInInfo.getCompanyNumber()).thenReturn(COMPANY_NUMBER);
 
-        boolean requiresAuth = testUserValidator.requiresAuth();
+        boolean requiresAuth = testUserValidator.requiresAuth(resourceProvider);
 
         assertFalse(requiresAuth);
         verify(resourceProvider).getSignInInfo();
@@ -164,16 +169,50 @@ class UserRequiredValidatorTest {
                 "/company/" + COMPANY_NUMBER + "/admin.write-full",
                 "https://account.companieshouse.gov.uk/user.write-full");
 
-        ReflectionTestUtils.setField(testUserValidator, "useFineGrainedScope", "1");
+        testUserValidator = new UserRequiredValidator(categoryTemplateService, decisionCache, true);
         expectScopes(scopes);
         when(resourceProvider.getCompanyNumber()).thenReturn(Optional.of(COMPANY_NUMBER));
 
-        boolean requiresAuth = testUserValidator.requiresAuth();
+        boolean requiresAuth = testUserValidator.requiresAuth(resourceProvider);
 
         assertFalse(requiresAuth);
         verify(resourceProvider, times(2)).getSignInInfo();
     }
 
+    @Test
+    void decisionReusedWithinSession() {
+        expectTopLevelCategory(CategoryTypeConstants.INSOLVENCY);
+        expectEmail();
+        when(resourceProvider.getChsSession()).thenReturn(Optional.of(session));
+        when(session.getCookieId()).thenReturn(SESSION_ID);
+        when(resourceProvider.getCompanyNumber()).thenReturn(Optional.of(COMPANY_NUMBER));
+        when(resourceProvider.getApiClientService()).thenReturn(apiClientService);
+        when(apiClientService.isOnAllowList(EMAIL)).thenReturn(apiResp);
+        when(apiResp.getData()).thenReturn(true);
+
+        assertFalse(testUserValidator.requiresAuth(resourceProvider));
+        assertFalse(testUserValidator.requiresAuth(resourceProvider));
+
+        verify(apiClientService).isOnAllowList(EMAIL);
+        verify(categoryTemplateService).getTopLevelCategory(FORM_CATEGORY);
+    }
+
+    @Test
+    void decisionMadeAgainWhenSignInInfoChanges() {
+        expectTopLevelCategory(CategoryTypeConstants.ARTICLES);
+        expectScopes(Collections.singletonList("INVALID_SCOPE"));
+        when(resourceProvider.getChsSession()).thenReturn(Optional.of(session));
+        when(session.getCookieId()).thenReturn(SESSION_ID);
+        when(resourceProvider.getCompanyNumber()).thenReturn(Optional.of(COMPANY_NUMBER));
+
+        assertTrue(testUserValidator.requiresAuth(resourceProvider));
+
+        when(userProfile.getScope()).thenReturn("/company/" + COMPANY_NUMBER);
+
+        assertFalse(testUserValidator.requiresAuth(resourceProvider));
+        verify(categoryTemplateService, times(2)).getTopLevelCategory(FORM_CATEGORY);
+    }
+
     private void expectUserProfile() {
         when(resourceProvider.getSignInInfo()).thenReturn(Optional.of(signInInfo));
         when(signInInfo.getUserProfile()).thenReturn(userProfile);
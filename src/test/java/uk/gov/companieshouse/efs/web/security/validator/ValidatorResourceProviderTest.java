@@ -11,6 +11,7 @@ import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
 import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
+import uk.gov.companieshouse.efs.web.security.route.RequestRoute;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
 import uk.gov.companieshouse.session.Session;
 import uk.gov.companieshouse.session.handler.SessionHandler;
@@ -21,8 +22,6 @@ import java.text.MessageFormat;
 import java.util.Objects;
 import java.util.Optional;
 
-import static org.hamcrest.Matchers.is;
-import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -76,8 +75,7 @@ class ValidatorResourceProviderTest {
 
     @BeforeEach
     void setUp() {
-        testResourceProvider = spy(new ValidatorResourceProvider(apiClientService, formTemplateService));
-        testResourceProvider.setInput(request);
+        testResourceProvider = spy(new ValidatorResourceProvider(request, apiClientService, formTemplateService));
     }
 
     @Test
@@ -86,7 +84,7 @@ class ValidatorResourceProviderTest {
                 "submission", submission);
 
         testResourceProvider.getSubmission();
-        verify(testResourceProvider, never()).getRequestPathMatcher();
+        verify(testResourceProvider, never()).getRoute();
     }
 
     @Test
@@ -95,13 +93,14 @@ class ValidatorResourceProviderTest {
         String companyNumber = "12345678";
         String url = MessageFormat.format(EFS_SUBMISSION_WITH_COMPANY,
                 submissionId, companyNumber);
+        when(request.getMethod()).thenReturn("GET");
         when(request.getRequestURI()).thenReturn(url);
 
         when(apiClientService.getSubmission(submissionId)).thenReturn(submissionResponse);
         when(submissionResponse.getData()).thenReturn(submission);
 
         testResourceProvider.getSubmission();
-        verify(testResourceProvider).getRequestPathMatcher();
+        verify(testResourceProvider).getRoute();
         verify(apiClientService).getSubmission(submissionId);
 
         SubmissionApi submission = (SubmissionApi) ReflectionTestUtils.getField(
@@ -111,19 +110,19 @@ class ValidatorResourceProviderTest {
 
     @Test
     void getSubmissionWhenNoExistingSubmissionButUrlInvalid() {
+        when(request.getMethod()).thenReturn("GET");
         when(request.getRequestURI()).thenReturn("");
 
 
         testResourceProvider.getSubmission();
-        verify(testResourceProvider).getRequestPathMatcher();
+        verify(testResourceProvider).getRoute();
         verify(apiClientService, never()).getSubmission(anyString());
     }
 
     @Test
     void getRequest() {
         testResourceProvider =
-                spy(new ValidatorResourceProvider(null, null));
-        testResourceProvider.setInput(request);
+                spy(new ValidatorResourceProvider(request, null, null));
 
         HttpServletRequest gotRequest = testResourceProvider.getInput();
         assertThat(request, sameInstance(gotRequest));
@@ -162,7 +161,8 @@ class ValidatorResourceProviderTest {
 
     @Test
     void getFormWhenSubmissionNotPresent() {
-        // Matcher doesn't find and getSubmission returns empty
+        // Route has no submission and getSubmission returns empty
+        when(request.getMethod()).thenReturn("GET");
         when(request.getRequestURI()).thenReturn("");
 
         Optional<FormTemplateApi> form = testResourceProvider.getForm();
@@ -211,6 +211,7 @@ class ValidatorResourceProviderTest {
         String companyNumber = "12345678";
         String validUrl = MessageFormat.format(EFS_SUBMISSION_WITH_COMPANY,
                 "5f8422b326e7b618e25684da", companyNumber);
+        when(request.getMethod()).thenReturn("GET");
         when(request.getRequestURI()).thenReturn(validUrl);
 
         Optional<String> maybeCompanyNumber = testResourceProvider.getCompanyNumber();
@@ -219,9 +220,41 @@ class ValidatorResourceProviderTest {
         assertEquals(maybeCompanyNumber.get(), companyNumber);
     }
 
+    @Test
+    void getCompanyNumberAndSubmissionParseUrlOnce() {
+        String submissionId = "5f8422b326e7b618e25684da";
+        String companyNumber = "12345678";
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn(
+                MessageFormat.format(EFS_SUBMISSION_WITH_COMPANY, submissionId, companyNumber));
+        when(apiClientService.getSubmission(submissionId)).thenReturn(submissionResponse);
+
+        testResourceProvider.getCompanyNumber();
+        testResourceProvider.getSubmission();
+        Optional<String> maybeCompanyNumber = testResourceProvider.getCompanyNumber();
+
+        assertEquals(Optional.of(companyNumber), maybeCompanyNumber);
+        verify(request).getRequestURI();
+    }
+
+    @Test
+    void getCompanyNumberFromParsedRoute() {
+        String companyNumber = "12345678";
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn(
+                MessageFormat.format(EFS_SUBMISSION_WITH_COMPANY, "5f8422b326e7b618e25684da", companyNumber));
+        RequestRoute route = RequestRoute.of(request);
+
+        testResourceProvider = new ValidatorResourceProvider(request, route, apiClientService, formTemplateService);
+
+        assertEquals(Optional.of(companyNumber), testResourceProvider.getCompanyNumber());
+        verify(request).getRequestURI();
+    }
+
     @Test
     void getCompanyNoUrlMatch() {
         String invalidUrl = "";
+        when(request.getMethod()).thenReturn("GET");
         when(request.getRequestURI()).thenReturn(invalidUrl);
 
         Optional<String> maybeCompanyNumber = testResourceProvider.getCompanyNumber();
@@ -245,14 +278,4 @@ class ValidatorResourceProviderTest {
         Optional<Session> gotSession = testResourceProvider.getChsSession();
         assertFalse(gotSession.isPresent());
     }
-
-    @Test
-    void setInputWhenInputIsNull() {
-        ReflectionTestUtils.setField(testResourceProvider, "signInInfo", new SignInInfo());
-        testResourceProvider.setInput(null);
-
-        SignInInfo signInInfo = (SignInInfo) ReflectionTestUtils.getField(testResourceProvider,
-                "signInInfo");
-        assertThat(signInInfo, is(nullValue()));
-    }
 }
\ No newline at end of file
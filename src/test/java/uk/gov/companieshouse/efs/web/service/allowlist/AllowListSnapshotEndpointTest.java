@@ -0,0 +1,52 @@
+package uk.gov.companieshouse.efs.web.service.allowlist;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AllowListSnapshotEndpointTest {
+
+    @Mock
+    private AllowListSnapshotService allowListSnapshotService;
+
+    private AllowListSnapshotEndpoint testEndpoint;
+
+    @BeforeEach
+    void setUp() {
+        testEndpoint = new AllowListSnapshotEndpoint(allowListSnapshotService);
+    }
+
+    @Test
+    void snapshotWhenLoaded() {
+        when(allowListSnapshotService.isEnabled()).thenReturn(true);
+        when(allowListSnapshotService.getSnapshot()).thenReturn(
+            Optional.of(AllowListSnapshot.of(Arrays.asList("a@ch.gov.uk", "b@ch.gov.uk"), 0L)));
+
+        final Map<String, Object> details = testEndpoint.snapshot();
+
+        assertThat(details, hasEntry("enabled", true));
+        assertThat(details, hasEntry("loadedAt", "1970-01-01T00:00:00Z"));
+        assertThat(details, hasEntry("size", 2));
+        assertThat((Long) details.get("ageMillis"), is(greaterThanOrEqualTo(0L)));
+    }
+
+    @Test
+    void snapshotWhenNotLoaded() {
+        when(allowListSnapshotService.getSnapshot()).thenReturn(Optional.empty());
+
+        assertThat(testEndpoint.snapshot(), is(Collections.singletonMap("enabled", false)));
+    }
+}
@@ -0,0 +1,50 @@
+package uk.gov.companieshouse.efs.web.service.allowlist;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AllowListSnapshotTest {
+
+    @Test
+    void containsIgnoringCaseAndWhiteSpace() {
+        final AllowListSnapshot snapshot =
+            AllowListSnapshot.of(Arrays.asList(" Demo@CH.gov.uk", "other@ch.gov.uk", " ", ""), 1000L);
+
+        assertThat(snapshot.contains("demo@ch.gov.uk"), is(true));
+        assertThat(snapshot.contains("DEMO@ch.gov.uk "), is(true));
+        assertThat(snapshot.contains("other@ch.gov.uk"), is(true));
+        assertThat(snapshot.contains("missing@ch.gov.uk"), is(false));
+        assertThat(snapshot.contains(""), is(false));
+        assertThat(snapshot.contains(null), is(false));
+        assertThat(snapshot.size(), is(2));
+        assertThat(snapshot.getLoadedAt(), is(1000L));
+    }
+
+    @Test
+    void containsWhenEmpty() {
+        final AllowListSnapshot snapshot = AllowListSnapshot.of(Collections.emptyList(), 0L);
+
+        assertThat(snapshot.contains("demo@ch.gov.uk"), is(false));
+        assertThat(snapshot.size(), is(0));
+    }
+
+    @Test
+    void containsEveryMemberOfLargeList() {
+        final List<String> emails = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            emails.add("user" + i + "@ch.gov.uk");
+        }
+
+        final AllowListSnapshot snapshot = AllowListSnapshot.of(emails, 0L);
+
+        assertThat(emails.stream().allMatch(snapshot::contains), is(true));
+        assertThat(snapshot.contains("user5000@ch.gov.uk"), is(false));
+    }
+}
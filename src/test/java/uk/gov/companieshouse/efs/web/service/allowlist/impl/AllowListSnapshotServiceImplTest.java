@@ -0,0 +1,151 @@
+package uk.gov.companieshouse.efs.web.service.allowlist.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+import uk.gov.companieshouse.efs.web.service.allowlist.AllowListSnapshot;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class AllowListSnapshotServiceImplTest {
+
+    private static final String LOCATION = "file:/config/allow-list.txt";
+    private static final String ALLOW_LIST = "# exported allow list\ndemo@ch.gov.uk\n\n Other@ch.gov.uk \n";
+
+    @Mock
+    private ResourceLoader resourceLoader;
+    @Mock
+    private Resource failingResource;
+    @Mock
+    private Logger logger;
+
+    private AllowListSnapshotServiceImpl testService;
+
+    @BeforeEach
+    void setUp() {
+        testService = new AllowListSnapshotServiceImpl(resourceLoader, Runnable::run, logger);
+        ReflectionTestUtils.setField(testService, "location", LOCATION);
+        ReflectionTestUtils.setField(testService, "refreshMillis", 60000L);
+        ReflectionTestUtils.setField(testService, "maxAgeMillis", 3600000L);
+    }
+
+    @Test
+    void isOnAllowListWhenDisabled() {
+        ReflectionTestUtils.setField(testService, "location", "");
+
+        assertThat(testService.isEnabled(), is(false));
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.empty()));
+        verifyNoInteractions(resourceLoader);
+    }
+
+    @Test
+    void isOnAllowListLoadsSnapshotOnce() {
+        when(resourceLoader.getResource(LOCATION)).thenReturn(resource(ALLOW_LIST));
+
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.of(true)));
+        assertThat(testService.isOnAllowList("other@ch.gov.uk"), is(Optional.of(true)));
+        assertThat(testService.isOnAllowList("missing@ch.gov.uk"), is(Optional.of(false)));
+
+        verify(resourceLoader).getResource(LOCATION);
+        assertThat(testService.getSnapshot().map(AllowListSnapshot::size), is(Optional.of(2)));
+    }
+
+    @Test
+    void isOnAllowListReloadsAfterRefreshInterval() {
+        when(resourceLoader.getResource(LOCATION)).thenReturn(resource(ALLOW_LIST),
+            resource("new@ch.gov.uk"));
+
+        testService.isOnAllowList("demo@ch.gov.uk");
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.of(false)));
+        assertThat(testService.isOnAllowList("new@ch.gov.uk"), is(Optional.of(true)));
+    }
+
+    @Test
+    void isOnAllowListServesCurrentSnapshotWhileReloading() {
+        final List<Runnable> loads = new ArrayList<>();
+        testService = new AllowListSnapshotServiceImpl(resourceLoader, loads::add, logger);
+        ReflectionTestUtils.setField(testService, "location", LOCATION);
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+        ReflectionTestUtils.setField(testService, "maxAgeMillis", 3600000L);
+        when(resourceLoader.getResource(LOCATION)).thenReturn(resource(ALLOW_LIST), resource("new@ch.gov.uk"));
+
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.empty()));
+        loads.remove(0).run();
+
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.of(true)));
+        assertThat(testService.isOnAllowList("new@ch.gov.uk"), is(Optional.of(false)));
+        assertThat(loads.size(), is(1));
+
+        loads.remove(0).run();
+        assertThat(testService.isOnAllowList("new@ch.gov.uk"), is(Optional.of(true)));
+    }
+
+    @Test
+    void isOnAllowListWhenLoadCannotBeQueued() {
+        testService = new AllowListSnapshotServiceImpl(resourceLoader, task -> {
+            throw new RejectedExecutionException("queue full");
+        }, logger);
+        ReflectionTestUtils.setField(testService, "location", LOCATION);
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.empty()));
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.empty()));
+        verifyNoInteractions(resourceLoader);
+    }
+
+    @Test
+    void isOnAllowListWhenLoadFails() throws IOException {
+        when(resourceLoader.getResource(LOCATION)).thenReturn(failingResource);
+        when(failingResource.getInputStream()).thenThrow(new IOException("unavailable"));
+
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.empty()));
+        verify(logger).error(anyString(), any(IOException.class));
+    }
+
+    @Test
+    void isOnAllowListKeepsSnapshotWhenReloadFails() throws IOException {
+        when(resourceLoader.getResource(LOCATION)).thenReturn(resource(ALLOW_LIST), failingResource);
+        when(failingResource.getInputStream()).thenThrow(new IOException("unavailable"));
+
+        testService.isOnAllowList("demo@ch.gov.uk");
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.of(true)));
+    }
+
+    @Test
+    void isOnAllowListWhenSnapshotTooOld() {
+        when(resourceLoader.getResource(LOCATION)).thenReturn(resource(ALLOW_LIST));
+
+        testService.isOnAllowList("demo@ch.gov.uk");
+        ReflectionTestUtils.setField(testService, "maxAgeMillis", -1L);
+
+        assertThat(testService.isOnAllowList("demo@ch.gov.uk"), is(Optional.empty()));
+    }
+
+    private static Resource resource(final String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
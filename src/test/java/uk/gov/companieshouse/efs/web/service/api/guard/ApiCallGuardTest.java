@@ -0,0 +1,193 @@
+package uk.gov.companieshouse.efs.web.service.api.guard;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.companieshouse.efs.web.configuration.ApiGuardProperties;
+import uk.gov.companieshouse.efs.web.exception.ApiUnavailableException;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class ApiCallGuardTest {
+
+    private static final String OPERATION = "getSubmission";
+    private static final long OPEN_SECONDS = 30L;
+    private static final long SLOW_CALL_SECONDS = 10L;
+
+    @Mock
+    private Logger logger;
+
+    private final AtomicLong clock = new AtomicLong();
+    private ApiGuardProperties properties;
+    private ApiCallGuard testGuard;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApiGuardProperties();
+        properties.setDefaults(new ApiGuardProperties.GuardSpec(2, Duration.ofSeconds(OPEN_SECONDS),
+            Duration.ofSeconds(SLOW_CALL_SECONDS), 1, Duration.ZERO));
+        testGuard = new ApiCallGuard(properties, clock::get, logger);
+    }
+
+    @Test
+    void executeWhenClosed() {
+        assertThat(testGuard.execute(OPERATION, () -> "result"), is("result"));
+        assertThat(testGuard.getState(OPERATION), is(CircuitState.CLOSED));
+    }
+
+    @Test
+    void executeOpensCircuitAfterConsecutiveFailures() {
+        fail();
+        assertThat(testGuard.getState(OPERATION), is(CircuitState.CLOSED));
+        fail();
+
+        final ApiUnavailableException ex = assertThrows(ApiUnavailableException.class,
+            () -> testGuard.execute(OPERATION, () -> "result"));
+
+        assertThat(testGuard.getState(OPERATION), is(CircuitState.OPEN));
+        assertThat(ex.getStatus(), is(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(ex.getOperationName(), is(OPERATION));
+        assertThat(ex.getRejectionReason(), is(ApiUnavailableException.Reason.CIRCUIT_OPEN));
+    }
+
+    @Test
+    void executeKeepsCircuitClosedWhenSuccessInBetween() {
+        fail();
+        testGuard.execute(OPERATION, () -> "result");
+        fail();
+
+        assertThat(testGuard.getState(OPERATION), is(CircuitState.CLOSED));
+    }
+
+    @Test
+    void executeDoesNotCountClientErrors() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResponseStatusException.class, () -> testGuard.execute(OPERATION, () -> {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertThat(testGuard.getState(OPERATION), is(CircuitState.CLOSED));
+    }
+
+    @Test
+    void executeCountsSlowCallsAsFailures() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(testGuard.execute(OPERATION, () -> {
+                clock.addAndGet(TimeUnit.SECONDS.toNanos(SLOW_CALL_SECONDS + 1));
+                return "result";
+            }), is("result"));
+        }
+
+        assertThat(testGuard.getState(OPERATION), is(CircuitState.OPEN));
+    }
+
+    @Test
+    void executeClosesCircuitWhenTrialCallSucceeds() {
+        fail();
+        fail();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(OPEN_SECONDS));
+
+        assertThat(testGuard.execute(OPERATION, () -> "result"), is("result"));
+        assertThat(testGuard.getState(OPERATION), is(CircuitState.CLOSED));
+    }
+
+    @Test
+    void executeReopensCircuitWhenTrialCallFails() {
+        fail();
+        fail();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(OPEN_SECONDS));
+        fail();
+
+        assertThat(testGuard.getState(OPERATION), is(CircuitState.OPEN));
+        assertThrows(ApiUnavailableException.class, () -> testGuard.execute(OPERATION, () -> "result"));
+    }
+
+    @Test
+    void executeWhenBulkheadFull() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            final Future<String> inProgress = executor.submit(() -> testGuard.execute(OPERATION, () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "first";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+
+            final ApiUnavailableException ex = assertThrows(ApiUnavailableException.class,
+                () -> testGuard.execute(OPERATION, () -> "second"));
+            assertThat(testGuard.execute("getFormTemplates", () -> "other"), is("other"));
+
+            release.countDown();
+            assertThat(inProgress.get(5, TimeUnit.SECONDS), is("first"));
+            assertThat(ex.getRejectionReason(), is(ApiUnavailableException.Reason.BULKHEAD_FULL));
+            assertThat(testGuard.getState(OPERATION), is(CircuitState.CLOSED));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void executeUsesOperationSettings() {
+        properties.getOperations().put("GETSUBMISSION", new ApiGuardProperties.GuardSpec(1, null, null, null, null));
+
+        fail();
+
+        assertThat(testGuard.getState(OPERATION), is(CircuitState.OPEN));
+    }
+
+    @Test
+    void bindToRegistersStateTransitionsAndRejections() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        testGuard.execute("getFormTemplates", () -> "result");
+        testGuard.bindTo(registry);
+
+        fail();
+        fail();
+        assertThrows(ApiUnavailableException.class, () -> testGuard.execute(OPERATION, () -> "result"));
+
+        assertThat(registry.get(ApiCallGuard.STATE_METRIC).tag("operation", OPERATION).gauge().value(),
+            is((double) CircuitState.OPEN.ordinal()));
+        assertThat(registry.get(ApiCallGuard.STATE_METRIC).tag("operation", "getFormTemplates").gauge().value(),
+            is((double) CircuitState.CLOSED.ordinal()));
+        assertThat(registry.get(ApiCallGuard.TRANSITION_METRIC).tag("operation", OPERATION).tag("to", "open")
+            .functionCounter().count(), is(1.0));
+        assertThat(registry.get(ApiCallGuard.REJECTION_METRIC).tag("operation", OPERATION)
+            .tag("reason", "circuit_open").functionCounter().count(), is(1.0));
+        assertThat(registry.get(ApiCallGuard.REJECTION_METRIC).tag("operation", OPERATION)
+            .tag("reason", "bulkhead_full").functionCounter().count(), is(0.0));
+    }
+
+    private void fail() {
+        assertThrows(IllegalStateException.class, () -> testGuard.execute(OPERATION, () -> {
+            throw new IllegalStateException("connection reset");
+        }));
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
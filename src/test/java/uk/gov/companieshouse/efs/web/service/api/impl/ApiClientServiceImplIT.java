@@ -18,7 +18,10 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import uk.gov.companieshouse.api.ApiClient;
 import uk.gov.companieshouse.api.http.HttpClient;
 import uk.gov.companieshouse.api.http.OAuthHttpClient;
+import uk.gov.companieshouse.efs.web.configuration.ApiGuardProperties;
+import uk.gov.companieshouse.efs.web.service.allowlist.AllowListSnapshotService;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.api.guard.ApiCallGuard;
 import uk.gov.companieshouse.efs.web.util.IntegrationTestHelper;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.session.Session;
@@ -35,6 +38,8 @@ class ApiClientServiceImplIT {
     @Mock
     private Logger logger;
     @Mock
+    private AllowListSnapshotService allowListSnapshotService;
+    @Mock
     private HttpServletRequest request;
     @Mock
     private Store store;
@@ -43,7 +48,8 @@ class ApiClientServiceImplIT {
 
     @BeforeEach
     void setUp() {
-        testService = new ApiClientServiceImpl(logger);
+        testService = new ApiClientServiceImpl(allowListSnapshotService,
+            new ApiCallGuard(new ApiGuardProperties(), logger), Runnable::run, logger);
     }
 
     @Test
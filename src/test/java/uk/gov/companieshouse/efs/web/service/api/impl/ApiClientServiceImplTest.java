@@ -4,6 +4,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.api.client.http.HttpHeaders;
@@ -11,6 +14,7 @@ import com.google.api.client.http.HttpResponseException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.Collections;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +22,9 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
@@ -43,7 +50,10 @@ import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionResponseApi;
 import uk.gov.companieshouse.api.model.efs.submissions.SubmissionStatus;
 import uk.gov.companieshouse.api.model.paymentsession.SessionListApi;
+import uk.gov.companieshouse.efs.web.configuration.ApiGuardProperties;
+import uk.gov.companieshouse.efs.web.service.allowlist.AllowListSnapshotService;
 import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.service.api.guard.ApiCallGuard;
 import uk.gov.companieshouse.logging.Logger;
 
 @ExtendWith(MockitoExtension.class)
@@ -89,6 +99,9 @@ class ApiClientServiceImplTest {
     @Mock
     private Logger logger;
 
+    @Mock
+    private AllowListSnapshotService allowListSnapshotService;
+
     @Mock
     private InternalApiClient internalApiClient;
 
@@ -127,7 +140,8 @@ class ApiClientServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        apiClientService = Mockito.spy(new ApiClientServiceImpl(logger));
+        apiClientService = Mockito.spy(new ApiClientServiceImpl(allowListSnapshotService,
+            new ApiCallGuard(new ApiGuardProperties(), logger), Runnable::run, logger));
         stubApiClientStatic();
     }
 
@@ -162,6 +176,35 @@ class ApiClientServiceImplTest {
         assertThat(response, is(expected));
     }
 
+    @Test
+    void getSubmissionOncePerRequestUntilChanged() throws ApiErrorResponseException, URIValidationException {
+        final ApiResponse<SubmissionApi> expected = new ApiResponse<>(
+            HttpStatus.OK.value(), Collections.emptyMap(), submission);
+
+        when(resourceHandler.submissions()).thenReturn(submissionsResourceHandler);
+        when(submissionsResourceHandler.getSubmission()).thenReturn(getResourceHandler);
+        when(getResourceHandler.get(SUBMISSION_URI)).thenReturn(submissionGet);
+        when(submissionGet.execute()).thenReturn(expected);
+        when(submissionsResourceHandler.file()).thenReturn(upsertResourceHandler);
+        when(upsertResourceHandler.upsert(SUBMISSION_URI + "/files", fileList)).thenReturn(modelUpsert);
+        when(modelUpsert.execute()).thenReturn(EMPTY_OK_RESPONSE);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            apiClientService.getSubmission(SUBMISSION_ID);
+            apiClientService.getSubmission(SUBMISSION_ID);
+            verify(submissionGet).execute();
+
+            apiClientService.putFileList(SUBMISSION_ID, fileList);
+            final ApiResponse<SubmissionApi> response = apiClientService.getSubmission(SUBMISSION_ID);
+
+            assertThat(response, is(expected));
+            verify(submissionGet, times(2)).execute();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     @Test
     void getSubmissionWhenBadUrl() throws ApiErrorResponseException, URIValidationException {
         when(resourceHandler.submissions()).thenReturn(submissionsResourceHandler);
@@ -315,6 +358,17 @@ class ApiClientServiceImplTest {
         assertThat(response, is(expected));
     }
 
+    @Test
+    void isOnAllowListFromSnapshot() {
+        when(allowListSnapshotService.isOnAllowList(EMAIL_ADDRESS)).thenReturn(Optional.of(true));
+
+        final ApiResponse<Boolean> response = apiClientService.isOnAllowList(EMAIL_ADDRESS);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK.value()));
+        assertThat(response.getData(), is(true));
+        verify(apiClientService, never()).getApiClient();
+    }
+
     @Test
     void isOnAllowListWhenBadUrl() throws ApiErrorResponseException, URIValidationException,
         UnsupportedEncodingException {
@@ -0,0 +1,55 @@
+package uk.gov.companieshouse.efs.web.service.api.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.api.InternalApiClient;
+import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+
+@ExtendWith(MockitoExtension.class)
+class ApiClientTaskDecoratorTest {
+
+    @Mock
+    private ApiClientService apiClientService;
+    @Mock
+    private InternalApiClient apiClient;
+
+    private ApiClientTaskDecorator testDecorator;
+
+    @BeforeEach
+    void setUp() {
+        testDecorator = new ApiClientTaskDecorator(apiClientService);
+    }
+
+    @Test
+    void decorateUsesApiClientOfSubmittingThread() throws InterruptedException {
+        final AtomicReference<Optional<InternalApiClient>> taskApiClient = new AtomicReference<>();
+        when(apiClientService.getApiClient()).thenReturn(apiClient);
+
+        final Thread thread = new Thread(
+            testDecorator.decorate(() -> taskApiClient.set(ApiClientTaskDecorator.getTaskApiClient())));
+        thread.start();
+        thread.join();
+
+        assertThat(taskApiClient.get(), is(Optional.of(apiClient)));
+        assertThat(ApiClientTaskDecorator.getTaskApiClient(), is(Optional.empty()));
+    }
+
+    @Test
+    void decorateClearsApiClientAfterTask() {
+        when(apiClientService.getApiClient()).thenReturn(apiClient);
+
+        testDecorator.decorate(() -> {
+        }).run();
+
+        assertThat(ApiClientTaskDecorator.getTaskApiClient(), is(Optional.empty()));
+    }
+}
@@ -1,24 +1,50 @@
 package uk.gov.companieshouse.efs.web.service.api.impl;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import uk.gov.companieshouse.api.handler.efs.submissions.request.PrivateSubmissionGet;
+import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
+import uk.gov.companieshouse.efs.web.configuration.ApiGuardProperties;
+import uk.gov.companieshouse.efs.web.exception.ApiUnavailableException;
+import uk.gov.companieshouse.efs.web.service.api.guard.ApiCallGuard;
 import uk.gov.companieshouse.logging.Logger;
 
 @ExtendWith(MockitoExtension.class)
 class BaseApiClientServiceImplTest {
     private class TestBaseApiClientServiceImpl extends BaseApiClientServiceImpl {
 
-        public TestBaseApiClientServiceImpl(final Logger logger) {
-            super(logger);
+        public TestBaseApiClientServiceImpl(final Logger logger, final ApiCallGuard apiCallGuard) {
+            super(logger, apiCallGuard);
+        }
+
+        public TestBaseApiClientServiceImpl(final Logger logger, final java.util.concurrent.Executor executor) {
+            super(logger, new ApiCallGuard(new ApiGuardProperties(), logger), executor);
         }
     }
 
@@ -31,7 +57,7 @@ class BaseApiClientServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        testService = new TestBaseApiClientServiceImpl(logger);
+        testService = new TestBaseApiClientServiceImpl(logger, new ApiCallGuard(new ApiGuardProperties(), logger));
     }
 
     @Test
@@ -43,4 +69,67 @@ class BaseApiClientServiceImplTest {
         verify(logger, Mockito.atLeastOnce()).debugContext(anyString(), anyString(),
                 anyMap());
     }
-}
\ No newline at end of file
+
+    @Test
+    void executeOpWhenCircuitOpen() throws Exception {
+        final ApiGuardProperties properties = new ApiGuardProperties();
+        properties.getDefaults().setFailureThreshold(1);
+        testService = new TestBaseApiClientServiceImpl(logger, new ApiCallGuard(properties, logger));
+        when(submissionGet.execute()).thenThrow(new IllegalStateException("connection reset"));
+
+        assertThrows(IllegalStateException.class,
+            () -> testService.executeOp("testOperation", "/test-service/test-endpoint", submissionGet));
+        final ApiUnavailableException ex = assertThrows(ApiUnavailableException.class,
+            () -> testService.executeOp("testOperation", "/test-service/test-endpoint", submissionGet));
+
+        assertThat(ex.getStatus(), is(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(ex.getRejectionReason(), is(ApiUnavailableException.Reason.CIRCUIT_OPEN));
+        verify(submissionGet, times(1)).execute();
+    }
+
+    @Test
+    void executeOpAsync() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "api-call-test"));
+        final ApiResponse<SubmissionApi> expected =
+            new ApiResponse<>(HttpStatus.OK.value(), Collections.emptyMap(), new SubmissionApi());
+        final AtomicReference<String> threadName = new AtomicReference<>();
+
+        testService = new TestBaseApiClientServiceImpl(logger, executor);
+        when(submissionGet.execute()).thenAnswer(invocation -> {
+            threadName.set(Thread.currentThread().getName());
+            return expected;
+        });
+
+        try {
+            final CompletableFuture<ApiResponse<SubmissionApi>> response =
+                testService.executeOpAsync("testOperation", "/test-service/test-endpoint", submissionGet);
+
+            assertThat(response.get(), is(expected));
+            assertThat(threadName.get(), startsWith("api-call-test"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void executeOpAsyncWhenSdkFails() throws Exception {
+        when(submissionGet.execute()).thenThrow(new URIValidationException("invalid uri"));
+
+        final CompletableFuture<ApiResponse<SubmissionApi>> response =
+            testService.executeOpAsync("testOperation", "/test-service/test-endpoint", submissionGet);
+
+        final ExecutionException ex = assertThrows(ExecutionException.class, response::get);
+        assertThat(ex.getCause(), is(instanceOf(ResponseStatusException.class)));
+        assertThat(((ResponseStatusException) ex.getCause()).getStatus(), is(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void executeOpAsyncWhenExecutorRejects() {
+        testService = new TestBaseApiClientServiceImpl(logger, command -> {
+            throw new RejectedExecutionException("test");
+        });
+
+        assertThrows(RejectedExecutionException.class,
+            () -> testService.executeOpAsync("testOperation", "/test-service/test-endpoint", submissionGet));
+    }
+}
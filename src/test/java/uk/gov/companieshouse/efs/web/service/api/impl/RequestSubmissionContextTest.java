@@ -0,0 +1,97 @@
+package uk.gov.companieshouse.efs.web.service.api.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
+
+@ExtendWith(MockitoExtension.class)
+class RequestSubmissionContextTest {
+
+    private static final String SUBMISSION_ID = "aaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String OTHER_SUBMISSION_ID = "bbbbbbbbbbbbbbbbbbbbbbbb";
+
+    @Mock
+    private Supplier<ApiResponse<SubmissionApi>> fetch;
+    @Mock
+    private ApiResponse<SubmissionApi> response;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getFetchesOncePerRequest() {
+        startRequest();
+        when(fetch.get()).thenReturn(response);
+
+        assertThat(RequestSubmissionContext.get(SUBMISSION_ID, fetch), is(sameInstance(response)));
+        assertThat(RequestSubmissionContext.get(SUBMISSION_ID, fetch), is(sameInstance(response)));
+        verify(fetch).get();
+    }
+
+    @Test
+    void getFetchesEachSubmission() {
+        startRequest();
+        when(fetch.get()).thenReturn(response);
+
+        RequestSubmissionContext.get(SUBMISSION_ID, fetch);
+        RequestSubmissionContext.get(OTHER_SUBMISSION_ID, fetch);
+
+        verify(fetch, times(2)).get();
+    }
+
+    @Test
+    void getFetchesAgainInNextRequest() {
+        startRequest();
+        when(fetch.get()).thenReturn(response);
+        RequestSubmissionContext.get(SUBMISSION_ID, fetch);
+
+        startRequest();
+        RequestSubmissionContext.get(SUBMISSION_ID, fetch);
+
+        verify(fetch, times(2)).get();
+    }
+
+    @Test
+    void getFetchesAgainAfterInvalidate() {
+        startRequest();
+        when(fetch.get()).thenReturn(response);
+        RequestSubmissionContext.get(SUBMISSION_ID, fetch);
+
+        RequestSubmissionContext.invalidate(SUBMISSION_ID);
+        RequestSubmissionContext.get(SUBMISSION_ID, fetch);
+
+        verify(fetch, times(2)).get();
+    }
+
+    @Test
+    void getOutsideRequestAlwaysFetches() {
+        when(fetch.get()).thenReturn(response);
+
+        RequestSubmissionContext.get(SUBMISSION_ID, fetch);
+        RequestSubmissionContext.get(SUBMISSION_ID, fetch);
+        RequestSubmissionContext.invalidate(SUBMISSION_ID);
+
+        verify(fetch, times(2)).get();
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
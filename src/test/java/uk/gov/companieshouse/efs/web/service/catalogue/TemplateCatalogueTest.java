@@ -0,0 +1,117 @@
+package uk.gov.companieshouse.efs.web.service.catalogue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.model.efs.categorytemplates.CategoryTemplateApi;
+import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
+import uk.gov.companieshouse.efs.web.categorytemplates.controller.CategoryTypeConstants;
+
+class TemplateCatalogueTest {
+
+    private static final CategoryTemplateApi ROOT_LEVEL = new CategoryTemplateApi("", "Root", "", null);
+    private static final CategoryTemplateApi CAT_TOP_LEVEL =
+        new CategoryTemplateApi("CAT_TOP_LEVEL", "Top level", "", null);
+    private static final CategoryTemplateApi CAT_SUB_LEVEL1 =
+        new CategoryTemplateApi("CAT_SUB_LEVEL1", "Sub level 1", "CAT_TOP_LEVEL", null);
+    private static final CategoryTemplateApi RESOLUTIONS =
+        new CategoryTemplateApi("RESOLUTIONS", "Resolutions", "", null);
+    private static final CategoryTemplateApi INSOLVENCY = new CategoryTemplateApi("INS", "Insolvency", "", null);
+    private static final CategoryTemplateApi INS_SUB_LEVEL1 =
+        new CategoryTemplateApi("INS_SUB_LEVEL1", "Insolvency sub level 1", "INS", null);
+    private static final CategoryTemplateApi INS_SUB_LEVEL2 =
+        new CategoryTemplateApi("INS_SUB_LEVEL2", "Insolvency sub level 2", "INS_SUB_LEVEL1", null);
+    private static final CategoryTemplateApi ORPHAN =
+        new CategoryTemplateApi("ORPHAN", "Orphan", "MISSING", null);
+    private static final FormTemplateApi CC01 = new FormTemplateApi("CC01", "Test01", "CC03", "CC01", true, true, null);
+    private static final FormTemplateApi LIQ01 = new FormTemplateApi("LIQ01", "Test02", "LIQ", "", true, true, null);
+    private static final FormTemplateApi LIQ02 = new FormTemplateApi("LIQ02", "Test03", "LIQ", "", true, true, null);
+
+    private TemplateCatalogue testCatalogue;
+
+    @BeforeEach
+    void setUp() {
+        testCatalogue = TemplateCatalogue.of(
+            Arrays.asList(ROOT_LEVEL, CAT_TOP_LEVEL, CAT_SUB_LEVEL1, RESOLUTIONS, INSOLVENCY, INS_SUB_LEVEL1,
+                INS_SUB_LEVEL2, ORPHAN), Arrays.asList(CC01, LIQ01, LIQ02));
+    }
+
+    @Test
+    void getCategory() {
+        assertThat(testCatalogue.getCategory("CAT_SUB_LEVEL1"), is(Optional.of(CAT_SUB_LEVEL1)));
+        assertThat(testCatalogue.getCategory("UNKNOWN"), is(Optional.empty()));
+    }
+
+    @Test
+    void getCategoriesByParent() {
+        assertThat(testCatalogue.getCategoriesByParent("INS"), contains(INS_SUB_LEVEL1));
+        assertThat(testCatalogue.getCategoriesByParent("CAT_SUB_LEVEL1"), is(empty()));
+    }
+
+    @Test
+    void getCategoriesByParentGivenRoot() {
+        assertThat(testCatalogue.getCategoriesByParent(""),
+            contains(ROOT_LEVEL, CAT_TOP_LEVEL, RESOLUTIONS, INSOLVENCY));
+        assertThat(testCatalogue.getCategoriesByParent(null),
+            contains(ROOT_LEVEL, CAT_TOP_LEVEL, RESOLUTIONS, INSOLVENCY));
+    }
+
+    @Test
+    void getTopLevelCategory() {
+        assertThat(testCatalogue.getTopLevelCategory(""), is(Optional.of(CategoryTypeConstants.ROOT)));
+        assertThat(testCatalogue.getTopLevelCategory("CAT_TOP_LEVEL"), is(Optional.of(CategoryTypeConstants.OTHER)));
+        assertThat(testCatalogue.getTopLevelCategory("CAT_SUB_LEVEL1"), is(Optional.of(CategoryTypeConstants.OTHER)));
+        assertThat(testCatalogue.getTopLevelCategory("RESOLUTIONS"),
+            is(Optional.of(CategoryTypeConstants.RESOLUTIONS)));
+        assertThat(testCatalogue.getTopLevelCategory("INS"), is(Optional.of(CategoryTypeConstants.INSOLVENCY)));
+        assertThat(testCatalogue.getTopLevelCategory("INS_SUB_LEVEL1"),
+            is(Optional.of(CategoryTypeConstants.INSOLVENCY)));
+        assertThat(testCatalogue.getTopLevelCategory("INS_SUB_LEVEL2"),
+            is(Optional.of(CategoryTypeConstants.INSOLVENCY)));
+    }
+
+    @Test
+    void getTopLevelCategoryWhenAncestorMissing() {
+        assertThat(testCatalogue.getTopLevelCategory("ORPHAN"), is(Optional.empty()));
+        assertThat(testCatalogue.getTopLevelCategory("UNKNOWN"), is(Optional.empty()));
+    }
+
+    @Test
+    void getTopLevelCategoryWhenParentsLoop() {
+        final TemplateCatalogue catalogue = TemplateCatalogue.of(
+            Arrays.asList(new CategoryTemplateApi("A", "A", "B", null), new CategoryTemplateApi("B", "B", "A", null)),
+            Collections.emptyList());
+
+        assertThat(catalogue.getTopLevelCategory("A"), is(Optional.empty()));
+    }
+
+    @Test
+    void getForm() {
+        assertThat(testCatalogue.getForm("LIQ01"), is(Optional.of(LIQ01)));
+        assertThat(testCatalogue.getForm("UNKNOWN"), is(Optional.empty()));
+    }
+
+    @Test
+    void getFormsByCategory() {
+        assertThat(testCatalogue.getFormsByCategory("LIQ"), contains(LIQ01, LIQ02));
+        assertThat(testCatalogue.getFormsByCategory("UNKNOWN"), is(empty()));
+    }
+
+    @Test
+    void listsAreUnmodifiable() {
+        assertThrows(UnsupportedOperationException.class, () -> testCatalogue.getForms().clear());
+        assertThrows(UnsupportedOperationException.class, () -> testCatalogue.getCategories().clear());
+        assertThrows(UnsupportedOperationException.class,
+            () -> testCatalogue.getFormsByCategory("LIQ").add(CC01));
+        assertThrows(UnsupportedOperationException.class,
+            () -> testCatalogue.getCategoriesByParent("INS").add(ORPHAN));
+    }
+}
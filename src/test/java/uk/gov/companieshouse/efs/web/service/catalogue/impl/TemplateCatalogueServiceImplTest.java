@@ -0,0 +1,248 @@
+package uk.gov.companieshouse.efs.web.service.catalogue.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.efs.categorytemplates.CategoryTemplateApi;
+import uk.gov.companieshouse.api.model.efs.categorytemplates.CategoryTemplateListApi;
+import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateApi;
+import uk.gov.companieshouse.api.model.efs.formtemplates.FormTemplateListApi;
+import uk.gov.companieshouse.efs.web.cache.StaleDataMarker;
+import uk.gov.companieshouse.efs.web.categorytemplates.service.api.CategoryTemplateService;
+import uk.gov.companieshouse.efs.web.formtemplates.service.api.FormTemplateService;
+import uk.gov.companieshouse.efs.web.service.catalogue.TemplateCatalogue;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateCatalogueServiceImplTest {
+
+    private static final CategoryTemplateApi CATEGORY = new CategoryTemplateApi("INS", "Insolvency", "", null);
+    private static final FormTemplateApi FORM = new FormTemplateApi("LIQ01", "Test01", "INS", "", true, true, null);
+
+    @Mock
+    private ObjectProvider<CategoryTemplateService> categoryTemplateServiceProvider;
+    @Mock
+    private ObjectProvider<FormTemplateService> formTemplateServiceProvider;
+    @Mock
+    private CategoryTemplateService categoryTemplateService;
+    @Mock
+    private FormTemplateService formTemplateService;
+    @Mock
+    private Logger logger;
+
+    private List<Runnable> reloads;
+    private TemplateCatalogueServiceImpl testService;
+
+    @BeforeEach
+    void setUp() {
+        reloads = new ArrayList<>();
+        testService = new TemplateCatalogueServiceImpl(categoryTemplateServiceProvider, formTemplateServiceProvider,
+            reloads::add, logger);
+        ReflectionTestUtils.setField(testService, "refreshMillis", 60000L);
+        ReflectionTestUtils.setField(testService, "staleIfErrorMillis", 86400000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getCatalogueLoadsOnce() {
+        expectTemplates();
+
+        final TemplateCatalogue catalogue = testService.getCatalogue();
+
+        assertThat(catalogue.getForm("LIQ01").get(), is(FORM));
+        assertThat(catalogue.getFormsByCategory("INS"), contains(FORM));
+        assertThat(testService.getCatalogue(), is(sameInstance(catalogue)));
+        verify(categoryTemplateService).getCategoryTemplates();
+        verify(formTemplateService).getFormTemplates();
+    }
+
+    @Test
+    void getCatalogueReloadsAfterRefreshInterval() {
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+        expectTemplates();
+
+        final TemplateCatalogue catalogue = testService.getCatalogue();
+
+        assertThat(testService.getCatalogue(), is(sameInstance(catalogue)));
+        assertThat(testService.getCatalogue(), is(sameInstance(catalogue)));
+        assertThat(reloads.size(), is(1));
+
+        reloads.remove(0).run();
+
+        assertThat(testService.getCatalogue(), is(not(sameInstance(catalogue))));
+        verify(categoryTemplateService, times(2)).getCategoryTemplates();
+        verify(formTemplateService, times(2)).getFormTemplates();
+    }
+
+    @Test
+    void getCatalogueWhenReloadCannotBeQueued() {
+        testService = new TemplateCatalogueServiceImpl(categoryTemplateServiceProvider, formTemplateServiceProvider,
+            task -> {
+                throw new RejectedExecutionException("queue full");
+            }, logger);
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+        expectTemplates();
+
+        final TemplateCatalogue catalogue = testService.getCatalogue();
+
+        assertThat(testService.getCatalogue(), is(sameInstance(catalogue)));
+        assertThat(testService.getCatalogue(), is(sameInstance(catalogue)));
+        verify(categoryTemplateService).getCategoryTemplates();
+    }
+
+    @Test
+    void getCatalogueKeepsCurrentWhenReloadFails() {
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+        expectTemplates();
+        final TemplateCatalogue catalogue = testService.getCatalogue();
+        when(formTemplateService.getFormTemplates()).thenThrow(new IllegalStateException("unavailable"));
+
+        testService.getCatalogue();
+        reloads.remove(0).run();
+
+        assertThat(testService.getCatalogue(), is(sameInstance(catalogue)));
+        verify(logger).error(anyString(), any(IllegalStateException.class));
+    }
+
+    @Test
+    void getCatalogueMarksRequestsWhileStale() {
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+        expectTemplates();
+        final TemplateCatalogue catalogue = testService.getCatalogue();
+        when(formTemplateService.getFormTemplates()).thenThrow(new IllegalStateException("unavailable"));
+        testService.getCatalogue();
+        reloads.remove(0).run();
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(testService.getCatalogue(), is(sameInstance(catalogue)));
+        assertThat(StaleDataMarker.getStaleAge(request).isPresent(), is(true));
+    }
+
+    @Test
+    void getCatalogueDoesNotMarkRequestsAfterReloadSucceeds() {
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+        expectTemplates();
+        testService.getCatalogue();
+        testService.getCatalogue();
+        reloads.remove(0).run();
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        testService.getCatalogue();
+
+        assertThat(StaleDataMarker.getStaleAge(request).isPresent(), is(false));
+    }
+
+    @Test
+    void getCatalogueWhenTooStaleToServe() {
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+        ReflectionTestUtils.setField(testService, "staleIfErrorMillis", -1L);
+        expectTemplates();
+        testService.getCatalogue();
+        when(formTemplateService.getFormTemplates()).thenThrow(new IllegalStateException("unavailable"));
+        testService.getCatalogue();
+        reloads.remove(0).run();
+
+        assertThrows(IllegalStateException.class, () -> testService.getCatalogue());
+    }
+
+    @Test
+    void getCatalogueWhenFirstLoadFails() {
+        when(categoryTemplateServiceProvider.getObject()).thenReturn(categoryTemplateService);
+        when(categoryTemplateService.getCategoryTemplates()).thenThrow(new IllegalStateException("unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> testService.getCatalogue());
+    }
+
+    @Test
+    void invalidate() {
+        expectTemplates();
+        final TemplateCatalogue catalogue = testService.getCatalogue();
+
+        testService.invalidate();
+
+        assertThat(testService.getCatalogue(), is(not(sameInstance(catalogue))));
+    }
+
+    @Test
+    void invalidateBeforeReloadRuns() {
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+        expectTemplates();
+        testService.getCatalogue();
+        testService.getCatalogue();
+
+        testService.invalidate();
+        reloads.remove(0).run();
+        verify(categoryTemplateService).getCategoryTemplates();
+
+        assertThat(testService.getCatalogue().getForm("LIQ01").get(), is(FORM));
+        verify(categoryTemplateService, times(2)).getCategoryTemplates();
+    }
+
+    @Test
+    void bindToPublishesStaleness() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        testService.bindTo(registry);
+
+        assertThat(Double.isNaN(registry.get(TemplateCatalogueServiceImpl.AGE_METRIC).gauge().value()), is(true));
+
+        ReflectionTestUtils.setField(testService, "refreshMillis", 0L);
+        expectTemplates();
+        testService.getCatalogue();
+        assertThat(registry.get(TemplateCatalogueServiceImpl.AGE_METRIC).gauge().value(),
+            is(greaterThanOrEqualTo(0.0)));
+        assertThat(registry.get(TemplateCatalogueServiceImpl.STALE_METRIC).gauge().value(), is(0.0));
+
+        when(formTemplateService.getFormTemplates()).thenThrow(new IllegalStateException("unavailable"));
+        testService.getCatalogue();
+        reloads.remove(0).run();
+        testService.getCatalogue();
+        testService.getCatalogue();
+
+        assertThat(registry.get(TemplateCatalogueServiceImpl.STALE_METRIC).gauge().value(), is(1.0));
+        assertThat(registry.get(TemplateCatalogueServiceImpl.STALE_READ_METRIC).functionCounter().count(), is(2.0));
+    }
+
+    private void expectTemplates() {
+        when(categoryTemplateServiceProvider.getObject()).thenReturn(categoryTemplateService);
+        when(formTemplateServiceProvider.getObject()).thenReturn(formTemplateService);
+        when(categoryTemplateService.getCategoryTemplates()).thenReturn(new ApiResponse<>(HttpStatus.OK.value(),
+            Collections.emptyMap(), new CategoryTemplateListApi(Collections.singletonList(CATEGORY))));
+        when(formTemplateService.getFormTemplates()).thenReturn(new ApiResponse<>(HttpStatus.OK.value(),
+            Collections.emptyMap(), new FormTemplateListApi(Collections.singletonList(FORM))));
+    }
+}
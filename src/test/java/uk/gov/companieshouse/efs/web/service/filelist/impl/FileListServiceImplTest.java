@@ -0,0 +1,212 @@
+package uk.gov.companieshouse.efs.web.service.filelist.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
+import uk.gov.companieshouse.api.model.efs.submissions.FileDetailApi;
+import uk.gov.companieshouse.api.model.efs.submissions.FileDetailListApi;
+import uk.gov.companieshouse.api.model.efs.submissions.FileListApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionFormApi;
+import uk.gov.companieshouse.api.model.efs.submissions.SubmissionResponseApi;
+import uk.gov.companieshouse.efs.web.service.api.ApiClientService;
+import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClient;
+import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClientResponse;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class FileListServiceImplTest {
+
+    private static final String SUBMISSION_ID = "aaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final FileApi SAVED = new FileApi("saved-id", "saved.pdf", 1L);
+    private static final FileApi FIRST = new FileApi("first-id", "first.pdf", 2L);
+    private static final FileApi SECOND = new FileApi("second-id", "second.pdf", 3L);
+
+    @Mock
+    private ApiClientService apiClientService;
+    @Mock
+    private ApiResponse<SubmissionApi> submissionResponse;
+    @Mock
+    private ApiResponse<SubmissionResponseApi> putResponse;
+    @Mock
+    private FileTransferApiClient fileTransferApiClient;
+    @Mock
+    private Logger logger;
+
+    private SubmissionApi submissionApi;
+    private FileListServiceImpl testService;
+
+    @BeforeEach
+    void setUp() {
+        testService = new FileListServiceImpl(apiClientService, fileTransferApiClient, new FileListChanges(), logger);
+        submissionApi = submission(SAVED);
+    }
+
+    @Test
+    void getFileListWithoutChanges() {
+        assertThat(testService.getFileList(submissionApi).getFiles(), contains(SAVED));
+    }
+
+    @Test
+    void getFileListWithoutFileDetails() {
+        submissionApi.getSubmissionForm().setFileDetails(null);
+
+        assertThat(testService.getFileList(submissionApi).getFiles(), is(empty()));
+    }
+
+    @Test
+    void getFileListIncludesUnsavedChanges() {
+        testService.addFiles(SUBMISSION_ID, Collections.singletonList(FIRST));
+        testService.addFiles(SUBMISSION_ID, Collections.singletonList(SECOND));
+        testService.removeFile(SUBMISSION_ID, "saved-id");
+
+        assertThat(testService.getFileList(submissionApi).getFiles(), contains(SECOND, FIRST));
+        verify(apiClientService, never()).putFileList(any(), any());
+        verify(fileTransferApiClient, never()).delete(any());
+    }
+
+    @Test
+    void removeFileNotYetSavedDeletesIt() {
+        expectDelete("first-id", HttpStatus.NO_CONTENT);
+
+        testService.addFiles(SUBMISSION_ID, Arrays.asList(FIRST, SECOND));
+        testService.removeFile(SUBMISSION_ID, "first-id");
+
+        assertThat(testService.getFileList(submissionApi).getFiles(), contains(SECOND, SAVED));
+        verify(fileTransferApiClient).delete("first-id");
+    }
+
+    @Test
+    void flushSavesAllChangesInOneUpdateBeforeDeletingRemovedFiles() {
+        expectSubmission();
+        expectDelete("first-id", HttpStatus.NO_CONTENT);
+        expectDelete("saved-id", HttpStatus.NO_CONTENT);
+        when(apiClientService.putFileList(SUBMISSION_ID, fileList(SECOND))).thenReturn(putResponse);
+
+        testService.addFiles(SUBMISSION_ID, Arrays.asList(FIRST, SECOND));
+        testService.removeFile(SUBMISSION_ID, "first-id");
+        testService.removeFile(SUBMISSION_ID, "saved-id");
+
+        assertThat(testService.flush(SUBMISSION_ID), is(Optional.of(putResponse)));
+        assertThat(testService.flush(SUBMISSION_ID), is(Optional.empty()));
+
+        final InOrder inOrder = inOrder(apiClientService, fileTransferApiClient);
+        inOrder.verify(fileTransferApiClient).delete("first-id");
+        inOrder.verify(apiClientService, times(1)).putFileList(any(), any());
+        inOrder.verify(fileTransferApiClient).delete("saved-id");
+    }
+
+    @Test
+    void flushWithoutChanges() {
+        assertThat(testService.flush(SUBMISSION_ID), is(Optional.empty()));
+        verify(apiClientService, never()).getSubmission(any());
+    }
+
+    @Test
+    void flushKeepsChangesWhenSaveFails() {
+        expectSubmission();
+        when(apiClientService.putFileList(SUBMISSION_ID, fileList(FIRST)))
+            .thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        testService.addFiles(SUBMISSION_ID, Collections.singletonList(FIRST));
+        testService.removeFile(SUBMISSION_ID, "saved-id");
+
+        assertThrows(ResponseStatusException.class, () -> testService.flush(SUBMISSION_ID));
+        assertThat(testService.getFileList(submissionApi).getFiles(), contains(FIRST));
+        verify(fileTransferApiClient, never()).delete(any());
+    }
+
+    @Test
+    void flushWhenRemovedFileNotDeleted() {
+        expectSubmission();
+        expectDelete("saved-id", HttpStatus.INTERNAL_SERVER_ERROR);
+        when(apiClientService.putFileList(SUBMISSION_ID, fileList())).thenReturn(putResponse);
+
+        testService.removeFile(SUBMISSION_ID, "saved-id");
+
+        assertThat(testService.flush(SUBMISSION_ID), is(Optional.of(putResponse)));
+        verify(logger).errorContext(eq(SUBMISSION_ID), startsWith("Removed file not deleted: fileId=saved-id"), isNull(),
+            isNull());
+    }
+
+    @Test
+    void saveFilesSavesThemAheadOfSavedFiles() {
+        expectSubmission();
+        when(apiClientService.putFileList(SUBMISSION_ID, fileList(FIRST, SECOND, SAVED))).thenReturn(putResponse);
+
+        assertThat(testService.saveFiles(SUBMISSION_ID, Arrays.asList(FIRST, SECOND)), is(putResponse));
+        verify(apiClientService, times(1)).putFileList(any(), any());
+    }
+
+    @Test
+    void saveFilesAlreadySaved() {
+        expectSubmission();
+        when(apiClientService.putFileList(SUBMISSION_ID, fileList(SAVED, FIRST))).thenReturn(putResponse);
+
+        assertThat(testService.saveFiles(SUBMISSION_ID, Arrays.asList(SAVED, FIRST)), is(putResponse));
+    }
+
+    private void expectDelete(final String fileId, final HttpStatus status) {
+        final FileTransferApiClientResponse response = new FileTransferApiClientResponse();
+        response.setFileId(fileId);
+        response.setHttpStatus(status);
+
+        when(fileTransferApiClient.delete(fileId)).thenReturn(response);
+    }
+
+    private void expectSubmission() {
+        when(submissionResponse.getData()).thenReturn(submissionApi);
+        when(apiClientService.getSubmission(SUBMISSION_ID)).thenReturn(submissionResponse);
+    }
+
+    private static FileListApi fileList(final FileApi... files) {
+        return new FileListApi(new ArrayList<>(Arrays.asList(files)));
+    }
+
+    private static SubmissionApi submission(final FileApi... files) {
+        final FileDetailListApi fileDetails = new FileDetailListApi();
+
+        for (FileApi file : files) {
+            final FileDetailApi fileDetail = new FileDetailApi();
+            fileDetail.setFileId(file.getFileId());
+            fileDetail.setFileName(file.getFileName());
+            fileDetail.setFileSize(file.getFileSize());
+            fileDetails.add(fileDetail);
+        }
+
+        final SubmissionFormApi submissionForm = new SubmissionFormApi();
+        submissionForm.setFileDetails(fileDetails);
+
+        final SubmissionApi submission = new SubmissionApi();
+        submission.setId(SUBMISSION_ID);
+        submission.setSubmissionForm(submissionForm);
+
+        return submission;
+    }
+}
@@ -0,0 +1,277 @@
+package uk.gov.companieshouse.efs.web.service.upload.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
+import uk.gov.companieshouse.efs.web.cache.store.LocalSharedCacheStore;
+import uk.gov.companieshouse.efs.web.cache.store.SharedCacheStore;
+import uk.gov.companieshouse.efs.web.service.filelist.FileListService;
+import uk.gov.companieshouse.efs.web.service.upload.DocumentUploadJob;
+import uk.gov.companieshouse.efs.web.transfer.ConcurrentFileUploader;
+import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClient;
+import uk.gov.companieshouse.efs.web.transfer.FileTransferApiClientResponse;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentUploadJobServiceImplTest {
+
+    private static final String SUBMISSION_ID = "aaaaaaaaaaaaaaaaaaaaaaaa";
+
+    @Mock
+    private ConcurrentFileUploader concurrentFileUploader;
+    @Mock
+    private FileTransferApiClient fileTransferApiClient;
+    @Mock
+    private FileListService fileListService;
+    @Mock
+    private ResourceBundle resourceBundle;
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private ObjectProvider<SharedCacheStore> sharedCacheStoreProvider;
+
+    private LocalSharedCacheStore jobStore;
+    private DocumentUploadJobServiceImpl testService;
+
+    @BeforeEach
+    void setUp() {
+        jobStore = new LocalSharedCacheStore();
+        testService = service(Runnable::run);
+    }
+
+    @Test
+    void submitUploadsFiles() throws IOException {
+        when(concurrentFileUploader.uploadAll(anyList(), any())).thenAnswer(invocation -> {
+            final List<MultipartFile> files = invocation.getArgument(0);
+            final Runnable onFileComplete = invocation.getArgument(1);
+
+            // The spooled copies must still be readable while the upload is in progress.
+            assertThat(files.get(0).getBytes(), is("first".getBytes()));
+            onFileComplete.run();
+
+            return Collections.singletonList(response(HttpStatus.OK, "first-id"));
+        });
+
+        final DocumentUploadJob submitted = testService.submit(SUBMISSION_ID, files("first"));
+        final DocumentUploadJob job = testService.getJob(SUBMISSION_ID, submitted.getJobId()).get();
+
+        assertThat(submitted.getStatus(), is(DocumentUploadJob.Status.UPLOADING));
+        assertThat(job.getStatus(), is(DocumentUploadJob.Status.COMPLETE));
+        assertThat(job.getFilesTotal(), is(1));
+        assertThat(job.getFilesUploaded(), is(1));
+        verify(fileListService).saveFiles(SUBMISSION_ID,
+            Collections.singletonList(new FileApi("first-id", "first.pdf", 5L)));
+    }
+
+    @Test
+    void submitWhenUploadsFail() throws IOException {
+        when(concurrentFileUploader.uploadAll(anyList(), any())).thenReturn(responses(
+            response(HttpStatus.SERVICE_UNAVAILABLE, null), response(HttpStatus.OK, "uploaded-id"),
+            response(HttpStatus.INTERNAL_SERVER_ERROR, null)));
+        when(fileTransferApiClient.delete("uploaded-id")).thenReturn(response(HttpStatus.NO_CONTENT, null));
+        when(resourceBundle.getString("service_busy.documentUpload")).thenReturn("{0} busy");
+        when(resourceBundle.getString("upload_failed.documentUpload")).thenReturn("{0} failed");
+
+        final DocumentUploadJob job = currentState(
+            testService.submit(SUBMISSION_ID, files("busy", "uploaded", "failed")));
+
+        assertThat(job.getStatus(), is(DocumentUploadJob.Status.FAILED));
+        assertThat(job.getErrors(), contains("busy.pdf busy", "failed.pdf failed"));
+        verify(fileListService, never()).saveFiles(any(), any());
+        verify(fileTransferApiClient).delete("uploaded-id");
+        verify(logger, never()).errorContext(any(), any(), any(), any());
+    }
+
+    @Test
+    void submitWhenFilesNotSaved() throws IOException {
+        when(concurrentFileUploader.uploadAll(anyList(), any())).thenReturn(responses(
+            response(HttpStatus.OK, "first-id"), response(HttpStatus.OK, "second-id")));
+        when(fileListService.saveFiles(any(), any()))
+            .thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(fileTransferApiClient.delete("first-id")).thenReturn(response(HttpStatus.NO_CONTENT, null));
+        when(fileTransferApiClient.delete("second-id")).thenReturn(response(HttpStatus.INTERNAL_SERVER_ERROR, null));
+        when(resourceBundle.getString("upload_job_failed.documentUpload")).thenReturn("job failed");
+
+        final DocumentUploadJob job = currentState(testService.submit(SUBMISSION_ID, files("first", "second")));
+
+        assertThat(job.getStatus(), is(DocumentUploadJob.Status.FAILED));
+        assertThat(job.getErrors(), contains("job failed"));
+        verify(fileTransferApiClient).delete("first-id");
+        verify(logger).errorContext(eq(SUBMISSION_ID), startsWith(
+            "Uploaded file of failed job not deleted: fileId=second-id"), isNull(), isNull());
+    }
+
+    @Test
+    void submitWhenUploaderThrows() throws IOException {
+        when(concurrentFileUploader.uploadAll(anyList(), any())).thenThrow(new IllegalStateException("test"));
+        when(resourceBundle.getString("upload_job_failed.documentUpload")).thenReturn("job failed");
+
+        final DocumentUploadJob job = currentState(testService.submit(SUBMISSION_ID, files("first")));
+
+        assertThat(job.getStatus(), is(DocumentUploadJob.Status.FAILED));
+        assertThat(job.getErrors(), contains("job failed"));
+    }
+
+    @Test
+    void submitWhenExecutorRejects() {
+        final Executor rejecting = command -> {
+            throw new RejectedExecutionException("test");
+        };
+        testService = service(rejecting);
+
+        assertThrows(RejectedExecutionException.class, () -> testService.submit(SUBMISSION_ID, files("first")));
+    }
+
+    @Test
+    void getJobForAnotherSubmission() throws IOException {
+        when(concurrentFileUploader.uploadAll(anyList(), any())).thenReturn(
+            responses(response(HttpStatus.OK, "new-id")));
+
+        final DocumentUploadJob job = testService.submit(SUBMISSION_ID, files("new"));
+
+        assertThat(testService.getJob("bbbbbbbbbbbbbbbbbbbbbbbb", job.getJobId()), is(Optional.empty()));
+        assertThat(testService.getJob(SUBMISSION_ID, "unknown"), is(Optional.empty()));
+    }
+
+    @Test
+    void getJobAfterRetentionPeriod() throws IOException {
+        when(concurrentFileUploader.uploadAll(anyList(), any())).thenReturn(
+            responses(response(HttpStatus.OK, "new-id")));
+        ReflectionTestUtils.setField(testService, "retentionMillis", 0L);
+
+        final DocumentUploadJob expired = testService.submit(SUBMISSION_ID, files("first"));
+
+        assertThat(testService.getJob(SUBMISSION_ID, expired.getJobId()), is(Optional.empty()));
+    }
+
+    @Test
+    void getJobFromAnotherNode() throws IOException {
+        final List<Runnable> queued = new ArrayList<>();
+        testService = service(queued::add);
+        final DocumentUploadJobServiceImpl otherNode = service(Runnable::run);
+        when(concurrentFileUploader.uploadAll(anyList(), any())).thenReturn(
+            responses(response(HttpStatus.OK, "new-id")));
+
+        final DocumentUploadJob job = testService.submit(SUBMISSION_ID, files("first"));
+
+        assertThat(otherNode.getJob(SUBMISSION_ID, job.getJobId()).map(DocumentUploadJob::getStatus),
+            is(Optional.of(DocumentUploadJob.Status.UPLOADING)));
+        queued.forEach(Runnable::run);
+        assertThat(otherNode.getJob(SUBMISSION_ID, job.getJobId()).map(DocumentUploadJob::getStatus),
+            is(Optional.of(DocumentUploadJob.Status.COMPLETE)));
+    }
+
+    @Test
+    void getJobWhenStalled() throws IOException {
+        final List<Runnable> queued = new ArrayList<>();
+        testService = service(queued::add);
+        when(resourceBundle.getString("upload_job_failed.documentUpload")).thenReturn("job failed");
+
+        final DocumentUploadJob job = testService.submit(SUBMISSION_ID, files("first"));
+
+        try {
+            assertThat(currentState(job).getStatus(), is(DocumentUploadJob.Status.UPLOADING));
+
+            ReflectionTestUtils.setField(testService, "stallTimeoutMillis", 0L);
+            assertThat(currentState(job).getStatus(), is(DocumentUploadJob.Status.FAILED));
+            assertThat(currentState(job).getErrors(), contains("job failed"));
+        } finally {
+            when(concurrentFileUploader.uploadAll(anyList(), any())).thenReturn(
+                responses(response(HttpStatus.OK, "new-id")));
+            queued.forEach(Runnable::run);
+        }
+    }
+
+    @Test
+    void sharedJobStoreRequired() {
+        assertThrows(IllegalStateException.class,
+            () -> new DocumentUploadJobServiceImpl(concurrentFileUploader, fileTransferApiClient,
+                fileListService, Runnable::run,
+                resourceBundle, logger, "shared", sharedCacheStoreProvider));
+    }
+
+    @Test
+    void sharedJobStore() throws IOException {
+        when(sharedCacheStoreProvider.getIfAvailable()).thenReturn(jobStore);
+        testService = new DocumentUploadJobServiceImpl(concurrentFileUploader, fileTransferApiClient,
+                fileListService, Runnable::run,
+            resourceBundle, logger, "shared", sharedCacheStoreProvider);
+        ReflectionTestUtils.setField(testService, "retentionMillis", 60000L);
+        when(concurrentFileUploader.uploadAll(anyList(), any())).thenReturn(
+            responses(response(HttpStatus.OK, "new-id")));
+
+        final DocumentUploadJob job = testService.submit(SUBMISSION_ID, files("first"));
+
+        assertThat(jobStore.get(DocumentUploadJobServiceImpl.JOB_CACHE_NAME, job.getJobId()), is(notNullValue()));
+    }
+
+    private DocumentUploadJobServiceImpl service(final Executor executor) {
+        final DocumentUploadJobServiceImpl service = new DocumentUploadJobServiceImpl(concurrentFileUploader,
+            fileTransferApiClient, fileListService, executor, resourceBundle, logger, jobStore);
+        ReflectionTestUtils.setField(service, "retentionMillis", 60000L);
+        ReflectionTestUtils.setField(service, "stallTimeoutMillis", 60000L);
+
+        return service;
+    }
+
+    private DocumentUploadJob currentState(final DocumentUploadJob job) {
+        return testService.getJob(SUBMISSION_ID, job.getJobId()).get();
+    }
+
+    private static List<MultipartFile> files(final String... names) {
+        final List<MultipartFile> files = new ArrayList<>();
+
+        for (String name : names) {
+            files.add(new MockMultipartFile("selectedFiles", name + ".pdf", "application/pdf", name.getBytes()));
+        }
+
+        return files;
+    }
+
+    private static List<FileTransferApiClientResponse> responses(final FileTransferApiClientResponse... responses) {
+        final List<FileTransferApiClientResponse> list = new ArrayList<>();
+        Collections.addAll(list, responses);
+
+        return list;
+    }
+
+    private static FileTransferApiClientResponse response(final HttpStatus status, final String fileId) {
+        final FileTransferApiClientResponse response = new FileTransferApiClientResponse();
+        response.setHttpStatus(status);
+        response.setFileId(fileId);
+
+        return response;
+    }
+}
@@ -0,0 +1,103 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+@ExtendWith(MockitoExtension.class)
+class AttemptDeadlineTest {
+
+    @Mock
+    private TaskScheduler scheduler;
+    @Mock
+    private ScheduledFuture<Object> scheduledAbort;
+
+    private List<Runnable> expiries;
+    private AtomicInteger aborts;
+
+    @BeforeEach
+    void setUp() {
+        expiries = new ArrayList<>();
+        aborts = new AtomicInteger();
+    }
+
+    @Test
+    void finishWhenDeadlinePassed() {
+        expectSchedule();
+
+        try (AttemptDeadline deadline = AttemptDeadline.start(60000L, scheduler)) {
+            AttemptDeadline.onExpiry(aborts::incrementAndGet);
+            expiries.get(0).run();
+
+            assertThat(deadline.finish(), is(true));
+            assertThat(aborts.get(), is(1));
+        }
+    }
+
+    @Test
+    void finishBeforeDeadline() {
+        expectSchedule();
+
+        try (AttemptDeadline deadline = AttemptDeadline.start(60000L, scheduler)) {
+            AttemptDeadline.onExpiry(aborts::incrementAndGet);
+
+            assertThat(deadline.finish(), is(false));
+        }
+        verify(scheduledAbort).cancel(false);
+    }
+
+    @Test
+    void expiryAfterFinishIsIgnored() {
+        expectSchedule();
+
+        try (AttemptDeadline deadline = AttemptDeadline.start(60000L, scheduler)) {
+            AttemptDeadline.onExpiry(aborts::incrementAndGet);
+
+            assertThat(deadline.finish(), is(false));
+            expiries.get(0).run();
+
+            assertThat(deadline.finish(), is(false));
+            assertThat(aborts.get(), is(0));
+        }
+    }
+
+    @Test
+    void onExpiryWhenDeadlineAlreadyPassed() {
+        try (AttemptDeadline deadline = AttemptDeadline.start(0L, scheduler)) {
+            AttemptDeadline.onExpiry(aborts::incrementAndGet);
+
+            assertThat(aborts.get(), is(1));
+            assertThat(deadline.finish(), is(true));
+        }
+        verify(scheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void onExpiryWithoutAttempt() {
+        AttemptDeadline.onExpiry(aborts::incrementAndGet);
+
+        assertThat(aborts.get(), is(0));
+    }
+
+    private void expectSchedule() {
+        when(scheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            expiries.add(invocation.getArgument(0));
+            return scheduledAbort;
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.multipart.MultipartFile;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrentFileUploaderTest {
+
+    @Mock
+    private FileTransferApiClient fileTransferApiClient;
+    @Mock
+    private Logger logger;
+
+    private UploadAdmissionControl uploadAdmissionControl;
+    private ConcurrentFileUploader testUploader;
+
+    @BeforeEach
+    void setUp() {
+        uploadAdmissionControl = new UploadAdmissionControl(10, Long.MAX_VALUE, 0, logger);
+        testUploader = new ConcurrentFileUploader(fileTransferApiClient, Runnable::run, uploadAdmissionControl,
+            logger);
+    }
+
+    @Test
+    void uploadAllReturnsResponsesInOrder() throws InterruptedException {
+        final List<MultipartFile> files = files("first.pdf", "second.pdf", "third.pdf");
+        final CountDownLatch inFlight = new CountDownLatch(files.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(files.size());
+
+        // Each upload waits until all three are in flight, so this only completes if they run concurrently.
+        when(fileTransferApiClient.upload(any())).thenAnswer(invocation -> {
+            final MultipartFile file = invocation.getArgument(0);
+            inFlight.countDown();
+            inFlight.await(5, TimeUnit.SECONDS);
+
+            return response(file.getOriginalFilename() + "-id");
+        });
+        testUploader = new ConcurrentFileUploader(fileTransferApiClient, executor, uploadAdmissionControl, logger);
+
+        try {
+            final List<FileTransferApiClientResponse> responses = testUploader.uploadAll(files);
+
+            assertThat(responses.get(0).getFileId(), is("first.pdf-id"));
+            assertThat(responses.get(1).getFileId(), is("second.pdf-id"));
+            assertThat(responses.get(2).getFileId(), is("third.pdf-id"));
+            assertThat(inFlight.getCount(), is(0L));
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void uploadAllWhenUploadFails() {
+        final List<MultipartFile> files = files("failed.pdf", "null.pdf", "uploaded.pdf");
+
+        when(fileTransferApiClient.upload(files.get(0))).thenThrow(new RestClientException("test"));
+        when(fileTransferApiClient.upload(files.get(1))).thenReturn(null);
+        when(fileTransferApiClient.upload(files.get(2))).thenReturn(response("uploaded-id"));
+
+        final List<FileTransferApiClientResponse> responses = testUploader.uploadAll(files);
+
+        assertThat(responses.get(0).getHttpStatus(), is(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThat(responses.get(1).getHttpStatus(), is(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThat(responses.get(2).getFileId(), is("uploaded-id"));
+    }
+
+    @Test
+    void uploadAllReportsEachCompletedFile() {
+        final List<MultipartFile> files = files("first.pdf", "second.pdf");
+        final AtomicInteger completed = new AtomicInteger();
+
+        when(fileTransferApiClient.upload(files.get(0))).thenReturn(response("first-id"));
+        when(fileTransferApiClient.upload(files.get(1))).thenThrow(new RestClientException("test"));
+
+        testUploader.uploadAll(files, completed::incrementAndGet);
+
+        assertThat(completed.get(), is(2));
+    }
+
+    private static List<MultipartFile> files(final String... names) {
+        final List<MultipartFile> files = new ArrayList<>();
+
+        for (String name : names) {
+            files.add(new MockMultipartFile("data", name, "application/pdf", name.getBytes()));
+        }
+
+        return files;
+    }
+
+    private static FileTransferApiClientResponse response(final String fileId) {
+        final FileTransferApiClientResponse response = new FileTransferApiClientResponse();
+        response.setHttpStatus(HttpStatus.OK);
+        response.setFileId(fileId);
+
+        return response;
+    }
+}
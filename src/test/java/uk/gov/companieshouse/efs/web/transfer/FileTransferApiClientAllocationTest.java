@@ -0,0 +1,161 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.apache.commons.fileupload.disk.DiskFileItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.commons.CommonsMultipartFile;
+
+/**
+ * Compares the heap allocated by the current thread when uploading a disk backed multipart file
+ * using the byte[] path and the streaming path.
+ */
+class FileTransferApiClientAllocationTest {
+
+    private static final String DUMMY_URL = "http://test";
+    private static final String FILE_ID = "12345";
+    private static final int FILE_SIZE = 4 * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+
+    @BeforeEach
+    void setUp() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "thread allocation metrics unavailable");
+        threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "thread allocation metrics unsupported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void streamingUploadAllocatesLessThanByteArrayUpload() throws IOException {
+        final MultipartFile file = createDiskBackedFile();
+
+        final long byteArrayAllocated = measureUploadAllocation(file, false);
+        final long streamingAllocated = measureUploadAllocation(file, true);
+
+        assertThat(byteArrayAllocated, is(greaterThanOrEqualTo((long) FILE_SIZE)));
+        assertThat(streamingAllocated, is(lessThan((long) FILE_SIZE / 8)));
+    }
+
+    private long measureUploadAllocation(final MultipartFile file, final boolean streaming) {
+        final FileTransferApiClient client = new FileTransferApiClient(new RestTemplate(new DiscardingRequestFactory()),
+            new FileTransferRetryPolicy(1, 0L, 0L, 60000L, 0.0, 0.0, null, millis -> {
+            }, () -> 0.0, null), null);
+
+        ReflectionTestUtils.setField(client, "fileTransferApiUrl", DUMMY_URL);
+        ReflectionTestUtils.setField(client, "streamingEnabled", streaming);
+
+        // warm up so class loading and converter initialisation are not counted
+        client.upload(file);
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        final FileTransferApiClientResponse response = client.upload(file);
+        final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(response.getFileId(), is(FILE_ID));
+
+        return allocated;
+    }
+
+    private MultipartFile createDiskBackedFile() throws IOException {
+        final DiskFileItem fileItem =
+            new DiskFileItem("upload", MediaType.APPLICATION_PDF_VALUE, false, "test.pdf", 0, tempDir.toFile());
+        final byte[] chunk = new byte[8192];
+
+        try (OutputStream out = fileItem.getOutputStream()) {
+            for (int written = 0; written < FILE_SIZE; written += chunk.length) {
+                out.write(chunk);
+            }
+        }
+
+        return new CommonsMultipartFile(fileItem);
+    }
+
+    /**
+     * Request factory whose requests discard the body and return a canned file-transfer-api response.
+     */
+    private static class DiscardingRequestFactory implements ClientHttpRequestFactory {
+
+        @Override
+        public ClientHttpRequest createRequest(final URI uri, final HttpMethod httpMethod) {
+            return new ClientHttpRequest() {
+                private final HttpHeaders headers = new HttpHeaders();
+                private final OutputStream body = new OutputStream() {
+                    @Override
+                    public void write(final int b) {
+                        // discard
+                    }
+
+                    @Override
+                    public void write(final byte[] b, final int off, final int len) {
+                        // discard
+                    }
+                };
+
+                @Override
+                public ClientHttpResponse execute() {
+                    final MockClientHttpResponse response = new MockClientHttpResponse(
+                        ("{\"id\":\"" + FILE_ID + "\"}").getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+                    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+                    return response;
+                }
+
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpMethod getMethod() {
+                    return httpMethod;
+                }
+
+                @Override
+                public String getMethodValue() {
+                    return httpMethod.name();
+                }
+
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            };
+        }
+    }
+}
@@ -3,13 +3,19 @@ package uk.gov.companieshouse.efs.web.transfer;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
 import org.apache.commons.lang.StringUtils;
 import org.junit.Rule;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,17 +24,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.rules.ExpectedException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import uk.gov.companieshouse.logging.Logger;
 
 @ExtendWith(MockitoExtension.class)
 class FileTransferApiClientTest {
@@ -39,10 +52,18 @@ class FileTransferApiClientTest {
     @Captor
     private ArgumentCaptor<ResponseExtractor<ClientHttpResponse>> responseExtractorArgCaptor;
 
+    @Captor
+    private ArgumentCaptor<HttpEntity<LinkedMultiValueMap<String, Object>>> requestEntityCaptor;
+
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Mock
+    private TaskScheduler timeoutScheduler;
+
+    @Mock
+    private Logger logger;
+
     private FileTransferApiClient fileTransferApiClient;
 
     @Rule
@@ -52,6 +73,7 @@ class FileTransferApiClientTest {
 
     @BeforeEach
     void setup() {
+        fileTransferApiClient = new FileTransferApiClient(restTemplate, retryPolicy(1), logger);
         ReflectionTestUtils.setField(fileTransferApiClient, "fileTransferApiUrl", DUMMY_URL);
         file = new MockMultipartFile("testFile", new byte[10]);
     }
@@ -69,6 +91,23 @@ class FileTransferApiClientTest {
         assertEquals(HttpStatus.OK, fileTransferApiClientResponse.getHttpStatus());
     }
 
+    @Test
+    void testUpload_streamingSendsFileResource() {
+        final ResponseEntity<FileTransferApiResponse> apiResponse = apiSuccessResponse();
+
+        ReflectionTestUtils.setField(fileTransferApiClient, "streamingEnabled", true);
+        when(restTemplate.postForEntity(eq(DUMMY_URL), requestEntityCaptor.capture(), eq(FileTransferApiResponse.class)))
+                .thenReturn(apiResponse);
+
+        FileTransferApiClientResponse fileTransferApiClientResponse = fileTransferApiClient.upload(file);
+
+        final HttpEntity<?> fileEntity =
+                (HttpEntity<?>) requestEntityCaptor.getValue().getBody().getFirst("upload");
+        assertThat(fileEntity.getBody(), is(new MultipartFileResource(file)));
+        assertEquals(FILE_ID, fileTransferApiClientResponse.getFileId());
+        assertEquals(HttpStatus.OK, fileTransferApiClientResponse.getHttpStatus());
+    }
+
 
     @Test
     void testUpload_ApiThrowsIOException() throws IOException {
@@ -120,6 +159,81 @@ class FileTransferApiClientTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, fileTransferApiClientResponse.getHttpStatus());
     }
 
+    @Test
+    void testUpload_retriesFromSpooledCopy() {
+        fileTransferApiClient = new FileTransferApiClient(restTemplate, retryPolicy(2), logger);
+        ReflectionTestUtils.setField(fileTransferApiClient, "fileTransferApiUrl", DUMMY_URL);
+        ReflectionTestUtils.setField(fileTransferApiClient, "streamingEnabled", true);
+        when(restTemplate.postForEntity(eq(DUMMY_URL), requestEntityCaptor.capture(), eq(FileTransferApiResponse.class)))
+                .thenThrow(new ResourceAccessException("connection refused", new ConnectException("Connection refused")))
+                .thenReturn(apiSuccessResponse());
+
+        FileTransferApiClientResponse fileTransferApiClientResponse = fileTransferApiClient.upload(file);
+
+        final List<HttpEntity<LinkedMultiValueMap<String, Object>>> requests = requestEntityCaptor.getAllValues();
+        final MultipartFileResource sent =
+                (MultipartFileResource) ((HttpEntity<?>) requests.get(1).getBody().getFirst("upload")).getBody();
+        assertThat(sent.equals(new MultipartFileResource(file)), is(false));
+        assertThrows(IOException.class, sent::getInputStream);
+        assertThat(requests.get(1).getHeaders().getFirst("Idempotency-Key"),
+                is(requests.get(0).getHeaders().getFirst("Idempotency-Key")));
+        assertEquals(FILE_ID, fileTransferApiClientResponse.getFileId());
+        assertEquals(HttpStatus.OK, fileTransferApiClientResponse.getHttpStatus());
+    }
+
+    @Test
+    void testUpload_retriesExhausted() {
+        fileTransferApiClient = new FileTransferApiClient(restTemplate, retryPolicy(2), logger);
+        ReflectionTestUtils.setField(fileTransferApiClient, "fileTransferApiUrl", DUMMY_URL);
+        when(restTemplate.postForEntity(eq(DUMMY_URL), any(), eq(FileTransferApiResponse.class)))
+                .thenThrow(new ResourceAccessException("connection refused", new ConnectException("Connection refused")));
+
+        FileTransferApiClientResponse fileTransferApiClientResponse = fileTransferApiClient.upload(file);
+
+        verify(restTemplate, times(2)).postForEntity(eq(DUMMY_URL), any(), eq(FileTransferApiResponse.class));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, fileTransferApiClientResponse.getHttpStatus());
+    }
+
+    @Test
+    void testUpload_notRetriedOnceSent() {
+        fileTransferApiClient = new FileTransferApiClient(restTemplate, retryPolicy(2), logger);
+        ReflectionTestUtils.setField(fileTransferApiClient, "fileTransferApiUrl", DUMMY_URL);
+        when(restTemplate.postForEntity(eq(DUMMY_URL), any(), eq(FileTransferApiResponse.class)))
+                .thenThrow(new ResourceAccessException("read timed out", new SocketTimeoutException("Read timed out")))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.GATEWAY_TIMEOUT, "Gateway Timeout", null, null, null));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, fileTransferApiClient.upload(file).getHttpStatus());
+        assertThrows(HttpServerErrorException.class, () -> fileTransferApiClient.upload(file));
+
+        verify(restTemplate, times(2)).postForEntity(eq(DUMMY_URL), any(), eq(FileTransferApiResponse.class));
+    }
+
+    @Test
+    void testDelete_notFoundOnRetry() {
+        fileTransferApiClient = new FileTransferApiClient(restTemplate, retryPolicy(2), logger);
+        ReflectionTestUtils.setField(fileTransferApiClient, "fileTransferApiUrl", DUMMY_URL);
+        when(restTemplate.exchange(eq(DUMMY_URL + "/" + FILE_ID), eq(HttpMethod.DELETE), any(), eq(String.class)))
+                .thenThrow(new ResourceAccessException("read timed out"))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        FileTransferApiClientResponse fileTransferApiClientResponse = fileTransferApiClient.delete(FILE_ID);
+
+        assertEquals(HttpStatus.NO_CONTENT, fileTransferApiClientResponse.getHttpStatus());
+    }
+
+    @Test
+    void testDelete_notFound() {
+        when(restTemplate.exchange(eq(DUMMY_URL + "/" + FILE_ID), eq(HttpMethod.DELETE), any(), eq(String.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertThrows(HttpClientErrorException.NotFound.class, () -> fileTransferApiClient.delete(FILE_ID));
+    }
+
+    private FileTransferRetryPolicy retryPolicy(final int maxAttempts) {
+        return new FileTransferRetryPolicy(maxAttempts, 0L, 0L, 60000L, 0.0, 10.0, timeoutScheduler, millis -> {
+        }, () -> 0.0, logger);
+    }
+
     private ResponseEntity<FileTransferApiResponse> apiSuccessResponse() {
         FileTransferApiResponse response = new FileTransferApiResponse();
         response.setId(FILE_ID);
@@ -0,0 +1,240 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class FileTransferRetryPolicyTest {
+
+    private static final String OPERATION = "upload";
+    private static final long INITIAL_BACKOFF_MILLIS = 100L;
+    private static final long MAX_BACKOFF_MILLIS = 150L;
+
+    @Mock
+    private Logger logger;
+
+    private ThreadPoolTaskScheduler scheduler;
+    private List<Long> sleeps;
+    private FileTransferRetryPolicy testPolicy;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        sleeps = new ArrayList<>();
+        testPolicy = policy(3, 60000L, 10.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void executeWhenFirstAttemptSucceeds() throws IOException {
+        final ResponseEntity<String> ok = new ResponseEntity<>(HttpStatus.OK);
+
+        assertThat(testPolicy.execute(OPERATION, () -> ok), is(sameInstance(ok)));
+        assertThat(sleeps.isEmpty(), is(true));
+        assertThat(testPolicy.isRetrying(), is(true));
+    }
+
+    @Test
+    void executeRetriesWithJitteredBackoff() throws IOException {
+        final Iterator<Object> outcomes = Arrays.<Object>asList(new ResourceAccessException("connection reset"),
+            new ResponseEntity<String>(HttpStatus.SERVICE_UNAVAILABLE), new ResponseEntity<String>(HttpStatus.OK))
+            .iterator();
+
+        final ResponseEntity<String> response = testPolicy.execute(OPERATION, () -> next(outcomes));
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(sleeps, contains(INITIAL_BACKOFF_MILLIS / 2, MAX_BACKOFF_MILLIS / 2));
+    }
+
+    @Test
+    void executeReturnsLastResponseWhenRetriesExhausted() throws IOException {
+        final ResponseEntity<String> response =
+            testPolicy.execute(OPERATION, () -> new ResponseEntity<String>(HttpStatus.BAD_GATEWAY));
+
+        assertThat(response.getStatusCode(), is(HttpStatus.BAD_GATEWAY));
+        assertThat(sleeps.size(), is(2));
+    }
+
+    @Test
+    void executeDoesNotRetryOtherFailures() throws IOException {
+        final ResponseEntity<String> response =
+            testPolicy.execute(OPERATION, () -> new ResponseEntity<String>(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertThat(response.getStatusCode(), is(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThrows(HttpClientErrorException.class, () -> testPolicy.execute(OPERATION, () -> {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        }));
+        assertThrows(IOException.class, () -> testPolicy.execute(OPERATION, () -> {
+            throw new IOException("spooled file missing");
+        }));
+        assertThat(sleeps.isEmpty(), is(true));
+    }
+
+    @Test
+    void executeNonIdempotentRetriesOnlyWhatWasNotHandled() throws IOException {
+        final Iterator<Object> outcomes = Arrays.<Object>asList(
+            new ResourceAccessException("connection refused", new ConnectException("Connection refused")),
+            new ResponseEntity<String>(HttpStatus.TOO_MANY_REQUESTS),
+            new ResponseEntity<String>(HttpStatus.SERVICE_UNAVAILABLE), new ResponseEntity<String>(HttpStatus.OK))
+            .iterator();
+        testPolicy = policy(4, 60000L, 10.0);
+
+        final ResponseEntity<String> response = testPolicy.executeNonIdempotent(OPERATION, () -> next(outcomes));
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(sleeps.size(), is(3));
+    }
+
+    @Test
+    void executeNonIdempotentDoesNotRetryWhatMayHaveBeenHandled() throws IOException {
+        assertThrows(ResourceAccessException.class, () -> testPolicy.executeNonIdempotent(OPERATION, () -> {
+            throw new ResourceAccessException("read timed out", new SocketTimeoutException("Read timed out"));
+        }));
+        assertThat(testPolicy.executeNonIdempotent(OPERATION,
+            () -> new ResponseEntity<String>(HttpStatus.BAD_GATEWAY)).getStatusCode(), is(HttpStatus.BAD_GATEWAY));
+        assertThat(testPolicy.executeNonIdempotent(OPERATION,
+            () -> new ResponseEntity<String>(HttpStatus.GATEWAY_TIMEOUT)).getStatusCode(),
+            is(HttpStatus.GATEWAY_TIMEOUT));
+        assertThat(sleeps.isEmpty(), is(true));
+    }
+
+    @Test
+    void executeNonIdempotentDoesNotRetryAttemptThatTimesOut() throws IOException {
+        testPolicy = policy(2, 50L, 10.0);
+        final CountDownLatch aborted = new CountDownLatch(1);
+
+        final ResponseEntity<String> response = testPolicy.executeNonIdempotent(OPERATION, () -> {
+            AttemptDeadline.onExpiry(aborted::countDown);
+            awaitQuietly(aborted);
+            return new ResponseEntity<>(HttpStatus.OK);
+        });
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(sleeps.isEmpty(), is(true));
+    }
+
+    @Test
+    void executeStopsRetryingWhenBudgetExhausted() throws IOException {
+        testPolicy = policy(3, 60000L, 1.0);
+
+        assertThrows(ResourceAccessException.class, () -> testPolicy.execute(OPERATION, () -> {
+            throw new ResourceAccessException("connection refused");
+        }));
+
+        assertThat(sleeps.size(), is(1));
+        assertThat(testPolicy.getBudget(), is(0.0));
+    }
+
+    @Test
+    void executeRetriesAttemptThatTimesOut() throws IOException {
+        testPolicy = policy(2, 50L, 10.0);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        testPolicy.bindTo(registry);
+        final Iterator<CountDownLatch> aborts = Arrays.asList(new CountDownLatch(1), new CountDownLatch(0)).iterator();
+
+        final ResponseEntity<String> response = testPolicy.execute(OPERATION, () -> {
+            final CountDownLatch aborted = aborts.next();
+
+            AttemptDeadline.onExpiry(aborted::countDown);
+            awaitQuietly(aborted);
+            return new ResponseEntity<>(HttpStatus.OK);
+        });
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(registry.get(FileTransferRetryPolicy.ATTEMPT_METRIC).tag("operation", OPERATION)
+            .tag("outcome", "timed_out").functionCounter().count(), is(1.0));
+        assertThat(registry.get(FileTransferRetryPolicy.ATTEMPT_METRIC).tag("operation", OPERATION)
+            .tag("outcome", "success").functionCounter().count(), is(1.0));
+    }
+
+    @Test
+    void executeStopsRetryingWhenInterrupted() throws IOException {
+        testPolicy = new FileTransferRetryPolicy(3, INITIAL_BACKOFF_MILLIS, MAX_BACKOFF_MILLIS, 60000L, 0.0, 10.0,
+            scheduler, millis -> {
+                throw new InterruptedException();
+            }, () -> 0.5, logger);
+
+        try {
+            final ResponseEntity<String> response =
+                testPolicy.execute(OPERATION, () -> new ResponseEntity<String>(HttpStatus.GATEWAY_TIMEOUT));
+
+            assertThat(response.getStatusCode(), is(HttpStatus.GATEWAY_TIMEOUT));
+            assertThat(Thread.currentThread().isInterrupted(), is(true));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void bindToRegistersAttemptsCallsAndBudget() throws IOException {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        testPolicy.execute("delete", () -> new ResponseEntity<String>(HttpStatus.NO_CONTENT));
+        testPolicy.bindTo(registry);
+
+        testPolicy.execute(OPERATION, () -> new ResponseEntity<String>(HttpStatus.TOO_MANY_REQUESTS));
+
+        assertThat(registry.get(FileTransferRetryPolicy.ATTEMPT_METRIC).tag("operation", OPERATION)
+            .tag("outcome", "retryable").functionCounter().count(), is(3.0));
+        assertThat(registry.get(FileTransferRetryPolicy.CALL_METRIC).tag("operation", OPERATION)
+            .tag("outcome", "retries_exhausted").functionCounter().count(), is(1.0));
+        assertThat(registry.get(FileTransferRetryPolicy.CALL_METRIC).tag("operation", "delete")
+            .tag("outcome", "success").functionCounter().count(), is(1.0));
+        assertThat(registry.get(FileTransferRetryPolicy.BUDGET_METRIC).gauge().value(), is(8.0));
+    }
+
+    private FileTransferRetryPolicy policy(final int maxAttempts, final long attemptTimeoutMillis,
+        final double budgetMax) {
+        return new FileTransferRetryPolicy(maxAttempts, INITIAL_BACKOFF_MILLIS, MAX_BACKOFF_MILLIS,
+            attemptTimeoutMillis, 0.0, budgetMax, scheduler, sleeps::add, () -> 0.5, logger);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<String> next(final Iterator<Object> outcomes) {
+        final Object outcome = outcomes.next();
+
+        if (outcome instanceof RuntimeException) {
+            throw (RuntimeException) outcome;
+        }
+
+        return (ResponseEntity<String>) outcome;
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
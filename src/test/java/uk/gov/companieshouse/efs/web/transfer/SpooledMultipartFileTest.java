@@ -0,0 +1,123 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.StreamUtils;
+
+class SpooledMultipartFileTest {
+
+    private static final byte[] CONTENT = "%PDF-1.4 test".getBytes();
+
+    private SpooledMultipartFile testFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testFile = SpooledMultipartFile.spool(
+            new MockMultipartFile("selectedFiles", "test.pdf", "application/pdf", CONTENT));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        testFile.delete();
+    }
+
+    @Test
+    void spoolCopiesDetailsAndContent() throws IOException {
+        assertThat(testFile.getName(), is("selectedFiles"));
+        assertThat(testFile.getOriginalFilename(), is("test.pdf"));
+        assertThat(testFile.getContentType(), is("application/pdf"));
+        assertThat(testFile.getSize(), is((long) CONTENT.length));
+        assertThat(testFile.isEmpty(), is(false));
+        assertThat(testFile.getBytes(), is(CONTENT));
+        assertThat(StreamUtils.copyToByteArray(testFile.getInputStream()), is(CONTENT));
+    }
+
+    @Test
+    void transferTo(@TempDir final Path dir) throws IOException {
+        final Path dest = dir.resolve("copy.pdf");
+
+        testFile.transferTo(dest.toFile());
+
+        assertThat(Files.readAllBytes(dest), is(CONTENT));
+    }
+
+    @Test
+    void openChannel() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(4);
+
+        try (FileChannel channel = testFile.openChannel()) {
+            assertThat(channel.size(), is((long) CONTENT.length));
+            channel.read(buffer, 1);
+        }
+
+        assertThat(new String(buffer.array()), is("PDF-"));
+    }
+
+    @Test
+    void takeMovesSpooledContent() throws IOException {
+        final Path original = testFile.getPath();
+        final SpooledMultipartFile taken = SpooledMultipartFile.take(testFile);
+
+        try {
+            assertThat(taken.getOriginalFilename(), is("test.pdf"));
+            assertThat(taken.getSize(), is((long) CONTENT.length));
+            assertThat(taken.getBytes(), is(CONTENT));
+            assertThat(Files.exists(original), is(false));
+        } finally {
+            taken.delete();
+        }
+    }
+
+    @Test
+    void takeTransfersOtherContent() throws IOException {
+        final SpooledMultipartFile taken = SpooledMultipartFile.take(
+            new MockMultipartFile("selectedFiles", "other.pdf", "application/pdf", CONTENT));
+
+        try {
+            assertThat(taken.getOriginalFilename(), is("other.pdf"));
+            assertThat(taken.getContentType(), is("application/pdf"));
+            assertThat(taken.getBytes(), is(CONTENT));
+        } finally {
+            taken.delete();
+        }
+    }
+
+    @Test
+    void delete() throws IOException {
+        final Path path = testFile.getPath();
+
+        assertThat(testFile.delete(), is(true));
+        assertThat(Files.exists(path), is(false));
+        assertThat(testFile.delete(), is(false));
+    }
+
+    @Test
+    void deleteAbandoned() throws IOException {
+        final SpooledMultipartFile abandoned = SpooledMultipartFile.spool(
+            new MockMultipartFile("selectedFiles", "abandoned.pdf", "application/pdf", CONTENT));
+        Files.setLastModifiedTime(abandoned.getPath(),
+            FileTime.fromMillis(System.currentTimeMillis() - Duration.ofDays(1).toMillis()));
+
+        try {
+            assertThat(SpooledMultipartFile.deleteAbandoned(Duration.ofHours(1)), is(greaterThanOrEqualTo(1)));
+            assertThat(Files.exists(abandoned.getPath()), is(false));
+            assertThat(Files.exists(testFile.getPath()), is(true));
+        } finally {
+            abandoned.delete();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockPart;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class SpoolingMultipartResolverTest {
+
+    private static final byte[] CONTENT = "%PDF-1.4 test".getBytes();
+
+    @Mock
+    private Logger logger;
+
+    private SpoolingMultipartResolver testResolver;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        testResolver = new SpoolingMultipartResolver(logger);
+        request = new MockHttpServletRequest("POST", "/efs-submission/document-upload");
+        request.setContentType(MediaType.MULTIPART_FORM_DATA_VALUE);
+        request.addPart(new WritablePart("selectedFiles", "test.pdf", CONTENT));
+    }
+
+    @Test
+    void resolveMultipartSpoolsFiles() throws IOException {
+        final MultipartHttpServletRequest resolved = testResolver.resolveMultipart(request);
+        final MultipartFile file = resolved.getFile("selectedFiles");
+
+        try {
+            assertThat(file, is(instanceOf(SpooledMultipartFile.class)));
+            assertThat(file.getOriginalFilename(), is("test.pdf"));
+            assertThat(file.getContentType(), is(MediaType.APPLICATION_PDF_VALUE));
+            assertThat(file.getSize(), is((long) CONTENT.length));
+            assertThat(file.getBytes(), is(CONTENT));
+        } finally {
+            ((SpooledMultipartFile) file).delete();
+        }
+    }
+
+    @Test
+    void cleanupMultipartDeletesSpooledFiles() {
+        final MultipartHttpServletRequest resolved = testResolver.resolveMultipart(request);
+        final Path path = ((SpooledMultipartFile) resolved.getFile("selectedFiles")).getPath();
+
+        testResolver.cleanupMultipart(resolved);
+
+        assertThat(Files.exists(path), is(false));
+    }
+
+    @Test
+    void cleanupMultipartLeavesFilesTakenOver() throws IOException {
+        final MultipartHttpServletRequest resolved = testResolver.resolveMultipart(request);
+        final SpooledMultipartFile taken = SpooledMultipartFile.take(resolved.getFile("selectedFiles"));
+
+        try {
+            testResolver.cleanupMultipart(resolved);
+
+            assertThat(taken.getBytes(), is(CONTENT));
+        } finally {
+            taken.delete();
+        }
+    }
+
+    /**
+     * A part that can be written to a file, as the container's parts can.
+     */
+    private static class WritablePart extends MockPart {
+
+        private final byte[] content;
+
+        WritablePart(final String name, final String filename, final byte[] content) {
+            super(name, filename, content);
+            this.content = content;
+            getHeaders().setContentType(MediaType.APPLICATION_PDF);
+        }
+
+        @Override
+        public void write(final String fileName) throws IOException {
+            Files.write(Paths.get(fileName), content);
+        }
+
+        @Override
+        public void delete() {
+            // Nothing held on disk.
+        }
+    }
+}
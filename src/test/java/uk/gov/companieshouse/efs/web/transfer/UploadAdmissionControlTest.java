@@ -0,0 +1,127 @@
+package uk.gov.companieshouse.efs.web.transfer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import uk.gov.companieshouse.logging.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class UploadAdmissionControlTest {
+
+    private static final long MEGABYTE = 1024 * 1024L;
+
+    @Mock
+    private Logger logger;
+
+    private UploadAdmissionControl testControl;
+
+    @Test
+    void executeWhenCapacityAvailable() {
+        testControl = new UploadAdmissionControl(2, 10 * MEGABYTE, 0, logger);
+
+        final FileTransferApiClientResponse response = testControl.execute(MEGABYTE, () -> okResponse("file-id"));
+
+        assertThat(response.getFileId(), is("file-id"));
+        assertThat(response.getHttpStatus(), is(HttpStatus.OK));
+    }
+
+    @Test
+    void executeWhenConcurrencyLimitReached() throws InterruptedException {
+        testControl = new UploadAdmissionControl(1, 10 * MEGABYTE, 50, logger);
+
+        final FileTransferApiClientResponse response = whileUploading(MEGABYTE,
+            () -> testControl.execute(MEGABYTE, () -> okResponse("file-id")));
+
+        assertThat(response.getHttpStatus(), is(HttpStatus.SERVICE_UNAVAILABLE));
+        verify(logger).info(anyString());
+    }
+
+    @Test
+    void executeWhenByteBudgetExhausted() throws InterruptedException {
+        testControl = new UploadAdmissionControl(2, 4 * MEGABYTE, 50, logger);
+
+        final FileTransferApiClientResponse response = whileUploading(3 * MEGABYTE,
+            () -> testControl.execute(2 * MEGABYTE, () -> okResponse("file-id")));
+
+        assertThat(response.getHttpStatus(), is(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    void executeWithinByteBudget() throws InterruptedException {
+        testControl = new UploadAdmissionControl(2, 4 * MEGABYTE, 50, logger);
+
+        final FileTransferApiClientResponse response = whileUploading(2 * MEGABYTE,
+            () -> testControl.execute(2 * MEGABYTE, () -> okResponse("file-id")));
+
+        assertThat(response.getFileId(), is("file-id"));
+    }
+
+    @Test
+    void executeFileLargerThanBudgetOnItsOwn() {
+        testControl = new UploadAdmissionControl(2, MEGABYTE, 0, logger);
+
+        final FileTransferApiClientResponse response = testControl.execute(5 * MEGABYTE, () -> okResponse("file-id"));
+
+        assertThat(response.getFileId(), is("file-id"));
+    }
+
+    @Test
+    void executeReleasesCapacityWhenUploadFails() {
+        testControl = new UploadAdmissionControl(1, MEGABYTE, 0, logger);
+
+        try {
+            testControl.execute(MEGABYTE, () -> {
+                throw new IllegalStateException("test");
+            });
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+
+        assertThat(testControl.execute(MEGABYTE, () -> okResponse("file-id")).getFileId(), is("file-id"));
+    }
+
+    /**
+     * Runs {@code action} while another upload of {@code bytes} is held in progress.
+     */
+    private FileTransferApiClientResponse whileUploading(final long bytes,
+        final Supplier<FileTransferApiClientResponse> action) throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<FileTransferApiClientResponse> inProgress = CompletableFuture.supplyAsync(
+            () -> testControl.execute(bytes, () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return okResponse("in-progress");
+            }));
+
+        started.await(5, TimeUnit.SECONDS);
+        try {
+            return action.get();
+        } finally {
+            release.countDown();
+            assertThat(inProgress.join().getFileId(), is("in-progress"));
+        }
+    }
+
+    private static FileTransferApiClientResponse okResponse(final String fileId) {
+        final FileTransferApiClientResponse response = new FileTransferApiClientResponse();
+        response.setFileId(fileId);
+        response.setHttpStatus(HttpStatus.OK);
+        return response;
+    }
+}
@@ -0,0 +1,91 @@
+package uk.gov.companieshouse.efs.web.validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ResourceBundle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.multipart.MultipartFile;
+import uk.gov.companieshouse.api.model.efs.submissions.FileApi;
+import uk.gov.companieshouse.api.model.efs.submissions.FileListApi;
+import uk.gov.companieshouse.efs.web.configuration.FileUploadConfiguration;
+import uk.gov.companieshouse.efs.web.model.DocumentUploadModel;
+
+/**
+ * Measures the heap allocated by the current thread for each file the validator checks, leaving
+ * out the content inspection, so that the cost of applying the upload rules themselves is seen.
+ */
+class DocumentUploadValidatorAllocationTest {
+
+    private static final int FILES = 200;
+    private static final int ROUNDS = 50;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private DocumentUploadValidator testValidator;
+    private DocumentUploadModel model;
+
+    @BeforeEach
+    void setUp() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "thread allocation metrics unavailable");
+        threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "thread allocation metrics unsupported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        final FileUploadConfiguration configuration = new FileUploadConfiguration("EFS", Collections.singletonList(
+            new FileUploadConfiguration.FileType(MediaType.APPLICATION_PDF_VALUE, Arrays.asList("PDF"))), "4MB",
+            FILES + 1);
+
+        testValidator = new DocumentUploadValidator(configuration, ResourceBundle.getBundle("messages"),
+            new PdfContentInspector() {
+                @Override
+                public Inspection inspect(final MultipartFile file) {
+                    return Inspection.valid(file.getOriginalFilename());
+                }
+            });
+
+        final List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < FILES; i++) {
+            files.add(new MockMultipartFile("selectedFiles", "file-" + i + ".pdf", MediaType.APPLICATION_PDF_VALUE,
+                new byte[] {1}));
+        }
+        model = new DocumentUploadModel(configuration);
+        model.setDetails(new FileListApi(Collections.singletonList(new FileApi("id", "uploaded.pdf", 1L))));
+        model.setSelectedFiles(files);
+    }
+
+    @Test
+    void validationAllocatesLittlePerFile() {
+        // warm up so class loading and rule compilation are not counted
+        validate();
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < ROUNDS; round++) {
+            validate();
+        }
+        final long perFile = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / ((long) ROUNDS * FILES);
+
+        assertThat(perFile, is(lessThan(512L)));
+    }
+
+    private void validate() {
+        final BindingResult binding = new BeanPropertyBindingResult(model, "model");
+
+        assertThat(testValidator.apply(model, binding).size(), is(FILES));
+        assertThat(binding.hasErrors(), is(false));
+    }
+}
@@ -2,12 +2,14 @@ package uk.gov.companieshouse.efs.web.validation;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_PDF;
 import static org.springframework.http.MediaType.APPLICATION_PDF_VALUE;
 import static org.springframework.http.MediaType.TEXT_PLAIN;
 import static org.springframework.http.MediaType.TEXT_PLAIN_VALUE;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -52,6 +54,9 @@ class DocumentUploadValidatorTest {
     @Mock
     private ResourceBundle resourceBundle;
 
+    @Mock
+    private PdfContentInspector pdfContentInspector;
+
     @Mock
     private BindingResult bindingResult;
 
@@ -289,4 +294,115 @@ class DocumentUploadValidatorTest {
         assertThat(fieldError.getDefaultMessage(),
                 is("Files must not have the same name"));
     }
+
+    @Test
+    void testFileIsNotValidPdf() throws IOException {
+        expectPdfAllowed();
+        when(resourceBundle.getString("invalid_pdf.documentUpload"))
+                .thenReturn("The selected file, {0}, is not a valid PDF. Check the file and try again");
+
+        DocumentUploadModel model = new DocumentUploadModel(fileUploadConfiguration);
+        model.setDetails(createFiles(MINIMUM_UPLOADS_ALLOWED));
+        model.setSelectedFiles(createUploads(1, Optional.empty(), APPLICATION_PDF));
+        when(pdfContentInspector.inspect(model.getSelectedFiles().get(0))).thenReturn(
+                PdfContentInspector.Inspection.defective(PdfContentInspector.Defect.MISSING_HEADER));
+
+        BindingResult binding = new BeanPropertyBindingResult(model, "model");
+
+        List<MultipartFile> validFiles = toTest.apply(model, binding);
+
+        assertThat(validFiles.size(), is(0));
+        assertThat(binding.getErrorCount(), is(1));
+
+        FieldError fieldError = binding.getFieldError("selectedFiles");
+        assert fieldError != null;
+        assertThat(fieldError.getDefaultMessage(),
+                is("The selected file, test-file-1.pdf, is not a valid PDF. Check the file and try again"));
+    }
+
+    @Test
+    void testValidPdfHasChecksumRecorded() throws IOException {
+        expectPdfAllowed();
+
+        DocumentUploadModel model = new DocumentUploadModel(fileUploadConfiguration);
+        model.setSubmissionId("submission-id");
+        model.setDetails(createFiles(MINIMUM_UPLOADS_ALLOWED));
+        model.setSelectedFiles(createUploads(1, Optional.empty(), APPLICATION_PDF));
+        when(pdfContentInspector.inspect(model.getSelectedFiles().get(0)))
+                .thenReturn(PdfContentInspector.Inspection.valid("checksum"));
+
+        BindingResult binding = new BeanPropertyBindingResult(model, "model");
+
+        List<MultipartFile> validFiles = toTest.apply(model, binding);
+
+        assertThat(validFiles.size(), is(1));
+        assertThat(binding.hasErrors(), is(Boolean.FALSE));
+        assertThat(model.getChecksum("TEST-FILE-1.pdf"), is(Optional.of("checksum")));
+
+        model.setSubmissionId("other-submission-id");
+        assertThat(model.getChecksum("test-file-1.pdf"), is(Optional.empty()));
+    }
+
+    @Test
+    void testFileContentAlreadyUploaded() throws IOException {
+        expectPdfAllowed();
+        when(resourceBundle.getString("duplicate_content.documentUpload"))
+                .thenReturn("The selected file, {0}, is the same as a file you have already selected or uploaded");
+
+        DocumentUploadModel model = new DocumentUploadModel(fileUploadConfiguration);
+        model.setSubmissionId("submission-id");
+        model.setDetails(createFiles(MINIMUM_UPLOADS_ALLOWED));
+        model.setSelectedFiles(createUploads(1, Optional.empty(), APPLICATION_PDF));
+        model.putChecksum(model.getDetails().getFiles().get(0).getFileName(), "checksum");
+        when(pdfContentInspector.inspect(model.getSelectedFiles().get(0)))
+                .thenReturn(PdfContentInspector.Inspection.valid("checksum"));
+
+        BindingResult binding = new BeanPropertyBindingResult(model, "model");
+
+        List<MultipartFile> validFiles = toTest.apply(model, binding);
+
+        assertThat(validFiles.size(), is(0));
+        assertThat(binding.getErrorCount(), is(1));
+
+        FieldError fieldError = binding.getFieldError("selectedFiles");
+        assert fieldError != null;
+        assertThat(fieldError.getDefaultMessage(), is("The selected file, test-file-1.pdf, is the same as a file "
+                + "you have already selected or uploaded"));
+    }
+
+    @Test
+    void testFileContentSelectedTwice() throws IOException {
+        expectPdfAllowed();
+        when(resourceBundle.getString("duplicate_content.documentUpload"))
+                .thenReturn("The selected file, {0}, is the same as a file you have already selected or uploaded");
+
+        DocumentUploadModel model = new DocumentUploadModel(fileUploadConfiguration);
+        model.setSubmissionId("submission-id");
+        model.setDetails(createFiles(MINIMUM_UPLOADS_ALLOWED));
+        model.setSelectedFiles(createUploads(2, Optional.empty(), APPLICATION_PDF));
+        when(pdfContentInspector.inspect(any(MultipartFile.class)))
+                .thenReturn(PdfContentInspector.Inspection.valid("checksum"));
+
+        BindingResult binding = new BeanPropertyBindingResult(model, "model");
+
+        List<MultipartFile> validFiles = toTest.apply(model, binding);
+
+        assertThat(validFiles.size(), is(1));
+        assertThat(binding.getErrorCount(), is(1));
+
+        FieldError fieldError = binding.getFieldError("selectedFiles");
+        assert fieldError != null;
+        assertThat(fieldError.getDefaultMessage(), is("The selected file, test-file-2.pdf, is the same as a file "
+                + "you have already selected or uploaded"));
+    }
+
+    private void expectPdfAllowed() {
+        List<FileUploadConfiguration.FileType> allowedTypes = new ArrayList<>();
+        allowedTypes.add(new FileUploadConfiguration.FileType(APPLICATION_PDF_VALUE, Arrays.asList(PDF_VALUE)));
+
+        when(fileUploadConfiguration.getMaximumFilesAllowed()).thenReturn(MAXIMUM_UPLOADS_ALLOWED);
+        when(fileUploadConfiguration.getMaximumFilesize()).thenReturn("4MB");
+        when(fileUploadConfiguration.getDistinctMimeTypes()).thenReturn(
+                allowedTypes.stream().map(FileUploadConfiguration.FileType::getMime).collect(Collectors.toSet()));
+    }
 }
@@ -0,0 +1,122 @@
+package uk.gov.companieshouse.efs.web.validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+import uk.gov.companieshouse.efs.web.transfer.SpooledMultipartFile;
+
+class PdfContentInspectorTest {
+
+    private static final String BODY = "%PDF-1.4\n1 0 obj\n<< /Type /Catalog >>\nendobj\n";
+
+    private PdfContentInspector testInspector;
+
+    @BeforeEach
+    void setUp() {
+        testInspector = new PdfContentInspector();
+    }
+
+    @Test
+    void inspectValidDocument() throws IOException, NoSuchAlgorithmException {
+        final byte[] content = pdf("", BODY.length());
+
+        final PdfContentInspector.Inspection inspection = testInspector.inspect(file(content));
+
+        assertThat(inspection.isValid(), is(true));
+        assertThat(inspection.getDefect(), is(Optional.empty()));
+        assertThat(inspection.getChecksum(), is(Optional.of(sha256(content))));
+    }
+
+    @Test
+    void inspectValidSpooledDocument() throws IOException, NoSuchAlgorithmException {
+        final byte[] content = pdf("", BODY.length());
+        final SpooledMultipartFile spooled = SpooledMultipartFile.spool(file(content));
+
+        try {
+            final PdfContentInspector.Inspection inspection = testInspector.inspect(spooled);
+
+            assertThat(inspection.isValid(), is(true));
+            assertThat(inspection.getChecksum(), is(Optional.of(sha256(content))));
+        } finally {
+            spooled.delete();
+        }
+    }
+
+    @Test
+    void inspectDocumentLargerThanBuffer() throws IOException {
+        final char[] padding = new char[100 * 1024];
+        Arrays.fill(padding, ' ');
+        final String comment = "%" + new String(padding) + "\n";
+
+        final PdfContentInspector.Inspection inspection =
+            testInspector.inspect(file(pdf(comment, BODY.length() + comment.length())));
+
+        assertThat(inspection.isValid(), is(true));
+    }
+
+    @Test
+    void inspectDocumentWithoutHeader() throws IOException {
+        final PdfContentInspector.Inspection inspection =
+            testInspector.inspect(file("This is my test data.".getBytes(StandardCharsets.ISO_8859_1)));
+
+        assertThat(inspection.isValid(), is(false));
+        assertThat(inspection.getDefect(), is(Optional.of(PdfContentInspector.Defect.MISSING_HEADER)));
+        assertThat(inspection.getChecksum(), is(Optional.empty()));
+    }
+
+    @Test
+    void inspectTruncatedDocument() throws IOException {
+        final byte[] content = pdf("", BODY.length());
+
+        final PdfContentInspector.Inspection inspection =
+            testInspector.inspect(file(Arrays.copyOf(content, content.length - 10)));
+
+        assertThat(inspection.getDefect(), is(Optional.of(PdfContentInspector.Defect.MISSING_TRAILER)));
+    }
+
+    @Test
+    void inspectDocumentWithCrossReferenceOffsetBeyondEnd() throws IOException {
+        final PdfContentInspector.Inspection inspection = testInspector.inspect(file(pdf("", 100000)));
+
+        assertThat(inspection.getDefect(), is(Optional.of(PdfContentInspector.Defect.BROKEN_CROSS_REFERENCE)));
+    }
+
+    @Test
+    void inspectSpooledDocumentWithWrongCrossReferenceOffset() throws IOException {
+        final SpooledMultipartFile spooled = SpooledMultipartFile.spool(file(pdf("", 3)));
+
+        try {
+            final PdfContentInspector.Inspection inspection = testInspector.inspect(spooled);
+
+            assertThat(inspection.getDefect(),
+                is(Optional.of(PdfContentInspector.Defect.BROKEN_CROSS_REFERENCE)));
+        } finally {
+            spooled.delete();
+        }
+    }
+
+    private static byte[] pdf(final String comment, final int xrefOffset) {
+        return (BODY + comment + "xref\n0 2\n0000000000 65535 f \n0000000009 00000 n \n"
+            + "trailer\n<< /Size 2 /Root 1 0 R >>\nstartxref\n" + xrefOffset + "\n%%EOF\n")
+            .getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static MultipartFile file(final byte[] content) {
+        return new MockMultipartFile("selectedFiles", "test.pdf", "application/pdf", content);
+    }
+
+    private static String sha256(final byte[] content) throws NoSuchAlgorithmException {
+        return Hex.encodeHexString(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
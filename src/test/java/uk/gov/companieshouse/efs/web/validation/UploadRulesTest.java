@@ -0,0 +1,52 @@
+package uk.gov.companieshouse.efs.web.validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.efs.web.configuration.FileUploadConfiguration;
+
+class UploadRulesTest {
+
+    @Test
+    void compile() {
+        final UploadRules rules = UploadRules.compile(configuration("4MB",
+            new FileUploadConfiguration.FileType("application/pdf", Arrays.asList("PDF")),
+            new FileUploadConfiguration.FileType("text/plain", Arrays.asList("TXT", "DOC"))));
+
+        assertThat(rules.getMaximumFileSize(), is("4MB"));
+        assertThat(rules.getMaximumFileSizeBytes(), is(4L * 1024 * 1024));
+        assertThat(rules.getMaximumFileCount(), is(10));
+        assertThat(rules.isAllowedMimeType("application/pdf"), is(true));
+        assertThat(rules.isAllowedMimeType("text/plain"), is(true));
+        assertThat(rules.isAllowedMimeType("image/png"), is(false));
+        assertThat(rules.getAllowedExtensions(), is("DOC, PDF or TXT"));
+    }
+
+    @Test
+    void compileSingleExtension() {
+        final UploadRules rules = UploadRules.compile(configuration("1.5kb",
+            new FileUploadConfiguration.FileType("application/pdf", Arrays.asList("PDF"))));
+
+        assertThat(rules.getMaximumFileSizeBytes(), is(1536L));
+        assertThat(rules.getAllowedExtensions(), is("PDF"));
+    }
+
+    @Test
+    void compileUnlimitedFileSize() {
+        final UploadRules rules = UploadRules.compile(configuration("-1"));
+
+        assertThat(rules.getMaximumFileSizeBytes(), is(Long.MAX_VALUE));
+        assertThat(rules.getAllowedExtensions(), is(""));
+    }
+
+    private static FileUploadConfiguration configuration(final String maximumFileSize,
+        final FileUploadConfiguration.FileType... allowedTypes) {
+        final List<FileUploadConfiguration.FileType> types = new ArrayList<>(Arrays.asList(allowedTypes));
+
+        return new FileUploadConfiguration("EFS", types, maximumFileSize, 10);
+    }
+}